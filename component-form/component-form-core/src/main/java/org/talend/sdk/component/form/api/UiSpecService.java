@@ -15,16 +15,21 @@
  */
 package org.talend.sdk.component.form.api;
 
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -38,6 +43,7 @@ import org.talend.sdk.component.form.internal.converter.impl.JsonSchemaConverter
 import org.talend.sdk.component.form.internal.converter.impl.PropertiesConverter;
 import org.talend.sdk.component.form.internal.converter.impl.UiSchemaConverter;
 import org.talend.sdk.component.form.internal.lang.CompletionStages;
+import org.talend.sdk.component.form.internal.lang.UiCopies;
 import org.talend.sdk.component.form.model.Ui;
 import org.talend.sdk.component.form.model.jsonschema.JsonSchema;
 import org.talend.sdk.component.server.front.model.ActionReference;
@@ -45,6 +51,7 @@ import org.talend.sdk.component.server.front.model.ComponentDetail;
 import org.talend.sdk.component.server.front.model.ConfigTypeNode;
 import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
 
+import lombok.Data;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -62,6 +69,13 @@ public class UiSpecService<T> implements AutoCloseable {
     @Setter // optional config, false by default until it is on by default in the UI
     private PropertyContext.Configuration configuration = new PropertyContext.Configuration(false);
 
+    @Setter // optional, if set the conversions are executed in this executor instead of the caller thread
+    private Executor executor;
+
+    private Map<UiKey, CompletableFuture<Ui>> cache;
+
+    private Function<T, Object> cacheKey;
+
     public UiSpecService(final Client client) {
         this.client = client;
         this.jsonb = JsonbBuilder.create(new JsonbConfig().setProperty("johnzon.cdi.activated", false));
@@ -79,6 +93,27 @@ public class UiSpecService<T> implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Activates the caching of the converted uiSpec per (configuration/component id, version, language).
+     * Since the conversion can depend on the context (actions are called with it),
+     * the cache is also partitioned by the key the context is mapped to. Each caller gets its own copy of the uiSpec.
+     *
+     * @param maxSize the maximum number of cached uiSpec, the least recently used ones are evicted first.
+     * @param contextKey the function extracting from the context the part impacting the conversion.
+     * @return this service.
+     */
+    public UiSpecService<T> withCache(final int maxSize, final Function<T, Object> contextKey) {
+        this.cacheKey = contextKey;
+        this.cache = new LinkedHashMap<UiKey, CompletableFuture<Ui>>(16, .75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UiKey, CompletableFuture<Ui>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        return this;
+    }
+
     /**
      * Converts a configuration model to a uiSpec.
      *
@@ -90,10 +125,7 @@ public class UiSpecService<T> implements AutoCloseable {
     public CompletionStage<Ui> convert(final String family, final String lang, final ConfigTypeNode node,
             final T context) {
         // extract root properties
-        final Collection<String> rootProperties =
-                node.getProperties().stream().map(SimplePropertyDefinition::getPath).collect(toSet());
-        rootProperties
-                .removeIf(path -> node.getProperties().stream().anyMatch(p -> path.startsWith(p.getPath() + '.')));
+        final Collection<String> rootProperties = findRootProperties(node.getProperties());
         if (rootProperties.isEmpty()) {
             log.warn("No root properties for configuration node {} (family={})", node.getId(), family);
         }
@@ -119,8 +151,8 @@ public class UiSpecService<T> implements AutoCloseable {
             isRootProperty = p -> rootProperties.contains(p.getPath());
         }
 
-        return convert(node::getDisplayName, () -> family, () -> props, node::getActions, isRootProperty, context,
-                lang);
+        return convert(node.getId(), node.getVersion(), node::getDisplayName, () -> family, () -> props,
+                node::getActions, isRootProperty, context, lang);
     }
 
     /**
@@ -131,11 +163,72 @@ public class UiSpecService<T> implements AutoCloseable {
      * @return the uiSpec corresponding to the model.
      */
     public CompletionStage<Ui> convert(final ComponentDetail detail, final String lang, final T context) {
-        return convert(detail::getDisplayName, detail.getId()::getFamily, detail::getProperties, detail::getActions,
+        return convert(detail.getId().getId(), detail.getVersion(), detail::getDisplayName,
+                detail.getId()::getFamily, detail::getProperties, detail::getActions,
                 p -> p.getName().equals(p.getPath()), context, lang);
     }
 
-    private CompletionStage<Ui> convert(final Supplier<String> displayName, final Supplier<String> family,
+    private CompletionStage<Ui> convert(final String id, final int version, final Supplier<String> displayName,
+            final Supplier<String> family, final Supplier<Collection<SimplePropertyDefinition>> properties,
+            final Supplier<Collection<ActionReference>> actions,
+            final Predicate<SimplePropertyDefinition> isRootProperty, final T context, final String lang) {
+        if (cache == null) {
+            return doConvert(displayName, family, properties, actions, isRootProperty, context, lang);
+        }
+        final Collection<SimplePropertyDefinition> props = properties.get();
+        final UiKey key = new UiKey(id, version, lang, cacheKey.apply(context),
+                props.stream().map(SimplePropertyDefinition::getPath).collect(toList()));
+        final CompletableFuture<Ui> existing;
+        final CompletableFuture<Ui> created;
+        synchronized (cache) {
+            existing = cache.get(key);
+            if (existing == null) {
+                created = new CompletableFuture<>();
+                cache.put(key, created);
+            } else {
+                created = null;
+            }
+        }
+        if (existing != null) {
+            return existing.thenApply(UiCopies::copy);
+        }
+        final CompletionStage<Ui> conversion;
+        try {
+            conversion = doConvert(displayName, family, () -> props, actions, isRootProperty, context, lang);
+        } catch (final Throwable error) { // synchronous failure, don't let the pending entry block the next calls
+            synchronized (cache) {
+                cache.remove(key, created);
+            }
+            created.completeExceptionally(error);
+            return created;
+        }
+        conversion.whenComplete((ui, error) -> {
+            if (error != null) { // don't cache failures
+                synchronized (cache) {
+                    cache.remove(key, created);
+                }
+                created.completeExceptionally(error);
+            } else {
+                created.complete(ui);
+            }
+        });
+        return created.thenApply(UiCopies::copy);
+    }
+
+    private CompletionStage<Ui> doConvert(final Supplier<String> displayName, final Supplier<String> family,
+            final Supplier<Collection<SimplePropertyDefinition>> properties,
+            final Supplier<Collection<ActionReference>> actions,
+            final Predicate<SimplePropertyDefinition> isRootProperty, final T context, final String lang) {
+        if (executor != null) {
+            return CompletableFuture
+                    .supplyAsync(() -> toUi(displayName, family, properties, actions, isRootProperty, context, lang),
+                            executor)
+                    .thenCompose(identity());
+        }
+        return toUi(displayName, family, properties, actions, isRootProperty, context, lang);
+    }
+
+    private CompletionStage<Ui> toUi(final Supplier<String> displayName, final Supplier<String> family,
             final Supplier<Collection<SimplePropertyDefinition>> properties,
             final Supplier<Collection<ActionReference>> actions,
             final Predicate<SimplePropertyDefinition> isRootProperty, final T context, final String lang) {
@@ -176,10 +269,40 @@ public class UiSpecService<T> implements AutoCloseable {
                 .thenApply(r -> ui);
     }
 
+    // a property is a root one if none of its parent paths is a property,
+    // it avoids to compare all the paths together
+    private Collection<String> findRootProperties(final Collection<SimplePropertyDefinition> properties) {
+        final Set<String> paths = properties.stream().map(SimplePropertyDefinition::getPath).collect(toSet());
+        return paths.stream().filter(path -> {
+            int dot = path.indexOf('.');
+            while (dot > 0) {
+                if (paths.contains(path.substring(0, dot))) {
+                    return false;
+                }
+                dot = path.indexOf('.', dot + 1);
+            }
+            return true;
+        }).collect(toSet());
+    }
+
     @Override
     public void close() throws Exception {
         if (closeJsonb) {
             jsonb.close();
         }
     }
+
+    @Data
+    private static class UiKey {
+
+        private final String id;
+
+        private final int version;
+
+        private final String language;
+
+        private final Object context;
+
+        private final Collection<String> paths;
+    }
 }
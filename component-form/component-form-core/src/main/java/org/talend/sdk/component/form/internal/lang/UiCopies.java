@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.form.internal.lang;
+
+import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.talend.sdk.component.form.model.Ui;
+import org.talend.sdk.component.form.model.jsonschema.JsonSchema;
+import org.talend.sdk.component.form.model.uischema.UiSchema;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Structural copies of the uiSpec model, used to share a cached uiSpec without letting callers mutate it.
+ * Strings and numbers are immutable so only the model instances and containers are recreated.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class UiCopies {
+
+    public static Ui copy(final Ui ui) {
+        if (ui == null) {
+            return null;
+        }
+        final Ui copy = new Ui();
+        copy.setJsonSchema(copy(ui.getJsonSchema()));
+        copy.setUiSchema(copy(ui.getUiSchema(), UiCopies::copy));
+        copy.setProperties(copyValue(ui.getProperties()));
+        return copy;
+    }
+
+    public static JsonSchema copy(final JsonSchema schema) {
+        if (schema == null) {
+            return null;
+        }
+        final JsonSchema copy = new JsonSchema();
+        copy.setId(schema.getId());
+        copy.setTitle(schema.getTitle());
+        copy.setDescription(schema.getDescription());
+        copy.setSchema(schema.getSchema());
+        copy.setRef(schema.getRef());
+        copy.setType(schema.getType());
+        copy.setMinItems(schema.getMinItems());
+        copy.setMaxItems(schema.getMaxItems());
+        copy.setMinLength(schema.getMinLength());
+        copy.setMaxLength(schema.getMaxLength());
+        copy.setMinimum(schema.getMinimum());
+        copy.setMaximum(schema.getMaximum());
+        copy.setUniqueItems(schema.getUniqueItems());
+        copy.setPattern(schema.getPattern());
+        copy.setDefaultValue(copyValue(schema.getDefaultValue()));
+        copy.setRequired(copy(schema.getRequired(), Function.identity()));
+        if (schema.getProperties() != null) {
+            final Map<String, JsonSchema> properties = new LinkedHashMap<>();
+            schema.getProperties().forEach((key, value) -> properties.put(key, copy(value)));
+            copy.setProperties(properties);
+        }
+        copy.setItems(copy(schema.getItems()));
+        copy.setEnumValues(copy(schema.getEnumValues(), Function.identity()));
+        return copy;
+    }
+
+    public static UiSchema copy(final UiSchema schema) {
+        if (schema == null) {
+            return null;
+        }
+        final UiSchema copy = new UiSchema();
+        copy.setKey(schema.getKey());
+        copy.setTitle(schema.getTitle());
+        copy.setWidget(schema.getWidget());
+        copy.setItemWidget(schema.getItemWidget());
+        copy.setType(schema.getType());
+        copy.setDescription(schema.getDescription());
+        copy.setItems(copy(schema.getItems(), UiCopies::copy));
+        copy.setOptions(schema.getOptions() == null ? null : new LinkedHashMap<>(schema.getOptions()));
+        copy.setAutoFocus(schema.getAutoFocus());
+        copy.setDisabled(schema.getDisabled());
+        copy.setReadOnly(schema.getReadOnly());
+        copy.setRequired(schema.getRequired());
+        copy.setRestricted(schema.getRestricted());
+        copy.setPlaceholder(schema.getPlaceholder());
+        copy.setTriggers(copy(schema.getTriggers(), UiCopies::copy));
+        copy.setTitleMap(copy(schema.getTitleMap(), UiCopies::copy));
+        if (schema.getCondition() != null) {
+            final Map<String, Collection<Object>> condition = new LinkedHashMap<>();
+            schema
+                    .getCondition()
+                    .forEach((key, values) -> condition.put(key, copy(values, UiCopies::copyValue)));
+            copy.setCondition(condition);
+        }
+        return copy;
+    }
+
+    private static UiSchema.Trigger copy(final UiSchema.Trigger trigger) {
+        final UiSchema.Trigger copy = new UiSchema.Trigger();
+        copy.setAction(trigger.getAction());
+        copy.setFamily(trigger.getFamily());
+        copy.setType(trigger.getType());
+        copy.setOnEvent(trigger.getOnEvent());
+        copy.setOptions(copy(trigger.getOptions(), option -> {
+            final UiSchema.Option optionCopy = new UiSchema.Option();
+            optionCopy.setPath(option.getPath());
+            optionCopy.setType(option.getType());
+            return optionCopy;
+        }));
+        copy.setParameters(copy(trigger.getParameters(), parameter -> {
+            final UiSchema.Parameter parameterCopy = new UiSchema.Parameter();
+            parameterCopy.setKey(parameter.getKey());
+            parameterCopy.setPath(parameter.getPath());
+            return parameterCopy;
+        }));
+        return copy;
+    }
+
+    private static UiSchema.NameValue copy(final UiSchema.NameValue nameValue) {
+        final UiSchema.NameValue copy = new UiSchema.NameValue();
+        copy.setName(nameValue.getName());
+        copy.setValue(nameValue.getValue());
+        return copy;
+    }
+
+    // properties and default values are json like trees (maps, lists and primitives)
+    private static Object copyValue(final Object value) {
+        if (Map.class.isInstance(value)) {
+            final Map<Object, Object> copy = new LinkedHashMap<>();
+            Map.class.cast(value).forEach((key, nested) -> copy.put(key, copyValue(nested)));
+            return copy;
+        }
+        if (Collection.class.isInstance(value)) {
+            final Collection<Object> copy = new ArrayList<>();
+            Collection.class.cast(value).forEach(nested -> copy.add(copyValue(nested)));
+            return copy;
+        }
+        return value;
+    }
+
+    private static <T> Collection<T> copy(final Collection<T> values, final Function<T, T> copier) {
+        return values == null ? null : values.stream().map(copier).collect(toList());
+    }
+}
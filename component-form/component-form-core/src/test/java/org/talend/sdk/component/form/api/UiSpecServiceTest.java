@@ -16,15 +16,20 @@
 package org.talend.sdk.component.form.api;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.InputStream;
@@ -41,6 +46,9 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -51,6 +59,8 @@ import javax.json.bind.config.PropertyOrderStrategy;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.form.internal.converter.CustomPropertyConverter;
+import org.talend.sdk.component.form.internal.converter.PropertyContext;
 import org.talend.sdk.component.form.model.Ui;
 import org.talend.sdk.component.form.model.jsonschema.JsonSchema;
 import org.talend.sdk.component.form.model.uischema.UiSchema;
@@ -110,6 +120,105 @@ class UiSpecServiceTest {
         assertEquals("object", option.getType());
     }
 
+    @Test
+    void cached() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger conversions = new AtomicInteger();
+        final UiSpecService<Object> cachingService = new UiSpecService<>(new Client<Object>() {
+
+            @Override
+            public CompletionStage<Map<String, Object>> action(final String family, final String type,
+                    final String action, final String lang, final Map<String, Object> params, final Object ignored) {
+                calls.incrementAndGet();
+                final Map<String, String> item = new HashMap<>();
+                item.put("id", "some.driver.Jdbc");
+                item.put("label", "Jdbc driver");
+                return CompletableFuture.completedFuture(singletonMap("items", singleton(item)));
+            }
+
+            @Override
+            public void close() {
+                // no-op
+            }
+        }).withCache(10, identity()).withConverter(new CustomPropertyConverter() {
+
+            @Override
+            public boolean supports(final PropertyContext<?> context) { // called once per converted property
+                conversions.incrementAndGet();
+                return false;
+            }
+        });
+        try (final Jsonb jsonb = JsonbBuilder.create()) {
+            final ComponentDetail node = load("jdbc.json", ComponentDetail.class);
+            final Ui first = cachingService.convert(node, "en", "ctx").toCompletableFuture().get();
+            final int callsAfterFirstConversion = calls.get();
+            final int conversionsAfterFirstConversion = conversions.get();
+            assertTrue(callsAfterFirstConversion > 0);
+            assertTrue(conversionsAfterFirstConversion > 0);
+            final String firstJson = jsonb.toJson(first);
+
+            // callers get their own instance, mutating it doesn't impact the cache
+            first.getJsonSchema().setTitle("changed");
+            first.getUiSchema().iterator().next().setTitle("changed");
+            final Ui second = cachingService.convert(node, "en", "ctx").toCompletableFuture().get();
+            assertEquals(callsAfterFirstConversion, calls.get());
+            assertEquals(conversionsAfterFirstConversion, conversions.get());
+            assertNotSame(first, second);
+            assertNotSame(first.getJsonSchema(), second.getJsonSchema());
+            assertEquals(firstJson, jsonb.toJson(second));
+
+            cachingService.convert(node, "fr", "ctx").toCompletableFuture().get();
+            cachingService.convert(node, "en", "other").toCompletableFuture().get();
+            assertEquals(3 * callsAfterFirstConversion, calls.get());
+            assertEquals(3 * conversionsAfterFirstConversion, conversions.get());
+        } finally {
+            cachingService.close();
+        }
+    }
+
+    @Test
+    void cachedSynchronousFailure() throws Exception {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        final ComponentDetail loaded = load("jdbc.json", ComponentDetail.class);
+        final ComponentDetail node = new ComponentDetail(loaded.getId(), loaded.getDisplayName(), loaded.getIcon(),
+                loaded.getType(), loaded.getVersion(), loaded.getProperties(), loaded.getActions(),
+                loaded.getInputFlows(), loaded.getOutputFlows(), loaded.getLinks()) {
+
+            @Override
+            public String getDisplayName() {
+                if (fail.get()) {
+                    throw new IllegalStateException("conversion failed");
+                }
+                return super.getDisplayName();
+            }
+        };
+        final UiSpecService<Object> cachingService = new UiSpecService<>(new Client<Object>() {
+
+            @Override
+            public CompletionStage<Map<String, Object>> action(final String family, final String type,
+                    final String action, final String lang, final Map<String, Object> params, final Object ignored) {
+                return CompletableFuture.completedFuture(singletonMap("items", emptyList()));
+            }
+
+            @Override
+            public void close() {
+                // no-op
+            }
+        }).withCache(10, identity());
+        try {
+            final ExecutionException error = assertThrows(ExecutionException.class,
+                    () -> cachingService.convert(node, "en", "ctx").toCompletableFuture().get(1, MINUTES));
+            assertEquals("conversion failed", error.getCause().getMessage());
+
+            // the failure is not cached and the next call does not wait for the failed conversion
+            fail.set(false);
+            final Ui ui = cachingService.convert(node, "en", "ctx").toCompletableFuture().get(1, MINUTES);
+            assertEquals(loaded.getDisplayName(), ui.getJsonSchema().getTitle());
+        } finally {
+            cachingService.close();
+        }
+    }
+
     @Test
     void conditionAnd() throws Exception {
         final ComponentDetail node = load("condition-and.json", ComponentDetail.class);
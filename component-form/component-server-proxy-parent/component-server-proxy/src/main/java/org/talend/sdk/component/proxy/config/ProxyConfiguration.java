@@ -90,6 +90,12 @@ public class ProxyConfiguration {
             defaultValue = "component-uispec-metadata.%s.json?force=false")
     private String uiSpecPatchLocation;
 
+    @Inject
+    @Documentation("Maximum number of converted uiSpec kept in memory per (form, language, cache key header), "
+            + "the least recently used ones are evicted first. A negative or zero value disables the cache.")
+    @ConfigProperty(name = PREFIX + "processing.uiSpec.cache.max-size", defaultValue = "1000")
+    private Integer uiSpecCacheMaxSize;
+
     @Inject
     @Documentation("A home location for relative path resolution (optional).")
     @ConfigProperty(name = PREFIX + "application.home", defaultValue = "${playx.application.home}")
@@ -120,6 +126,30 @@ public class ProxyConfiguration {
     @ConfigProperty(name = PREFIX + "jcache.refresh.period", defaultValue = "60")
     private Long jcacheRefreshPeriod;
 
+    @Inject
+    @Documentation("Default number of seconds a cache entry is kept, a negative or zero value means eternal. "
+            + "It can be overriden per cache with `" + PREFIX + "jcache.caches.$cacheName.expiry.duration`.")
+    @ConfigProperty(name = PREFIX + "jcache.caches.expiry.duration", defaultValue = "3600")
+    private Long jcacheExpiryDuration;
+
+    @Inject
+    @Documentation("Default maximum number of entries per cache, a negative or zero value means unbounded. "
+            + "It can be overriden per cache with `" + PREFIX + "jcache.caches.$cacheName.max-size`.")
+    @ConfigProperty(name = PREFIX + "jcache.caches.max-size", defaultValue = "1000")
+    private Integer jcacheMaxSize;
+
+    @Inject
+    @Documentation("Ratio of the catalog (components and configurations) expiry duration after which the refresher "
+            + "reloads the warmed up languages in background, a value outside ]0, 1[ disables the refresh-ahead.")
+    @ConfigProperty(name = PREFIX + "jcache.refresh-ahead.ratio", defaultValue = "0.8")
+    private Double jcacheRefreshAheadRatio;
+
+    @Inject
+    @Documentation("Languages the catalog is loaded for at startup and refreshed for in background. "
+            + "Note that it is done without any placeholder so it is only relevant for static headers.")
+    @ConfigProperty(name = PREFIX + "jcache.warmup.languages", defaultValue = "en")
+    private List<String> jcacheWarmUpLanguages;
+
     @Inject
     @Documentation("For the client executor, the number of threads.")
     @ConfigProperty(name = PREFIX + "client.executor.threads", defaultValue = "64")
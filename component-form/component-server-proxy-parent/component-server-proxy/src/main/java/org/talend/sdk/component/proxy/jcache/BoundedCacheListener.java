@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.proxy.jcache;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+/**
+ * JCache has no standard size bound so this listener tracks the keys in access order and removes the least recently
+ * used ones when the cache grows over its max size. JCache has no read event either so the reads are tracked through
+ * the view of the cache returned by {@link #trackReads(Cache)}, writes (like a catalog refresh) are accesses too.
+ */
+class BoundedCacheListener<K, V> implements CacheEntryCreatedListener<K, V>, CacheEntryUpdatedListener<K, V>,
+        CacheEntryRemovedListener<K, V>, CacheEntryExpiredListener<K, V> {
+
+    // access ordered, the eldest is the least recently used
+    private final Map<Object, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maxSize;
+
+    private volatile Cache<K, V> cache;
+
+    BoundedCacheListener(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    void setCache(final Cache<K, V> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param cache the bounded cache.
+     * @return a view of the cache touching the keys it reads.
+     */
+    Cache<K, V> trackReads(final Cache<K, V> cache) {
+        return (Cache<K, V>) Proxy
+                .newProxyInstance(BoundedCacheListener.class.getClassLoader(), new Class<?>[] { Cache.class },
+                        (proxy, method, args) -> {
+                            if (args != null && args.length == 1) {
+                                if ("get".equals(method.getName())) {
+                                    touch(args[0]);
+                                } else if ("getAll".equals(method.getName())) {
+                                    Collection.class.cast(args[0]).forEach(this::touch);
+                                }
+                            }
+                            try {
+                                return method.invoke(cache, args);
+                            } catch (final InvocationTargetException ite) {
+                                throw ite.getTargetException();
+                            }
+                        });
+    }
+
+    // clear() does not send removal events
+    void reset() {
+        synchronized (keys) {
+            keys.clear();
+        }
+    }
+
+    @Override
+    public void onCreated(final Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        final Set<K> evicted = new LinkedHashSet<>();
+        synchronized (keys) {
+            for (final CacheEntryEvent<? extends K, ? extends V> event : events) {
+                keys.put(event.getKey(), Boolean.TRUE);
+            }
+            final Iterator<Object> iterator = keys.keySet().iterator();
+            while (keys.size() > maxSize && iterator.hasNext()) {
+                evicted.add((K) iterator.next());
+                iterator.remove();
+            }
+        }
+        if (!evicted.isEmpty() && cache != null) {
+            cache.removeAll(evicted);
+        }
+    }
+
+    @Override
+    public void onUpdated(final Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        for (final CacheEntryEvent<? extends K, ? extends V> event : events) {
+            touch(event.getKey());
+        }
+    }
+
+    @Override
+    public void onRemoved(final Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        forget(events);
+    }
+
+    @Override
+    public void onExpired(final Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        forget(events);
+    }
+
+    private void touch(final Object key) {
+        synchronized (keys) {
+            keys.get(key); // moves it at the end of the access order if tracked
+        }
+    }
+
+    private void forget(final Iterable<CacheEntryEvent<? extends K, ? extends V>> events) {
+        synchronized (keys) {
+            for (final CacheEntryEvent<? extends K, ? extends V> event : events) {
+                keys.remove(event.getKey());
+            }
+        }
+    }
+}
@@ -15,11 +15,23 @@
  */
 package org.talend.sdk.component.proxy.jcache;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -27,6 +39,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.annotation.PostConstruct;
@@ -40,6 +54,7 @@ import javax.cache.annotation.CacheResolver;
 import javax.cache.annotation.CacheResolverFactory;
 import javax.cache.annotation.CacheResult;
 import javax.cache.configuration.Factory;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.expiry.CreatedExpiryPolicy;
 import javax.cache.expiry.Duration;
@@ -53,15 +68,24 @@ import javax.inject.Inject;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.talend.sdk.component.proxy.config.ProxyConfiguration;
+import org.talend.sdk.component.proxy.service.client.ComponentClient;
+import org.talend.sdk.component.proxy.service.client.ConfigurationClient;
 import org.talend.sdk.component.proxy.service.client.EnvironmentClient;
 import org.talend.sdk.component.proxy.service.qualifier.UiSpecProxy;
+import org.talend.sdk.component.server.front.model.ComponentIndices;
+import org.talend.sdk.component.server.front.model.ConfigTypeNodes;
 
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @ApplicationScoped
 public class CacheResolverManager implements CacheResolverFactory {
 
+    private static final String COMPONENTS_CACHE = "org.talend.sdk.component.proxy.components.all";
+
+    private static final String CONFIGURATIONS_CACHE = "org.talend.sdk.component.proxy.configurations.all";
+
     @Inject
     private ProxyConfiguration configuration;
 
@@ -72,8 +96,22 @@ public class CacheResolverManager implements CacheResolverFactory {
     @Inject
     private EnvironmentClient client;
 
+    @Inject
+    private ComponentClient componentClient;
+
+    @Inject
+    private ConfigurationClient configurationClient;
+
     private final ConcurrentMap<String, CacheResolver> resolvers = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, BoundedCacheListener<Object, Object>> boundedListeners =
+            new ConcurrentHashMap<>();
+
+    // what the cached catalog was built from, used to only invalidate what changed on the server
+    private volatile Map<String, CatalogEntry> catalog;
+
+    private volatile long lastWarmUp;
+
     private Runnable onDestroy;
 
     private long lastTimestamp;
@@ -124,14 +162,16 @@ public class CacheResolverManager implements CacheResolverFactory {
     }
 
     private CompletionStage<?> updateIfNeeded() {
-        return client.current(k -> null).thenApply(e -> {
+        return client.current(k -> null).<Object> thenCompose(e -> {
             final long newTimestamp = e.getLastUpdated().getTime();
             if (newTimestamp <= 0 /* no support on this env */ || newTimestamp == lastTimestamp) {
-                return e;
+                if (catalog == null || isRefreshAheadNeeded()) {
+                    return warmUp().thenApply(Object.class::cast);
+                }
+                return completedFuture(null);
             }
             lastTimestamp = newTimestamp;
-            clearCaches();
-            return e;
+            return onServerUpdate().thenApply(Object.class::cast);
         }).handle((r, t) -> {
             if (t != null) {
                 log.warn("Can't contact Component Server", t);
@@ -140,11 +180,128 @@ public class CacheResolverManager implements CacheResolverFactory {
         });
     }
 
-    private void clearCaches() {
-        StreamSupport
+    CompletionStage<Void> onServerUpdate() {
+        final Map<String, CatalogEntry> previous = catalog;
+        clearCache(COMPONENTS_CACHE);
+        clearCache(CONFIGURATIONS_CACHE);
+        return warmUp().thenAccept(current -> {
+            if (previous == null || current == null) {
+                proxyCacheNames().filter(name -> !isCatalogCache(name)).forEach(this::clearCache);
+                return;
+            }
+            final Set<Object> changed = Stream
+                    .concat(previous.keySet().stream(), current.keySet().stream())
+                    .distinct()
+                    .filter(id -> !Objects.equals(previous.get(id), current.get(id)))
+                    .flatMap(id -> Stream.of(previous.get(id), current.get(id)))
+                    .filter(Objects::nonNull)
+                    .flatMap(entry -> entry.getReferences().stream())
+                    .collect(toSet());
+            if (changed.isEmpty()) {
+                return;
+            }
+            log.info("Server catalog changed, invalidating cached entries related to {}", changed);
+            invalidate(changed);
+        });
+    }
+
+    // removes the cached entries having one of the references as key parameter
+    void invalidate(final Set<Object> references) {
+        proxyCacheNames()
+                .filter(name -> !isCatalogCache(name))
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(cache -> cache
+                        .removeAll(StreamSupport
+                                .stream(cache.spliterator(), false)
+                                .map(Cache.Entry::getKey)
+                                .filter(ProxyCacheKeyGenerator.GeneratedCacheKeyImpl.class::isInstance)
+                                .filter(key -> ProxyCacheKeyGenerator.GeneratedCacheKeyImpl.class
+                                        .cast(key)
+                                        .hasParameterIn(references))
+                                .collect(toSet())));
+    }
+
+    // reloads the catalog caches for the configured languages, without placeholders
+    private CompletionStage<Map<String, CatalogEntry>> warmUp() {
+        final List<String> languages = configuration.getJcacheWarmUpLanguages();
+        if (!configuration.getJcacheActive() || languages == null || languages.isEmpty()) {
+            return completedFuture(null);
+        }
+        lastWarmUp = System.currentTimeMillis();
+        final Function<String, String> noPlaceholder = k -> null;
+        final List<CompletableFuture<ComponentIndices>> components = languages
+                .stream()
+                .map(lang -> componentClient.reloadAllComponents(lang, noPlaceholder).toCompletableFuture())
+                .collect(toList());
+        final List<CompletableFuture<ConfigTypeNodes>> configurations = languages
+                .stream()
+                .map(lang -> configurationClient.reloadAllConfigurations(lang, noPlaceholder).toCompletableFuture())
+                .collect(toList());
+        return CompletableFuture
+                .allOf(Stream.concat(components.stream(), configurations.stream()).toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    final Map<String, CatalogEntry> current =
+                            toCatalog(components.get(0).join(), configurations.get(0).join());
+                    catalog = current;
+                    return current;
+                })
+                .exceptionally(t -> {
+                    log.warn("Can't warm up the catalog caches", t);
+                    catalog = null;
+                    // don't keep failed lookups
+                    clearCache(COMPONENTS_CACHE);
+                    clearCache(CONFIGURATIONS_CACHE);
+                    return null;
+                });
+    }
+
+    private Map<String, CatalogEntry> toCatalog(final ComponentIndices components, final ConfigTypeNodes configs) {
+        final Map<String, CatalogEntry> entries = new HashMap<>();
+        components
+                .getComponents()
+                .forEach(component -> entries
+                        .put(component.getId().getId(), new CatalogEntry(component.hashCode(),
+                                asList(component.getId().getId(), component.getId().getFamilyId(),
+                                        component.getId().getFamily()))));
+        configs
+                .getNodes()
+                .forEach((id, node) -> entries.put(id, new CatalogEntry(node.hashCode(), singletonList(id))));
+        return entries;
+    }
+
+    private boolean isRefreshAheadNeeded() {
+        final double ratio = configuration.getJcacheRefreshAheadRatio();
+        if (ratio <= 0 || ratio >= 1) {
+            return false;
+        }
+        final Config config = ConfigProvider.getConfig();
+        final long expiry = Stream
+                .of(COMPONENTS_CACHE, CONFIGURATIONS_CACHE)
+                .mapToLong(name -> getExpiry(config, name))
+                .min()
+                .orElse(0);
+        return expiry > 0 && System.currentTimeMillis() - lastWarmUp >= ratio * TimeUnit.SECONDS.toMillis(expiry);
+    }
+
+    private void clearCache(final String name) {
+        ofNullable(cacheManager.getCache(name)).ifPresent(Cache::clear);
+        ofNullable(boundedListeners.get(name)).ifPresent(BoundedCacheListener::reset);
+    }
+
+    private Stream<String> proxyCacheNames() {
+        return StreamSupport
                 .stream(cacheManager.getCacheNames().spliterator(), false)
-                .filter(name -> name.startsWith("org.talend.sdk.component.proxy."))
-                .forEach(r -> cacheManager.getCache(r).clear());
+                .filter(name -> name.startsWith("org.talend.sdk.component.proxy."));
+    }
+
+    private boolean isCatalogCache(final String name) {
+        return COMPONENTS_CACHE.equals(name) || CONFIGURATIONS_CACHE.equals(name);
+    }
+
+    private long getExpiry(final Config config, final String keyCacheName) {
+        return getConfigValue(config, keyCacheName, "expiry.duration", Long.class)
+                .orElseGet(configuration::getJcacheExpiryDuration);
     }
 
     private CacheResolver toResolver(final String cacheName) {
@@ -159,10 +316,14 @@ public class CacheResolverManager implements CacheResolverFactory {
             log.debug("Creating cache {}", keyCacheName);
 
             final Config config = ConfigProvider.getConfig();
-            final Factory<ExpiryPolicy> policy = getConfigValue(config, keyCacheName, "expiry.duration", Long.class)
-                    .map(l -> new Duration(TimeUnit.SECONDS, l))
-                    .map(CreatedExpiryPolicy::factoryOf)
-                    .orElseGet(EternalExpiryPolicy::factoryOf);
+            final long expiry = getExpiry(config, keyCacheName);
+            final Factory<ExpiryPolicy> policy = expiry > 0
+                    ? CreatedExpiryPolicy.factoryOf(new Duration(TimeUnit.SECONDS, expiry))
+                    : EternalExpiryPolicy.factoryOf();
+            final int maxSize = getConfigValue(config, keyCacheName, "max-size", Integer.class)
+                    .orElseGet(configuration::getJcacheMaxSize);
+            final BoundedCacheListener<Object, Object> bound =
+                    maxSize > 0 ? new BoundedCacheListener<>(maxSize) : null;
 
             final MutableConfiguration<Object, Object> conf = new MutableConfiguration<>();
             conf.setExpiryPolicyFactory(policy);
@@ -174,8 +335,19 @@ public class CacheResolverManager implements CacheResolverFactory {
                     .setStatisticsEnabled(
                             getConfigValue(config, keyCacheName, "statistics.active", Boolean.class).orElse(false));
 
+            if (bound != null) {
+                conf.addCacheEntryListenerConfiguration(
+                        new MutableCacheEntryListenerConfiguration<>(() -> bound, null, false, true));
+            }
+
             try {
-                return new CacheResolverImpl(cacheManager.createCache(cacheName, conf));
+                final Cache<Object, Object> cache = cacheManager.createCache(cacheName, conf);
+                if (bound != null) {
+                    bound.setCache(cache);
+                    boundedListeners.put(cacheName, bound);
+                    return new CacheResolverImpl(bound.trackReads(cache));
+                }
+                return new CacheResolverImpl(cache);
             } catch (final CacheException ce) {
                 return new CacheResolverImpl(cacheManager.getCache(cacheName));
             }
@@ -212,6 +384,15 @@ public class CacheResolverManager implements CacheResolverFactory {
         }
     }
 
+    @Data
+    private static class CatalogEntry {
+
+        private final int signature;
+
+        // the values cache keys can reference (ids, family names)
+        private final Collection<String> references;
+    }
+
     private static class CacheResolverImpl implements CacheResolver {
 
         private final Cache<?, ?> delegate;
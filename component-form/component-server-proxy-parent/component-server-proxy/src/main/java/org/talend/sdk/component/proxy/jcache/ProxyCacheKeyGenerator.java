@@ -107,5 +107,9 @@ public class ProxyCacheKeyGenerator implements CacheKeyGenerator {
         public int hashCode() {
             return hash;
         }
+
+        boolean hasParameterIn(final Collection<?> values) {
+            return Stream.of(params).anyMatch(values::contains);
+        }
     }
 }
@@ -18,13 +18,19 @@ package org.talend.sdk.component.proxy.service.client;
 import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
@@ -56,7 +62,7 @@ public class ClientProducer {
     @Produces
     @UiSpecProxy
     public UiSpecService<UiSpecContext> uiSpecService(@UiSpecProxy final Client client, @UiSpecProxy final Jsonb jsonb,
-            final ConfigurationService configurationService,
+            final ProxyConfiguration configuration, final ConfigurationService configurationService,
             final Instance<CustomPropertyConverter> customPropertyConverters) {
 
         final UiSpecService<UiSpecContext> service = new UiSpecService<UiSpecContext>(client, jsonb) {
@@ -85,9 +91,27 @@ public class ClientProducer {
                 .sorted(comparing(
                         it -> ofNullable(it.getClass().getAnnotation(Priority.class)).map(Priority::value).orElse(0)))
                 .forEach(service::withConverter);
+        if (configuration.getUiSpecCacheMaxSize() > 0) {
+            service.withCache(configuration.getUiSpecCacheMaxSize(), context -> toCacheKey(configuration, context));
+        }
         return service;
     }
 
+    // same partitioning as the jcache keys: the language and the headers the server responses depend on
+    private Object toCacheKey(final ProxyConfiguration configuration, final UiSpecContext context) {
+        if (context == null) {
+            return null;
+        }
+        final Collection<String> headers = configuration
+                .getCacheHeaderName()
+                .map(Collections::singletonList)
+                .orElseGet(() -> new ArrayList<>(configuration.getDynamicHeaders()));
+        final Function<String, String> placeholders = ofNullable(context.getPlaceholderProvider()).orElse(k -> null);
+        return Stream
+                .concat(Stream.of(context.getLanguage()), headers.stream().map(placeholders))
+                .collect(toList());
+    }
+
     public void destroyUiSpecService(@Disposes @UiSpecProxy final UiSpecService<UiSpecContext> client) {
         try {
             client.close();
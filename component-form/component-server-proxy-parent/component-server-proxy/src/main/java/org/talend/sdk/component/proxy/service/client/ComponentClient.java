@@ -48,6 +48,18 @@ public class ComponentClient {
     @CacheResult(cacheName = "org.talend.sdk.component.proxy.components.all")
     public CompletionStage<ComponentIndices> getAllComponents(final String language,
             final Function<String, String> placeholderProvider) {
+        return fetchAllComponents(language, placeholderProvider);
+    }
+
+    // used by the cache refresher, always fetches the index and replaces the cached one
+    @CacheResult(cacheName = "org.talend.sdk.component.proxy.components.all", skipGet = true)
+    public CompletionStage<ComponentIndices> reloadAllComponents(final String language,
+            final Function<String, String> placeholderProvider) {
+        return fetchAllComponents(language, placeholderProvider);
+    }
+
+    private CompletionStage<ComponentIndices> fetchAllComponents(final String language,
+            final Function<String, String> placeholderProvider) {
         final CompletableFuture<ComponentIndices> result = new CompletableFuture<>();
         configuration
                 .getHeaderAppender()
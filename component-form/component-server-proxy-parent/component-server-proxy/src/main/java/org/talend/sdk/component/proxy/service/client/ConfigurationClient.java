@@ -60,6 +60,18 @@ public class ConfigurationClient {
     @CacheResult(cacheName = "org.talend.sdk.component.proxy.configurations.all")
     public CompletionStage<ConfigTypeNodes> getAllConfigurations(final String language,
             final Function<String, String> placeholderProvider) {
+        return fetchAllConfigurations(language, placeholderProvider);
+    }
+
+    // used by the cache refresher, always fetches the index and replaces the cached one
+    @CacheResult(cacheName = "org.talend.sdk.component.proxy.configurations.all", skipGet = true)
+    public CompletionStage<ConfigTypeNodes> reloadAllConfigurations(final String language,
+            final Function<String, String> placeholderProvider) {
+        return fetchAllConfigurations(language, placeholderProvider);
+    }
+
+    private CompletionStage<ConfigTypeNodes> fetchAllConfigurations(final String language,
+            final Function<String, String> placeholderProvider) {
         final CompletableFuture<ConfigTypeNodes> result = new CompletableFuture<>();
         configuration
                 .getHeaderAppender()
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.proxy.jcache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.spi.CachingProvider;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheListenerTest {
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        final CachingProvider provider = Caching.getCachingProvider(Thread.currentThread().getContextClassLoader());
+        final CacheManager manager = provider.getCacheManager();
+        final BoundedCacheListener<String, String> bound = new BoundedCacheListener<>(2);
+        final MutableConfiguration<String, String> configuration = new MutableConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration
+                .addCacheEntryListenerConfiguration(
+                        new MutableCacheEntryListenerConfiguration<>(() -> bound, null, false, true));
+        final Cache<String, String> cache =
+                manager.createCache("BoundedCacheListenerTest.evictLeastRecentlyUsed", configuration);
+        try {
+            bound.setCache(cache);
+            final Cache<String, String> tracked = bound.trackReads(cache);
+            tracked.put("a", "1");
+            tracked.put("b", "2");
+            assertEquals("1", tracked.get("a")); // a is now more recent than b
+            tracked.put("c", "3");
+            assertTrue(cache.containsKey("a"));
+            assertFalse(cache.containsKey("b"));
+            assertTrue(cache.containsKey("c"));
+
+            tracked.put("a", "updated"); // an update is an access too
+            tracked.put("d", "4");
+            assertFalse(cache.containsKey("c"));
+            assertEquals("updated", cache.get("a"));
+
+            cache.remove("a");
+            tracked.put("e", "5");
+            assertTrue(cache.containsKey("d"));
+            assertEquals("5", tracked.get("e"));
+        } finally {
+            manager.destroyCache(cache.getName());
+        }
+    }
+}
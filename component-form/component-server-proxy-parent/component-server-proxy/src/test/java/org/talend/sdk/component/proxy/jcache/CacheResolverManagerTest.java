@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.proxy.jcache;
+
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.proxy.service.client.ComponentClient;
+import org.talend.sdk.component.proxy.test.CdiInject;
+import org.talend.sdk.component.proxy.test.WithServer;
+import org.talend.sdk.component.server.front.model.ComponentIndices;
+
+// the caches store the stages by reference so getting the same instance back means no remote call was done
+@CdiInject
+@WithServer
+class CacheResolverManagerTest {
+
+    private final Function<String, String> noPlaceholder = k -> null;
+
+    @Inject
+    private CacheResolverManager manager;
+
+    @Inject
+    private ComponentClient client;
+
+    @Test
+    void warmedCatalogIsServedFromTheCache() throws Exception {
+        final CompletionStage<ComponentIndices> warmed = client.reloadAllComponents("en", noPlaceholder);
+        warmed.toCompletableFuture().get();
+        assertSame(warmed, client.getAllComponents("en", noPlaceholder));
+
+        manager.onServerUpdate().toCompletableFuture().get();
+        final CompletionStage<ComponentIndices> reloaded = client.getAllComponents("en", noPlaceholder);
+        assertNotSame(warmed, reloaded);
+        assertSame(reloaded, client.getAllComponents("en", noPlaceholder));
+    }
+
+    @Test
+    void invalidateOnlyRelatedEntries() throws Exception {
+        final String familyId = client
+                .getAllComponents("en", noPlaceholder)
+                .toCompletableFuture()
+                .get()
+                .getComponents()
+                .get(0)
+                .getId()
+                .getFamilyId();
+        final CompletionStage<byte[]> icon = client.getFamilyIconById(familyId, noPlaceholder);
+        assertSame(icon, client.getFamilyIconById(familyId, noPlaceholder));
+
+        manager.invalidate(singleton("not-a-cached-family"));
+        assertSame(icon, client.getFamilyIconById(familyId, noPlaceholder));
+
+        manager.invalidate(singleton(familyId));
+        assertNotSame(icon, client.getFamilyIconById(familyId, noPlaceholder));
+    }
+}
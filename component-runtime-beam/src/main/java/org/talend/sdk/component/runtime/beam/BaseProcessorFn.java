@@ -24,16 +24,23 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import javax.json.bind.Jsonb;
 
+import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.util.common.ElementByteSizeObserver;
+import org.apache.beam.sdk.values.TupleTag;
 import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
 import org.talend.sdk.component.runtime.beam.spi.record.RecordCollectors;
+import org.talend.sdk.component.runtime.manager.builtinparams.BatchPolicy;
+import org.talend.sdk.component.runtime.manager.builtinparams.MaxBatchSizeParamBuilder;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
@@ -45,7 +52,6 @@ import org.talend.sdk.component.runtime.serialization.LightContainer;
 
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -54,74 +60,102 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
 
     protected Processor processor;
 
-    @Setter
-    protected int maxBatchSize = 1000;
+    protected BatchPolicy batchPolicy = BatchPolicy.ofSize(MaxBatchSizeParamBuilder.DEFAULT_VALUE);
 
-    protected int currentCount = 0;
+    protected transient BatchPolicy.Tracker batch;
+
+    private transient ByteSizeObserver byteSizeObserver;
 
     protected volatile RecordBuilderFactory recordFactory;
 
     protected volatile Jsonb jsonb;
 
+    // when set the element is the record of this branch, otherwise it wraps one array per branch (joins)
+    protected String inputBranch;
+
     BaseProcessorFn(final Processor processor) {
+        this(processor, null);
+    }
+
+    BaseProcessorFn(final Processor processor, final String inputBranch) {
         this.processor = processor;
+        this.inputBranch = inputBranch == null ? null : sanitizeConnectionName(inputBranch);
         if (ProcessorImpl.class.isInstance(processor)) {
-            ProcessorImpl.class
-                    .cast(processor)
-                    .getInternalConfiguration()
-                    .entrySet()
-                    .stream()
-                    .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
-                            && !it.getValue().trim().isEmpty())
-                    .findFirst()
-                    .ifPresent(val -> {
-                        try {
-                            maxBatchSize = Integer.parseInt(val.getValue().trim());
-                        } catch (final NumberFormatException nfe) {
-                            log.warn("Invalid configuratoin: " + val);
-                        }
-                    });
+            batchPolicy = BatchPolicy.of(ProcessorImpl.class.cast(processor).getInternalConfiguration());
         }
     }
 
+    public void setMaxBatchSize(final int maxBatchSize) {
+        batchPolicy = new BatchPolicy(maxBatchSize, batchPolicy.getMaxBytes(), batchPolicy.getMaxLingerMillis(),
+                batchPolicy.getTargetLatencyMillis());
+    }
+
     protected abstract Consumer<Record> toEmitter(ProcessContext context);
 
     protected abstract BeamOutputFactory getFinishBundleOutputFactory(FinishBundleContext context);
 
+    protected BeamOutputFactory getProcessOutputFactory(final ProcessContext context) {
+        return new BeamSingleOutputFactory(toEmitter(context), recordFactory, jsonb);
+    }
+
+    protected BeamOutputFactory getAfterGroupOutputFactory(final ProcessContext context) {
+        return new BeamMultiOutputFactory(toEmitter(context), recordFactory, jsonb);
+    }
+
     @Setup
     public void setup() throws Exception {
         processor.start();
+        batch = batchPolicy.newTracker();
+        if (batchPolicy.isEstimatingBytes()) {
+            byteSizeObserver = new ByteSizeObserver();
+        }
     }
 
     @ProcessElement
     public void processElement(final ProcessContext context) {
         ensureInit();
-        if (currentCount == 0) {
+        // there is no timer in a plain DoFn so a group which waited too long is completed before this record joins
+        if (batch.isLingerExpired()) {
+            afterGroup(context);
+        }
+        if (batch.getRecords() == 0) {
             processor.beforeGroup();
         }
-        final BeamOutputFactory output = new BeamSingleOutputFactory(toEmitter(context), recordFactory, jsonb);
-        processor.onNext(new BeamInputFactory(context), output);
+        final BeamOutputFactory output = getProcessOutputFactory(context);
+        processor
+                .onNext(inputBranch == null ? new BeamInputFactory(context)
+                        : new BeamSingleInputFactory(inputBranch, context.element()), output);
         output.postProcessing();
-        currentCount++;
-        if (maxBatchSize > 0 && currentCount >= maxBatchSize) {
-            currentCount = 0;
-            final BeamOutputFactory ago = new BeamMultiOutputFactory(toEmitter(context), recordFactory, jsonb);
-            processor.afterGroup(output);
-            ago.postProcessing();
+        if (batch.onRecord(byteSizeObserver == null ? 0 : byteSizeObserver.estimate(context.element()))) {
+            afterGroup(context);
         }
     }
 
     @FinishBundle
     public void finishBundle(final FinishBundleContext context) {
-        if (currentCount > 0) {
+        if (batch.getRecords() > 0) {
             ensureInit();
-            currentCount = 0;
             final BeamOutputFactory output = getFinishBundleOutputFactory(context);
-            processor.afterGroup(output);
+            afterGroup(output);
             output.postProcessing();
         }
     }
 
+    private void afterGroup(final ProcessContext context) {
+        final BeamOutputFactory output = getAfterGroupOutputFactory(context);
+        afterGroup(output);
+        output.postProcessing();
+    }
+
+    private void afterGroup(final BeamOutputFactory output) {
+        final long start = System.nanoTime();
+        try {
+            processor.afterGroup(output);
+        } finally {
+            batch.onAfterGroup(System.nanoTime() - start);
+        }
+    }
+
     @Teardown
     public void tearDown() {
         processor.stop();
@@ -139,6 +173,38 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
         }
     }
 
+    /**
+     * Estimates the size of a record with the coder used by the Talend transforms.
+     */
+    private static class ByteSizeObserver extends ElementByteSizeObserver {
+
+        private final Coder<Record> coder = SchemaRegistryCoder.of();
+
+        private long size;
+
+        private boolean failed;
+
+        private long estimate(final Record record) {
+            if (failed) {
+                return 0;
+            }
+            size = 0;
+            try {
+                coder.registerByteSizeObserver(record, this);
+                advance();
+            } catch (final Exception e) { // not an avro record, don't retry for each record
+                log.debug("Can't estimate the record size, ignoring $maxBatchBytes: " + e.getMessage(), e);
+                failed = true;
+            }
+            return size;
+        }
+
+        @Override
+        protected void reportElementSize(final long elementByteSize) {
+            size = elementByteSize;
+        }
+    }
+
     protected static final class BeamInputFactory implements InputFactory {
 
         private final Map<String, Iterator<Record>> objects;
@@ -160,6 +226,28 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
         }
     }
 
+    protected static final class BeamSingleInputFactory implements InputFactory {
+
+        private final String branch;
+
+        private Record element;
+
+        BeamSingleInputFactory(final String branch, final Record element) {
+            this.branch = branch;
+            this.element = element;
+        }
+
+        @Override
+        public Object read(final String name) {
+            if (element == null || !branch.equals(sanitizeConnectionName(name))) {
+                return null;
+            }
+            final Record value = element;
+            element = null;
+            return value;
+        }
+    }
+
     @RequiredArgsConstructor
     protected static abstract class BeamOutputFactory implements OutputFactory {
 
@@ -173,8 +261,8 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
 
         @Override
         public OutputEmitter create(final String name) {
-            return new BeamOutputEmitter(outputs.computeIfAbsent(sanitizeConnectionName(name), k -> new ArrayList<>()),
-                    factory, jsonb);
+            return new BeamOutputEmitter(
+                    outputs.computeIfAbsent(sanitizeConnectionName(name), k -> new ArrayList<>())::add, factory, jsonb);
         }
 
         public abstract void postProcessing();
@@ -191,8 +279,8 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
 
         @Override
         public OutputEmitter create(final String name) {
-            return new BeamOutputEmitter(outputs.computeIfAbsent(sanitizeConnectionName(name), k -> new ArrayList<>()),
-                    factory, jsonb);
+            return new BeamOutputEmitter(
+                    outputs.computeIfAbsent(sanitizeConnectionName(name), k -> new ArrayList<>())::add, factory, jsonb);
         }
 
         @Override
@@ -227,7 +315,7 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
         public OutputEmitter create(final String name) {
             return value -> {
                 final Collection<Record> values = new ArrayList<>();
-                new BeamOutputEmitter(values, factory, jsonb) {
+                new BeamOutputEmitter(values::add, factory, jsonb) {
 
                     @Override
                     public void emit(final Object value) {
@@ -256,10 +344,44 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
         }
     }
 
+    /**
+     * Emits the records directly on the Beam output matching their branch, unconnected branches are dropped.
+     */
+    protected static final class BeamTaggedOutputFactory extends BeamOutputFactory {
+
+        private final Map<String, TupleTag<Record>> tags;
+
+        private final BiConsumer<TupleTag<Record>, Record> tagEmit;
+
+        protected BeamTaggedOutputFactory(final Map<String, TupleTag<Record>> tags,
+                final BiConsumer<TupleTag<Record>, Record> tagEmit, final RecordBuilderFactory factory,
+                final Jsonb jsonb) {
+            super(null, factory, jsonb);
+            this.tags = tags;
+            this.tagEmit = tagEmit;
+        }
+
+        @Override
+        public OutputEmitter create(final String name) {
+            final TupleTag<Record> tag = tags.get(sanitizeConnectionName(name));
+            if (tag == null) {
+                return value -> {
+                    // no-op
+                };
+            }
+            return new BeamOutputEmitter(record -> tagEmit.accept(tag, record), factory, jsonb);
+        }
+
+        @Override
+        public void postProcessing() {
+            // no-op, records are emitted directly
+        }
+    }
+
     @RequiredArgsConstructor
     private static class BeamOutputEmitter implements OutputEmitter {
 
-        private final Collection<Record> builder;
+        private final Consumer<Record> builder;
 
         private final RecordBuilderFactory recordBuilderFactory;
 
@@ -272,7 +394,7 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
             if (value == null) {
                 return;
             }
-            builder.add(toRecord(value));
+            builder.accept(toRecord(value));
         }
 
         private Record toRecord(final Object value) {
@@ -15,6 +15,14 @@
  */
 package org.talend.sdk.component.runtime.beam;
 
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.talend.sdk.component.runtime.beam.avro.AvroSchemas.sanitizeConnectionName;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.beam.sdk.coders.Coder;
@@ -22,8 +30,12 @@ import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.windowing.GlobalWindow;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.TupleTag;
+import org.apache.beam.sdk.values.TupleTagList;
 import org.joda.time.Instant;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.beam.avro.AvroSchemas;
 import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
 import org.talend.sdk.component.runtime.output.Processor;
 
@@ -39,6 +51,31 @@ public final class TalendFn {
         return new ProcessorTransform(new ProcessorFn(processor));
     }
 
+    /**
+     * @param processor the processor to execute.
+     * @param inputBranch the branch of the incoming (unwrapped) records or null if they wrap one array per branch.
+     * @param outputBranches the branches to expose, each of them is available with {@link #outputTag(String)}.
+     * @return a transform emitting the records of each branch on its own output.
+     */
+    public static PTransform<PCollection<Record>, PCollectionTuple> asFn(final Processor processor,
+            final String inputBranch, final Collection<String> outputBranches) {
+        final List<String> branches = outputBranches
+                .stream()
+                .map(AvroSchemas::sanitizeConnectionName)
+                .distinct()
+                .sorted()
+                .collect(toList());
+        if (branches.isEmpty()) {
+            throw new IllegalArgumentException("No output branch for " + processor.name());
+        }
+        return new MultiOutputProcessorTransform(new MultiOutputProcessorFn(processor, inputBranch, branches),
+                branches);
+    }
+
+    public static TupleTag<Record> outputTag(final String branch) {
+        return new TupleTag<>(sanitizeConnectionName(branch));
+    }
+
     @NoArgsConstructor
     private static class ProcessorFn extends BaseProcessorFn<Record> {
 
@@ -58,6 +95,65 @@ public final class TalendFn {
         }
     }
 
+    @NoArgsConstructor
+    private static class MultiOutputProcessorFn extends BaseProcessorFn<Record> {
+
+        private Map<String, TupleTag<Record>> tags;
+
+        MultiOutputProcessorFn(final Processor processor, final String inputBranch,
+                final Collection<String> branches) {
+            super(processor, inputBranch);
+            this.tags = branches.stream().collect(toMap(identity(), TalendFn::outputTag));
+        }
+
+        @Override
+        protected Consumer<Record> toEmitter(final ProcessContext context) {
+            return context::output;
+        }
+
+        @Override
+        protected BeamOutputFactory getProcessOutputFactory(final ProcessContext context) {
+            return new BeamTaggedOutputFactory(tags, context::output, recordFactory, jsonb);
+        }
+
+        @Override
+        protected BeamOutputFactory getAfterGroupOutputFactory(final ProcessContext context) {
+            return getProcessOutputFactory(context);
+        }
+
+        @Override
+        protected BeamOutputFactory getFinishBundleOutputFactory(final FinishBundleContext context) {
+            return new BeamTaggedOutputFactory(tags,
+                    (tag, record) -> context.output(tag, record, Instant.now(), GlobalWindow.INSTANCE), recordFactory,
+                    jsonb);
+        }
+    }
+
+    private static class MultiOutputProcessorTransform extends PTransform<PCollection<Record>, PCollectionTuple> {
+
+        private final MultiOutputProcessorFn fn;
+
+        private final List<String> branches;
+
+        MultiOutputProcessorTransform(final MultiOutputProcessorFn fn, final List<String> branches) {
+            this.fn = fn;
+            this.branches = branches;
+        }
+
+        @Override
+        public PCollectionTuple expand(final PCollection<Record> input) {
+            final TupleTag<Record> main = outputTag(branches.contains("__default__") ? "__default__" : branches.get(0));
+            final List<TupleTag<?>> others = branches
+                    .stream()
+                    .filter(branch -> !main.getId().equals(branch))
+                    .<TupleTag<?>> map(TalendFn::outputTag)
+                    .collect(toList());
+            final PCollectionTuple outputs = input.apply(ParDo.of(fn).withOutputTags(main, TupleTagList.of(others)));
+            branches.forEach(branch -> outputs.get(outputTag(branch)).setCoder(SchemaRegistryCoder.of()));
+            return outputs;
+        }
+    }
+
     private static class ProcessorTransform extends PTransform<PCollection<Record>, PCollection<Record>> {
 
         private final ProcessorFn fn;
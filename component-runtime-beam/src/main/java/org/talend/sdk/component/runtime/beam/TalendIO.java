@@ -29,6 +29,9 @@ import org.apache.beam.sdk.annotations.Experimental;
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.io.BoundedSource;
 import org.apache.beam.sdk.io.UnboundedSource;
+import org.apache.beam.sdk.metrics.Counter;
+import org.apache.beam.sdk.metrics.Gauge;
+import org.apache.beam.sdk.metrics.Metrics;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.transforms.ParDo;
@@ -65,6 +68,15 @@ public final class TalendIO {
         return new Write(output);
     }
 
+    /**
+     * @param output the processor to execute.
+     * @param inputBranch the branch of the incoming (unwrapped) records or null if they wrap one array per branch.
+     * @return the write transform.
+     */
+    public static Write write(final Processor output, final String inputBranch) {
+        return new Write(output, inputBranch);
+    }
+
     public static abstract class Base<A extends PInput, B extends POutput, D extends Lifecycle>
             extends PTransform<A, B> {
 
@@ -125,13 +137,20 @@ public final class TalendIO {
 
     public static class Write extends Base<PCollection<Record>, PDone, Processor> {
 
+        private String inputBranch;
+
         private Write(final Processor delegate) {
+            this(delegate, null);
+        }
+
+        private Write(final Processor delegate, final String inputBranch) {
             super(delegate);
+            this.inputBranch = inputBranch;
         }
 
         @Override
         public PDone expand(final PCollection<Record> incoming) {
-            final WriteFn fn = new WriteFn(delegate);
+            final WriteFn fn = new WriteFn(delegate, inputBranch);
             incoming.apply(ParDo.of(fn));
             return PDone.in(incoming.getPipeline());
         }
@@ -160,8 +179,8 @@ public final class TalendIO {
             }
         };
 
-        WriteFn(final Processor processor) {
-            super(processor);
+        WriteFn(final Processor processor, final String inputBranch) {
+            super(processor, inputBranch);
         }
 
         @Override
@@ -341,6 +360,14 @@ public final class TalendIO {
 
         private volatile Converter converter;
 
+        private final Counter emptyPolls = Metrics.counter(TalendIO.class, "emptyPolls");
+
+        private final Gauge idleDuration = Metrics.gauge(TalendIO.class, "idleDurationMs");
+
+        private Instant currentTimestamp;
+
+        private Instant idleSince;
+
         UnBoundedReaderImpl(final UnboundedSource<T, ?> source, final Input input) {
             this.source = source;
             this.input = input;
@@ -367,7 +394,21 @@ public final class TalendIO {
             } else {
                 current = next;
             }
-            return current != null;
+            final Instant now = Instant.now();
+            if (current != null) {
+                currentTimestamp = now;
+                if (idleSince != null) {
+                    idleSince = null;
+                    idleDuration.set(0);
+                }
+                return true;
+            }
+            if (idleSince == null) {
+                idleSince = now;
+            }
+            emptyPolls.inc();
+            idleDuration.set(now.getMillis() - idleSince.getMillis());
+            return false;
         }
 
         @Override
@@ -382,12 +423,15 @@ public final class TalendIO {
 
         @Override // we can add @Timestamp later on current model if needed, let's start without
         public Instant getCurrentTimestamp() throws NoSuchElementException {
-            return Instant.now();
+            if (currentTimestamp == null) {
+                throw new NoSuchElementException();
+            }
+            return currentTimestamp;
         }
 
-        @Override
+        @Override // records are timestamped when read so an idle source is up to date
         public Instant getWatermark() {
-            return Instant.now();
+            return idleSince != null || currentTimestamp == null ? Instant.now() : currentTimestamp;
         }
 
         @Override // we can add a @Checkpoint method on the emitter if needed, let's start without
@@ -15,24 +15,35 @@
  */
 package org.talend.sdk.component.runtime.beam.chain.impl;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.talend.sdk.component.runtime.beam.avro.AvroSchemas.sanitizeConnectionName;
 
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
 import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.View;
 import org.apache.beam.sdk.transforms.join.CoGroupByKey;
 import org.apache.beam.sdk.transforms.join.KeyedPCollectionTuple;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
+import org.apache.beam.sdk.values.PCollectionView;
 import org.apache.beam.sdk.values.PDone;
 import org.apache.beam.sdk.values.TupleTag;
 import org.talend.sdk.component.api.record.Record;
@@ -40,11 +51,9 @@ import org.talend.sdk.component.runtime.beam.TalendFn;
 import org.talend.sdk.component.runtime.beam.TalendIO;
 import org.talend.sdk.component.runtime.beam.transform.AutoKVWrapper;
 import org.talend.sdk.component.runtime.beam.transform.CoGroupByKeyResultMappingTransform;
-import org.talend.sdk.component.runtime.beam.transform.RecordBranchFilter;
-import org.talend.sdk.component.runtime.beam.transform.RecordBranchMapper;
-import org.talend.sdk.component.runtime.beam.transform.RecordBranchUnwrapper;
-import org.talend.sdk.component.runtime.beam.transform.RecordNormalizer;
+import org.talend.sdk.component.runtime.beam.transform.SideInputJoinTransform;
 import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.manager.chain.BinaryGroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.Job;
 import org.talend.sdk.component.runtime.manager.chain.internal.JobImpl;
 import org.talend.sdk.component.runtime.output.Processor;
@@ -54,6 +63,12 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class BeamExecutor implements Job.ExecutorBuilder {
 
+    /**
+     * Component property listing the input branches (collection or comma separated string) small enough
+     * to be joined in memory as side inputs. Only the keys of the remaining (single) branch are emitted.
+     */
+    public static final String SIDE_INPUT_BRANCHES = BeamExecutor.class.getName() + ".sideInputBranches";
+
     private final JobImpl.JobExecutor delegate;
 
     @Override
@@ -90,60 +105,45 @@ public class BeamExecutor implements Job.ExecutorBuilder {
                             .orElseThrow(() -> new IllegalStateException("No processor found for:" + e.getNode()))));
 
             final Pipeline pipeline = Pipeline.create(createPipelineOptions());
-            final Map<String, PCollection<Record>> pCollections = new HashMap<>();
+            // records travel unwrapped, one PCollection per component output branch
+            final Map<String, Map<String, PCollection<Record>>> pCollections = new HashMap<>();
             delegate.getLevels().values().stream().flatMap(Collection::stream).forEach(component -> {
                 if (component.isSource()) {
                     final Mapper mapper = mappers.get(component.getId());
                     pCollections
-                            .put(component.getId(),
-                                    pipeline
-                                            .apply(toName("TalendIO", component), TalendIO.read(mapper))
-                                            .apply(toName("RecordNormalizer", component),
-                                                    RecordNormalizer.of(mapper.plugin())));
+                            .put(component.getId(), singletonMap("__default__",
+                                    pipeline.apply(toName("TalendIO", component), TalendIO.read(mapper))));
                 } else {
                     final Processor processor = processors.get(component.getId());
                     final List<Job.Edge> joins = getEdges(delegate.getEdges(), component, e -> e.getTo().getNode());
-                    final Map<String, PCollection<KV<String, Record>>> inputs =
-                            joins.stream().collect(toMap(e -> e.getTo().getBranch(), e -> {
-                                final PCollection<Record> pc = pCollections.get(e.getFrom().getNode().getId());
-                                final PCollection<Record> filteredInput = pc
-                                        .apply(toName("RecordBranchFilter", component, e),
-                                                RecordBranchFilter.of(processor.plugin(), e.getFrom().getBranch()));
-                                final PCollection<Record> mappedInput;
-                                if (e.getFrom().getBranch().equals(e.getTo().getBranch())) {
-                                    mappedInput = filteredInput;
-                                } else {
-                                    mappedInput = filteredInput
-                                            .apply(toName("RecordBranchMapper", component, e),
-                                                    RecordBranchMapper
-                                                            .of(processor.plugin(), e.getFrom().getBranch(),
-                                                                    e.getTo().getBranch()));
-                                }
-                                return mappedInput
-                                        .apply(toName("RecordBranchUnwrapper", component, e),
-                                                RecordBranchUnwrapper.of(processor.plugin(), e.getTo().getBranch()))
-                                        .apply(toName("AutoKVWrapper", component, e), AutoKVWrapper
-                                                .of(processor.plugin(), delegate.getKeyProvider(component.getId()),
-                                                        component.getId(), e.getFrom().getBranch()));
-                            }));
-                    KeyedPCollectionTuple<String> join = null;
-                    for (final Map.Entry<String, PCollection<KV<String, Record>>> entry : inputs.entrySet()) {
-                        final TupleTag<Record> branch = new TupleTag<>(entry.getKey());
-                        join = join == null ? KeyedPCollectionTuple.of(branch, entry.getValue())
-                                : join.and(branch, entry.getValue());
+                    final String inputBranch;
+                    final PCollection<Record> preparedInput;
+                    if (joins.size() == 1) {
+                        final Job.Edge edge = joins.get(0);
+                        inputBranch = edge.getTo().getBranch();
+                        preparedInput = findInput(pCollections, edge);
+                    } else { // only a real join needs to wrap the records of each branch together
+                        inputBranch = null;
+                        preparedInput = join(component, processor, joins, pCollections);
                     }
-                    final PCollection<Record> preparedInput = join
-                            .apply(toName("CoGroupByKey", component), CoGroupByKey.create())
-                            .apply(toName("CoGroupByKeyResultMappingTransform", component),
-                                    new CoGroupByKeyResultMappingTransform<>(processor.plugin(), true));
 
-                    if (getEdges(delegate.getEdges(), component, e -> e.getFrom().getNode()).isEmpty()) {
-                        final PTransform<PCollection<Record>, PDone> write = TalendIO.write(processor);
+                    final Collection<String> outputBranches = getEdges(delegate.getEdges(), component,
+                            e -> e.getFrom().getNode())
+                                    .stream()
+                                    .map(e -> sanitizeConnectionName(e.getFrom().getBranch()))
+                                    .distinct()
+                                    .collect(toList());
+                    if (outputBranches.isEmpty()) {
+                        final PTransform<PCollection<Record>, PDone> write = TalendIO.write(processor, inputBranch);
                         preparedInput.apply(toName("Output", component), write);
                     } else {
-                        final PTransform<PCollection<Record>, PCollection<Record>> process = TalendFn.asFn(processor);
+                        final PCollectionTuple outputs = preparedInput
+                                .apply(toName("Processor", component),
+                                        TalendFn.asFn(processor, inputBranch, outputBranches));
                         pCollections
-                                .put(component.getId(), preparedInput.apply(toName("Processor", component), process));
+                                .put(component.getId(), outputBranches
+                                        .stream()
+                                        .collect(toMap(identity(), branch -> outputs.get(TalendFn.outputTag(branch)))));
                     }
                 }
             });
@@ -168,6 +168,89 @@ public class BeamExecutor implements Job.ExecutorBuilder {
         }
     }
 
+    private PCollection<Record> join(final Job.Component component, final Processor processor,
+            final List<Job.Edge> joins, final Map<String, Map<String, PCollection<Record>>> pCollections) {
+        final Collection<String> sideInputBranches = getSideInputBranches(component);
+        final List<Job.Edge> mainEdges =
+                joins.stream().filter(e -> !sideInputBranches.contains(e.getTo().getBranch())).collect(toList());
+        if (mainEdges.size() == 1 && joins.size() > 1) { // small branches are loaded in memory, no shuffle
+            final Map<String, PCollectionView<Map<String, Record>>> sideInputs = joins
+                    .stream()
+                    .filter(e -> sideInputBranches.contains(e.getTo().getBranch()))
+                    .collect(toMap(e -> e.getTo().getBranch(), e -> findInput(pCollections, e)
+                            .apply(toName("AutoKVWrapper", component, e),
+                                    AutoKVWrapper
+                                            .of(processor.plugin(), delegate.getKeyProvider(component.getId()),
+                                                    component.getId(), e.getFrom().getBranch()))
+                            .apply(toName("View", component, e), View.asMap())));
+            final Job.Edge main = mainEdges.get(0);
+            return findInput(pCollections, main)
+                    .apply(toName("SideInputJoin", component),
+                            SideInputJoinTransform
+                                    .of(processor.plugin(), delegate.getKeyProvider(component.getId()),
+                                            component.getId(), main.getFrom().getBranch(), main.getTo().getBranch(),
+                                            sideInputs, true));
+        }
+
+        final BinaryGroupKeyProvider binaryKeyProvider = delegate.getBinaryKeyProvider(component.getId());
+        if (binaryKeyProvider != null) {
+            return coGroupByKey(component, processor, joins, pCollections, e -> AutoKVWrapper
+                    .ofBinary(processor.plugin(), binaryKeyProvider, component.getId(), e.getFrom().getBranch()));
+        }
+        return coGroupByKey(component, processor, joins, pCollections, e -> AutoKVWrapper
+                .of(processor.plugin(), delegate.getKeyProvider(component.getId()), component.getId(),
+                        e.getFrom().getBranch()));
+    }
+
+    private <K> PCollection<Record> coGroupByKey(final Job.Component component, final Processor processor,
+            final List<Job.Edge> joins, final Map<String, Map<String, PCollection<Record>>> pCollections,
+            final Function<Job.Edge, PTransform<PCollection<Record>, PCollection<KV<K, Record>>>> keyedRecords) {
+        final Map<String, PCollection<KV<K, Record>>> inputs = joins
+                .stream()
+                .collect(toMap(e -> e.getTo().getBranch(), e -> findInput(pCollections, e)
+                        .apply(toName("AutoKVWrapper", component, e), keyedRecords.apply(e))));
+        KeyedPCollectionTuple<K> join = null;
+        for (final Map.Entry<String, PCollection<KV<K, Record>>> entry : inputs.entrySet()) {
+            final TupleTag<Record> branch = new TupleTag<>(entry.getKey());
+            join = join == null ? KeyedPCollectionTuple.of(branch, entry.getValue())
+                    : join.and(branch, entry.getValue());
+        }
+        return join
+                .apply(toName("CoGroupByKey", component), CoGroupByKey.create())
+                .apply(toName("CoGroupByKeyResultMappingTransform", component),
+                        new CoGroupByKeyResultMappingTransform<>(processor.plugin(), true));
+    }
+
+    private Collection<String> getSideInputBranches(final Job.Component component) {
+        final Object value = ofNullable(delegate.getComponentProperties().get(component.getId()))
+                .map(properties -> properties.get(SIDE_INPUT_BRANCHES))
+                .orElse(null);
+        if (Collection.class.isInstance(value)) {
+            final Collection<?> branches = Collection.class.cast(value);
+            return branches.stream().map(String::valueOf).collect(toSet());
+        }
+        if (String.class.isInstance(value)) {
+            return Stream
+                    .of(String.class.cast(value).split(","))
+                    .map(String::trim)
+                    .filter(it -> !it.isEmpty())
+                    .collect(toSet());
+        }
+        return emptySet();
+    }
+
+    private PCollection<Record> findInput(final Map<String, Map<String, PCollection<Record>>> pCollections,
+            final Job.Edge edge) {
+        final PCollection<Record> input = pCollections
+                .getOrDefault(edge.getFrom().getNode().getId(), emptyMap())
+                .get(sanitizeConnectionName(edge.getFrom().getBranch()));
+        if (input == null) {
+            throw new IllegalStateException("No output '" + edge.getFrom().getBranch() + "' for "
+                    + edge.getFrom().getNode().getId() + ", can't execute " + edge.getTo().getNode().getId());
+        }
+        return input;
+    }
+
     private String toName(final String transform, final Job.Component component, final Job.Edge e) {
         return String
                 .format(transform + "/step=%s,from=%s(%s)-to=%s(%s)", component.getId(), e.getFrom().getNode().getId(),
@@ -15,15 +15,17 @@
  */
 package org.talend.sdk.component.runtime.beam.coder.registry;
 
-import static org.talend.sdk.component.runtime.beam.spi.record.SchemaIdGenerator.generateRecordName;
-
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.beam.sdk.coders.AvroCoder;
@@ -41,20 +43,32 @@ public class SchemaRegistryCoder extends CustomCoder<Record> {
 
     private static final GenericData.Record EMPTY_RECORD = new GenericData.Record(AvroSchemas.getEmptySchema());
 
+    // records of a stream share their avro schema instance so the id is computed once per schema,
+    // weak keys to not leak the schemas of the pipelines which are done
+    private static final Map<Schema, byte[]> IDS = Collections.synchronizedMap(new WeakHashMap<>());
+
     @Override
-    public void encode(final Record value, final OutputStream outputStream) throws IOException {
+    public void encode(final Record input, final OutputStream outputStream) throws IOException {
+        // views and other lightweight records are only materialized when they are serialized
+        final Record value = input == null || Unwrappable.class.isInstance(input) ? input : new AvroRecord(input);
         final org.talend.sdk.component.api.record.Schema schema =
                 value == null ? Schemas.EMPTY_RECORD : value.getSchema();
         final Schema avro =
                 value == null ? AvroSchemas.getEmptySchema() : Unwrappable.class.cast(schema).unwrap(Schema.class);
-        final String id = generateRecordName(avro.getFields());
+        byte[] id = IDS.get(avro);
+        if (id == null) {
+            // the parsing canonical form is what the binary encoding depends on
+            final String newId = Long.toHexString(SchemaNormalization.parsingFingerprint64(avro));
+            registry().putIfAbsent(newId, schema);
+            id = newId.getBytes(StandardCharsets.UTF_8);
+            IDS.put(avro, id);
+        }
 
         // write the id first
-        outputStream.write(id.getBytes(StandardCharsets.UTF_8));
+        outputStream.write(id);
         outputStream.write('\n');
 
         // then the record with the default avro coder
-        registry().putIfAbsent(id, schema);
         getCoder(avro)
                 .encode(value == null ? EMPTY_RECORD : Unwrappable.class.cast(value).unwrap(IndexedRecord.class),
                         outputStream);
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.impl;
+
+import lombok.Getter;
+
+/**
+ * Exponential backoff used by {@link BeamInput} while an unbounded reader has no record.
+ * A wait ends early when {@link #signal()} is called, readers implementing {@link DataAvailabilityNotifier}
+ * get it as callback to avoid waiting the full delay once data arrive.
+ *
+ * It is configured with the system properties {@code talend.beam.input.backoff.initialDelay} (ms, default 10),
+ * {@code talend.beam.input.backoff.maxDelay} (ms, default 500) and {@code talend.beam.input.backoff.multiplier}
+ * (default 2).
+ */
+public class BackoffWaitStrategy {
+
+    private static final String PREFIX = "talend.beam.input.backoff.";
+
+    @Getter
+    private final long initialDelay;
+
+    @Getter
+    private final long maxDelay;
+
+    @Getter
+    private final double multiplier;
+
+    private final Object lock = new Object();
+
+    private boolean signaled;
+
+    public BackoffWaitStrategy(final long initialDelay, final long maxDelay, final double multiplier) {
+        if (initialDelay <= 0 || maxDelay < initialDelay || multiplier < 1) {
+            throw new IllegalArgumentException("Invalid backoff: initialDelay=" + initialDelay + ", maxDelay="
+                    + maxDelay + ", multiplier=" + multiplier);
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+    }
+
+    public static BackoffWaitStrategy fromSystemProperties() {
+        return new BackoffWaitStrategy(Long.getLong(PREFIX + "initialDelay", 10),
+                Long.getLong(PREFIX + "maxDelay", 500),
+                Double.parseDouble(System.getProperty(PREFIX + "multiplier", "2")));
+    }
+
+    /**
+     * @param attempt the number of waits already done since the last record (0 based).
+     * @return the delay to wait in ms.
+     */
+    public long delay(final int attempt) {
+        return (long) Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt));
+    }
+
+    /**
+     * @param millis the max duration to wait.
+     * @return true if the wait was stopped by a signal (or one was pending), false if it timed out.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    public boolean await(final long millis) throws InterruptedException {
+        synchronized (lock) {
+            if (!signaled && millis > 0) { // no loop, a spurious wake up only means an earlier poll
+                lock.wait(millis);
+            }
+            final boolean result = signaled;
+            signaled = false;
+            return result;
+        }
+    }
+
+    public void signal() {
+        synchronized (lock) {
+            signaled = true;
+            lock.notifyAll();
+        }
+    }
+}
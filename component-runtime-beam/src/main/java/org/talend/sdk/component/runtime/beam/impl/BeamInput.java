@@ -48,8 +48,15 @@ public class BeamInput implements Input {
 
     private final long retryOnNoRecordTimeoutSec;
 
+    private final BackoffWaitStrategy waitStrategy = BackoffWaitStrategy.fromSystemProperties();
+
     private boolean started;
 
+    // idle metrics: number of advance() calls without record while waiting and the total wait duration
+    private long emptyPolls;
+
+    private long idleDuration;
+
     private int itemCounter = 0;
 
     private Iterator<Object> records;
@@ -63,6 +70,9 @@ public class BeamInput implements Input {
             try {
                 boolean hasRecord;
                 if (!started) {
+                    if (DataAvailabilityNotifier.class.isInstance(reader)) {
+                        DataAvailabilityNotifier.class.cast(reader).onDataAvailable(waitStrategy::signal);
+                    }
                     hasRecord = reader.start();
                     if (processor != null) {
                         processor.start();
@@ -77,17 +87,32 @@ public class BeamInput implements Input {
                 if (!hasRecord && retryOnNoRecordTimeoutSec > 0) {
                     final long init = System.currentTimeMillis();
                     final long maxRetryTimestamp = init + TimeUnit.SECONDS.toMillis(retryOnNoRecordTimeoutSec);
-                    while (!hasRecord && System.currentTimeMillis() < maxRetryTimestamp) {
-                        try {
-                            Thread.sleep(500);
-                        } catch (final InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            return null;
+                    int attempt = 0;
+                    long now = init;
+                    try {
+                        while (!hasRecord && now < maxRetryTimestamp) {
+                            try {
+                                if (waitStrategy
+                                        .await(Math.min(waitStrategy.delay(attempt++), maxRetryTimestamp - now))) {
+                                    attempt = 0; // notified, restart from the fastest polling
+                                }
+                            } catch (final InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return null;
+                            }
+                            hasRecord = reader.advance();
+                            if (!hasRecord) {
+                                emptyPolls++;
+                            }
+                            now = System.currentTimeMillis();
                         }
-                        hasRecord = reader.advance();
+                    } finally {
+                        idleDuration += System.currentTimeMillis() - init;
                     }
                     if (!hasRecord) {
-                        log.warn("No record in {} seconds, quitting", retryOnNoRecordTimeoutSec);
+                        log
+                                .warn("No record in {} seconds ({} empty polls, {}ms idle in total), quitting",
+                                        retryOnNoRecordTimeoutSec, emptyPolls, idleDuration);
                     }
                 }
                 if (hasRecord) {
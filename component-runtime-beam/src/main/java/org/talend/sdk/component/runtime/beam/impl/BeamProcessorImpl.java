@@ -15,32 +15,16 @@
  */
 package org.talend.sdk.component.runtime.beam.impl;
 
-import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
-import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
-
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Collection;
-import java.util.Objects;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 import org.apache.beam.sdk.options.PipelineOptions;
 import org.apache.beam.sdk.options.PipelineOptionsFactory;
-import org.apache.beam.sdk.state.State;
-import org.apache.beam.sdk.state.Timer;
 import org.apache.beam.sdk.transforms.DoFn;
-import org.apache.beam.sdk.transforms.splittabledofn.RestrictionTracker;
-import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
-import org.joda.time.Instant;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.Serializer;
 import org.talend.sdk.component.runtime.output.InputFactory;
@@ -51,16 +35,12 @@ import org.talend.sdk.component.runtime.serialization.EnhancedObjectInputStream;
 
 import lombok.AllArgsConstructor;
 
-// light reflection based impl of ByteBuddyDoFnRunner of beam
+// light method handle based impl of ByteBuddyDoFnRunner of beam
 // see org.apache.beam.sdk.transforms.reflect.DoFnSignatures.parseSignature() for the logic
 //
 // note: this is output oriented so states, timers, new SDF API, ... are not supported
 public class BeamProcessorImpl implements Processor, Serializable, Delegated {
 
-    private static final Object[] EMPTY_ARGS = new Object[0];
-
-    private static final Supplier<Object[]> EMPTY_ARGS_SUPPLIER = () -> EMPTY_ARGS;
-
     private final PipelineOptions options = PipelineOptionsFactory.create();
 
     private final Object original;
@@ -75,21 +55,10 @@ public class BeamProcessorImpl implements Processor, Serializable, Delegated {
 
     private final InMemoryArgumentProvider argumentProvider;
 
-    private final Method processElement;
-
-    private final Method setup;
-
-    private final Method tearDown;
-
-    private final Method startBundle;
-
-    private final Method finishBundle;
-
-    private final Supplier<Object[]> processArgumentFactory;
-
-    private final Supplier<Object[]> startBundleArgumentFactory;
+    private final DoFnMethods methods;
 
-    private final Supplier<Object[]> finishBundleArgumentFactory;
+    // reused for each element, the processor is not thread safe
+    private final Object[] processArguments;
 
     private final ClassLoader loader;
 
@@ -103,98 +72,8 @@ public class BeamProcessorImpl implements Processor, Serializable, Delegated {
         }
 
         argumentProvider = new InMemoryArgumentProvider(options);
-
-        processElement = findMethod(delegate.getClass(), DoFn.ProcessElement.class)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No @ProcessElement on " + delegate));
-        setup = findMethod(delegate.getClass(), DoFn.Setup.class).findFirst().orElse(null);
-        tearDown = findMethod(delegate.getClass(), DoFn.Teardown.class).findFirst().orElse(null);
-        startBundle = findMethod(delegate.getClass(), DoFn.StartBundle.class).findFirst().orElse(null);
-        finishBundle = findMethod(delegate.getClass(), DoFn.FinishBundle.class).findFirst().orElse(null);
-        Stream.of(setup, tearDown, startBundle, finishBundle, processElement).filter(Objects::nonNull).forEach(m -> {
-            if (!m.isAccessible()) {
-                m.setAccessible(true);
-            }
-        });
-
-        {
-            final Collection<Supplier<Object>> argSupplier = Stream.of(processElement.getParameters()).map(p -> {
-                final Class<?> type = p.getType();
-                if (DoFn.ProcessContext.class == type) {
-                    return (Supplier<Object>) () -> argumentProvider.processContext(delegate);
-                }
-                if (DoFn.OnTimerContext.class == type) {
-                    return (Supplier<Object>) () -> argumentProvider.onTimerContext(delegate);
-                }
-                if (BoundedWindow.class.isAssignableFrom(type)) {
-                    return (Supplier<Object>) argumentProvider::window;
-                }
-                if (PipelineOptions.class == type) {
-                    return (Supplier<Object>) () -> options;
-                }
-                if (RestrictionTracker.class.isAssignableFrom(type)) {
-                    return (Supplier<Object>) argumentProvider::restrictionTracker;
-                }
-                if (Timer.class == type) {
-                    final String id = ofNullable(p.getAnnotation(DoFn.TimerId.class))
-                            .map(DoFn.TimerId::value)
-                            .orElseThrow(() -> new IllegalArgumentException("Missing @TimerId on " + p.getName()));
-                    return (Supplier<Object>) () -> argumentProvider.timer(id);
-                }
-                if (State.class == type) {
-                    final String id = ofNullable(p.getAnnotation(DoFn.StateId.class))
-                            .map(DoFn.StateId::value)
-                            .orElseThrow(() -> new IllegalArgumentException("Missing @StateId on " + p.getName()));
-                    return (Supplier<Object>) () -> argumentProvider.state(id);
-                }
-                if (p.isAnnotationPresent(DoFn.Element.class)) {
-                    return (Supplier<Object>) () -> argumentProvider.element(null);
-                }
-                if (p.isAnnotationPresent(DoFn.Timestamp.class)) {
-                    return (Supplier<Object>) Instant::now;
-                }
-                if (p.getType() == DoFn.OutputReceiver.class) {
-                    return (Supplier<Object>) () -> argumentProvider.outputReceiver(null);
-                }
-                if (p.getType() == DoFn.MultiOutputReceiver.class) {
-                    return (Supplier<Object>) () -> argumentProvider.taggedOutputReceiver(null);
-                }
-                throw new IllegalArgumentException("unsupported parameter of type " + type);
-            }).collect(toList());
-            processArgumentFactory = () -> argSupplier.stream().map(Supplier::get).toArray(Object[]::new);
-        }
-        if (startBundle != null) {
-            final Collection<Supplier<Object>> argSupplier = Stream.of(startBundle.getParameters()).map(p -> {
-                final Class<?> type = p.getType();
-                if (DoFn.StartBundleContext.class == type) {
-                    return (Supplier<Object>) () -> argumentProvider
-                            .startBundleContext(
-
-                                    delegate);
-                }
-                throw new IllegalArgumentException("unsupported parameter of type " + type + " for " + startBundle);
-            }).collect(toList());
-            startBundleArgumentFactory = argSupplier.isEmpty() ? EMPTY_ARGS_SUPPLIER
-                    : () -> argSupplier.stream().map(Supplier::get).toArray(Object[]::new);
-        } else {
-            startBundleArgumentFactory = null;
-        }
-        if (finishBundle != null) {
-            final Collection<Supplier<Object>> argSupplier = Stream.of(finishBundle.getParameters()).map(p -> {
-                final Class<?> type = p.getType();
-                if (DoFn.FinishBundleContext.class == type) {
-                    return (Supplier<Object>) () -> argumentProvider
-                            .finishBundleContext(
-
-                                    delegate);
-                }
-                throw new IllegalArgumentException("unsupported parameter of type " + type + " for " + finishBundle);
-            }).collect(toList());
-            finishBundleArgumentFactory = argSupplier.isEmpty() ? EMPTY_ARGS_SUPPLIER
-                    : () -> argSupplier.stream().map(Supplier::get).toArray(Object[]::new);
-        } else {
-            finishBundleArgumentFactory = null;
-        }
+        methods = DoFnMethods.of(delegate.getClass());
+        processArguments = methods.processElement.newArguments();
 
         this.plugin = plugin;
         this.family = family;
@@ -203,98 +82,57 @@ public class BeamProcessorImpl implements Processor, Serializable, Delegated {
 
     @Override
     public void start() {
-        execute(() -> {
-            if (setup != null) {
-                try {
-                    setup.invoke(delegate);
-                } catch (final IllegalAccessException e) {
-                    throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw toRuntimeException(e);
-                }
-            }
-        });
+        invoke(methods.setup);
     }
 
     @Override
     public void beforeGroup() {
-        execute(() -> {
-            if (startBundle != null) {
-                try {
-                    startBundle.invoke(delegate, startBundleArgumentFactory.get());
-                } catch (final IllegalAccessException e) {
-                    throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw toRuntimeException(e);
-                }
-            }
-        });
+        invoke(methods.startBundle);
     }
 
     @Override
     public void onNext(final InputFactory input, final OutputFactory output) {
-        execute(() -> {
-            argumentProvider.setInputs(input);
-            argumentProvider.setOutputs(output);
-            try {
-                processElement.invoke(delegate, processArgumentFactory.get());
-            } catch (final IllegalAccessException e) {
-                throw new IllegalStateException(e);
-            } catch (final InvocationTargetException e) {
-                throw toRuntimeException(e);
-            } finally {
-                argumentProvider.setInputs(null);
-                argumentProvider.setOutputs(null);
-            }
-        });
+        final Thread thread = Thread.currentThread();
+        final ClassLoader tccl = thread.getContextClassLoader();
+        thread.setContextClassLoader(this.loader);
+        argumentProvider.setInputs(input);
+        argumentProvider.setOutputs(output);
+        try {
+            methods.processElement.invoke(delegate, argumentProvider, processArguments);
+        } finally {
+            argumentProvider.setInputs(null);
+            argumentProvider.setOutputs(null);
+            thread.setContextClassLoader(tccl);
+        }
     }
 
     @Override
     public void afterGroup(final OutputFactory outputs) {
-        execute(() -> {
-            if (finishBundle != null) {
-                argumentProvider.setOutputs(outputs);
-                try {
-                    finishBundle.invoke(delegate, finishBundleArgumentFactory.get());
-                } catch (final IllegalAccessException e) {
-                    throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw toRuntimeException(e);
-                } finally {
-                    argumentProvider.setOutputs(null);
-                }
-            }
-        });
+        if (methods.finishBundle == null) {
+            return;
+        }
+        argumentProvider.setOutputs(outputs);
+        try {
+            invoke(methods.finishBundle);
+        } finally {
+            argumentProvider.setOutputs(null);
+        }
     }
 
     @Override
     public void stop() {
-        execute(() -> {
-            if (tearDown != null) {
-                try {
-                    tearDown.invoke(delegate);
-                } catch (final IllegalAccessException e) {
-                    throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw toRuntimeException(e);
-                }
-            }
-        });
-    }
-
-    private Stream<Method> findMethod(final Class<?> aClass, final Class<? extends Annotation> marker) {
-        return Stream
-                .concat(Stream.of(aClass.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(marker)),
-                        DoFn.class == aClass.getSuperclass() ? Stream.empty()
-                                : findMethod(aClass.getSuperclass(), marker));
+        invoke(methods.tearDown);
     }
 
-    private void execute(final Runnable task) {
+    private void invoke(final DoFnMethods.Invoker invoker) {
+        if (invoker == null) {
+            return;
+        }
         final Thread thread = Thread.currentThread();
         final ClassLoader tccl = thread.getContextClassLoader();
         thread.setContextClassLoader(this.loader);
         try {
-            task.run();
+            invoker.invoke(delegate, argumentProvider, invoker.newArguments());
         } finally {
             thread.setContextClassLoader(tccl);
         }
@@ -0,0 +1,28 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.impl;
+
+/**
+ * Can be implemented by an unbounded {@link org.apache.beam.sdk.io.Source.Reader} to wake up the
+ * {@link BeamInput} waiting for data instead of letting it poll with a backoff.
+ */
+public interface DataAvailabilityNotifier {
+
+    /**
+     * @param listener the callback to call (from any thread) when new data can be read.
+     */
+    void onDataAvailable(Runnable listener);
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.impl;
+
+import static java.util.Optional.ofNullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.stream.Stream;
+
+import org.apache.beam.sdk.options.PipelineOptions;
+import org.apache.beam.sdk.state.State;
+import org.apache.beam.sdk.state.Timer;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.splittabledofn.RestrictionTracker;
+import org.apache.beam.sdk.transforms.windowing.BoundedWindow;
+import org.joda.time.Instant;
+
+/**
+ * The DoFn methods used by {@link BeamProcessorImpl} resolved once per DoFn class as method handles.
+ * The cache is a {@link ClassValue} so it is scoped to the classloader of the DoFn and released with it.
+ */
+final class DoFnMethods {
+
+    private static final ClassValue<DoFnMethods> CACHE = new ClassValue<DoFnMethods>() {
+
+        @Override
+        protected DoFnMethods computeValue(final Class<?> type) {
+            return new DoFnMethods(type);
+        }
+    };
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
+    final Invoker processElement;
+
+    final Invoker setup;
+
+    final Invoker tearDown;
+
+    final Invoker startBundle;
+
+    final Invoker finishBundle;
+
+    private DoFnMethods(final Class<?> type) {
+        processElement = findMethod(type, DoFn.ProcessElement.class)
+                .findFirst()
+                .map(this::toProcessInvoker)
+                .orElseThrow(() -> new IllegalArgumentException("No @ProcessElement on " + type));
+        setup = findMethod(type, DoFn.Setup.class).findFirst().map(m -> toInvoker(m, new Argument[0])).orElse(null);
+        tearDown =
+                findMethod(type, DoFn.Teardown.class).findFirst().map(m -> toInvoker(m, new Argument[0])).orElse(null);
+        startBundle = findMethod(type, DoFn.StartBundle.class)
+                .findFirst()
+                .map(m -> toInvoker(m, Stream.of(m.getParameters()).map(p -> {
+                    if (DoFn.StartBundleContext.class == p.getType()) {
+                        return new Argument(ArgumentType.START_BUNDLE_CONTEXT, null);
+                    }
+                    throw new IllegalArgumentException("unsupported parameter of type " + p.getType() + " for " + m);
+                }).toArray(Argument[]::new)))
+                .orElse(null);
+        finishBundle = findMethod(type, DoFn.FinishBundle.class)
+                .findFirst()
+                .map(m -> toInvoker(m, Stream.of(m.getParameters()).map(p -> {
+                    if (DoFn.FinishBundleContext.class == p.getType()) {
+                        return new Argument(ArgumentType.FINISH_BUNDLE_CONTEXT, null);
+                    }
+                    throw new IllegalArgumentException("unsupported parameter of type " + p.getType() + " for " + m);
+                }).toArray(Argument[]::new)))
+                .orElse(null);
+    }
+
+    static DoFnMethods of(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    private Invoker toProcessInvoker(final Method method) {
+        return toInvoker(method,
+                Stream.of(method.getParameters()).map(this::toProcessArgument).toArray(Argument[]::new));
+    }
+
+    private Argument toProcessArgument(final Parameter p) {
+        final Class<?> type = p.getType();
+        if (DoFn.ProcessContext.class == type) {
+            return new Argument(ArgumentType.PROCESS_CONTEXT, null);
+        }
+        if (DoFn.OnTimerContext.class == type) {
+            return new Argument(ArgumentType.ON_TIMER_CONTEXT, null);
+        }
+        if (BoundedWindow.class.isAssignableFrom(type)) {
+            return new Argument(ArgumentType.WINDOW, null);
+        }
+        if (PipelineOptions.class == type) {
+            return new Argument(ArgumentType.PIPELINE_OPTIONS, null);
+        }
+        if (RestrictionTracker.class.isAssignableFrom(type)) {
+            return new Argument(ArgumentType.RESTRICTION_TRACKER, null);
+        }
+        if (Timer.class == type) {
+            return new Argument(ArgumentType.TIMER, ofNullable(p.getAnnotation(DoFn.TimerId.class))
+                    .map(DoFn.TimerId::value)
+                    .orElseThrow(() -> new IllegalArgumentException("Missing @TimerId on " + p.getName())));
+        }
+        if (State.class == type) {
+            return new Argument(ArgumentType.STATE, ofNullable(p.getAnnotation(DoFn.StateId.class))
+                    .map(DoFn.StateId::value)
+                    .orElseThrow(() -> new IllegalArgumentException("Missing @StateId on " + p.getName())));
+        }
+        if (p.isAnnotationPresent(DoFn.Element.class)) {
+            return new Argument(ArgumentType.ELEMENT, null);
+        }
+        if (p.isAnnotationPresent(DoFn.Timestamp.class)) {
+            return new Argument(ArgumentType.TIMESTAMP, null);
+        }
+        if (type == DoFn.OutputReceiver.class) {
+            return new Argument(ArgumentType.OUTPUT_RECEIVER, null);
+        }
+        if (type == DoFn.MultiOutputReceiver.class) {
+            return new Argument(ArgumentType.MULTI_OUTPUT_RECEIVER, null);
+        }
+        throw new IllegalArgumentException("unsupported parameter of type " + type);
+    }
+
+    private Invoker toInvoker(final Method method, final Argument[] arguments) {
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        try {
+            return new Invoker(MethodHandles
+                    .lookup()
+                    .unreflect(method)
+                    .asSpreader(Object[].class, arguments.length)
+                    .asType(INVOKER_TYPE), arguments);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Stream<Method> findMethod(final Class<?> aClass, final Class<? extends Annotation> marker) {
+        return Stream
+                .concat(Stream.of(aClass.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(marker)),
+                        DoFn.class == aClass.getSuperclass() ? Stream.empty()
+                                : findMethod(aClass.getSuperclass(), marker));
+    }
+
+    enum ArgumentType {
+        PROCESS_CONTEXT,
+        ON_TIMER_CONTEXT,
+        START_BUNDLE_CONTEXT,
+        FINISH_BUNDLE_CONTEXT,
+        WINDOW,
+        PIPELINE_OPTIONS,
+        RESTRICTION_TRACKER,
+        TIMER,
+        STATE,
+        ELEMENT,
+        TIMESTAMP,
+        OUTPUT_RECEIVER,
+        MULTI_OUTPUT_RECEIVER
+    }
+
+    static final class Argument {
+
+        private final ArgumentType type;
+
+        private final String id;
+
+        private Argument(final ArgumentType type, final String id) {
+            this.type = type;
+            this.id = id;
+        }
+    }
+
+    /**
+     * A method handle taking the DoFn and the spread arguments. Instances are shared by all the
+     * processors of a DoFn class so the argument array is created by the caller.
+     */
+    static final class Invoker {
+
+        private final MethodHandle handle;
+
+        private final Argument[] arguments;
+
+        private Invoker(final MethodHandle handle, final Argument[] arguments) {
+            this.handle = handle;
+            this.arguments = arguments;
+        }
+
+        Object[] newArguments() {
+            return new Object[arguments.length];
+        }
+
+        void invoke(final DoFn<?, ?> instance, final InMemoryArgumentProvider provider, final Object[] args) {
+            for (int i = 0; i < arguments.length; i++) {
+                args[i] = resolve(instance, provider, arguments[i]);
+            }
+            try {
+                handle.invokeExact((Object) instance, args);
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Object resolve(final DoFn<?, ?> instance, final InMemoryArgumentProvider provider,
+                final Argument argument) {
+            switch (argument.type) {
+            case PROCESS_CONTEXT:
+                return provider.processContext(instance);
+            case ON_TIMER_CONTEXT:
+                return provider.onTimerContext(instance);
+            case START_BUNDLE_CONTEXT:
+                return provider.startBundleContext(instance);
+            case FINISH_BUNDLE_CONTEXT:
+                return provider.finishBundleContext(instance);
+            case WINDOW:
+                return provider.window();
+            case PIPELINE_OPTIONS:
+                return provider.pipelineOptions();
+            case RESTRICTION_TRACKER:
+                return provider.restrictionTracker();
+            case TIMER:
+                return provider.timer(argument.id);
+            case STATE:
+                return provider.state(argument.id);
+            case ELEMENT:
+                return provider.element(null);
+            case TIMESTAMP:
+                return Instant.now();
+            case OUTPUT_RECEIVER:
+                return provider.outputReceiver(null);
+            case MULTI_OUTPUT_RECEIVER:
+                return provider.taggedOutputReceiver(null);
+            default:
+                throw new IllegalArgumentException("Unsupported argument: " + argument.type);
+            }
+        }
+    }
+}
@@ -48,6 +48,17 @@ public class InMemoryArgumentProvider implements DoFnInvoker.ArgumentProvider {
     @Setter
     private OutputFactory outputs;
 
+    // the contexts and receivers read the current inputs/outputs so they are created once and reused per element
+    private final InputFactory currentInputs = name -> inputs.read(name);
+
+    private final OutputFactory currentOutputs = name -> outputs.create(name);
+
+    private DoFn.ProcessContext processContext;
+
+    private DoFn.OutputReceiver outputReceiver;
+
+    private DoFn.MultiOutputReceiver taggedOutputReceiver;
+
     @Override
     public BoundedWindow window() {
         return GlobalWindow.INSTANCE;
@@ -60,7 +71,10 @@ public class InMemoryArgumentProvider implements DoFnInvoker.ArgumentProvider {
 
     @Override
     public DoFn.ProcessContext processContext(final DoFn doFn) {
-        return contextImplGenericsHolder.newContext(options, inputs, outputs);
+        if (processContext == null) {
+            processContext = contextImplGenericsHolder.newContext(options, currentInputs, currentOutputs);
+        }
+        return processContext;
     }
 
     @Override
@@ -85,7 +99,10 @@ public class InMemoryArgumentProvider implements DoFnInvoker.ArgumentProvider {
 
     @Override
     public DoFn.OutputReceiver outputReceiver(final DoFn doFn) {
-        return new OutputReceiver(outputs, Branches.DEFAULT_BRANCH);
+        if (outputReceiver == null) {
+            outputReceiver = new OutputReceiver(currentOutputs, Branches.DEFAULT_BRANCH);
+        }
+        return outputReceiver;
     }
 
     @Override
@@ -95,11 +112,18 @@ public class InMemoryArgumentProvider implements DoFnInvoker.ArgumentProvider {
 
     @Override
     public DoFn.MultiOutputReceiver taggedOutputReceiver(final DoFn doFn) {
+        if (taggedOutputReceiver == null) {
+            taggedOutputReceiver = newTaggedOutputReceiver();
+        }
+        return taggedOutputReceiver;
+    }
+
+    private DoFn.MultiOutputReceiver newTaggedOutputReceiver() {
         return new DoFn.MultiOutputReceiver() {
 
             @Override
             public <T> DoFn.OutputReceiver<T> get(final TupleTag<T> tag) {
-                return new OutputReceiver(outputs, tag.getId());
+                return new OutputReceiver(currentOutputs, tag.getId());
             }
 
             @Override
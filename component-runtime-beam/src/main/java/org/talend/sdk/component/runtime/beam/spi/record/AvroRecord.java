@@ -84,7 +84,9 @@ public class AvroRecord implements Record, AvroPropertyMapper, Unwrappable {
 
     private Object directMapping(final Object value) {
         if (Record.class.isInstance(value)) {
-            return Unwrappable.class.cast(value).unwrap(IndexedRecord.class);
+            final Object record =
+                    Unwrappable.class.isInstance(value) ? value : new AvroRecord(Record.class.cast(value));
+            return Unwrappable.class.cast(record).unwrap(IndexedRecord.class);
         }
         if (ZonedDateTime.class.isInstance(value)) {
             return ZonedDateTime.class.cast(value).toInstant().toEpochMilli();
@@ -17,18 +17,24 @@ package org.talend.sdk.component.runtime.beam.spi.record;
 
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.NONE;
 import static org.talend.sdk.component.runtime.beam.spi.record.Jacksons.toObject;
 
 import java.util.List;
 
 import org.apache.avro.Schema;
 import org.talend.sdk.component.runtime.manager.service.api.Unwrappable;
+import org.talend.sdk.component.runtime.record.SchemaFingerprint;
 import org.talend.sdk.component.runtime.record.SchemaImpl;
 
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
-public class AvroSchema implements org.talend.sdk.component.api.record.Schema, AvroPropertyMapper, Unwrappable {
+public class AvroSchema implements org.talend.sdk.component.api.record.Schema, AvroPropertyMapper, Unwrappable,
+        SchemaFingerprint.Cached {
 
     private final Schema delegate;
 
@@ -36,6 +42,48 @@ public class AvroSchema implements org.talend.sdk.component.api.record.Schema, A
 
     private volatile List<Entry> entries;
 
+    // lazily computed, 0 means not yet computed
+    @Getter(NONE)
+    @Setter(NONE)
+    @ToString.Exclude
+    private volatile long fingerprint;
+
+    @Override
+    public long getFingerprint() {
+        long value = fingerprint;
+        if (value == 0) {
+            value = SchemaFingerprint.compute(this);
+            fingerprint = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!AvroSchema.class.isInstance(o)) {
+            return false;
+        }
+        final AvroSchema other = AvroSchema.class.cast(o);
+        if (delegate == other.delegate) {
+            return true;
+        }
+        // only use the fingerprints if already computed, avro schemas cache their hash
+        final long fingerprint = this.fingerprint;
+        final long otherFingerprint = other.fingerprint;
+        if (fingerprint != 0 && otherFingerprint != 0 && fingerprint != otherFingerprint) {
+            return false;
+        }
+        return delegate.equals(other.delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
     @Override
     public Type getType() {
         return mapType(delegate.getType());
@@ -17,6 +17,7 @@ package org.talend.sdk.component.runtime.beam.transform;
 
 import java.util.function.Function;
 
+import org.apache.beam.sdk.coders.ByteArrayCoder;
 import org.apache.beam.sdk.coders.KvCoder;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -34,9 +35,9 @@ import lombok.Data;
  * Extract the value of a branch if exists (unwrap).
  */
 @AllArgsConstructor
-public class AutoKVWrapper extends DoFn<Record, KV<String, Record>> {
+public class AutoKVWrapper<K> extends DoFn<Record, KV<K, Record>> {
 
-    private Function<GroupKeyProvider.GroupContext, String> idGenerator;
+    private Function<GroupKeyProvider.GroupContext, K> idGenerator;
 
     private String component;
 
@@ -49,7 +50,7 @@ public class AutoKVWrapper extends DoFn<Record, KV<String, Record>> {
     @ProcessElement
     public void onElement(final ProcessContext context) {
         final Record element = context.element();
-        final String key = idGenerator.apply(new GroupContextImpl(element, component, branch));
+        final K key = idGenerator.apply(new GroupContextImpl(element, component, branch));
         context.output(KV.of(key, element));
     }
 
@@ -60,11 +61,22 @@ public class AutoKVWrapper extends DoFn<Record, KV<String, Record>> {
             final String branch) {
 
         return new RecordParDoTransformCoderProvider<>(KvCoder.of(StringUtf8Coder.of(), SchemaRegistryCoder.of()),
-                new AutoKVWrapper(idGenerator, component, branch));
+                new AutoKVWrapper<>(idGenerator, component, branch));
+    }
+
+    /**
+     * Same as {@link #of(String, Function, String, String)} but with a binary key compared by content,
+     * it avoids the string encoding of the key and keeps the shuffled key compact.
+     */
+    public static PTransform<PCollection<Record>, PCollection<KV<byte[], Record>>> ofBinary(final String plugin,
+            final Function<GroupKeyProvider.GroupContext, byte[]> idGenerator, final String component,
+            final String branch) {
+        return new RecordParDoTransformCoderProvider<>(KvCoder.of(ByteArrayCoder.of(), SchemaRegistryCoder.of()),
+                new AutoKVWrapper<>(idGenerator, component, branch));
     }
 
     @Data
-    private static class GroupContextImpl implements GroupKeyProvider.GroupContext {
+    static class GroupContextImpl implements GroupKeyProvider.GroupContext {
 
         private final Record data;
 
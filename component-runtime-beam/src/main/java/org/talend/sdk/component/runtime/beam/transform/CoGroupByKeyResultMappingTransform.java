@@ -15,10 +15,7 @@
  */
 package org.talend.sdk.component.runtime.beam.transform;
 
-import static java.util.Collections.singletonList;
-import static lombok.AccessLevel.PRIVATE;
 import static lombok.AccessLevel.PROTECTED;
-import static org.talend.sdk.component.runtime.beam.avro.AvroSchemas.sanitizeConnectionName;
 
 import org.apache.beam.sdk.coders.Coder;
 import org.apache.beam.sdk.transforms.DoFn;
@@ -27,16 +24,14 @@ import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.join.CoGbkResult;
 import org.apache.beam.sdk.values.KV;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.TupleTag;
 import org.talend.sdk.component.api.record.Record;
-import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
-import org.talend.sdk.component.runtime.beam.spi.record.RecordCollectors;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 import org.talend.sdk.component.runtime.serialization.LightContainer;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
@@ -54,7 +49,7 @@ public class CoGroupByKeyResultMappingTransform<K>
 
     @Override
     public PCollection<Record> expand(final PCollection<KV<K, CoGbkResult>> input) {
-        return input.apply(ParDo.of(new CoGBKMappingFn<>(plugin, propagateKey, null)));
+        return input.apply(ParDo.of(new CoGBKMappingFn<>(plugin, propagateKey)));
     }
 
     @Override
@@ -62,7 +57,6 @@ public class CoGroupByKeyResultMappingTransform<K>
         return SchemaRegistryCoder.of();
     }
 
-    @AllArgsConstructor(access = PRIVATE)
     @NoArgsConstructor(access = PROTECTED)
     public static class CoGBKMappingFn<K> extends DoFn<KV<K, CoGbkResult>, Record> {
 
@@ -72,6 +66,13 @@ public class CoGroupByKeyResultMappingTransform<K>
 
         private volatile RecordBuilderFactory builderFactory;
 
+        private transient JoinRecordBuilder joinRecordBuilder;
+
+        private CoGBKMappingFn(final String plugin, final boolean propagateKey) {
+            this.plugin = plugin;
+            this.propagateKey = propagateKey;
+        }
+
         @ProcessElement
         public void onElement(final ProcessContext context) {
             context.output(createMap(context));
@@ -80,36 +81,21 @@ public class CoGroupByKeyResultMappingTransform<K>
         private Record createMap(final ProcessContext context) {
             final KV<K, CoGbkResult> element = context.element();
             final CoGbkResult result = element.getValue();
-            final RecordBuilderFactory builderFactory = builderFactory();
-            final Record.Builder builder = result
-                    .getSchema()
-                    .getTupleTagList()
-                    .getAll()
-                    .stream()
-                    .map(key -> new Pair<>(key.getId(), Record.class.cast(result.getOnly(key, null))))
-                    .filter(p -> p.getSecond() != null)
-                    .collect(builderFactory::newRecordBuilder, (b, p) -> {
-                        final Record record = p.getSecond();
-                        final Schema.Entry entry = builderFactory
-                                .newEntryBuilder()
-                                .withName(sanitizeConnectionName(p.getFirst()))
-                                .withType(Schema.Type.ARRAY)
-                                .withElementSchema(record.getSchema())
-                                .build();
-                        b.withArray(entry, singletonList(record));
-                    }, RecordCollectors::merge);
-            if (propagateKey) {
-                final Record internalRecord =
-                        builderFactory.newRecordBuilder().withString("key", String.valueOf(element.getKey())).build();
-                builder
-                        .withRecord(builderFactory
-                                .newEntryBuilder()
-                                .withName("__talend_internal")
-                                .withType(Schema.Type.RECORD)
-                                .withElementSchema(internalRecord.getSchema())
-                                .build(), internalRecord);
+            final JoinRecordBuilder builder = joinRecordBuilder().start();
+            for (final TupleTag<?> tag : result.getSchema().getTupleTagList().getAll()) {
+                final Object value = result.getOnly(tag, null);
+                if (value != null) {
+                    builder.withBranch(tag.getId(), Record.class.cast(value));
+                }
             }
-            return builder.build();
+            return builder.build(propagateKey, element.getKey());
+        }
+
+        private JoinRecordBuilder joinRecordBuilder() {
+            if (joinRecordBuilder == null) {
+                joinRecordBuilder = new JoinRecordBuilder(builderFactory());
+            }
+            return joinRecordBuilder;
         }
 
         private RecordBuilderFactory builderFactory() {
@@ -124,14 +110,4 @@ public class CoGroupByKeyResultMappingTransform<K>
             return builderFactory;
         }
     }
-
-    @Data
-    @AllArgsConstructor
-    @NoArgsConstructor
-    private static class Pair<A, B> {
-
-        private A first;
-
-        private B second;
-    }
 }
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.transform;
+
+import static java.util.Collections.singletonList;
+import static org.talend.sdk.component.runtime.beam.avro.AvroSchemas.sanitizeConnectionName;
+
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Builds the record passed to a multi-input processor (one array per branch), the entries are reused
+ * while the schema of a branch does not change. Not thread safe, use one instance per DoFn instance.
+ */
+class JoinRecordBuilder {
+
+    private final RecordBuilderFactory factory;
+
+    private final Map<String, Schema.Entry> entries = new HashMap<>();
+
+    private Schema.Entry internalEntry;
+
+    private Record.Builder builder;
+
+    JoinRecordBuilder(final RecordBuilderFactory factory) {
+        this.factory = factory;
+    }
+
+    JoinRecordBuilder start() {
+        builder = factory.newRecordBuilder();
+        return this;
+    }
+
+    JoinRecordBuilder withBranch(final String branch, final Record record) {
+        Schema.Entry entry = entries.get(branch);
+        if (entry == null || entry.getElementSchema() != record.getSchema()) {
+            entry = factory
+                    .newEntryBuilder()
+                    .withName(sanitizeConnectionName(branch))
+                    .withType(Schema.Type.ARRAY)
+                    .withElementSchema(record.getSchema())
+                    .build();
+            entries.put(branch, entry);
+        }
+        builder.withArray(entry, singletonList(record));
+        return this;
+    }
+
+    Record build(final boolean propagateKey, final Object key) {
+        if (propagateKey) {
+            final Record internalRecord = factory
+                    .newRecordBuilder()
+                    .withString("key", byte[].class.isInstance(key)
+                            ? Base64.getEncoder().encodeToString(byte[].class.cast(key))
+                            : String.valueOf(key))
+                    .build();
+            if (internalEntry == null || internalEntry.getElementSchema() != internalRecord.getSchema()) {
+                internalEntry = factory
+                        .newEntryBuilder()
+                        .withName("__talend_internal")
+                        .withType(Schema.Type.RECORD)
+                        .withElementSchema(internalRecord.getSchema())
+                        .build();
+            }
+            builder.withRecord(internalEntry, internalRecord);
+        }
+        final Record record = builder.build();
+        builder = null;
+        return record;
+    }
+}
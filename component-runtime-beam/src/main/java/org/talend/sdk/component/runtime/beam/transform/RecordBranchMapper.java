@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.runtime.beam.transform;
 
+import static java.util.Collections.singletonMap;
 import static org.talend.sdk.component.runtime.beam.avro.AvroSchemas.sanitizeConnectionName;
 
 import java.util.Collection;
@@ -24,26 +25,24 @@ import org.apache.beam.sdk.transforms.PTransform;
 import org.apache.beam.sdk.values.PCollection;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
-import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
-import org.talend.sdk.component.runtime.beam.spi.record.RecordCollectors;
-import org.talend.sdk.component.runtime.beam.transform.service.ServiceLookup;
-import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.record.RecordViews;
 
 /**
  * Redirects a branch on another branch without modifying the other ones.
  */
 public class RecordBranchMapper extends DoFn<Record, Record> {
 
-    private RecordBuilderFactory factory;
-
     private String sourceBranch;
 
     private String targetBranch;
 
-    public RecordBranchMapper(final RecordBuilderFactory factory, final String sourceBranch,
-            final String targetBranch) {
-        this.factory = factory;
+    // the aggregate schema is generally stable so the renaming view is computed once
+    private transient Schema viewSchema;
+
+    private transient RecordViews.View view;
+
+    public RecordBranchMapper(final String sourceBranch, final String targetBranch) {
         this.sourceBranch = sanitizeConnectionName(sourceBranch);
         this.targetBranch = sanitizeConnectionName(targetBranch);
     }
@@ -57,31 +56,21 @@ public class RecordBranchMapper extends DoFn<Record, Record> {
         final Record aggregate = context.element();
         final Collection<Record> branch = aggregate.getArray(Record.class, sourceBranch);
         if (branch != null) {
-            final Record output =
-                    aggregate.getSchema().getEntries().stream().collect(factory::newRecordBuilder, (a, e) -> {
-                        final boolean remappedBranch = e.getName().equals(sourceBranch);
-                        final String branchName = remappedBranch ? targetBranch : e.getName();
-                        a
-                                .withArray(
-                                        factory
-                                                .newEntryBuilder()
-                                                .withName(branchName)
-                                                .withType(Schema.Type.ARRAY)
-                                                .withElementSchema(e.getElementSchema())
-                                                .build(),
-                                        remappedBranch ? branch : aggregate.getArray(Record.class, e.getName()));
-                    }, RecordCollectors::merge).build();
-            context.output(output);
+            final Schema schema = aggregate.getSchema();
+            if (view == null || !schema.equals(viewSchema)) {
+                view = RecordViews.rename(schema, singletonMap(sourceBranch, targetBranch));
+                viewSchema = schema;
+            }
+            context.output(view.of(aggregate));
         } else {
             context.output(aggregate);
         }
     }
 
+    // keep plugin here, this is how we would lookup services if needed
     public static PTransform<PCollection<Record>, PCollection<Record>> of(final String plugin, final String fromBranch,
             final String toBranch) {
-        final RecordBuilderFactory lookup =
-                ServiceLookup.lookup(ComponentManager.instance(), plugin, RecordBuilderFactory.class);
         return new RecordParDoTransformCoderProvider<>(SchemaRegistryCoder.of(),
-                new RecordBranchMapper(lookup, fromBranch, toBranch));
+                new RecordBranchMapper(fromBranch, toBranch));
     }
 }
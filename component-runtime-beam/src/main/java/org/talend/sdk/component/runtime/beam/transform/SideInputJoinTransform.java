@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.transform;
+
+import static lombok.AccessLevel.PROTECTED;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.beam.sdk.transforms.DoFn;
+import org.apache.beam.sdk.transforms.PTransform;
+import org.apache.beam.sdk.transforms.ParDo;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+import org.talend.sdk.component.runtime.serialization.ContainerFinder;
+import org.talend.sdk.component.runtime.serialization.LightContainer;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Joins a main branch with small branches loaded in memory as map side inputs, it avoids the shuffle
+ * of a {@code CoGroupByKey}. The output is the same multi-branch record than
+ * {@link CoGroupByKeyResultMappingTransform} but only the keys of the main branch are emitted
+ * and each side branch must have a single record per key.
+ */
+@AllArgsConstructor
+@NoArgsConstructor(access = PROTECTED)
+public class SideInputJoinTransform extends PTransform<PCollection<Record>, PCollection<Record>> {
+
+    private SideInputJoinFn fn;
+
+    @Override
+    public PCollection<Record> expand(final PCollection<Record> input) {
+        return input
+                .apply(ParDo.of(fn).withSideInputs(new ArrayList<>(fn.sideInputs.values())))
+                .setCoder(SchemaRegistryCoder.of());
+    }
+
+    /**
+     * @param plugin the plugin of the processor.
+     * @param idGenerator the key provider.
+     * @param component the joining component identifier.
+     * @param mainFromBranch the branch of the upstream component for the main input.
+     * @param mainBranch the input branch of the main records.
+     * @param sideInputs the side inputs per input branch, keyed with the same key provider.
+     * @param propagateKey should the key be added to the internal metadata of the joined record.
+     * @return the transform joining the main records with the side inputs.
+     */
+    public static PTransform<PCollection<Record>, PCollection<Record>> of(final String plugin,
+            final Function<GroupKeyProvider.GroupContext, String> idGenerator, final String component,
+            final String mainFromBranch, final String mainBranch,
+            final Map<String, PCollectionView<Map<String, Record>>> sideInputs, final boolean propagateKey) {
+        return new SideInputJoinTransform(new SideInputJoinFn(plugin, idGenerator, component, mainFromBranch,
+                mainBranch, sideInputs, propagateKey));
+    }
+
+    @NoArgsConstructor(access = PROTECTED)
+    public static class SideInputJoinFn extends DoFn<Record, Record> {
+
+        private String plugin;
+
+        private Function<GroupKeyProvider.GroupContext, String> idGenerator;
+
+        private String component;
+
+        private String mainFromBranch;
+
+        private String mainBranch;
+
+        private Map<String, PCollectionView<Map<String, Record>>> sideInputs;
+
+        private boolean propagateKey;
+
+        private volatile RecordBuilderFactory builderFactory;
+
+        private transient JoinRecordBuilder joinRecordBuilder;
+
+        private SideInputJoinFn(final String plugin, final Function<GroupKeyProvider.GroupContext, String> idGenerator,
+                final String component, final String mainFromBranch, final String mainBranch,
+                final Map<String, PCollectionView<Map<String, Record>>> sideInputs, final boolean propagateKey) {
+            this.plugin = plugin;
+            this.idGenerator = idGenerator;
+            this.component = component;
+            this.mainFromBranch = mainFromBranch;
+            this.mainBranch = mainBranch;
+            this.sideInputs = sideInputs;
+            this.propagateKey = propagateKey;
+        }
+
+        @ProcessElement
+        public void onElement(final ProcessContext context) {
+            final Record element = context.element();
+            final String key =
+                    idGenerator.apply(new AutoKVWrapper.GroupContextImpl(element, component, mainFromBranch));
+            final JoinRecordBuilder builder = joinRecordBuilder().start().withBranch(mainBranch, element);
+            for (final Map.Entry<String, PCollectionView<Map<String, Record>>> side : sideInputs.entrySet()) {
+                final Record value = context.sideInput(side.getValue()).get(key);
+                if (value != null) {
+                    builder.withBranch(side.getKey(), value);
+                }
+            }
+            context.output(builder.build(propagateKey, key));
+        }
+
+        private JoinRecordBuilder joinRecordBuilder() {
+            if (joinRecordBuilder == null) {
+                joinRecordBuilder = new JoinRecordBuilder(builderFactory());
+            }
+            return joinRecordBuilder;
+        }
+
+        private RecordBuilderFactory builderFactory() {
+            if (builderFactory == null) {
+                synchronized (this) {
+                    if (builderFactory == null) {
+                        final LightContainer container = ContainerFinder.Instance.get().find(plugin);
+                        builderFactory = container.findService(RecordBuilderFactory.class);
+                    }
+                }
+            }
+            return builderFactory;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import static org.apache.ziplock.JarLocation.jarLocation;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
@@ -32,8 +33,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.IntStream;
@@ -50,6 +53,7 @@ import org.apache.beam.sdk.transforms.DoFn;
 import org.apache.beam.sdk.transforms.ParDo;
 import org.apache.beam.sdk.transforms.SerializableFunction;
 import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionTuple;
 import org.junit.Rule;
 import org.junit.Test;
 import org.talend.sdk.component.api.record.Record;
@@ -61,10 +65,12 @@ import org.talend.sdk.component.runtime.beam.transform.RecordNormalizer;
 import org.talend.sdk.component.runtime.beam.transform.ViewsMappingTransform;
 import org.talend.sdk.component.runtime.input.Input;
 import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.manager.builtinparams.BatchPolicy;
 import org.talend.sdk.component.runtime.output.Branches;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
+import org.talend.sdk.component.runtime.output.ProcessorImpl;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -198,6 +204,39 @@ public class TalendIOTest implements Serializable {
         assertEquals(PipelineResult.State.DONE, pipeline.run().getState());
     }
 
+    @Test
+    public void processorLinger() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("configuration." + BatchPolicy.MAX_BATCH_SIZE, "1000");
+        configuration.put("configuration." + BatchPolicy.MAX_BATCH_LINGER, "50");
+        final PCollection<Integer> groups = runGroups(12, new GroupSizeProcessor(configuration, 20, 0));
+        PAssert.that(groups).satisfies((SerializableFunction<Iterable<Integer>, Void>) input -> {
+            final List<Integer> sizes = StreamSupport.stream(input.spliterator(), false).collect(toList());
+            assertEquals(12, sizes.stream().mapToInt(Integer::intValue).sum());
+            // 20ms per record so a group can't get more than 4 records before lingering 50ms
+            assertTrue(sizes.toString(), sizes.stream().allMatch(size -> size <= 4));
+            return null;
+        });
+        assertEquals(PipelineResult.State.DONE, pipeline.run().getState());
+    }
+
+    @Test
+    public void processorTargetLatency() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("configuration." + BatchPolicy.MAX_BATCH_SIZE, "8");
+        configuration.put("configuration." + BatchPolicy.BATCH_TARGET_LATENCY, "5");
+        final PCollection<Integer> groups = runGroups(15, new GroupSizeProcessor(configuration, 0, 20));
+        PAssert.that(groups).satisfies((SerializableFunction<Iterable<Integer>, Void>) input -> {
+            final List<Integer> sizes = StreamSupport.stream(input.spliterator(), false).collect(toList());
+            assertEquals(15, sizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(sizes.toString(), sizes.stream().allMatch(size -> size <= 8));
+            // @AfterGroup is slower than the target so the groups shrink (8, 4, 2, 1 in a single bundle)
+            assertTrue(sizes.toString(), sizes.size() >= 3);
+            return null;
+        });
+        assertEquals(PipelineResult.State.DONE, pipeline.run().getState());
+    }
+
     @Test
     public void processorMulti() {
         final PCollection<SampleLength> out = pipeline
@@ -220,6 +259,42 @@ public class TalendIOTest implements Serializable {
         assertEquals(PipelineResult.State.DONE, pipeline.run().getState());
     }
 
+    @Test
+    public void processorTaggedOutputs() {
+        final PCollectionTuple outputs = pipeline
+                .apply(Create.of(new Sample("a"), new Sample("bb")).withCoder(JsonbCoder.of(Sample.class, PLUGIN)))
+                .apply(UUID.randomUUID().toString(), toRecord())
+                .setCoder(SchemaRegistryCoder.of())
+                .apply(TalendFn.asFn(new BaseTestProcessor() {
+
+                    @Override
+                    public void onNext(final InputFactory input, final OutputFactory factory) {
+                        final String data = Record.class.cast(input.read(Branches.DEFAULT_BRANCH)).getString("data");
+                        factory
+                                .create(data.length() % 2 == 0 ? Branches.DEFAULT_BRANCH : "reject")
+                                .emit(new Sample(data));
+                    }
+                }, Branches.DEFAULT_BRANCH, asList(Branches.DEFAULT_BRANCH, "reject")));
+        PAssert
+                .that(outputs.get(TalendFn.outputTag(Branches.DEFAULT_BRANCH)).apply(UUID.randomUUID().toString(),
+                        toData()))
+                .containsInAnyOrder("bb");
+        PAssert
+                .that(outputs.get(TalendFn.outputTag("reject")).apply(UUID.randomUUID().toString(), toData()))
+                .containsInAnyOrder("a");
+        assertEquals(PipelineResult.State.DONE, pipeline.run().getState());
+    }
+
+    private ParDo.SingleOutput<Record, String> toData() {
+        return ParDo.of(new DoFn<Record, String>() {
+
+            @ProcessElement
+            public void onElement(final ProcessContext ctx) {
+                ctx.output(ctx.element().getString("data"));
+            }
+        });
+    }
+
     private ParDo.SingleOutput<SampleLength, Integer> toInt() {
         return ParDo.of(new DoFn<SampleLength, Integer>() {
 
@@ -241,6 +316,26 @@ public class TalendIOTest implements Serializable {
         });
     }
 
+    private PCollection<Integer> runGroups(final int records, final Processor processor) {
+        final List<Sample> data = IntStream.range(0, records).mapToObj(i -> new Sample("s" + i)).collect(toList());
+        return pipeline
+                .apply(UUID.randomUUID().toString(), Create.of(data).withCoder(JsonbCoder.of(Sample.class, PLUGIN)))
+                .apply(UUID.randomUUID().toString(), toRecord())
+                .setCoder(SchemaRegistryCoder.of())
+                .apply(UUID.randomUUID().toString(), RecordNormalizer.of(PLUGIN))
+                .apply(UUID.randomUUID().toString(), TalendFn.asFn(processor))
+                .setCoder(SchemaRegistryCoder.of())
+                .apply(UUID.randomUUID().toString(), ParDo.of(new DoFn<Record, Integer>() {
+
+                    @ProcessElement
+                    public void onElement(final ProcessContext ctx) {
+                        final Collection<Record> array =
+                                ctx.element().getArray(Record.class, Branches.DEFAULT_BRANCH);
+                        ctx.output(array.iterator().next().getInt("len"));
+                    }
+                }));
+    }
+
     private ParDo.SingleOutput<Sample, Record> toRecord() {
         return ParDo.of(new DoFn<Sample, Record>() {
 
@@ -312,6 +407,63 @@ public class TalendIOTest implements Serializable {
         }
     }
 
+    /**
+     * Emits the number of records of each group, the batch policy is read from its internal configuration.
+     */
+    private static class GroupSizeProcessor extends ProcessorImpl {
+
+        private final long onNextPause;
+
+        private final long afterGroupPause;
+
+        private int records;
+
+        private GroupSizeProcessor(final Map<String, String> configuration, final long onNextPause,
+                final long afterGroupPause) {
+            super("test-classes", "test-classes", PLUGIN, configuration, "group-size");
+            this.onNextPause = onNextPause;
+            this.afterGroupPause = afterGroupPause;
+        }
+
+        @Override
+        public void start() {
+            // no-op
+        }
+
+        @Override
+        public void stop() {
+            // no-op
+        }
+
+        @Override
+        public void beforeGroup() {
+            records = 0;
+        }
+
+        @Override
+        public void onNext(final InputFactory input, final OutputFactory factory) {
+            pause(onNextPause);
+            records++;
+        }
+
+        @Override
+        public void afterGroup(final OutputFactory output) {
+            pause(afterGroupPause);
+            output.create(Branches.DEFAULT_BRANCH).emit(new SampleLength(records));
+        }
+
+        private void pause(final long duration) {
+            if (duration <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(duration);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private static abstract class BaseTestInput implements Serializable, Input {
 
         @Override
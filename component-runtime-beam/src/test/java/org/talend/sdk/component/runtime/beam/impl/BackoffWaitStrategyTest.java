@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class BackoffWaitStrategyTest {
+
+    @Test
+    public void delays() {
+        final BackoffWaitStrategy strategy = new BackoffWaitStrategy(10, 100, 2);
+        assertEquals(10, strategy.delay(0));
+        assertEquals(20, strategy.delay(1));
+        assertEquals(80, strategy.delay(3));
+        assertEquals(100, strategy.delay(4));
+        assertEquals(100, strategy.delay(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid() {
+        new BackoffWaitStrategy(100, 10, 2);
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        assertFalse(new BackoffWaitStrategy(10, 100, 2).await(20));
+    }
+
+    @Test
+    public void pendingSignal() throws InterruptedException {
+        final BackoffWaitStrategy strategy = new BackoffWaitStrategy(10, 100, 2);
+        strategy.signal();
+        assertTrue(strategy.await(TimeUnit.MINUTES.toMillis(1)));
+        assertFalse(strategy.await(1)); // consumed
+    }
+
+    @Test
+    public void signalWakesUp() throws InterruptedException {
+        final BackoffWaitStrategy strategy = new BackoffWaitStrategy(10, 100, 2);
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final Thread notifier = new Thread(() -> {
+            try {
+                waiting.await();
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            strategy.signal();
+        });
+        notifier.start();
+        final long start = System.nanoTime();
+        waiting.countDown();
+        assertTrue(strategy.await(TimeUnit.MINUTES.toMillis(1)));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30));
+        notifier.join();
+    }
+}
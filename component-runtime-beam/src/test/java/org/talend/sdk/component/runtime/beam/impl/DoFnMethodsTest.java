@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.beam.sdk.options.PipelineOptionsFactory;
+import org.apache.beam.sdk.transforms.DoFn;
+import org.junit.Test;
+import org.talend.sdk.component.runtime.output.Branches;
+
+public class DoFnMethodsTest {
+
+    @Test
+    public void cached() {
+        final DoFnMethods methods = DoFnMethods.of(Upper.class);
+        assertSame(methods, DoFnMethods.of(Upper.class));
+        assertNotNull(methods.setup);
+        assertNull(methods.tearDown);
+        assertNull(methods.startBundle);
+        assertNull(methods.finishBundle);
+    }
+
+    @Test
+    public void invoke() {
+        final Upper fn = new Upper();
+        final DoFnMethods methods = DoFnMethods.of(Upper.class);
+        final InMemoryArgumentProvider provider = new InMemoryArgumentProvider(PipelineOptionsFactory.create());
+        final Object[] args = methods.processElement.newArguments();
+        final Collection<Object> outputs = new ArrayList<>();
+        provider.setOutputs(name -> {
+            assertEquals(Branches.DEFAULT_BRANCH, name);
+            return outputs::add;
+        });
+        methods.setup.invoke(fn, provider, methods.setup.newArguments());
+        for (final String value : new String[] { "a", "b" }) {
+            provider.setInputs(name -> value);
+            methods.processElement.invoke(fn, provider, args);
+        }
+        assertEquals(2, outputs.size());
+        assertEquals("A", outputs.iterator().next());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exception() {
+        final DoFnMethods methods = DoFnMethods.of(Failing.class);
+        methods.setup.invoke(new Failing(), null, methods.setup.newArguments());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedParameter() {
+        DoFnMethods.of(Unsupported.class);
+    }
+
+    public static class Upper extends DoFn<String, String> {
+
+        private boolean setup;
+
+        @Setup
+        public void setup() {
+            setup = true;
+        }
+
+        @ProcessElement
+        public void onElement(@Element final String element, final OutputReceiver<String> output) {
+            if (!setup) {
+                throw new IllegalStateException("setup not called");
+            }
+            output.output(element.toUpperCase());
+        }
+    }
+
+    public static class Failing extends DoFn<String, String> {
+
+        @Setup
+        public void setup() throws Exception {
+            throw new Exception("checked");
+        }
+
+        @ProcessElement
+        public void onElement(final ProcessContext context) {
+            // no-op
+        }
+    }
+
+    public static class Unsupported extends DoFn<String, String> {
+
+        @ProcessElement
+        public void onElement(final String notAnnotated) {
+            // no-op
+        }
+    }
+}
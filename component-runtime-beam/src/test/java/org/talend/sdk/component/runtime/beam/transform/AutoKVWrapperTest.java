@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.talend.sdk.component.runtime.beam.transform.Pipelines.buildBasePipeline;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
 import java.util.stream.StreamSupport;
@@ -33,6 +34,7 @@ import org.apache.beam.sdk.values.KV;
 import org.junit.Rule;
 import org.junit.Test;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.manager.chain.BinaryGroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.internal.JobImpl;
 
 public class AutoKVWrapperTest implements Serializable {
@@ -63,4 +65,30 @@ public class AutoKVWrapperTest implements Serializable {
                 });
         assertEquals(PipelineResult.State.DONE, pipeline.run().waitUntilFinish());
     }
+
+    @Test
+    public void binary() {
+        PAssert
+                .that(buildBasePipeline(pipeline)
+                        .apply(AutoKVWrapper
+                                .ofBinary(null,
+                                        (BinaryGroupKeyProvider) c -> c
+                                                .getData()
+                                                .getArray(Record.class, "b1")
+                                                .iterator()
+                                                .next()
+                                                .getString("foo")
+                                                .getBytes(StandardCharsets.UTF_8),
+                                        "", "")))
+                .satisfies(values -> {
+                    final List<String> keys = StreamSupport
+                            .stream(values.spliterator(), false)
+                            .map(kv -> new String(kv.getKey(), StandardCharsets.UTF_8))
+                            .sorted()
+                            .collect(toList());
+                    assertEquals(asList("a", "b"), keys);
+                    return null;
+                });
+        assertEquals(PipelineResult.State.DONE, pipeline.run().waitUntilFinish());
+    }
 }
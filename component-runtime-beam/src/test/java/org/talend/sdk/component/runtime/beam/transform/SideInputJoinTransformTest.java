@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.transform;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toMap;
+import static org.apache.ziplock.JarLocation.jarLocation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import org.apache.beam.sdk.PipelineResult;
+import org.apache.beam.sdk.testing.PAssert;
+import org.apache.beam.sdk.testing.TestPipeline;
+import org.apache.beam.sdk.transforms.Create;
+import org.apache.beam.sdk.transforms.MapElements;
+import org.apache.beam.sdk.transforms.View;
+import org.apache.beam.sdk.values.PCollection;
+import org.apache.beam.sdk.values.PCollectionView;
+import org.apache.beam.sdk.values.TypeDescriptor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
+import org.talend.sdk.component.runtime.beam.spi.AvroRecordBuilderFactoryProvider;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+
+public class SideInputJoinTransformTest implements Serializable {
+
+    private static final String PLUGIN = jarLocation(SideInputJoinTransformTest.class).getAbsolutePath();
+
+    @Rule
+    public final transient TestPipeline pipeline = TestPipeline.create();
+
+    @Test
+    public void join() {
+        final GroupKeyProvider keyProvider = context -> context.getData().getString("id");
+        final PCollectionView<Map<String, Record>> side = records("side", "label", "1", "3", "4")
+                .apply(AutoKVWrapper.of(PLUGIN, keyProvider, "join", "__default__"))
+                .apply(View.asMap());
+        final PCollection<Record> joined = records("main", "name", "1", "2", "3")
+                .apply(SideInputJoinTransform
+                        .of(PLUGIN, keyProvider, "join", "__default__", "main", singletonMap("side", side), true));
+
+        PAssert.that(joined).satisfies(values -> {
+            final Map<String, Record> byKey = StreamSupport
+                    .stream(values.spliterator(), false)
+                    .collect(toMap(record -> record.getRecord("__talend_internal").getString("key"), r -> r));
+            // only the main keys are emitted, even if the side input does not have them
+            assertEquals(3, byKey.size());
+            for (final String key : asList("1", "2", "3")) {
+                final Record record = byKey.get(key);
+                final Collection<Record> main = record.getArray(Record.class, "main");
+                assertEquals(1, main.size());
+                assertEquals("main-" + key, main.iterator().next().getString("name"));
+            }
+            assertEquals("side-1", byKey.get("1").getArray(Record.class, "side").iterator().next().getString("label"));
+            assertEquals("side-3", byKey.get("3").getArray(Record.class, "side").iterator().next().getString("label"));
+            assertNull(byKey.get("2").get(Object.class, "side"));
+            return null;
+        });
+        assertEquals(PipelineResult.State.DONE, pipeline.run().waitUntilFinish());
+    }
+
+    private PCollection<Record> records(final String name, final String field, final String... ids) {
+        final RecordBuilderFactory factory = new AvroRecordBuilderFactoryProvider().apply(null);
+        return pipeline
+                .apply(name, Create.of(asList(ids)))
+                .apply(name + "Records", MapElements
+                        .into(TypeDescriptor.of(Record.class))
+                        .via((String id) -> factory
+                                .newRecordBuilder()
+                                .withString("id", id)
+                                .withString(field, name + '-' + id)
+                                .build()))
+                .setCoder(SchemaRegistryCoder.of());
+    }
+}
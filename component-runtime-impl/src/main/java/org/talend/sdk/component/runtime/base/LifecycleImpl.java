@@ -25,6 +25,8 @@ import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.Instrumentation;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 
 // base class to handle postconstruct/predestroy
@@ -34,6 +36,9 @@ public class LifecycleImpl extends Named implements Lifecycle {
 
     private transient ClassLoader loader;
 
+    // null when the instrumentation is not active, subclasses only check it before measuring anything
+    protected transient ComponentMetrics metrics;
+
     public LifecycleImpl(final Object delegate, final String rootName, final String name, final String plugin) {
         super(rootName, name, plugin);
         this.delegate = delegate;
@@ -45,12 +50,25 @@ public class LifecycleImpl extends Named implements Lifecycle {
 
     @Override
     public void start() {
+        if (metrics == null && isInstrumented()) {
+            metrics = Instrumentation.create(plugin(), rootName(), name());
+        }
         invoke(PostConstruct.class);
     }
 
     @Override
     public void stop() {
-        invoke(PreDestroy.class);
+        try {
+            invoke(PreDestroy.class);
+        } finally {
+            Instrumentation.release(metrics);
+            metrics = null;
+        }
+    }
+
+    // only the components handling records are measured
+    protected boolean isInstrumented() {
+        return false;
     }
 
     private void invoke(final Class<? extends Annotation> marker) {
@@ -60,6 +60,9 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
             next = findMethods(Producer.class).findFirst().get();
             converters = new RecordConverters();
         }
+        if (metrics != null) {
+            return instrumentedNext();
+        }
         final Object record = doInvoke(this.next);
         if (record == null) {
             return null;
@@ -72,6 +75,29 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
         return converters.toRecord(record, this::jsonb, this::recordBuilderFactory);
     }
 
+    private Object instrumentedNext() {
+        final long start = System.nanoTime();
+        final Object record = doInvoke(this.next);
+        final long produced = System.nanoTime();
+        metrics.getElementLatency().record(produced - start);
+        if (record == null) {
+            return null;
+        }
+        metrics.getRecordsIn().increment();
+        final Class<?> recordClass = record.getClass();
+        if (recordClass.isPrimitive() || String.class == recordClass) {
+            return record;
+        }
+        final Object converted = converters.toRecord(record, this::jsonb, this::recordBuilderFactory);
+        metrics.getConversionLatency().record(System.nanoTime() - produced);
+        return converted;
+    }
+
+    @Override
+    protected boolean isInstrumented() {
+        return true;
+    }
+
     @Override
     public Object getDelegate() {
         return delegate;
@@ -0,0 +1,300 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.internationalization;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.enumeration;
+import static java.util.Collections.unmodifiableSet;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import lombok.Data;
+
+/**
+ * Index of the {@code Messages*.properties} bundles a classloader owns. It is read from the
+ * {@link #LOCATION} files (generated at build time) or, when there is none, by scanning the loader jars and
+ * folders once. Bundles are then flattened per locale in a key/value table so lookups don't probe the classpath
+ * anymore. Bundles unknown by the index (in parent loaders for instance) are resolved with
+ * {@link ResourceBundle#getBundle(String, Locale, ClassLoader)}.
+ */
+public final class BundleIndex {
+
+    public static final String LOCATION = "TALEND-INF/i18n.index";
+
+    private static final Logger LOGGER = Logger.getLogger(BundleIndex.class.getName());
+
+    private static final String MESSAGES = "Messages";
+
+    private static final String EXTENSION = ".properties";
+
+    private static final Map<ClassLoader, BundleIndex> INDICES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // values don't reference the loader strongly to let it be collected from INDICES
+    private final WeakReference<ClassLoader> loader;
+
+    // base name -> locale suffixes ("" for the root bundle)
+    private final Map<String, Set<String>> bundles;
+
+    private final ConcurrentMap<BundleKey, Optional<ResourceBundle>> tables = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Map<String, String>> files = new ConcurrentHashMap<>();
+
+    private BundleIndex(final ClassLoader loader, final Collection<String> resources) {
+        this.loader = new WeakReference<>(loader);
+        this.bundles = new HashMap<>();
+        resources.stream().map(String::trim).filter(BundleIndex::isMessages).forEach(resource -> {
+            final String name = resource.substring(0, resource.length() - EXTENSION.length());
+            final int suffix = name.indexOf('_', name.lastIndexOf('/') + 1);
+            final String baseName = (suffix < 0 ? name : name.substring(0, suffix)).replace('/', '.');
+            bundles.computeIfAbsent(baseName, k -> new HashSet<>()).add(suffix < 0 ? "" : name.substring(suffix + 1));
+        });
+    }
+
+    /**
+     * @param loader the loader to index.
+     * @return the index of the loader, it is computed at the first call.
+     */
+    public static BundleIndex of(final ClassLoader loader) {
+        synchronized (INDICES) {
+            return INDICES.computeIfAbsent(loader, l -> new BundleIndex(l, findResources(l)));
+        }
+    }
+
+    /**
+     * Drops the index of a loader which is no more used.
+     *
+     * @param loader the loader to forget.
+     */
+    public static void release(final ClassLoader loader) {
+        INDICES.remove(loader);
+    }
+
+    /**
+     * Same contract as {@link ResourceBundle#getBundle(String, Locale, ClassLoader)} but served by the loader index.
+     *
+     * @param baseName the bundle base name.
+     * @param locale the expected locale.
+     * @param loader the loader owning the bundle.
+     * @return the bundle.
+     * @throws MissingResourceException if there is no bundle.
+     */
+    public static ResourceBundle getBundle(final String baseName, final Locale locale, final ClassLoader loader) {
+        final BundleIndex index = of(loader);
+        if (!index.bundles.containsKey(baseName)) {
+            return ResourceBundle.getBundle(baseName, locale, loader);
+        }
+        return index
+                .find(baseName, locale)
+                .orElseThrow(() -> new MissingResourceException("No bundle " + baseName + " for " + locale,
+                        baseName + '_' + locale, ""));
+    }
+
+    /**
+     * @return the indexed base names.
+     */
+    public Set<String> getBaseNames() {
+        return unmodifiableSet(bundles.keySet());
+    }
+
+    /**
+     * @param baseName the bundle base name.
+     * @param locale the expected locale.
+     * @return the flattened bundle (root bundle overridden by the locale specific ones) if the index knows it.
+     */
+    public Optional<ResourceBundle> find(final String baseName, final Locale locale) {
+        final Set<String> suffixes = bundles.get(baseName);
+        if (suffixes == null) {
+            return Optional.empty();
+        }
+        return tables.computeIfAbsent(new BundleKey(baseName, locale), k -> {
+            // same fallback as ResourceBundle: the default locale is used when the requested one has no bundle
+            List<String> candidates = candidates(locale, suffixes);
+            if (candidates.isEmpty() && !locale.equals(Locale.getDefault())) {
+                candidates = candidates(Locale.getDefault(), suffixes);
+            }
+            if (suffixes.contains("")) {
+                candidates.add("");
+            }
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+            final Map<String, String> table = new HashMap<>();
+            for (int i = candidates.size() - 1; i >= 0; i--) {
+                final String suffix = candidates.get(i);
+                table.putAll(load(baseName.replace('.', '/') + (suffix.isEmpty() ? "" : ('_' + suffix)) + EXTENSION));
+            }
+            return Optional.of(new IndexedBundle(table));
+        });
+    }
+
+    private Map<String, String> load(final String resource) {
+        return files.computeIfAbsent(resource, r -> {
+            final ClassLoader classLoader = loader.get();
+            if (classLoader == null) {
+                return emptyMap();
+            }
+            try (final InputStream stream = classLoader.getResourceAsStream(r)) {
+                if (stream == null) {
+                    return emptyMap();
+                }
+                final Properties properties = new Properties();
+                properties.load(stream);
+                final Map<String, String> values = new HashMap<>(properties.size());
+                properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+                return values;
+            } catch (final IOException e) {
+                LOGGER.log(Level.WARNING, "Can't read " + r, e);
+                return emptyMap();
+            }
+        });
+    }
+
+    // most specific first, like ResourceBundle.Control#getCandidateLocales without the scripts
+    private static List<String> candidates(final Locale locale, final Set<String> suffixes) {
+        final List<String> candidates = new ArrayList<>(3);
+        final String language = locale.getLanguage();
+        final String country = locale.getCountry();
+        final String variant = locale.getVariant();
+        Stream
+                .of(variant.isEmpty() ? null : (language + '_' + country + '_' + variant),
+                        country.isEmpty() ? null : (language + '_' + country), language.isEmpty() ? null : language)
+                .filter(Objects::nonNull)
+                .filter(suffixes::contains)
+                .forEach(candidates::add);
+        return candidates;
+    }
+
+    private static boolean isMessages(final String resource) {
+        final String name = resource.substring(resource.lastIndexOf('/') + 1);
+        return name.endsWith(EXTENSION) && (name.equals(MESSAGES + EXTENSION) || name.startsWith(MESSAGES + '_'));
+    }
+
+    private static Collection<String> findResources(final ClassLoader loader) {
+        final Collection<String> resources = new ArrayList<>();
+        try {
+            final Enumeration<URL> indices = loader.getResources(LOCATION);
+            while (indices.hasMoreElements()) {
+                try (final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(indices.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().filter(it -> !it.trim().isEmpty() && !it.startsWith("#")).forEach(resources::add);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+        }
+        // the application loader is not a plugin, it is not worth scanning the whole JVM classpath for it
+        if (resources.isEmpty() && URLClassLoader.class.isInstance(loader)
+                && loader != ClassLoader.getSystemClassLoader()) {
+            Stream
+                    .of(URLClassLoader.class.cast(loader).getURLs())
+                    .filter(url -> "file".equals(url.getProtocol()))
+                    .map(url -> new File(url.getFile()))
+                    .forEach(file -> scan(file, resources));
+        }
+        return resources;
+    }
+
+    private static void scan(final File file, final Collection<String> resources) {
+        try {
+            if (file.isDirectory()) {
+                final Path root = file.toPath();
+                try (final Stream<Path> paths = Files.walk(root)) {
+                    paths
+                            .map(root::relativize)
+                            .map(path -> path.toString().replace(File.separatorChar, '/'))
+                            .filter(BundleIndex::isMessages)
+                            .forEach(resources::add);
+                }
+            } else if (file.isFile() && file.getName().endsWith(".jar")) {
+                try (final JarFile jar = new JarFile(file)) {
+                    jar
+                            .stream()
+                            .filter(entry -> !entry.isDirectory())
+                            .map(JarEntry::getName)
+                            .filter(BundleIndex::isMessages)
+                            .forEach(resources::add);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Can't index " + file, e);
+        }
+    }
+
+    @Data
+    private static class BundleKey {
+
+        private final String baseName;
+
+        private final Locale locale;
+    }
+
+    private static class IndexedBundle extends ResourceBundle {
+
+        private final Map<String, String> values;
+
+        private IndexedBundle(final Map<String, String> values) {
+            this.values = values;
+        }
+
+        @Override
+        protected Object handleGetObject(final String key) {
+            return values.get(key);
+        }
+
+        @Override
+        protected Set<String> handleKeySet() {
+            return values.keySet();
+        }
+
+        @Override
+        public Enumeration<String> getKeys() {
+            return enumeration(values.keySet());
+        }
+    }
+}
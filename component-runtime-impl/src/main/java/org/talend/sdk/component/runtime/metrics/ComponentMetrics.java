@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Throughput and latency (in nanoseconds) of a component instance.
+ * Created by {@link Instrumentation} only when the instrumentation is active.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ComponentMetrics {
+
+    private final long id;
+
+    private final String plugin;
+
+    private final String family;
+
+    private final String name;
+
+    /**
+     * Records read by an input or received by a processor.
+     */
+    private final LongAdder recordsIn = new LongAdder();
+
+    /**
+     * Records emitted by a processor.
+     */
+    private final LongAdder recordsOut = new LongAdder();
+
+    /**
+     * Duration of the {@code @Producer} or {@code @ElementListener} invocation.
+     */
+    private final LatencyHistogram elementLatency = new LatencyHistogram();
+
+    /**
+     * Duration of the {@code @AfterGroup} invocations.
+     */
+    private final LatencyHistogram afterGroupLatency = new LatencyHistogram();
+
+    /**
+     * Duration of the record conversions (user types to record and inputs to the listener types).
+     */
+    private final LatencyHistogram conversionLatency = new LatencyHistogram();
+
+    public void reset() {
+        recordsIn.reset();
+        recordsOut.reset();
+        elementLatency.reset();
+        afterGroupLatency.reset();
+        conversionLatency.reset();
+    }
+}
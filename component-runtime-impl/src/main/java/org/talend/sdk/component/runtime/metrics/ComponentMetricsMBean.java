@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InvalidAttributeValueException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read only view of a {@link ComponentMetrics}, latencies are in nanoseconds.
+ */
+public class ComponentMetricsMBean implements DynamicMBean {
+
+    private final ComponentMetrics metrics;
+
+    private final Map<String, AttributeDefinition> attributes = new LinkedHashMap<>();
+
+    private MBeanInfo info;
+
+    public ComponentMetricsMBean(final ComponentMetrics metrics) {
+        this.metrics = metrics;
+        attributes
+                .put("recordsIn", new AttributeDefinition(long.class, "Records read or received",
+                        () -> metrics.getRecordsIn().sum()));
+        attributes
+                .put("recordsOut", new AttributeDefinition(long.class, "Records emitted",
+                        () -> metrics.getRecordsOut().sum()));
+        addHistogram("element", "@Producer/@ElementListener", metrics.getElementLatency());
+        addHistogram("afterGroup", "@AfterGroup", metrics.getAfterGroupLatency());
+        addHistogram("conversion", "Record conversion", metrics.getConversionLatency());
+    }
+
+    private void addHistogram(final String prefix, final String description, final LatencyHistogram histogram) {
+        attributes
+                .put(prefix + "Count",
+                        new AttributeDefinition(long.class, description + " invocations", histogram::getCount));
+        attributes
+                .put(prefix + "Mean",
+                        new AttributeDefinition(double.class, description + " mean duration", histogram::getMean));
+        attributes
+                .put(prefix + "Max",
+                        new AttributeDefinition(long.class, description + " max duration", histogram::getMax));
+        Stream.of(50, 95, 99).forEach(percentile -> attributes
+                .put(prefix + "P" + percentile,
+                        new AttributeDefinition(long.class, description + " duration " + percentile + "th percentile",
+                                () -> histogram.getValueAtPercentile(percentile))));
+    }
+
+    @Override
+    public Object getAttribute(final String attribute)
+            throws AttributeNotFoundException, MBeanException, ReflectionException {
+        if (attribute == null) {
+            throw new IllegalArgumentException("Attribute name can't be null");
+        }
+        final AttributeDefinition definition = attributes.get(attribute);
+        if (definition == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return definition.value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] names) {
+        final AttributeList attributeList = new AttributeList();
+        if (names != null) {
+            Stream.of(names).forEach(name -> {
+                try {
+                    attributeList.add(new Attribute(name, getAttribute(name)));
+                } catch (final AttributeNotFoundException | MBeanException | ReflectionException e) {
+                    // no-op: skip
+                }
+            });
+        }
+        return attributeList;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute)
+            throws AttributeNotFoundException, InvalidAttributeValueException, MBeanException, ReflectionException {
+        throw new AttributeNotFoundException();
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+            throws MBeanException, ReflectionException {
+        if (actionName == null) {
+            throw new IllegalArgumentException("Action can't be null");
+        }
+        switch (actionName) {
+        case "reset":
+            metrics.reset();
+            break;
+        default:
+            throw new UnsupportedOperationException("Unknown action: '" + actionName + "'");
+        }
+        return null;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return info == null ? (info = new MBeanInfo(ComponentMetricsMBean.class.getName(),
+                "Metrics of " + metrics.getFamily() + "#" + metrics.getName() + " (instance " + metrics.getId() + ")",
+                attributes
+                        .entrySet()
+                        .stream()
+                        .map(e -> new MBeanAttributeInfo(e.getKey(), e.getValue().type.getName(),
+                                e.getValue().description, true, false, false))
+                        .toArray(MBeanAttributeInfo[]::new),
+                new MBeanConstructorInfo[0],
+                new MBeanOperationInfo[] { new MBeanOperationInfo("reset", "Resets the counters and histograms.",
+                        new MBeanParameterInfo[0], void.class.getName(), MBeanOperationInfo.ACTION) },
+                new MBeanNotificationInfo[0])) : info;
+    }
+
+    @RequiredArgsConstructor
+    private static class AttributeDefinition {
+
+        private final Class<?> type;
+
+        private final String description;
+
+        private final Supplier<Object> value;
+    }
+}
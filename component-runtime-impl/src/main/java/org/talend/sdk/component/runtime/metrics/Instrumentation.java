@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Collection;
+import java.util.ServiceLoader;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry point of the component instrumentation. It is disabled by default
+ * ({@code -Dtalend.component.runtime.instrumentation.active=true} or {@link #setActive(boolean)} enables it),
+ * in that case no metrics are created and the runtime only checks the metrics reference is null.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class Instrumentation {
+
+    public static final String ACTIVE_PROPERTY = "talend.component.runtime.instrumentation.active";
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private static final Collection<InstrumentationListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean active = Boolean.getBoolean(ACTIVE_PROPERTY);
+
+    static {
+        ServiceLoader
+                .load(InstrumentationListener.class, Instrumentation.class.getClassLoader())
+                .forEach(LISTENERS::add);
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    // only impacts the components started after the call
+    public static void setActive(final boolean value) {
+        active = value;
+    }
+
+    public static void addListener(final InstrumentationListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(final InstrumentationListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * @param plugin the plugin of the component.
+     * @param family the component family.
+     * @param name the component name.
+     * @return the metrics of a new component instance or null if the instrumentation is not active.
+     */
+    public static ComponentMetrics create(final String plugin, final String family, final String name) {
+        if (!active) {
+            return null;
+        }
+        final ComponentMetrics metrics = new ComponentMetrics(IDS.incrementAndGet(), plugin, family, name);
+        LISTENERS.forEach(listener -> listener.onCreate(metrics));
+        return metrics;
+    }
+
+    public static void release(final ComponentMetrics metrics) {
+        if (metrics != null) {
+            LISTENERS.forEach(listener -> listener.onRelease(metrics));
+        }
+    }
+}
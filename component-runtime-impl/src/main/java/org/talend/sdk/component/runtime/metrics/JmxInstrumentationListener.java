@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static java.util.Optional.ofNullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exports the component metrics in the platform MBean server,
+ * {@code -Dtalend.component.runtime.instrumentation.jmx=false} disables it.
+ */
+public class JmxInstrumentationListener implements InstrumentationListener {
+
+    private static final Logger LOGGER = Logger.getLogger(JmxInstrumentationListener.class.getName());
+
+    private final boolean active =
+            Boolean.parseBoolean(System.getProperty("talend.component.runtime.instrumentation.jmx", "true"));
+
+    private final Map<Long, ObjectName> names = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCreate(final ComponentMetrics metrics) {
+        if (!active) {
+            return;
+        }
+        try {
+            final ObjectName name = new ObjectName("org.talend.sdk.component:type=metrics,plugin="
+                    + ObjectName.quote(String.valueOf(metrics.getPlugin())) + ",family="
+                    + ObjectName.quote(String.valueOf(metrics.getFamily())) + ",name="
+                    + ObjectName.quote(String.valueOf(metrics.getName())) + ",instance=" + metrics.getId());
+            getServer().registerMBean(new ComponentMetricsMBean(metrics), name);
+            names.put(metrics.getId(), name);
+        } catch (final JMException e) {
+            // metrics must never break the execution
+            LOGGER.log(Level.WARNING, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onRelease(final ComponentMetrics metrics) {
+        ofNullable(names.remove(metrics.getId())).ifPresent(name -> {
+            try {
+                getServer().unregisterMBean(name);
+            } catch (final JMException e) {
+                LOGGER.log(Level.WARNING, e.getMessage(), e);
+            }
+        });
+    }
+
+    private MBeanServer getServer() {
+        return ManagementFactory.getPlatformMBeanServer();
+    }
+}
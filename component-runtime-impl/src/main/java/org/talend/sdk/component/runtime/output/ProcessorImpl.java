@@ -49,10 +49,12 @@ import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
 import org.talend.sdk.component.runtime.jsonb.MultipleFormatDateAdapter;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
@@ -212,17 +214,26 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     @Override
     public void afterGroup(final OutputFactory output) {
+        final long start = metrics == null ? 0 : System.nanoTime();
+        final OutputFactory outputs = metrics == null ? output : countingOutputs(output);
         afterGroup
                 .forEach(after -> doInvoke(after,
                         parameterBuilderAfterGroup
                                 .get(after)
                                 .stream()
-                                .map(b -> b.apply(output))
+                                .map(b -> b.apply(outputs))
                                 .toArray(Object[]::new)));
+        if (metrics != null) {
+            metrics.getAfterGroupLatency().record(System.nanoTime() - start);
+        }
     }
 
     @Override
     public void onNext(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        if (metrics != null) {
+            instrumentedOnNext(inputFactory, countingOutputs(outputFactory));
+            return;
+        }
         final Object[] args =
                 parameterBuilderProcess.stream().map(b -> b.apply(inputFactory, outputFactory)).toArray(Object[]::new);
         final Object out = doInvoke(process, args);
@@ -231,6 +242,37 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
         }
     }
 
+    private void instrumentedOnNext(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        metrics.getRecordsIn().increment();
+        final long start = System.nanoTime();
+        // the input parameters are converted while built
+        final Object[] args =
+                parameterBuilderProcess.stream().map(b -> b.apply(inputFactory, outputFactory)).toArray(Object[]::new);
+        final long converted = System.nanoTime();
+        metrics.getConversionLatency().record(converted - start);
+        final Object out = doInvoke(process, args);
+        metrics.getElementLatency().record(System.nanoTime() - converted);
+        if (forwardReturn) {
+            outputFactory.create(Branches.DEFAULT_BRANCH).emit(out);
+        }
+    }
+
+    private OutputFactory countingOutputs(final OutputFactory delegate) {
+        final ComponentMetrics componentMetrics = metrics;
+        return name -> {
+            final OutputEmitter emitter = delegate.create(name);
+            return value -> {
+                componentMetrics.getRecordsOut().increment();
+                emitter.emit(value);
+            };
+        };
+    }
+
+    @Override
+    protected boolean isInstrumented() {
+        return true;
+    }
+
     @Override
     public Object getDelegate() {
         return delegate;
@@ -0,0 +1,423 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Builds records from {@link JsonParser} events without materializing any {@link javax.json.JsonObject}.
+ * Without schema the entries are inferred per payload (integral numbers are longs, others doubles).
+ * With a schema the values are coerced to the entry types, unknown keys are skipped and the entries keep the schema
+ * order. The schema entries are made nullable and missing values are null, with a {@link RecordBuilderFactoryImpl}
+ * all the records share the same schema instance whatever their null values are. Other factories only get the
+ * entries having a value.
+ * An instance is thread safe and meant to be reused.
+ */
+public class JsonRecordReader {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private final RecordBuilderFactory factory;
+
+    private final Node root;
+
+    private final RecordConverters converters = new RecordConverters();
+
+    public JsonRecordReader(final RecordBuilderFactory factory, final Schema schema) {
+        this.factory = factory;
+        this.root = schema == null ? null : Node.of(schema);
+        if (root != null && root.type != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Expected a record schema, got " + schema.getType());
+        }
+    }
+
+    /**
+     * @param parser a parser which next event is the start of an object.
+     * @return the record of this object.
+     */
+    public Record read(final JsonParser parser) {
+        final JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.START_OBJECT) {
+            throw new JsonParsingException("Expected an object, got " + event, parser.getLocation());
+        }
+        return readObject(parser, root);
+    }
+
+    /**
+     * @param parser a parser which next event is the start of an array of objects or of a single object.
+     * @return the records, lazily read from the parser which is closed at the end of the array.
+     */
+    public Iterator<Record> iterate(final JsonParser parser) {
+        final JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.START_OBJECT) {
+            final Record record = readObject(parser, root);
+            parser.close();
+            return singletonList(record).iterator();
+        }
+        if (event != JsonParser.Event.START_ARRAY) {
+            throw new JsonParsingException("Expected an array or an object, got " + event, parser.getLocation());
+        }
+        return new Iterator<Record>() {
+
+            private Record next;
+
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !done) {
+                    final JsonParser.Event item = parser.next();
+                    if (item == JsonParser.Event.END_ARRAY) {
+                        done = true;
+                        parser.close();
+                    } else if (item == JsonParser.Event.START_OBJECT) {
+                        next = readObject(parser, root);
+                    } else {
+                        throw new JsonParsingException("Expected an object, got " + item, parser.getLocation());
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Record record = next;
+                next = null;
+                return record;
+            }
+        };
+    }
+
+    private Record readObject(final JsonParser parser, final Node node) {
+        return node == null ? readInferredObject(parser) : readTypedObject(parser, node);
+    }
+
+    private Record readTypedObject(final JsonParser parser, final Node node) {
+        final Object[] values = new Object[node.entries.size()];
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            final Integer index = node.index.get(parser.getString());
+            final JsonParser.Event valueEvent = parser.next();
+            if (index == null) {
+                skip(parser, valueEvent);
+                continue;
+            }
+            values[index] = readTypedValue(parser, valueEvent, node.children[index]);
+        }
+        final Record.Builder builder = RecordBuilderFactoryImpl.class.isInstance(factory)
+                ? RecordBuilderFactoryImpl.class.cast(factory).newRecordBuilder(node.schema)
+                : factory.newRecordBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                append(builder, node.entries.get(i), values[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    private Object readTypedValue(final JsonParser parser, final JsonParser.Event event, final Node node) {
+        if (event == JsonParser.Event.VALUE_NULL) {
+            return null;
+        }
+        switch (node.type) {
+        case STRING:
+            switch (event) {
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+                return parser.getString();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            default:
+                return parser.getValue().toString();
+            }
+        case INT:
+            if (event == JsonParser.Event.VALUE_NUMBER && parser.isIntegralNumber()) {
+                return parser.getInt();
+            }
+            return toNumber(parser, event).intValue();
+        case LONG:
+            if (event == JsonParser.Event.VALUE_NUMBER && parser.isIntegralNumber()) {
+                return parser.getLong();
+            }
+            return toNumber(parser, event).longValue();
+        case FLOAT:
+            return toNumber(parser, event).floatValue();
+        case DOUBLE:
+            return toNumber(parser, event).doubleValue();
+        case BOOLEAN:
+            if (event == JsonParser.Event.VALUE_TRUE || event == JsonParser.Event.VALUE_FALSE) {
+                return event == JsonParser.Event.VALUE_TRUE;
+            }
+            return Boolean.parseBoolean(expect(parser, event, JsonParser.Event.VALUE_STRING).getString());
+        case BYTES:
+            return Base64.getDecoder().decode(expect(parser, event, JsonParser.Event.VALUE_STRING).getString());
+        case DATETIME:
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(parser.getLong()), UTC);
+            }
+            return ZonedDateTime.parse(expect(parser, event, JsonParser.Event.VALUE_STRING).getString());
+        case RECORD:
+            return readObject(expect(parser, event, JsonParser.Event.START_OBJECT), node);
+        case ARRAY:
+            expect(parser, event, JsonParser.Event.START_ARRAY);
+            final List<Object> items = new ArrayList<>();
+            JsonParser.Event item;
+            while ((item = parser.next()) != JsonParser.Event.END_ARRAY) {
+                final Object value = readTypedValue(parser, item, node.element);
+                if (value != null) {
+                    items.add(value);
+                }
+            }
+            return items;
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + node.type);
+        }
+    }
+
+    private Record readInferredObject(final JsonParser parser) {
+        final Record.Builder builder = factory.newRecordBuilder();
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            final String key = parser.getString();
+            final JsonParser.Event event = parser.next();
+            switch (event) {
+            case VALUE_STRING:
+                builder.withString(key, parser.getString());
+                break;
+            case VALUE_NUMBER:
+                if (parser.isIntegralNumber()) {
+                    builder.withLong(key, parser.getLong());
+                } else {
+                    builder.withDouble(key, parser.getBigDecimal().doubleValue());
+                }
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                builder.withBoolean(key, event == JsonParser.Event.VALUE_TRUE);
+                break;
+            case START_OBJECT: {
+                final Record record = readInferredObject(parser);
+                builder
+                        .withRecord(factory
+                                .newEntryBuilder()
+                                .withName(key)
+                                .withType(Schema.Type.RECORD)
+                                .withElementSchema(record.getSchema())
+                                .build(), record);
+                break;
+            }
+            case START_ARRAY: {
+                final Collection<Object> items = readInferredArray(parser);
+                builder
+                        .withArray(factory
+                                .newEntryBuilder()
+                                .withName(key)
+                                .withType(Schema.Type.ARRAY)
+                                .withElementSchema(toElementSchema(items))
+                                .build(), items);
+                break;
+            }
+            default: // VALUE_NULL
+                break;
+            }
+        }
+        return builder.build();
+    }
+
+    private Collection<Object> readInferredArray(final JsonParser parser) {
+        final Collection<Object> items = new ArrayList<>();
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            switch (event) {
+            case VALUE_STRING:
+                items.add(parser.getString());
+                break;
+            case VALUE_NUMBER:
+                items.add(parser.isIntegralNumber() ? (Object) parser.getLong() : parser.getBigDecimal().doubleValue());
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                items.add(event == JsonParser.Event.VALUE_TRUE);
+                break;
+            case START_OBJECT:
+                items.add(readInferredObject(parser));
+                break;
+            case START_ARRAY:
+                items.add(readInferredArray(parser));
+                break;
+            default: // VALUE_NULL
+                break;
+            }
+        }
+        return items;
+    }
+
+    private Schema toElementSchema(final Collection<Object> items) {
+        if (items.isEmpty()) {
+            return factory.newSchemaBuilder(Schema.Type.STRING).build();
+        }
+        return converters.toSchema(factory, items.iterator().next());
+    }
+
+    private void append(final Record.Builder builder, final Schema.Entry entry, final Object value) {
+        switch (entry.getType()) {
+        case STRING:
+            builder.withString(entry, String.class.cast(value));
+            break;
+        case INT:
+            builder.withInt(entry, Integer.class.cast(value));
+            break;
+        case LONG:
+            builder.withLong(entry, Long.class.cast(value));
+            break;
+        case FLOAT:
+            builder.withFloat(entry, Float.class.cast(value));
+            break;
+        case DOUBLE:
+            builder.withDouble(entry, Double.class.cast(value));
+            break;
+        case BOOLEAN:
+            builder.withBoolean(entry, Boolean.class.cast(value));
+            break;
+        case BYTES:
+            builder.withBytes(entry, byte[].class.cast(value));
+            break;
+        case DATETIME:
+            builder.withDateTime(entry, ZonedDateTime.class.cast(value));
+            break;
+        case RECORD:
+            builder.withRecord(entry, Record.class.cast(value));
+            break;
+        case ARRAY:
+            builder.withArray(entry, Collection.class.cast(value));
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + entry.getType());
+        }
+    }
+
+    private BigDecimal toNumber(final JsonParser parser, final JsonParser.Event event) {
+        if (event == JsonParser.Event.VALUE_NUMBER) {
+            return parser.getBigDecimal();
+        }
+        return new BigDecimal(expect(parser, event, JsonParser.Event.VALUE_STRING).getString());
+    }
+
+    private JsonParser expect(final JsonParser parser, final JsonParser.Event actual,
+            final JsonParser.Event expected) {
+        if (actual != expected) {
+            throw new JsonParsingException("Expected " + expected + ", got " + actual, parser.getLocation());
+        }
+        return parser;
+    }
+
+    private void skip(final JsonParser parser, final JsonParser.Event event) {
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    // the schema resolved once: entry lookup by name and nested types
+    private static class Node {
+
+        private final Schema.Type type;
+
+        private List<Schema.Entry> entries;
+
+        // the schema of the read records: the expected one with nullable entries
+        private Schema schema;
+
+        private Map<String, Integer> index;
+
+        private Node[] children;
+
+        private Node element;
+
+        private Node(final Schema.Type type) {
+            this.type = type;
+        }
+
+        private static Node of(final Schema schema) {
+            final Node node = new Node(schema.getType());
+            switch (schema.getType()) {
+            case RECORD:
+                final List<Schema.Entry> entries = schema.getEntries();
+                node.entries = new ArrayList<>(entries.size());
+                node.index = new HashMap<>(entries.size());
+                node.children = new Node[entries.size()];
+                for (int i = 0; i < entries.size(); i++) {
+                    final Schema.Entry entry = entries.get(i);
+                    node.index.put(entry.getName(), i);
+                    node.children[i] = of(entry);
+                    node.entries
+                            .add(new SchemaImpl.EntryImpl(entry.getName(), entry.getType(), true,
+                                    entry.getDefaultValue(),
+                                    entry.getType() == Schema.Type.RECORD ? node.children[i].schema
+                                            : entry.getElementSchema(),
+                                    entry.getComment()));
+                }
+                node.entries = unmodifiableList(node.entries);
+                node.schema = new SchemaImpl(Schema.Type.RECORD, null, node.entries);
+                break;
+            case ARRAY:
+                node.element = of(schema.getElementSchema());
+                break;
+            default:
+                // no-op: primitive
+            }
+            return node;
+        }
+
+        private static Node of(final Schema.Entry entry) {
+            switch (entry.getType()) {
+            case RECORD:
+                return of(entry.getElementSchema());
+            case ARRAY:
+                final Node node = new Node(Schema.Type.ARRAY);
+                node.element = of(entry.getElementSchema());
+                return node;
+            default:
+                return new Node(entry.getType());
+            }
+        }
+    }
+}
@@ -46,6 +46,14 @@ public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializa
         return new RecordImpl.BuilderImpl();
     }
 
+    /**
+     * @param schema the schema all the built records share, entries without value are null.
+     * @return a builder creating records with the provided schema instance.
+     */
+    public Record.Builder newRecordBuilder(final Schema schema) {
+        return new RecordImpl.BuilderImpl(schema);
+    }
+
     @Override
     public Schema.Entry.Builder newEntryBuilder() {
         return new SchemaImpl.EntryImpl.BuilderImpl();
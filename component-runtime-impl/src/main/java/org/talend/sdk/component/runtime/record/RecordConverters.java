@@ -40,6 +40,7 @@ import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.bind.Jsonb;
 import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
 
 import org.apache.johnzon.core.JsonLongImpl;
 import org.talend.sdk.component.api.record.Record;
@@ -78,6 +79,20 @@ public class RecordConverters implements Serializable {
         return json2Record(recordBuilderProvider.get(), jsonb.fromJson(jsonb.toJson(data), JsonObject.class));
     }
 
+    /**
+     * Streaming alternative to the {@link JsonObject} conversion, prefer to reuse a {@link JsonRecordReader}
+     * when parsing several payloads with the same schema.
+     *
+     * @param parser a parser which next event is the start of an object.
+     * @param schema the expected schema, if null it is inferred from the payload.
+     * @param recordBuilderProvider the record factory provider.
+     * @return the record read from the parser.
+     */
+    public Record toRecord(final JsonParser parser, final Schema schema,
+            final Supplier<RecordBuilderFactory> recordBuilderProvider) {
+        return new JsonRecordReader(recordBuilderProvider.get(), schema).read(parser);
+    }
+
     private Record json2Record(final RecordBuilderFactory factory, final JsonObject object) {
         final Record.Builder builder = factory.newRecordBuilder();
         object.forEach((key, value) -> {
@@ -152,7 +167,7 @@ public class RecordConverters implements Serializable {
         return it;
     }
 
-    private Schema toSchema(final RecordBuilderFactory factory, final Object next) {
+    Schema toSchema(final RecordBuilderFactory factory, final Object next) {
         if (String.class.isInstance(next) || JsonString.class.isInstance(next)) {
             return factory.newSchemaBuilder(Schema.Type.STRING).build();
         }
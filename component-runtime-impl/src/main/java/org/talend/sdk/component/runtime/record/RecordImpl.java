@@ -96,9 +96,38 @@ public final class RecordImpl implements Record {
 
         private final List<Schema.Entry> entries = new ArrayList<>(8);
 
+        private final Schema providedSchema;
+
+        public BuilderImpl() {
+            this(null);
+        }
+
+        /**
+         * @param providedSchema the schema of all the built records, entries without value are null (and must be
+         * nullable). It avoids to create a schema per record when they all have the same shape.
+         */
+        public BuilderImpl(final Schema providedSchema) {
+            this.providedSchema = providedSchema;
+        }
+
         // here the game is to add an entry method for each kind of type + its companion with Entry provider
 
         public Record build() {
+            if (providedSchema != null) {
+                int known = 0;
+                for (final Schema.Entry entry : providedSchema.getEntries()) {
+                    if (values.containsKey(entry.getName())) {
+                        known++;
+                    } else if (!entry.isNullable()) {
+                        throw new IllegalArgumentException(entry.getName() + " is not nullable but got no value");
+                    }
+                }
+                if (known != values.size()) {
+                    throw new IllegalArgumentException(
+                            "Some entries are not in the schema " + providedSchema + ": " + values.keySet());
+                }
+                return new RecordImpl(unmodifiableMap(values), providedSchema);
+            }
             return new RecordImpl(unmodifiableMap(values), new SchemaImpl(RECORD, null, unmodifiableList(entries)));
         }
 
@@ -0,0 +1,227 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reshapes records without copying their values: a {@link View} is computed once for an input schema (output
+ * schema and the mapping of each output entry to its source) and then wraps each record in a lightweight record
+ * reading the values from the wrapped records. Views can be chained since they are records themselves.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class RecordViews {
+
+    private static final RecordConverters RECORD_CONVERTERS = new RecordConverters();
+
+    /**
+     * @param source the schema of the records to project.
+     * @param names the entries to keep.
+     * @return a view only exposing the requested entries, in the order of the source schema.
+     */
+    public static View project(final Schema source, final Collection<String> names) {
+        final Set<String> keep = new HashSet<>(names);
+        final View view = new View();
+        source.getEntries().stream().filter(e -> keep.contains(e.getName())).forEach(e -> view.bind(e, Side.FIRST));
+        return view.build();
+    }
+
+    /**
+     * @param source the schema of the records to rename.
+     * @param renames the new name of the entries (old name to new name), other entries are kept as is except the
+     * ones having the name of a renamed entry which are replaced by the renamed entry.
+     * @return a view exposing the renamed entries.
+     */
+    public static View rename(final Schema source, final Map<String, String> renames) {
+        final Set<String> replaced = source
+                .getEntries()
+                .stream()
+                .map(e -> renames.get(e.getName()))
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        final View view = new View();
+        source.getEntries().forEach(e -> {
+            final String name = renames.get(e.getName());
+            if (name == null) {
+                if (!replaced.contains(e.getName())) {
+                    view.bind(e, Side.FIRST);
+                }
+            } else {
+                view
+                        .bind(new SchemaImpl.EntryImpl(name, e.getType(), e.isNullable(), e.getDefaultValue(),
+                                e.getElementSchema(), e.getComment()), Side.FIRST, e.getName());
+            }
+        });
+        return view.build();
+    }
+
+    /**
+     * @param first the schema of the first records.
+     * @param second the schema of the second records, its entries must not be in the first schema.
+     * @return a view exposing the entries of both records.
+     */
+    public static View concat(final Schema first, final Schema second) {
+        final View view = new View();
+        first.getEntries().forEach(e -> view.bind(e, Side.FIRST));
+        second.getEntries().forEach(e -> view.bind(e, Side.SECOND));
+        return view.build();
+    }
+
+    /**
+     * @param source the schema of the records to enrich.
+     * @param entry the added entry, it must not be in the source schema.
+     * @return a view exposing the entries of the records and the added value.
+     */
+    public static View withEntry(final Schema source, final Schema.Entry entry) {
+        final View view = new View();
+        source.getEntries().forEach(e -> view.bind(e, Side.FIRST));
+        view.bind(entry, Side.VALUE);
+        return view.build();
+    }
+
+    private enum Side {
+        FIRST,
+        SECOND,
+        VALUE
+    }
+
+    @AllArgsConstructor
+    private static class Binding {
+
+        private final Side side;
+
+        private final String name;
+    }
+
+    /**
+     * A reusable view for records of a given schema, it is immutable once created and thread safe.
+     */
+    public static final class View {
+
+        private final List<Schema.Entry> entries = new ArrayList<>();
+
+        private final Map<String, Binding> bindings = new HashMap<>();
+
+        @Getter
+        private Schema schema;
+
+        private View() {
+            // no-op
+        }
+
+        /**
+         * @param record the record to project or rename.
+         * @return the view of the record.
+         */
+        public Record of(final Record record) {
+            return new ViewRecord(this, record, null, null);
+        }
+
+        /**
+         * @param first the first record to concatenate.
+         * @param second the second record to concatenate.
+         * @return the view of both records.
+         */
+        public Record of(final Record first, final Record second) {
+            return new ViewRecord(this, first, second, null);
+        }
+
+        /**
+         * @param record the record to enrich.
+         * @param value the value of the added entry.
+         * @return the view of the record with the added value.
+         */
+        public Record of(final Record record, final Object value) {
+            return new ViewRecord(this, record, null, value);
+        }
+
+        private void bind(final Schema.Entry entry, final Side side) {
+            bind(entry, side, entry.getName());
+        }
+
+        private void bind(final Schema.Entry entry, final Side side, final String sourceName) {
+            if (bindings.putIfAbsent(entry.getName(), new Binding(side, sourceName)) != null) {
+                throw new IllegalArgumentException("Duplicated entry '" + entry.getName() + "'");
+            }
+            entries.add(entry);
+        }
+
+        private View build() {
+            schema = new SchemaImpl(RECORD, null, unmodifiableList(entries));
+            return this;
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class ViewRecord implements Record {
+
+        private final View view;
+
+        private final Record first;
+
+        private final Record second;
+
+        private final Object value;
+
+        @Override
+        public Schema getSchema() {
+            return view.schema;
+        }
+
+        @Override
+        public <T> T get(final Class<T> expectedType, final String name) {
+            final Binding binding = view.bindings.get(name);
+            if (binding == null) {
+                return null;
+            }
+            switch (binding.side) {
+            case FIRST:
+                return first.get(expectedType, binding.name);
+            case SECOND:
+                return second == null ? null : second.get(expectedType, binding.name);
+            default:
+                if (value == null || expectedType.isInstance(value)) {
+                    return expectedType.cast(value);
+                }
+                return RECORD_CONVERTERS.coerce(expectedType, value, name);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ViewRecord(schema=" + view.schema + ")";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * 64 bits structural fingerprint of a schema: its type, element schema and entries (name, type, nullability and
+ * element schema). Comments and default values are ignored so two equal schemas always have the same fingerprint
+ * and two different fingerprints always mean different schemas, which makes it a cheap key and a cheap first
+ * equality check. It is not persistent, it can change between versions.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class SchemaFingerprint {
+
+    private static final long OFFSET = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private static final long NULL = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Implemented by the schemas caching their fingerprint.
+     */
+    public interface Cached {
+
+        long getFingerprint();
+    }
+
+    public static long of(final Schema schema) {
+        if (schema == null) {
+            return NULL;
+        }
+        if (Cached.class.isInstance(schema)) {
+            return Cached.class.cast(schema).getFingerprint();
+        }
+        return compute(schema);
+    }
+
+    public static long compute(final Schema schema) {
+        long hash = mix(OFFSET, schema.getType() == null ? null : schema.getType().name());
+        hash = mix(hash, of(schema.getElementSchema()));
+        final List<Schema.Entry> entries = schema.getEntries();
+        if (entries != null) {
+            hash = mix(hash, entries.size());
+            for (final Schema.Entry entry : entries) {
+                hash = mix(hash, entry.getName());
+                hash = mix(hash, entry.getType() == null ? null : entry.getType().name());
+                hash = mix(hash, entry.isNullable() ? 1 : 0);
+                hash = mix(hash, of(entry.getElementSchema()));
+            }
+        }
+        return hash;
+    }
+
+    // FNV-1a
+    private static long mix(final long hash, final long value) {
+        long result = hash;
+        for (int i = 0; i < Long.BYTES; i++) {
+            result ^= (value >>> (i * 8)) & 0xFF;
+            result *= PRIME;
+        }
+        return result;
+    }
+
+    private static long mix(final long hash, final String value) {
+        if (value == null) {
+            return mix(hash, NULL);
+        }
+        long result = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            result ^= c & 0xFF;
+            result *= PRIME;
+            result ^= c >>> 8;
+            result *= PRIME;
+        }
+        return result;
+    }
+}
@@ -16,27 +16,89 @@
 package org.talend.sdk.component.runtime.record;
 
 import static java.util.Collections.unmodifiableList;
+import static lombok.AccessLevel.NONE;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.talend.sdk.component.api.record.Schema;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class SchemaImpl implements Schema {
+public class SchemaImpl implements Schema, SchemaFingerprint.Cached {
 
+    @Setter(NONE)
     private Type type;
 
+    @Setter(NONE)
     private Schema elementSchema;
 
+    @Setter(NONE)
     private List<Entry> entries;
 
+    // lazily computed, 0 means not yet computed
+    @Getter(NONE)
+    @Setter(NONE)
+    @ToString.Exclude
+    private volatile long fingerprint;
+
+    public SchemaImpl(final Type type, final Schema elementSchema, final List<Entry> entries) {
+        this.type = type;
+        this.elementSchema = elementSchema;
+        this.entries = entries;
+    }
+
+    public void setType(final Type type) {
+        this.type = type;
+        this.fingerprint = 0;
+    }
+
+    public void setElementSchema(final Schema elementSchema) {
+        this.elementSchema = elementSchema;
+        this.fingerprint = 0;
+    }
+
+    public void setEntries(final List<Entry> entries) {
+        this.entries = entries;
+        this.fingerprint = 0;
+    }
+
+    @Override
+    public long getFingerprint() {
+        long value = fingerprint;
+        if (value == 0) {
+            value = SchemaFingerprint.compute(this);
+            fingerprint = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!SchemaImpl.class.isInstance(o)) {
+            return false;
+        }
+        final SchemaImpl other = SchemaImpl.class.cast(o);
+        return getFingerprint() == other.getFingerprint() && type == other.type
+                && Objects.equals(elementSchema, other.elementSchema) && Objects.equals(entries, other.entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getFingerprint());
+    }
+
     public static class BuilderImpl implements Builder {
 
         private Type type;
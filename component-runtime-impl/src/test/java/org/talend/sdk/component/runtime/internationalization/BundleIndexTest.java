@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.internationalization;
+
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.Test;
+
+class BundleIndexTest {
+
+    @Test
+    void scannedBundles() throws IOException {
+        final File root = Files.createTempDirectory("bundle-index").toFile();
+        write(new File(root, "org/test/Messages.properties"), "a=root\nb=root b");
+        write(new File(root, "org/test/Messages_fr.properties"), "a=fr");
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { root.toURI().toURL() }, null)) {
+            final BundleIndex index = BundleIndex.of(loader);
+            assertSame(index, BundleIndex.of(loader));
+            assertEquals(singleton("org.test.Messages"), index.getBaseNames());
+
+            final ResourceBundle french = BundleIndex.getBundle("org.test.Messages", Locale.FRANCE, loader);
+            assertEquals("fr", french.getString("a"));
+            assertEquals("root b", french.getString("b"));
+            assertFalse(french.containsKey("c"));
+            assertSame(french, BundleIndex.getBundle("org.test.Messages", Locale.FRANCE, loader));
+
+            assertEquals("root", BundleIndex.getBundle("org.test.Messages", Locale.ROOT, loader).getString("a"));
+            assertThrows(MissingResourceException.class,
+                    () -> BundleIndex.getBundle("org.missing.Messages", Locale.ROOT, loader));
+            BundleIndex.release(loader);
+        }
+    }
+
+    @Test
+    void buildTimeIndex() throws IOException {
+        final File root = Files.createTempDirectory("bundle-index").toFile();
+        write(new File(root, "org/test/Messages.properties"), "a=root");
+        write(new File(root, "org/ignored/Messages.properties"), "a=ignored");
+        write(new File(root, BundleIndex.LOCATION), "org/test/Messages.properties");
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { root.toURI().toURL() }, null)) {
+            assertEquals(singleton("org.test.Messages"), BundleIndex.of(loader).getBaseNames());
+            // not indexed so resolved by ResourceBundle
+            assertEquals("ignored",
+                    BundleIndex.getBundle("org.ignored.Messages", Locale.ROOT, loader).getString("a"));
+            BundleIndex.release(loader);
+        }
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
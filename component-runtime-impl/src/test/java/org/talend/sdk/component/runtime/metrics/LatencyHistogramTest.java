@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void buckets() {
+        LongStream.of(0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE).forEach(value -> {
+            final int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= value, () -> "lowest of " + value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, () -> "highest of " + value);
+        });
+        assertEquals(LatencyHistogram.indexOf(15) + 1, LatencyHistogram.indexOf(16));
+        assertEquals(LatencyHistogram.indexOf(31) + 1, LatencyHistogram.indexOf(32));
+    }
+
+    @Test
+    void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        LongStream.rangeClosed(1, 1000).forEach(histogram::record);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+        assertWithinPrecision(500, histogram.getValueAtPercentile(50));
+        assertWithinPrecision(990, histogram.getValueAtPercentile(99));
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    private void assertWithinPrecision(final long expected, final long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 16, () -> expected + " != " + actual);
+    }
+}
@@ -21,16 +21,21 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
 import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.Instrumentation;
+import org.talend.sdk.component.runtime.metrics.InstrumentationListener;
 import org.talend.sdk.component.runtime.serialization.Serializer;
 import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.BeforeGroup;
@@ -55,6 +60,52 @@ class ProcessorImplTest {
         assertLifecycle(new SampleOutput());
     }
 
+    @Test
+    void instrumentation() {
+        final List<ComponentMetrics> created = new ArrayList<>();
+        final List<ComponentMetrics> released = new ArrayList<>();
+        final InstrumentationListener listener = new InstrumentationListener() {
+
+            @Override
+            public void onCreate(final ComponentMetrics metrics) {
+                created.add(metrics);
+            }
+
+            @Override
+            public void onRelease(final ComponentMetrics metrics) {
+                released.add(metrics);
+            }
+        };
+        Instrumentation.addListener(listener);
+        Instrumentation.setActive(true);
+        try {
+            final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), new SampleProcessor());
+            processor.start();
+            assertEquals(1, created.size());
+            final ComponentMetrics metrics = created.get(0);
+            assertEquals("Plugin", metrics.getPlugin());
+            assertEquals("Root", metrics.getFamily());
+            assertEquals("Test", metrics.getName());
+
+            processor.beforeGroup();
+            processor.onNext(name -> new Sample(1), NO_OUTPUT);
+            processor.onNext(name -> new Sample(2), NO_OUTPUT);
+            processor.afterGroup(NO_OUTPUT);
+            assertEquals(2, metrics.getRecordsIn().sum());
+            assertEquals(2, metrics.getRecordsOut().sum()); // returned values are forwarded
+            assertEquals(2, metrics.getElementLatency().getCount());
+            assertEquals(2, metrics.getConversionLatency().getCount());
+            assertEquals(1, metrics.getAfterGroupLatency().getCount());
+
+            processor.stop();
+            assertEquals(1, released.size());
+            assertSame(metrics, released.get(0));
+        } finally {
+            Instrumentation.setActive(false);
+            Instrumentation.removeListener(listener);
+        }
+    }
+
     @Test
     void serialization() throws IOException, ClassNotFoundException {
         final Processor processor = new ProcessorImpl("Root", "Test", "Plugin", emptyMap(), new SampleOutput());
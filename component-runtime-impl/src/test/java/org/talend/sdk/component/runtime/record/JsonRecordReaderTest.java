@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.Iterator;
+
+import javax.json.stream.JsonParser;
+import javax.json.spi.JsonProvider;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+class JsonRecordReaderTest {
+
+    private final JsonProvider provider = JsonProvider.provider();
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void inferred() {
+        final Record record = new JsonRecordReader(factory, null)
+                .read(parser("{\"name\":\"a\",\"age\":30,\"ratio\":1.5,"
+                        + "\"nested\":{\"ok\":true},\"tags\":[\"x\",\"y\"]}"));
+        assertEquals("a", record.getString("name"));
+        assertEquals(30L, record.getLong("age"));
+        assertEquals(1.5, record.getDouble("ratio"));
+        assertTrue(record.getRecord("nested").getBoolean("ok"));
+        assertEquals(2, record.getArray(String.class, "tags").size());
+        assertEquals(Schema.Type.LONG, type(record.getSchema(), "age"));
+    }
+
+    @Test
+    void typed() {
+        final Schema schema = factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(factory.newEntryBuilder().withName("id").withType(Schema.Type.INT).build())
+                .withEntry(factory.newEntryBuilder().withName("name").withType(Schema.Type.STRING).build())
+                .build();
+        final Record record = new JsonRecordReader(factory, schema)
+                .read(parser("{\"name\":\"a\",\"ignored\":{\"deep\":[1,2]},\"id\":\"12\"}"));
+        assertEquals(12, record.getInt("id"));
+        assertEquals("a", record.getString("name"));
+        assertEquals(2, record.getSchema().getEntries().size());
+        assertEquals("id", record.getSchema().getEntries().get(0).getName());
+        assertEquals(Schema.Type.INT, type(record.getSchema(), "id"));
+    }
+
+    @Test
+    void typedSharesSchema() {
+        final Schema schema = factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(factory.newEntryBuilder().withName("id").withType(Schema.Type.INT).build())
+                .withEntry(factory.newEntryBuilder().withName("name").withType(Schema.Type.STRING).build())
+                .build();
+        final JsonRecordReader reader = new JsonRecordReader(factory, schema);
+        final Record first = reader.read(parser("{\"id\":1,\"name\":null}"));
+        final Record second = reader.read(parser("{\"name\":\"b\"}"));
+        assertSame(first.getSchema(), second.getSchema());
+        assertEquals(1, first.getInt("id"));
+        assertNull(first.getString("name"));
+        assertNull(second.get(Integer.class, "id"));
+        assertEquals("b", second.getString("name"));
+        assertTrue(second.getSchema().getEntries().stream().allMatch(Schema.Entry::isNullable));
+    }
+
+    @Test
+    void iterate() {
+        final Iterator<Record> records =
+                new JsonRecordReader(factory, null).iterate(parser("[{\"id\":1},{\"id\":2},{\"id\":3}]"));
+        final long[] ids = new long[3];
+        for (int i = 0; i < ids.length; i++) {
+            assertTrue(records.hasNext());
+            ids[i] = records.next().getLong("id");
+        }
+        assertFalse(records.hasNext());
+        assertEquals(6, ids[0] + ids[1] + ids[2]);
+    }
+
+    private Schema.Type type(final Schema schema, final String name) {
+        return schema
+                .getEntries()
+                .stream()
+                .filter(it -> name.equals(it.getName()))
+                .map(Schema.Entry::getType)
+                .collect(toList())
+                .iterator()
+                .next();
+    }
+
+    private JsonParser parser(final String json) {
+        return provider.createParser(new StringReader(json));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+class RecordViewsTest {
+
+    private final Record record = new RecordImpl.BuilderImpl().withString("name", "test").withInt("age", 30).build();
+
+    @Test
+    void project() {
+        final RecordViews.View view = RecordViews.project(record.getSchema(), asList("age", "missing"));
+        final Record projected = view.of(record);
+        assertEquals(asList("age"), names(projected));
+        assertEquals(30, projected.getInt("age"));
+        assertNull(projected.getString("name"));
+        assertSame(view.getSchema(), view.of(record).getSchema());
+    }
+
+    @Test
+    void rename() {
+        final Record renamed = RecordViews.rename(record.getSchema(), singletonMap("name", "login")).of(record);
+        assertEquals(asList("login", "age"), names(renamed));
+        assertEquals("test", renamed.getString("login"));
+        assertEquals(30, renamed.getInt("age"));
+    }
+
+    @Test
+    void renameOverAnExistingEntry() {
+        final Record renamed = RecordViews.rename(record.getSchema(), singletonMap("name", "age")).of(record);
+        assertEquals(asList("age"), names(renamed));
+        assertEquals("test", renamed.getString("age"));
+    }
+
+    @Test
+    void swapNames() {
+        final Map<String, String> renames = new HashMap<>();
+        renames.put("name", "age");
+        renames.put("age", "name");
+        final Record swapped = RecordViews.rename(record.getSchema(), renames).of(record);
+        assertEquals(asList("age", "name"), names(swapped));
+        assertEquals("test", swapped.getString("age"));
+        assertEquals(30, swapped.getInt("name"));
+    }
+
+    @Test
+    void concat() {
+        final Record other = new RecordImpl.BuilderImpl().withString("city", "Nantes").build();
+        final Record concatenated = RecordViews.concat(record.getSchema(), other.getSchema()).of(record, other);
+        assertEquals(asList("name", "age", "city"), names(concatenated));
+        assertEquals("test", concatenated.getString("name"));
+        assertEquals("Nantes", concatenated.getString("city"));
+        assertThrows(IllegalArgumentException.class, () -> RecordViews.concat(record.getSchema(), record.getSchema()));
+    }
+
+    @Test
+    void withEntry() {
+        final RecordViews.View view = RecordViews
+                .withEntry(record.getSchema(),
+                        new SchemaImpl.EntryImpl.BuilderImpl().withName("score").withType(Schema.Type.LONG).build());
+        final Record enriched = view.of(record, 10);
+        assertEquals(asList("name", "age", "score"), names(enriched));
+        assertEquals(10L, enriched.getLong("score"));
+        assertEquals("test", enriched.getString("name"));
+    }
+
+    @Test
+    void chained() {
+        final Record renamed = RecordViews.rename(record.getSchema(), singletonMap("name", "login")).of(record);
+        final Record projected = RecordViews.project(renamed.getSchema(), asList("login")).of(renamed);
+        assertEquals("test", projected.getString("login"));
+    }
+
+    private static List<String> names(final Record record) {
+        return record.getSchema().getEntries().stream().map(Schema.Entry::getName).collect(toList());
+    }
+}
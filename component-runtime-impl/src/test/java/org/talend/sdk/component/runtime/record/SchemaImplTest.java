@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Schema;
+
+class SchemaImplTest {
+
+    @Test
+    void structuralEquality() {
+        final Schema first = schema("name", true, "a comment");
+        final Schema same = schema("name", true, "a comment");
+        assertEquals(first, same);
+        assertEquals(first.hashCode(), same.hashCode());
+        assertEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(same));
+    }
+
+    @Test
+    void fingerprintIgnoresComments() {
+        final Schema first = schema("name", true, "a comment");
+        final Schema other = schema("name", true, "another comment");
+        assertEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(other));
+        assertNotEquals(first, other); // still compared after the fingerprint
+    }
+
+    @Test
+    void structuralDifference() {
+        final Schema first = schema("name", true, null);
+        assertNotEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(schema("name", false, null)));
+        assertNotEquals(SchemaFingerprint.of(first), SchemaFingerprint.of(schema("other", true, null)));
+        assertNotEquals(first, schema("name", false, null));
+    }
+
+    @Test
+    void mutationResetsFingerprint() {
+        final SchemaImpl schema = SchemaImpl.class.cast(schema("name", true, null));
+        final long fingerprint = schema.getFingerprint();
+        schema.setType(Schema.Type.ARRAY);
+        assertNotEquals(fingerprint, schema.getFingerprint());
+    }
+
+    private Schema schema(final String name, final boolean nullable, final String comment) {
+        final Schema nested = new SchemaImpl.BuilderImpl()
+                .withType(Schema.Type.RECORD)
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl()
+                        .withName("value")
+                        .withType(Schema.Type.DOUBLE)
+                        .withNullable(nullable)
+                        .build())
+                .build();
+        return new SchemaImpl.BuilderImpl()
+                .withType(Schema.Type.RECORD)
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl()
+                        .withName(name)
+                        .withType(Schema.Type.STRING)
+                        .withNullable(nullable)
+                        .withComment(comment)
+                        .build())
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl()
+                        .withName("nested")
+                        .withType(Schema.Type.RECORD)
+                        .withElementSchema(nested)
+                        .build())
+                .build();
+    }
+}
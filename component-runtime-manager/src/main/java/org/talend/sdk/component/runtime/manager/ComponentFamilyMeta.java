@@ -35,6 +35,7 @@ import java.util.stream.Stream;
 import org.talend.sdk.component.api.component.MigrationHandler;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.internationalization.BundleIndex;
 import org.talend.sdk.component.runtime.internationalization.ComponentBundle;
 import org.talend.sdk.component.runtime.internationalization.FamilyBundle;
 import org.talend.sdk.component.runtime.manager.util.IdGenerator;
@@ -104,7 +105,7 @@ public class ComponentFamilyMeta {
     public FamilyBundle findBundle(final ClassLoader loader, final Locale locale) {
         return bundles.computeIfAbsent(locale, l -> {
             try {
-                final ResourceBundle bundle = ResourceBundle
+                final ResourceBundle bundle = BundleIndex
                         .getBundle((packageName.isEmpty() ? packageName : (packageName + '.')) + "Messages", locale,
                                 loader);
                 return new FamilyBundle(bundle, name + '.');
@@ -180,7 +181,7 @@ public class ComponentFamilyMeta {
         public ComponentBundle findBundle(final ClassLoader loader, final Locale locale) {
             return bundles.computeIfAbsent(locale, l -> {
                 try {
-                    final ResourceBundle bundle = ResourceBundle
+                    final ResourceBundle bundle = BundleIndex
                             .getBundle((packageName.isEmpty() ? packageName : (packageName + '.')) + "Messages", locale,
                                     loader);
                     return new ComponentBundle(bundle, parent.name + '.' + name + '.');
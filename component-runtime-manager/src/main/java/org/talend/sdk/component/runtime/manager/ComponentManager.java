@@ -119,15 +119,18 @@ import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.injector.Injector;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.NestedJarReader;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerListener;
 import org.talend.sdk.component.container.ContainerManager;
+import org.talend.sdk.component.dependencies.maven.Artifact;
 import org.talend.sdk.component.dependencies.maven.MvnDependencyListLocalRepositoryResolver;
 import org.talend.sdk.component.jmx.JmxManager;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.input.LocalPartitionMapper;
 import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.input.PartitionMapperImpl;
+import org.talend.sdk.component.runtime.internationalization.BundleIndex;
 import org.talend.sdk.component.runtime.internationalization.InternationalizationServiceFactory;
 import org.talend.sdk.component.runtime.jsonb.MultipleFormatDateAdapter;
 import org.talend.sdk.component.runtime.manager.asm.ProxyGenerator;
@@ -227,6 +230,8 @@ public class ComponentManager implements AutoCloseable {
 
     private final ProxyGenerator proxyGenerator = new ProxyGenerator();
 
+    private final NestedJarReader nestedJarReader = new NestedJarReader();
+
     private final JavaProxyEnricherFactory javaProxyEnricherFactory = new JavaProxyEnricherFactory();
 
     // kind of extracted to ensure we can switch it later if needed
@@ -321,10 +326,11 @@ public class ComponentManager implements AutoCloseable {
                         .parentClassesFilter(isContainerClass)
                         .classesFilter(isContainerClass.negate())
                         .supportsResourceDependencies(true)
+                        .sharedDependencies(createSharedDependenciesFilter())
                         .create();
         this.container = new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
                 .builder()
-                .resolver(new MvnDependencyListLocalRepositoryResolver(dependenciesResource))
+                .resolver(new MvnDependencyListLocalRepositoryResolver(dependenciesResource, nestedJarReader))
                 .rootRepositoryLocation(m2)
                 .create(), defaultClassLoaderConfiguration, container -> {
                 }, logInfoLevelMapping);
@@ -357,6 +363,22 @@ public class ComponentManager implements AutoCloseable {
         }
     }
 
+    // opt-in: a shared dependency only sees the other shared dependencies and the container classes
+    private Predicate<Artifact> createSharedDependenciesFilter() {
+        return ofNullable(System.getProperty("talend.component.manager.classloader.shared.dependencies"))
+                .map(value -> Stream
+                        .of(value.split(","))
+                        .map(String::trim)
+                        .filter(it -> !it.isEmpty())
+                        .collect(toList()))
+                .filter(prefixes -> !prefixes.isEmpty())
+                .<Predicate<Artifact>> map(prefixes -> artifact -> {
+                    final String coordinates = artifact.getGroup() + ':' + artifact.getArtifact();
+                    return prefixes.stream().anyMatch(coordinates::startsWith);
+                })
+                .orElse(null);
+    }
+
     private Level findLogInfoLevel() {
         if (Boolean.getBoolean("talend.component.manager.log.info")) {
             return Level.INFO;
@@ -1099,6 +1121,9 @@ public class ComponentManager implements AutoCloseable {
                     }
                 }
             }
+            // index the bundles once to not probe the classpath for each component/parameter/family lookup
+            BundleIndex.of(loader);
+
             final ContainerComponentRegistry registry = new ContainerComponentRegistry();
             container.set(ContainerComponentRegistry.class, registry);
 
@@ -1352,20 +1377,14 @@ public class ComponentManager implements AutoCloseable {
             }
 
             info(module + " is not a file, will try to look it up from a nested maven repository");
-            final InputStream nestedJar =
-                    loader.getParent().getResourceAsStream(ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY + module);
+            final URL nestedJar = nestedJarReader.find(loader.getParent(), module);
             if (nestedJar != null) {
-                final JarInputStream jarStream;
                 try {
-                    jarStream = new JarInputStream(nestedJar);
+                    final JarInputStream jarStream = nestedJarReader.open(nestedJar);
                     log.debug("Found a nested resource for " + module);
                     return new NestedJarArchive(jarStream, loader);
                 } catch (final IOException e) {
-                    try {
-                        nestedJar.close();
-                    } catch (final IOException e1) {
-                        // no-op
-                    }
+                    log.debug(e.getMessage(), e);
                 }
             }
 
@@ -1377,6 +1396,7 @@ public class ComponentManager implements AutoCloseable {
         public void onClose(final Container container) {
             // ensure we don't keep any data/ref after the classloader of the container is
             // released
+            BundleIndex.release(container.getLoader());
             ofNullable(container.get(ContainerComponentRegistry.class)).ifPresent(r -> {
                 final ContainerComponentRegistry registry = container.remove(ContainerComponentRegistry.class);
                 registry.getComponents().clear();
@@ -1563,9 +1583,14 @@ public class ComponentManager implements AutoCloseable {
             if (Stream.of(type.getMethods()).anyMatch(p -> p.isAnnotationPresent(AfterGroup.class))) {
                 final MaxBatchSizeParamBuilder paramBuilder = new MaxBatchSizeParamBuilder(root);
                 final ParameterMeta maxBatchSize = paramBuilder.newBulkParameter();
+                final Collection<ParameterMeta> batchOptions = paramBuilder.newOptionalParameters();
+                final String batchLayout = Stream
+                        .concat(Stream.of(maxBatchSize), batchOptions.stream())
+                        .map(ParameterMeta::getName)
+                        .collect(joining("|"));
                 final String layoutType = paramBuilder.getLayoutType();
                 if (layoutType == null) {
-                    root.getMetadata().put("tcomp::ui::gridlayout::Advanced::value", maxBatchSize.getName());
+                    root.getMetadata().put("tcomp::ui::gridlayout::Advanced::value", batchLayout);
                     root
                             .getMetadata()
                             .put("tcomp::ui::gridlayout::Main::value",
@@ -1577,12 +1602,13 @@ public class ComponentManager implements AutoCloseable {
                 } else if (!root.getMetadata().containsKey(layoutType)) {
                     root
                             .getMetadata()
-                            .put(layoutType, layoutType.contains("gridlayout") ? maxBatchSize.getName() : "true");
+                            .put(layoutType, layoutType.contains("gridlayout") ? batchLayout : "true");
                 } else if (layoutType.contains("gridlayout")) {
                     final String oldLayout = root.getMetadata().get(layoutType);
-                    root.getMetadata().put(layoutType, maxBatchSize.getName() + "|" + oldLayout);
+                    root.getMetadata().put(layoutType, batchLayout + "|" + oldLayout);
                 }
                 root.getNestedParameters().add(maxBatchSize);
+                root.getNestedParameters().addAll(batchOptions);
             }
         }
 
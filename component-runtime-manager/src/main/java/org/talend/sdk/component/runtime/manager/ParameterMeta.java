@@ -32,6 +32,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
+import org.talend.sdk.component.runtime.internationalization.BundleIndex;
 import org.talend.sdk.component.runtime.internationalization.ParameterBundle;
 
 import lombok.Data;
@@ -102,7 +103,7 @@ public class ParameterMeta {
                                 .map(p -> p + "." + "Messages")
                                 .map(n -> {
                                     try {
-                                        return ResourceBundle.getBundle(n, locale, loader);
+                                        return BundleIndex.getBundle(n, locale, loader);
                                     } catch (final MissingResourceException mre) {
                                         return null;
                                     }
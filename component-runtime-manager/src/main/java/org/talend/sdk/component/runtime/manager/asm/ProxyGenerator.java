@@ -75,6 +75,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 import org.apache.xbean.asm7.ClassReader;
@@ -85,6 +86,7 @@ import org.apache.xbean.asm7.Type;
 import org.apache.xbean.asm7.shade.commons.EmptyVisitor;
 import org.talend.sdk.component.api.service.interceptor.InterceptorHandler;
 import org.talend.sdk.component.api.service.interceptor.Intercepts;
+import org.talend.sdk.component.runtime.manager.interceptor.InterceptorHandlerFacade;
 
 import lombok.AllArgsConstructor;
 
@@ -93,7 +95,9 @@ import lombok.AllArgsConstructor;
 // goal is mainly to add a writeReplace method to ensure services are serializable when not done by the developer.
 public class ProxyGenerator implements Serializable {
 
-    private static final String FIELD_INTERCEPTOR_HANDLER = "tacokitIntDecHandler";
+    private static final String FIELD_METHOD_INVOKERS = "tacokitIntDecInvokers";
+
+    private static final String INVOKER_DESCRIPTOR = Type.getDescriptor(BiFunction[].class);
 
     private static final String FIELD_INTERCEPTED_METHODS = "tacokitIntDecMethods";
 
@@ -173,9 +177,7 @@ public class ProxyGenerator implements Serializable {
             if (withInterceptors) {
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitInsn(ACONST_NULL);
-                mv
-                        .visitFieldInsn(PUTFIELD, proxyClassFileName, FIELD_INTERCEPTOR_HANDLER,
-                                Type.getDescriptor(InterceptorHandler.class));
+                mv.visitFieldInsn(PUTFIELD, proxyClassFileName, FIELD_METHOD_INVOKERS, INVOKER_DESCRIPTOR);
             }
 
             mv.visitInsn(RETURN);
@@ -216,39 +218,9 @@ public class ProxyGenerator implements Serializable {
 
         // push try code
         mv.visitLabel(l0);
-        final String classNameToOverride = method.getDeclaringClass().getName().replace('.', '/');
-        mv.visitLdcInsn(Type.getType("L" + classNameToOverride + ";"));
-
-        // the following code generates the bytecode for this line of Java:
-        // Method method = <proxy>.class.getMethod("add", new Class[] { <array of function argument classes> });
-
-        // get the method name to invoke, and push to stack
-        mv.visitLdcInsn(method.getName());
-
-        // create the Class[]
-        createArrayDefinition(mv, parameterTypes.length, Class.class);
 
         int length = 1;
-
-        // push parameters into array
-        for (int i = 0; i < parameterTypes.length; i++) {
-            // keep copy of array on stack
-            mv.visitInsn(DUP);
-
-            Class<?> parameterType = parameterTypes[i];
-
-            // push number onto stack
-            pushIntOntoStack(mv, i);
-
-            if (parameterType.isPrimitive()) {
-                String wrapperType = getWrapperType(parameterType);
-                mv.visitFieldInsn(GETSTATIC, wrapperType, "TYPE", "Ljava/lang/Class;");
-            } else {
-                mv.visitLdcInsn(Type.getType(parameterType));
-            }
-
-            mv.visitInsn(AASTORE);
-
+        for (final Class<?> parameterType : parameterTypes) {
             if (Long.TYPE.equals(parameterType) || Double.TYPE.equals(parameterType)) {
                 length += 2;
             } else {
@@ -257,42 +229,32 @@ public class ProxyGenerator implements Serializable {
         }
 
         // the following code generates bytecode equivalent to:
-        // return ((<returntype>) invocationHandler.invoke(this, {methodIndex}, new Object[] { <function arguments
-        // }))[.<primitive>Value()];
+        // return ((<returntype>) invokers[{methodIndex}].apply(methods[{methodIndex}], new Object[] { <function
+        // arguments }))[.<primitive>Value()];
+        // where invokers is the chain of each method, composed once when the proxy is initialized
 
         final Label l4 = new Label();
         mv.visitLabel(l4);
 
         mv.visitVarInsn(ALOAD, 0);
 
-        // get the invocationHandler field from this class
-        mv
-                .visitFieldInsn(GETFIELD, proxyClassFileName, FIELD_INTERCEPTOR_HANDLER,
-                        Type.getDescriptor(InterceptorHandler.class));
+        // get the invokers field from this class and the invoker of this method
+        mv.visitFieldInsn(GETFIELD, proxyClassFileName, FIELD_METHOD_INVOKERS, INVOKER_DESCRIPTOR);
+        pushMethodIndex(mv, methodIndex);
+        mv.visitInsn(AALOAD);
 
         // add the Method from the static array as first parameter
         mv.visitFieldInsn(GETSTATIC, proxyClassFileName, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class));
-
-        // push the methodIndex of the current method
-        if (methodIndex < 128) {
-            mv.visitIntInsn(BIPUSH, methodIndex);
-        } else if (methodIndex < 32267) {
-            // for methods > 127 we need to push a short number as index
-            mv.visitIntInsn(SIPUSH, methodIndex);
-        } else {
-            throw new IllegalStateException("Sorry, we only support Classes with 2^15 methods...");
-        }
-
-        // and now load the Method from the array
+        pushMethodIndex(mv, methodIndex);
         mv.visitInsn(AALOAD);
 
         // prepare the parameter array as Object[] and store it on the stack
         pushMethodParameterArray(mv, parameterTypes);
 
-        // invoke the invocationHandler
+        // invoke the invoker
         mv
-                .visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(InterceptorHandler.class), "invoke",
-                        "(Ljava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;", true);
+                .visitMethodInsn(INVOKEINTERFACE, Type.getInternalName(BiFunction.class), "apply",
+                        "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
 
         // cast the result
         mv.visitTypeInsn(CHECKCAST, getCastType(returnType));
@@ -363,6 +325,17 @@ public class ProxyGenerator implements Serializable {
         mv.visitEnd();
     }
 
+    private void pushMethodIndex(final MethodVisitor mv, final int methodIndex) {
+        if (methodIndex < 128) {
+            mv.visitIntInsn(BIPUSH, methodIndex);
+        } else if (methodIndex < 32267) {
+            // for methods > 127 we need to push a short number as index
+            mv.visitIntInsn(SIPUSH, methodIndex);
+        } else {
+            throw new IllegalStateException("Sorry, we only support Classes with 2^15 methods...");
+        }
+    }
+
     private void pushMethodParameterArray(final MethodVisitor mv, final Class<?>[] parameterTypes) {
         // need to construct the array of objects passed in
         // create the Object[]
@@ -547,10 +520,7 @@ public class ProxyGenerator implements Serializable {
 
         final boolean hasInterceptors = hasInterceptors(classToProxy);
         if (hasInterceptors) {
-            cw
-                    .visitField(ACC_PRIVATE, FIELD_INTERCEPTOR_HANDLER, Type.getDescriptor(InterceptorHandler.class),
-                            null, null)
-                    .visitEnd();
+            cw.visitField(ACC_PRIVATE, FIELD_METHOD_INVOKERS, INVOKER_DESCRIPTOR, null, null).visitEnd();
             cw
                     .visitField(ACC_PRIVATE | ACC_STATIC, FIELD_INTERCEPTED_METHODS, Type.getDescriptor(Method[].class),
                             null, null)
@@ -606,11 +576,29 @@ public class ProxyGenerator implements Serializable {
         return objectClass;
     }
 
+    /**
+     * Binds the handler to the proxy, when it is an {@link InterceptorHandlerFacade} the interceptor chain of each
+     * intercepted method is composed here and stored in its method slot so invocations don't do any lookup.
+     *
+     * @param proxy the proxy instance to initialize.
+     * @param handler the handler intercepted methods are delegated to.
+     */
     public void initialize(final Object proxy, final InterceptorHandler handler) {
         try {
-            final Field invocationHandlerField = proxy.getClass().getDeclaredField(FIELD_INTERCEPTOR_HANDLER);
-            invocationHandlerField.setAccessible(true);
-            invocationHandlerField.set(proxy, handler);
+            final Field interceptedMethodsField = proxy.getClass().getDeclaredField(FIELD_INTERCEPTED_METHODS);
+            interceptedMethodsField.setAccessible(true);
+            final Method[] interceptedMethods = Method[].class.cast(interceptedMethodsField.get(null));
+
+            final BiFunction<?, ?, ?>[] invokers = new BiFunction<?, ?, ?>[interceptedMethods.length];
+            for (int i = 0; i < interceptedMethods.length; i++) {
+                invokers[i] = InterceptorHandlerFacade.class.isInstance(handler)
+                        ? InterceptorHandlerFacade.class.cast(handler).compile(interceptedMethods[i])
+                        : (BiFunction<Method, Object[], Object>) handler::invoke;
+            }
+
+            final Field methodInvokersField = proxy.getClass().getDeclaredField(FIELD_METHOD_INVOKERS);
+            methodInvokersField.setAccessible(true);
+            methodInvokersField.set(proxy, invokers);
         } catch (final IllegalAccessException | NoSuchFieldException e) {
             throw new IllegalStateException(e);
         }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.builtinparams;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * When to trigger the {@code @AfterGroup} of a processor. The configuration is read from the internal
+ * configuration of the processor: {@code $maxBatchSize} (records), {@code $maxBatchBytes} (estimated bytes),
+ * {@code $maxBatchLinger} (ms since the first record of the group) and {@code $batchTargetLatency}
+ * (ms, enables the adaptive mode which tunes the number of records to get {@code @AfterGroup} calls
+ * around this duration). A negative or zero value disables the corresponding bound.
+ */
+@Data
+@Slf4j
+public class BatchPolicy implements Serializable {
+
+    public static final String MAX_BATCH_SIZE = MaxBatchSizeParamBuilder.NAME;
+
+    public static final String MAX_BATCH_BYTES = "$maxBatchBytes";
+
+    public static final String MAX_BATCH_LINGER = "$maxBatchLinger";
+
+    public static final String BATCH_TARGET_LATENCY = "$batchTargetLatency";
+
+    private final int maxRecords;
+
+    private final long maxBytes;
+
+    private final long maxLingerMillis;
+
+    private final long targetLatencyMillis;
+
+    public static BatchPolicy ofSize(final int maxRecords) {
+        return new BatchPolicy(maxRecords, -1, -1, -1);
+    }
+
+    public static BatchPolicy of(final Map<String, String> internalConfiguration) {
+        return of(internalConfiguration, MaxBatchSizeParamBuilder.DEFAULT_VALUE);
+    }
+
+    public static BatchPolicy of(final Map<String, String> internalConfiguration, final int defaultMaxRecords) {
+        return new BatchPolicy((int) find(internalConfiguration, MAX_BATCH_SIZE, defaultMaxRecords),
+                find(internalConfiguration, MAX_BATCH_BYTES, -1), find(internalConfiguration, MAX_BATCH_LINGER, -1),
+                find(internalConfiguration, BATCH_TARGET_LATENCY, -1));
+    }
+
+    public boolean isEstimatingBytes() {
+        return maxBytes > 0;
+    }
+
+    public Tracker newTracker() {
+        return new Tracker();
+    }
+
+    private static long find(final Map<String, String> configuration, final String name, final long defaultValue) {
+        return configuration
+                .entrySet()
+                .stream()
+                .filter(it -> it.getKey().endsWith(name) && it.getValue() != null && !it.getValue().trim().isEmpty())
+                .findFirst()
+                .map(val -> {
+                    try {
+                        return (long) Double.parseDouble(val.getValue().trim()); // UI can send 1000.0
+                    } catch (final NumberFormatException nfe) {
+                        log.warn("Invalid configuration: " + val);
+                        return defaultValue;
+                    }
+                })
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Tracks the current group, not thread safe.
+     */
+    public class Tracker {
+
+        private int currentMaxRecords = maxRecords;
+
+        private int records;
+
+        private long bytes;
+
+        private long groupStart;
+
+        public int getRecords() {
+            return records;
+        }
+
+        public int getCurrentMaxRecords() {
+            return currentMaxRecords;
+        }
+
+        /**
+         * @param estimatedBytes the size of the record if {@link #isEstimatingBytes()}, ignored otherwise.
+         * @return true if the group is complete and {@code @AfterGroup} must be called.
+         */
+        public boolean onRecord(final long estimatedBytes) {
+            if (records == 0 && maxLingerMillis > 0) {
+                groupStart = System.nanoTime();
+            }
+            records++;
+            bytes += estimatedBytes;
+            return (currentMaxRecords > 0 && records >= currentMaxRecords) || (maxBytes > 0 && bytes >= maxBytes)
+                    || isLingerExpired();
+        }
+
+        /**
+         * Runtimes call it before a record joins the group and at their own boundaries (bundles) since there is no
+         * timer: a group older than {@code $maxBatchLinger} must be completed without waiting for a next record.
+         *
+         * @return true if the current group is older than {@code $maxBatchLinger}.
+         */
+        public boolean isLingerExpired() {
+            return records > 0 && maxLingerMillis > 0
+                    && System.nanoTime() - groupStart >= TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+        }
+
+        /**
+         * Resets the group and, in adaptive mode, adjusts the group size: it is halved when
+         * {@code @AfterGroup} was slower than the target and increased by 10% when it took less than
+         * half of it, never above {@code maxRecords} if set.
+         *
+         * @param afterGroupDurationNanos the duration of the {@code @AfterGroup} call.
+         */
+        public void onAfterGroup(final long afterGroupDurationNanos) {
+            if (targetLatencyMillis > 0 && records > 0) {
+                final long target = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+                final int base = currentMaxRecords > 0 ? currentMaxRecords : records;
+                if (afterGroupDurationNanos > target) {
+                    currentMaxRecords = Math.max(1, base / 2);
+                } else if (afterGroupDurationNanos < target / 2 && records >= base) {
+                    final int increased = base + Math.max(1, base / 10);
+                    currentMaxRecords = maxRecords > 0 ? Math.min(maxRecords, increased) : increased;
+                }
+            }
+            records = 0;
+            bytes = 0;
+        }
+    }
+}
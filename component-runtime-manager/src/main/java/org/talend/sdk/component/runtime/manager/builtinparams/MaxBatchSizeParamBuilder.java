@@ -15,19 +15,26 @@
  */
 package org.talend.sdk.component.runtime.manager.builtinparams;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Stream.concat;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.runtime.manager.ParameterMeta;
 
 public class MaxBatchSizeParamBuilder {
 
-    private final String name = "$maxBatchSize";
+    public static final String NAME = "$maxBatchSize";
+
+    public static final int DEFAULT_VALUE = 1000;
+
+    private final String name = NAME;
 
     private final Integer defaultValue;
 
@@ -38,31 +45,51 @@ public class MaxBatchSizeParamBuilder {
     public MaxBatchSizeParamBuilder(final ParameterMeta root) {
         this.root = root;
         this.layoutType = getLayoutType(root);
-        this.defaultValue = 1000; // fixme make this configurable ?
+        this.defaultValue = DEFAULT_VALUE; // fixme make this configurable ?
     }
 
+    /**
+     * @return the parameter of the maximum number of records per group.
+     */
     public ParameterMeta newBulkParameter() {
+        return newParameter(name, Integer.class, new HashMap<String, String>() {
+
+            {
+                put("tcomp::ui::defaultvalue::value", String.valueOf(defaultValue));
+                put("tcomp::validation::min", "1");
+            }
+        });
+    }
+
+    /**
+     * The time based {@link BatchPolicy} bounds are optional, no value disables them. {@code $maxBatchBytes} is
+     * only read from the internal configuration.
+     *
+     * @return the parameters of the group linger ({@code $maxBatchLinger}) and of the adaptive mode target latency
+     * ({@code $batchTargetLatency}), both in milliseconds.
+     */
+    public Collection<ParameterMeta> newOptionalParameters() {
+        return asList(newParameter(BatchPolicy.MAX_BATCH_LINGER, Long.class, new HashMap<>()),
+                newParameter(BatchPolicy.BATCH_TARGET_LATENCY, Long.class, new HashMap<>()));
+    }
+
+    private ParameterMeta newParameter(final String parameterName, final Class<?> type,
+            final Map<String, String> metadata) {
         return new ParameterMeta(new ParameterMeta.Source() {
 
             @Override
             public String name() {
-                return name;
+                return parameterName;
             }
 
             @Override
             public Class<?> declaringClass() {
                 return MaxBatchSizeParamBuilder.class;
             }
-        }, Integer.class, ParameterMeta.Type.NUMBER, root.getPath() + "." + name, name,
+        }, type, ParameterMeta.Type.NUMBER, root.getPath() + "." + parameterName, parameterName,
                 concat(Stream.of(MaxBatchSizeParamBuilder.class.getPackage().getName()),
                         Stream.of(ofNullable(root.getI18nPackages()).orElse(new String[0]))).toArray(String[]::new),
-                emptyList(), emptyList(), new HashMap<String, String>() {
-
-                    {
-                        put("tcomp::ui::defaultvalue::value", String.valueOf(defaultValue));
-                        put("tcomp::validation::min", "1");
-                    }
-                }, true);
+                emptyList(), emptyList(), metadata, true);
     }
 
     private String getLayoutType(final ParameterMeta root) {
@@ -0,0 +1,27 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+/**
+ * A key provider for a record in a job context returning a compact binary key,
+ * keys are compared by content (ensure the encoding is deterministic).
+ */
+public interface BinaryGroupKeyProvider
+        extends Function<GroupKeyProvider.GroupContext, byte[]>, Serializable {
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Group keys of one local run. Key providers are resolved once per component when the job starts and the
+ * components without custom provider use their own sequence. If no component has a custom provider the keys are
+ * the sequence values, otherwise they are strings and only the sequence of the components without provider is
+ * formatted. The component maps are immutable once created and the sequences are atomic so the keys can be
+ * computed concurrently without locking.
+ *
+ * @param <K> the key type.
+ */
+abstract class GroupKeys<K extends Comparable<? super K>> {
+
+    /**
+     * @param componentId the component emitting the record.
+     * @param data the record.
+     * @param branch the output branch of the component.
+     * @return the group key of the record.
+     */
+    abstract K key(String componentId, Record data, String branch);
+
+    /**
+     * @param componentIds the components of the job.
+     * @param providers the custom provider of a component or null if the component uses the default sequence.
+     * @return the keys of the job.
+     */
+    static GroupKeys<?> of(final Collection<String> componentIds,
+            final Function<String, GroupKeyProvider> providers) {
+        final Map<String, GroupKeyProvider> customProviders = new HashMap<>();
+        componentIds.forEach(id -> {
+            final GroupKeyProvider provider = providers.apply(id);
+            if (provider != null) {
+                customProviders.put(id, provider);
+            }
+        });
+        final Map<String, AtomicLong> sequences = componentIds
+                .stream()
+                .filter(id -> !customProviders.containsKey(id))
+                .distinct()
+                .collect(toMap(identity(), id -> new AtomicLong()));
+        if (customProviders.isEmpty()) {
+            return new SequenceKeys(sequences);
+        }
+        return new ProvidedKeys(customProviders, sequences);
+    }
+
+    @RequiredArgsConstructor
+    private static class SequenceKeys extends GroupKeys<Long> {
+
+        private final Map<String, AtomicLong> sequences;
+
+        @Override
+        Long key(final String componentId, final Record data, final String branch) {
+            return sequences.get(componentId).incrementAndGet();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ProvidedKeys extends GroupKeys<String> {
+
+        // fixed width so the string order of the sequence keys is their numeric order
+        private static final String PADDING = "0000000000000000000";
+
+        private final Map<String, GroupKeyProvider> providers;
+
+        private final Map<String, AtomicLong> sequences;
+
+        @Override
+        String key(final String componentId, final Record data, final String branch) {
+            final GroupKeyProvider provider = providers.get(componentId);
+            if (provider == null) {
+                final String value = Long.toString(sequences.get(componentId).incrementAndGet());
+                return PADDING.substring(value.length()) + value;
+            }
+            return provider.apply(new JobImpl.GroupContextImpl(data, componentId, branch));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Joins the inputs of a multi-input processor of the local runner on their group key.
+ * Each new key of a branch probes a hash table counting the branches owning it, once all branches
+ * have it the key is ready to be consumed (smallest first). When the buffered records exceed the budget,
+ * the biggest branches are spilled to disk.
+ */
+@Slf4j
+class HashJoin<K extends Comparable<? super K>> {
+
+    @Getter
+    private final String componentId;
+
+    private final Map<String, RecordBuffer<K>> branches;
+
+    private final long maxRecordsInMemory;
+
+    private final RecordSpill spill;
+
+    private final Map<K, Integer> branchesPerKey = new HashMap<>();
+
+    private final TreeSet<K> ready = new TreeSet<>();
+
+    HashJoin(final String componentId, final Map<String, RecordBuffer<K>> branches, final long maxRecordsInMemory,
+            final RecordSpill spill) {
+        this.componentId = componentId;
+        this.branches = branches;
+        this.maxRecordsInMemory = maxRecordsInMemory;
+        this.spill = spill;
+        branches.values().forEach(buffer -> buffer.onNewKey(this::onNewKey));
+    }
+
+    /**
+     * @return the records of the next joined key per branch or null if no key is available in all branches.
+     */
+    Map<String, Collection<Record>> next() {
+        final K key = ready.pollFirst();
+        if (key == null) {
+            return null;
+        }
+        final Map<String, Collection<Record>> joined = new HashMap<>(branches.size());
+        branches.forEach((branch, buffer) -> joined.put(branch, buffer.remove(key)));
+        return joined;
+    }
+
+    void checkMemory() {
+        if (maxRecordsInMemory <= 0) {
+            return;
+        }
+        long total = branches.values().stream().mapToLong(RecordBuffer::getRecordsInMemory).sum();
+        while (total > maxRecordsInMemory) {
+            final RecordBuffer<K> biggest = branches
+                    .values()
+                    .stream()
+                    .max(Comparator.comparing(RecordBuffer::getRecordsInMemory))
+                    .orElseThrow(IllegalStateException::new);
+            log.debug("Spilling {} records of {} join", biggest.getRecordsInMemory(), componentId);
+            total -= biggest.getRecordsInMemory();
+            biggest.spill(spill);
+        }
+    }
+
+    private void onNewKey(final K key) {
+        final int count = branchesPerKey.merge(key, 1, Integer::sum);
+        if (count == branches.size()) {
+            branchesPerKey.remove(key);
+            ready.add(key);
+        }
+    }
+}
@@ -15,7 +15,9 @@
  */
 package org.talend.sdk.component.runtime.manager.chain.internal;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.util.Collections.singletonList;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
@@ -33,9 +35,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -52,6 +57,7 @@ import org.talend.sdk.component.runtime.input.Input;
 import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.jsonb.MultipleFormatDateAdapter;
 import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.chain.BinaryGroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.ChainedMapper;
 import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.Job;
@@ -225,6 +231,19 @@ public class JobImpl implements Job {
     @RequiredArgsConstructor
     public static class JobExecutor implements Job.ExecutorBuilder {
 
+        /**
+         * Job property (or system property) setting the maximum number of records a join of the local runner
+         * keeps in memory before spilling them to disk, a negative or zero value disables the spilling.
+         */
+        public static final String JOIN_MAX_RECORDS_IN_MEMORY =
+                "talend.component.manager.job.join.maxRecordsInMemory";
+
+        /**
+         * Job property (or system property) setting the directory the join spill files are created into,
+         * defaults to the JVM temporary directory.
+         */
+        public static final String JOIN_SPILL_DIRECTORY = "talend.component.manager.job.join.spillDirectory";
+
         private final Map<Integer, Set<Component>> levels;
 
         private final List<Edge> edges;
@@ -235,6 +254,8 @@ public class JobImpl implements Job {
 
         private final ComponentManager manager = ComponentManager.instance();
 
+        private volatile Optional<GroupKeyProvider> serviceKeyProvider;
+
         @Override
         public ExecutorBuilder property(final String name, final Object value) {
             jobProperties.put(name, value);
@@ -319,6 +340,16 @@ public class JobImpl implements Job {
         }
 
         private void localRun() {
+            localRun(GroupKeys
+                    .of(levels
+                            .values()
+                            .stream()
+                            .flatMap(Collection::stream)
+                            .map(Component::getId)
+                            .collect(toList()), this::findKeyProvider));
+        }
+
+        private <K extends Comparable<? super K>> void localRun(final GroupKeys<K> keys) {
             final Map<String, InputRunner> inputs =
                     levels.values().stream().flatMap(Collection::stream).filter(Component::isSource).map(n -> {
                         final Mapper mapper = manager
@@ -340,6 +371,7 @@ public class JobImpl implements Job {
                                     () -> new IllegalStateException("No processor found for:" + component.getNode()))))
                     .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
+            final RecordSpill spill = new RecordSpill(getJobProperty(JOIN_SPILL_DIRECTORY, null));
             try {
                 final Map<String, AtomicBoolean> sourcesWithData = levels
                         .values()
@@ -349,7 +381,23 @@ public class JobImpl implements Job {
                         .map(component -> new AbstractMap.SimpleEntry<>(component.getId(), new AtomicBoolean(true)))
                         .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
                 processors.values().forEach(Lifecycle::start); // start processor
-                final Map<String, Map<String, Map<String, Collection<Record>>>> flowData = new HashMap<>();
+                final Map<String, Map<String, RecordBuffer<K>>> flowData = new HashMap<>();
+                final long maxRecordsInMemory = Long.parseLong(getJobProperty(JOIN_MAX_RECORDS_IN_MEMORY, "100000"));
+                final Map<String, HashJoin<K>> joins = levels
+                        .values()
+                        .stream()
+                        .flatMap(Collection::stream)
+                        .filter(component -> !component.isSource())
+                        .map(component -> getConnections(getEdges(), component, e -> e.getTo().getNode()))
+                        .filter(connections -> connections.size() > 1)
+                        .map(connections -> new HashJoin<>(connections.get(0).getTo().getNode().getId(),
+                                connections
+                                        .stream()
+                                        .collect(toMap(edge -> edge.getTo().getBranch(),
+                                                edge -> getBuffer(flowData, edge.getFrom().getNode().getId(),
+                                                        edge.getFrom().getBranch()))),
+                                maxRecordsInMemory, spill))
+                        .collect(toMap(HashJoin::getComponentId, identity()));
                 final AtomicBoolean running = new AtomicBoolean(true);
                 do {
                     levels.forEach((level, components) -> components.forEach((Component component) -> {
@@ -360,15 +408,8 @@ public class JobImpl implements Job {
                                 sourcesWithData.get(component.getId()).set(false);
                                 return;
                             }
-                            final String key = getKeyProvider(component.getId())
-                                    .apply(new GroupContextImpl(data, component.getId(), "__default__"));
-                            flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
-                            flowData.get(component.getId()).computeIfAbsent("__default__", s -> new TreeMap<>());
-                            flowData
-                                    .get(component.getId())
-                                    .get("__default__")
-                                    .computeIfAbsent(key, k -> new ArrayList<>())
-                                    .add(data);
+                            final K key = keys.key(component.getId(), data, "__default__");
+                            getBuffer(flowData, component.getId(), "__default__").add(key, data);
                         } else {
                             final List<Edge> connections =
                                     getConnections(getEdges(), component, e -> e.getTo().getNode());
@@ -379,31 +420,16 @@ public class JobImpl implements Job {
                                 final String fromBranch = edge.getFrom().getBranch();
                                 final String toBranch = edge.getTo().getBranch();
 
-                                final Map<String, Map<String, Collection<Record>>> idData = flowData.get(fromId);
-                                final Record data = idData == null ? null : pollFirst(idData.get(fromBranch));
+                                final Map<String, RecordBuffer<K>> idData = flowData.get(fromId);
+                                final RecordBuffer<K> buffer = idData == null ? null : idData.get(fromBranch);
+                                final Record data = buffer == null ? null : buffer.pollFirst();
                                 if (data != null) {
                                     dataInputFactory.withInput(toBranch, singletonList(data));
                                 }
                             } else { // need grouping
-                                final Map<String, Map<String, Collection<Record>>> availableDataForStep =
-                                        new HashMap<>();
-                                connections.forEach(edge -> {
-                                    final String fromId = edge.getFrom().getNode().getId();
-                                    final String fromBranch = edge.getFrom().getBranch();
-                                    final String toBranch = edge.getTo().getBranch();
-                                    final Map<String, Collection<Record>> data =
-                                            flowData.get(fromId) == null ? null : flowData.get(fromId).get(fromBranch);
-                                    if (data != null && !data.isEmpty()) {
-                                        availableDataForStep.put(toBranch, data);
-                                    }
-                                });
-
-                                final Map<String, String> joined = joinWithFusionSort(availableDataForStep);
-                                if (!joined.isEmpty() && connections.size() == joined.size()) {
-                                    joined.forEach((k, v) -> {
-                                        final Collection data = availableDataForStep.get(k).remove(v);
-                                        dataInputFactory.withInput(k, data);
-                                    });
+                                final Map<String, Collection<Record>> joined = joins.get(component.getId()).next();
+                                if (joined != null) {
+                                    joined.forEach(dataInputFactory::withInput);
                                 }
                             }
                             if (dataInputFactory.inputs.isEmpty()) {
@@ -423,70 +449,33 @@ public class JobImpl implements Job {
                             processor.onNext(dataInputFactory, dataOutputFactory);
                             processor.afterGroup(dataOutputFactory);
                             dataOutputFactory.getOutputs().forEach((branch, data) -> data.forEach(item -> {
-                                final String key = getKeyProvider(component.getId())
-                                        .apply(new GroupContextImpl(item, component.getId(), branch));
-                                flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
-                                flowData.get(component.getId()).computeIfAbsent(branch, s -> new TreeMap<>());
-                                flowData
-                                        .get(component.getId())
-                                        .get(branch)
-                                        .computeIfAbsent(key, k -> new ArrayList<>())
-                                        .add(item);
+                                final K key = keys.key(component.getId(), item, branch);
+                                getBuffer(flowData, component.getId(), branch).add(key, item);
                             }));
                         }
                     }));
+                    joins.values().forEach(HashJoin::checkMemory);
                 } while (running.get());
             } finally {
+                spill.close();
                 processors.values().forEach(Lifecycle::stop);
                 inputs.values().forEach(InputRunner::stop);
-                levels
-                        .values()
-                        .stream()
-                        .flatMap(Collection::stream)
-                        .map(Component::getId)
-                        .forEach(LocalSequenceHolder::clean);
             }
         }
 
-        private Map<String, String>
-                joinWithFusionSort(final Map<String, Map<String, Collection<Record>>> dataByBranch) {
-            final Map<String, String> join = new HashMap<>();
-            dataByBranch.forEach((branch1, records1) -> {
-                dataByBranch.forEach((branch2, records2) -> {
-                    if (!branch1.equals(branch2)) {
-                        for (final String key1 : records1.keySet()) {
-                            for (final String key2 : records2.keySet()) {
-                                if (key1.equals(key2)) {
-                                    join.putIfAbsent(branch1, key1);
-                                    join.putIfAbsent(branch2, key2);
-                                } else if (key1.compareTo(key2) < 0) {
-                                    break;// see fusion sort
-                                }
-                            }
-                        }
-                    }
-                });
-            });
-            return join;
+        private <K extends Comparable<? super K>> RecordBuffer<K> getBuffer(
+                final Map<String, Map<String, RecordBuffer<K>>> flowData, final String id, final String branch) {
+            return flowData
+                    .computeIfAbsent(id, k -> new HashMap<>())
+                    .computeIfAbsent(branch, k -> new RecordBuffer<>());
         }
 
-        private Record pollFirst(final Map<String, Collection<Record>> data) {
-            if (data == null || data.isEmpty()) {
-                return null;
-            }
-            while (!data.isEmpty()) {
-                final String key = data.keySet().iterator().next();
-                final Collection<Record> items = data.get(key);
-                if (!items.isEmpty()) {
-                    final Iterator<Record> iterator = items.iterator();
-                    final Record item = iterator.next();
-                    iterator.remove();
-                    return item;
-                } else {
-                    data.remove(key);
-                }
+        private String getJobProperty(final String name, final String defaultValue) {
+            final Object value = jobProperties.get(name);
+            if (value != null) {
+                return String.valueOf(value);
             }
-            return null;
+            return System.getProperty(name, defaultValue);
         }
 
         private List<Job.Edge> getConnections(final List<Job.Edge> edges, final Job.Component step,
@@ -495,6 +484,15 @@ public class JobImpl implements Job {
         }
 
         public GroupKeyProvider getKeyProvider(final String componentId) {
+            final GroupKeyProvider provider = findKeyProvider(componentId);
+            return provider != null ? provider : LocalSequenceHolder.cleanAndGet(componentId);
+        }
+
+        /**
+         * @param componentId the component to get the key provider for.
+         * @return the configured key provider (component, job, binary or service) or null to use a sequence.
+         */
+        private GroupKeyProvider findKeyProvider(final String componentId) {
             if (componentProperties.get(componentId) != null) {
                 final Object o = componentProperties.get(componentId).get(GroupKeyProvider.class.getName());
                 if (GroupKeyProvider.class.isInstance(o)) {
@@ -507,17 +505,39 @@ public class JobImpl implements Job {
                 return new GroupKeyProviderImpl(GroupKeyProvider.class.cast(o));
             }
 
-            final ServiceLoader<GroupKeyProvider> services = ServiceLoader.load(GroupKeyProvider.class);
-            if (services.iterator().hasNext()) {
-                return services.iterator().next();
+            final BinaryGroupKeyProvider binaryKeyProvider = getBinaryKeyProvider(componentId);
+            if (binaryKeyProvider != null) { // latin1 is a lossless byte <-> char mapping
+                return new GroupKeyProviderImpl(c -> new String(binaryKeyProvider.apply(c), ISO_8859_1));
             }
 
-            return LocalSequenceHolder.cleanAndGet(componentId);
+            if (serviceKeyProvider == null) { // loaded once per job
+                final Iterator<GroupKeyProvider> services = ServiceLoader.load(GroupKeyProvider.class).iterator();
+                serviceKeyProvider = Optional.ofNullable(services.hasNext() ? services.next() : null);
+            }
+            return serviceKeyProvider.orElse(null);
+        }
+
+        /**
+         * @param componentId the component to get the binary key provider for.
+         * @return the explicitly configured binary key provider (component then job level) or null.
+         */
+        public BinaryGroupKeyProvider getBinaryKeyProvider(final String componentId) {
+            if (componentProperties.get(componentId) != null) {
+                final Object o = componentProperties.get(componentId).get(BinaryGroupKeyProvider.class.getName());
+                if (BinaryGroupKeyProvider.class.isInstance(o)) {
+                    return BinaryGroupKeyProvider.class.cast(o);
+                }
+            }
+            final Object o = jobProperties.get(BinaryGroupKeyProvider.class.getName());
+            if (BinaryGroupKeyProvider.class.isInstance(o)) {
+                return BinaryGroupKeyProvider.class.cast(o);
+            }
+            return null;
         }
     }
 
     @Data
-    private static class GroupContextImpl implements GroupKeyProvider.GroupContext {
+    static class GroupContextImpl implements GroupKeyProvider.GroupContext {
 
         private final Record data;
 
@@ -528,7 +548,7 @@ public class JobImpl implements Job {
 
     public static class LocalSequenceHolder {
 
-        private static final Map<String, AtomicLong> GENERATORS = new HashMap<>();
+        private static final ConcurrentMap<String, AtomicLong> GENERATORS = new ConcurrentHashMap<>();
 
         public static GroupKeyProvider cleanAndGet(final String name) {
             GENERATORS.put(name, new AtomicLong(0));
@@ -633,13 +653,13 @@ public class JobImpl implements Job {
 
     private static class DataInputFactory implements InputFactory {
 
-        private final Map<String, Iterator<Object>> inputs = new HashMap<>();
+        private final Map<String, Iterator<?>> inputs = new HashMap<>();
 
         private volatile Jsonb jsonb;
 
         private volatile RecordBuilderFactory factory;
 
-        private DataInputFactory withInput(final String branch, final Collection<Object> branchData) {
+        private DataInputFactory withInput(final String branch, final Collection<?> branchData) {
             inputs.put(branch, branchData.iterator());
             return this;
         }
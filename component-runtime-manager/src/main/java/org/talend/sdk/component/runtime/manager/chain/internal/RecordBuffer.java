@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.Getter;
+
+/**
+ * Records of one (component, branch) output of the local runner grouped by key.
+ * Keys are hashed for the join probes and also kept sorted to consume them in a stable order.
+ */
+class RecordBuffer<K extends Comparable<? super K>> {
+
+    private final Map<K, Bucket> buckets = new HashMap<>();
+
+    private final TreeSet<K> keys = new TreeSet<>();
+
+    private Consumer<K> newKeyListener;
+
+    @Getter
+    private int recordsInMemory;
+
+    void onNewKey(final Consumer<K> listener) {
+        this.newKeyListener = listener;
+        keys.forEach(listener);
+    }
+
+    void add(final K key, final Record record) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets.put(key, bucket);
+            keys.add(key);
+            if (newKeyListener != null) {
+                newKeyListener.accept(key);
+            }
+        }
+        bucket.records.add(record);
+        recordsInMemory++;
+    }
+
+    boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    Record pollFirst() {
+        while (!keys.isEmpty()) {
+            final K key = keys.first();
+            final Bucket bucket = buckets.get(key);
+            recordsInMemory += bucket.load();
+            if (!bucket.records.isEmpty()) {
+                recordsInMemory--;
+                final Record record = bucket.records.poll();
+                if (bucket.records.isEmpty()) {
+                    remove(key);
+                }
+                return record;
+            }
+            remove(key);
+        }
+        return null;
+    }
+
+    Collection<Record> remove(final K key) {
+        final Bucket bucket = buckets.remove(key);
+        if (bucket == null) {
+            return null;
+        }
+        keys.remove(key);
+        recordsInMemory += bucket.load() - bucket.records.size();
+        return bucket.records;
+    }
+
+    /**
+     * Writes all the in memory records to a new run, in key order.
+     *
+     * @param spill the spill directory to create the run into.
+     */
+    void spill(final RecordSpill spill) {
+        if (recordsInMemory == 0) {
+            return;
+        }
+        final RecordSpill.Run run = spill.newRun();
+        try {
+            for (final K key : keys) {
+                final Bucket bucket = buckets.get(key);
+                if (!bucket.records.isEmpty()) {
+                    bucket.segments.add(run.write(bucket.records));
+                    bucket.records = new ArrayDeque<>();
+                }
+            }
+        } finally {
+            run.finish();
+        }
+        recordsInMemory = 0;
+    }
+
+    private static class Bucket {
+
+        // spilled records are older than the in memory ones so they are read first
+        private final Collection<RecordSpill.Segment> segments = new ArrayList<>();
+
+        private ArrayDeque<Record> records = new ArrayDeque<>();
+
+        /**
+         * @return the number of records read back from the disk.
+         */
+        private int load() {
+            if (segments.isEmpty()) {
+                return 0;
+            }
+            final ArrayDeque<Record> loaded = new ArrayDeque<>();
+            segments.forEach(segment -> loaded.addAll(segment.read()));
+            segments.clear();
+            final int count = loaded.size();
+            loaded.addAll(records);
+            records = loaded;
+            return count;
+        }
+    }
+}
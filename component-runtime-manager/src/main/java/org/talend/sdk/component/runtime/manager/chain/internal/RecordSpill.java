@@ -0,0 +1,400 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local directory storing the records the local runner can't keep in memory. Each spill is a run file where
+ * the records are written sorted by key, a key owning a {@link Segment} (offset and count) of the run.
+ * Schemas are only kept in memory, records only store their values.
+ */
+@Slf4j
+class RecordSpill implements AutoCloseable {
+
+    private static final byte TIMESTAMP = 0;
+
+    private static final byte DATE = 1;
+
+    private static final byte ZONED_DATE_TIME = 2;
+
+    private final String location;
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("local-join");
+
+    private final List<Schema> schemas = new ArrayList<>();
+
+    private final Map<Schema, Integer> schemaIndices = new HashMap<>();
+
+    private final Collection<Run> runs = new ArrayList<>();
+
+    private Path directory;
+
+    RecordSpill(final String location) {
+        this.location = location;
+    }
+
+    Run newRun() {
+        try {
+            if (directory == null) {
+                directory = Files
+                        .createTempDirectory(location == null ? Paths.get(System.getProperty("java.io.tmpdir"))
+                                : Paths.get(location), "talend-component-job-join");
+            }
+            final Run run = new Run(Files.createTempFile(directory, "run", ".bin").toFile());
+            runs.add(run);
+            return run;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        runs.forEach(Run::close);
+        runs.clear();
+        if (directory != null) {
+            try (final Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            } catch (final IOException e) {
+                log.warn("Can't delete " + directory + ": " + e.getMessage());
+            }
+            directory = null;
+        }
+    }
+
+    private void writeRecord(final DataOutputStream out, final Record record) throws IOException {
+        final Schema schema = record.getSchema();
+        Integer index = schemaIndices.get(schema);
+        if (index == null) {
+            index = schemas.size();
+            schemas.add(schema);
+            schemaIndices.put(schema, index);
+        }
+        out.writeInt(index);
+        for (final Schema.Entry entry : schema.getEntries()) {
+            writeValue(out, entry.getType(), entry.getElementSchema(), record.get(Object.class, entry.getName()));
+        }
+    }
+
+    private void writeValue(final DataOutputStream out, final Schema.Type type, final Schema elementSchema,
+            final Object value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+        switch (type) {
+        case STRING:
+            writeBytes(out, String.valueOf(value).getBytes(UTF_8));
+            break;
+        case BYTES:
+            writeBytes(out, byte[].class.cast(value));
+            break;
+        case INT:
+            out.writeInt(Number.class.cast(value).intValue());
+            break;
+        case LONG:
+            out.writeLong(Number.class.cast(value).longValue());
+            break;
+        case FLOAT:
+            out.writeFloat(Number.class.cast(value).floatValue());
+            break;
+        case DOUBLE:
+            out.writeDouble(Number.class.cast(value).doubleValue());
+            break;
+        case BOOLEAN:
+            out.writeBoolean(Boolean.class.cast(value));
+            break;
+        case DATETIME: // the kind of value is kept to not lose the zone of the ZonedDateTime
+            if (Date.class.isInstance(value)) {
+                out.writeByte(DATE);
+                out.writeLong(Date.class.cast(value).getTime());
+            } else if (ZonedDateTime.class.isInstance(value)) {
+                final ZonedDateTime dateTime = ZonedDateTime.class.cast(value);
+                out.writeByte(ZONED_DATE_TIME);
+                out.writeLong(dateTime.toInstant().toEpochMilli());
+                out.writeUTF(dateTime.getZone().getId());
+            } else {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(Number.class.cast(value).longValue());
+            }
+            break;
+        case RECORD:
+            writeRecord(out, Record.class.cast(value));
+            break;
+        case ARRAY:
+            final Collection<?> items = Collection.class.cast(value);
+            out.writeInt(items.size());
+            for (final Object item : items) {
+                writeValue(out, elementSchema.getType(), elementSchema.getElementSchema(), item);
+            }
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported type for a spilled record: " + type);
+        }
+    }
+
+    private Record readRecord(final DataInputStream in) throws IOException {
+        final Schema schema = schemas.get(in.readInt());
+        final Record.Builder builder = factory.newRecordBuilder();
+        for (final Schema.Entry entry : schema.getEntries()) {
+            final Object value = readValue(in, entry.getType(), entry.getElementSchema());
+            switch (entry.getType()) {
+            case STRING:
+                builder.withString(entry, String.class.cast(value));
+                break;
+            case BYTES:
+                builder.withBytes(entry, byte[].class.cast(value));
+                break;
+            case RECORD:
+                builder.withRecord(entry, Record.class.cast(value));
+                break;
+            case ARRAY:
+                builder.withArray(entry, Collection.class.cast(value));
+                break;
+            case INT:
+                if (value != null) { // primitives without value were not set
+                    builder.withInt(entry, Integer.class.cast(value));
+                }
+                break;
+            case LONG:
+                if (value != null) {
+                    builder.withLong(entry, Long.class.cast(value));
+                }
+                break;
+            case FLOAT:
+                if (value != null) {
+                    builder.withFloat(entry, Float.class.cast(value));
+                }
+                break;
+            case DOUBLE:
+                if (value != null) {
+                    builder.withDouble(entry, Double.class.cast(value));
+                }
+                break;
+            case BOOLEAN:
+                if (value != null) {
+                    builder.withBoolean(entry, Boolean.class.cast(value));
+                }
+                break;
+            case DATETIME:
+                if (ZonedDateTime.class.isInstance(value)) {
+                    builder.withDateTime(entry, ZonedDateTime.class.cast(value));
+                } else if (Date.class.isInstance(value)) {
+                    builder.withDateTime(entry, Date.class.cast(value));
+                } else if (value != null) {
+                    builder.withDateTime(entry, new Date(Long.class.cast(value)));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type for a spilled record: " + entry.getType());
+            }
+        }
+        return builder.build();
+    }
+
+    private Object readValue(final DataInputStream in, final Schema.Type type, final Schema elementSchema)
+            throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        switch (type) {
+        case STRING:
+            return new String(readBytes(in), UTF_8);
+        case BYTES:
+            return readBytes(in);
+        case INT:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case DATETIME:
+            final byte kind = in.readByte();
+            final long timestamp = in.readLong();
+            switch (kind) {
+            case DATE:
+                return new Date(timestamp);
+            case ZONED_DATE_TIME:
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.of(in.readUTF()));
+            default:
+                return timestamp;
+            }
+        case FLOAT:
+            return in.readFloat();
+        case DOUBLE:
+            return in.readDouble();
+        case BOOLEAN:
+            return in.readBoolean();
+        case RECORD:
+            return readRecord(in);
+        case ARRAY:
+            final int size = in.readInt();
+            final List<Object> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(readValue(in, elementSchema.getType(), elementSchema.getElementSchema()));
+            }
+            return items;
+        default:
+            throw new IllegalArgumentException("Unsupported type for a spilled record: " + type);
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * A run file, written once (in key order) then only read by segment.
+     */
+    class Run implements AutoCloseable {
+
+        private final File file;
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private OutputStream output;
+
+        private RandomAccessFile input;
+
+        private long position;
+
+        private Run(final File file) throws IOException {
+            this.file = file;
+            this.output = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+        }
+
+        Segment write(final Collection<Record> records) {
+            final Segment segment = new Segment(this, position, records.size());
+            try {
+                final DataOutputStream out = new DataOutputStream(buffer);
+                final DataOutputStream block = new DataOutputStream(output);
+                for (final Record record : records) {
+                    buffer.reset();
+                    writeRecord(out, record);
+                    out.flush();
+                    block.writeInt(buffer.size());
+                    buffer.writeTo(block);
+                    position += Integer.BYTES + buffer.size();
+                }
+                block.flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return segment;
+        }
+
+        void finish() {
+            if (output == null) {
+                return;
+            }
+            try {
+                output.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                output = null;
+            }
+        }
+
+        private Collection<Record> read(final Segment segment) {
+            finish();
+            try {
+                if (input == null) {
+                    input = new RandomAccessFile(file, "r");
+                }
+                input.seek(segment.getOffset());
+                final Collection<Record> records = new ArrayList<>(segment.getCount());
+                for (int i = 0; i < segment.getCount(); i++) {
+                    final byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    records.add(readRecord(new DataInputStream(new ByteArrayInputStream(bytes))));
+                }
+                return records;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                finish();
+            } finally {
+                if (input != null) {
+                    try {
+                        input.close();
+                    } catch (final IOException e) {
+                        log.debug(e.getMessage(), e);
+                    }
+                    input = null;
+                }
+            }
+        }
+    }
+
+    @Data
+    static class Segment {
+
+        private final Run run;
+
+        private final long offset;
+
+        private final int count;
+
+        Collection<Record> read() {
+            return run.read(this);
+        }
+    }
+}
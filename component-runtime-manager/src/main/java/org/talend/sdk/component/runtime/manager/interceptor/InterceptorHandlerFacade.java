@@ -19,6 +19,9 @@ import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -49,70 +52,81 @@ public class InterceptorHandlerFacade implements InterceptorHandler {
 
     @Override
     public Object invoke(final Method method, final Object[] args) {
-        return invocations.computeIfAbsent(method, m -> {
-            final Collection<InvokerHandler> handlers = Stream
-                    .of(method.getAnnotations())
-                    .filter(a -> interceptsConfig(a) != null)
-                    .sorted(comparing(a -> interceptsConfig(a).priority()))
-                    .map(a -> Optional
-                            .of(interceptsConfig(a).value())
-                            .filter(v -> v != InterceptorHandler.class)
-                            .map(handler -> {
-                                Optional<Constructor<?>> constructor = findConstructor(handler, BiFunction.class);
-                                if (constructor.isPresent()) {
-                                    return new InvokerHandler(constructor.get(), true, null);
-                                }
-                                constructor = findConstructor(handler, Object.class);
-                                if (constructor.isPresent()) { // any, assume all params are services
-                                    return new InvokerHandler(constructor.get(), false, null);
-                                }
-                                constructor = findConstructor(handler, null);
-                                if (constructor.isPresent()) {
-                                    return new InvokerHandler(constructor.get(), false, null);
-                                }
-                                throw new IllegalArgumentException("No available constructor for " + handler);
-                            })
-                            .map(InvokerHandler.class::cast)
-                            .orElseGet(() -> { // built-in interceptors
-                                if (a.annotationType() == Cached.class) {
-                                    try {
-                                        return new InvokerHandler(
-                                                CacheHandler.class.getConstructor(BiFunction.class, LocalCache.class),
-                                                true, null);
-                                    } catch (final NoSuchMethodException e) {
-                                        throw new IllegalStateException("Bad classpath", e);
-                                    }
+        return invocations.computeIfAbsent(method, this::compile).apply(method, args);
+    }
+
+    /**
+     * Composes once the interceptor chain of a method, generated proxies resolve it per method slot
+     * when initialized to avoid any lookup at invocation time.
+     *
+     * @param method the intercepted method.
+     * @return the invoker executing the interceptors and finally the delegate method.
+     */
+    public BiFunction<Method, Object[], Object> compile(final Method method) {
+        final Collection<InvokerHandler> handlers = Stream
+                .of(method.getAnnotations())
+                .filter(a -> interceptsConfig(a) != null)
+                .sorted(comparing(a -> interceptsConfig(a).priority()))
+                .map(a -> Optional
+                        .of(interceptsConfig(a).value())
+                        .filter(v -> v != InterceptorHandler.class)
+                        .map(handler -> {
+                            Optional<Constructor<?>> constructor = findConstructor(handler, BiFunction.class);
+                            if (constructor.isPresent()) {
+                                return new InvokerHandler(constructor.get(), true, null);
+                            }
+                            constructor = findConstructor(handler, Object.class);
+                            if (constructor.isPresent()) { // any, assume all params are services
+                                return new InvokerHandler(constructor.get(), false, null);
+                            }
+                            constructor = findConstructor(handler, null);
+                            if (constructor.isPresent()) {
+                                return new InvokerHandler(constructor.get(), false, null);
+                            }
+                            throw new IllegalArgumentException("No available constructor for " + handler);
+                        })
+                        .map(InvokerHandler.class::cast)
+                        .orElseGet(() -> { // built-in interceptors
+                            if (a.annotationType() == Cached.class) {
+                                try {
+                                    return new InvokerHandler(
+                                            CacheHandler.class.getConstructor(BiFunction.class, LocalCache.class),
+                                            true, null);
+                                } catch (final NoSuchMethodException e) {
+                                    throw new IllegalStateException("Bad classpath", e);
                                 }
-                                throw new IllegalArgumentException("No handler for " + a);
-                            }))
-                    .collect(toList());
-            if (handlers.isEmpty()) {
-                return (mtd, arguments) -> doInvoke(method, args);
-            }
+                            }
+                            throw new IllegalArgumentException("No handler for " + a);
+                        }))
+                .collect(toList());
+        if (handlers.isEmpty()) {
+            final MethodHandle handle = toHandle(method);
+            return (mtd, arguments) -> doInvoke(handle, arguments);
+        }
 
-            // init all InvokerHandler
-            final List<InvokerHandler> invokerHandlers =
-                    handlers.stream().filter(i -> i.invoker).map(InvokerHandler.class::cast).collect(toList());
-            if (invokerHandlers.isEmpty() && handlers.size() > 1) {
-                throw new IllegalArgumentException("Interceptors not compatible for " + m + ": "
-                        + handlers.stream().filter(i -> !invokerHandlers.contains(i)).collect(toList()));
-            }
-            if (invokerHandlers.isEmpty()) {
-                return handlers.iterator().next()::invoke;
-            }
+        // init all InvokerHandler
+        final List<InvokerHandler> invokerHandlers =
+                handlers.stream().filter(i -> i.invoker).map(InvokerHandler.class::cast).collect(toList());
+        if (invokerHandlers.isEmpty() && handlers.size() > 1) {
+            throw new IllegalArgumentException("Interceptors not compatible for " + method + ": "
+                    + handlers.stream().filter(i -> !invokerHandlers.contains(i)).collect(toList()));
+        }
+        if (invokerHandlers.isEmpty()) {
+            return handlers.iterator().next()::invoke;
+        }
 
-            if (invokerHandlers.size() != handlers.size()) {
-                throw new IllegalArgumentException("Some handlers don't take an invoker as parameter for method " + m
-                        + ": " + handlers.stream().filter(i -> !invokerHandlers.contains(i)).collect(toList()));
-            }
-            for (int i = 0; i < invokerHandlers.size(); i++) {
-                final InvokerHandler invokerHandler = invokerHandlers.get(i);
-                invokerHandler
-                        .init(i == invokerHandlers.size() - 1 ? this::doInvoke : invokerHandlers.get(i + 1)::invoke,
-                                delegate, services);
-            }
-            return invokerHandlers.get(0)::invoke;
-        }).apply(method, args);
+        if (invokerHandlers.size() != handlers.size()) {
+            throw new IllegalArgumentException("Some handlers don't take an invoker as parameter for method " + method
+                    + ": " + handlers.stream().filter(i -> !invokerHandlers.contains(i)).collect(toList()));
+        }
+        final MethodHandle handle = toHandle(method);
+        for (int i = 0; i < invokerHandlers.size(); i++) {
+            final InvokerHandler invokerHandler = invokerHandlers.get(i);
+            invokerHandler
+                    .init(i == invokerHandlers.size() - 1 ? (mtd, arguments) -> doInvoke(handle, arguments)
+                            : invokerHandlers.get(i + 1)::invoke, delegate, services);
+        }
+        return invokerHandlers.get(0)::invoke;
     }
 
     private Intercepts interceptsConfig(final Annotation a) {
@@ -128,20 +142,33 @@ public class InterceptorHandlerFacade implements InterceptorHandler {
                 .findFirst();
     }
 
-    private Object doInvoke(final Method method, final Object[] args) {
+    // (Object[])Object handle bound to the delegate, avoids the reflection checks of Method#invoke per call
+    private MethodHandle toHandle(final Method method) {
         try {
-            return method.invoke(delegate, args);
-        } catch (final InvocationTargetException ite) {
-            final Throwable cause = ite.getCause();
-            if (RuntimeException.class.isInstance(cause)) {
-                throw RuntimeException.class.cast(cause);
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
             }
-            throw new IllegalStateException(cause.getMessage());
+            return MethodHandles
+                    .lookup()
+                    .unreflect(method)
+                    .bindTo(delegate)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
         } catch (final IllegalAccessException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    private Object doInvoke(final MethodHandle handle, final Object[] args) {
+        try {
+            return handle.invokeExact(args);
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Throwable throwable) {
+            throw new IllegalStateException(throwable.getMessage());
+        }
+    }
+
     @AllArgsConstructor
     public static class InvokerHandler implements InterceptorHandler {
 
@@ -65,9 +65,13 @@ public class MigrationHandlerFactory {
                         return null;
                     }
 
+                    // resolved once per component, not for each migrated configuration
+                    final String prefix = p.getPath();
+                    final String versionPath = prefix + ".__version";
+                    final int currentVersion =
+                            ofNullable(jType.getAnnotation(Version.class)).map(Version::value).orElse(-1);
                     return (Function<Map<String, String>, Map<String, String>>) map -> buildMigrationFunction(p,
-                            handler, p.getPath(), map,
-                            ofNullable(jType.getAnnotation(Version.class)).map(Version::value).orElse(-1));
+                            handler, prefix, versionPath, map, currentVersion);
                 })
                 .filter(Objects::nonNull)
                 .reduce(NO_MIGRATION,
@@ -128,8 +132,7 @@ public class MigrationHandlerFactory {
     }
 
     private Map<String, String> buildMigrationFunction(final ParameterMeta p, final MigrationHandler handler,
-            final String prefix, final Map<String, String> map, final Integer currentVersion) {
-        final String versionPath = String.format("%s.__version", prefix);
+            final String prefix, final String versionPath, final Map<String, String> map, final int currentVersion) {
         final String version = map.get(versionPath);
         final Map<String, String> result = new HashMap<>(map);
         if (version != null && Integer.parseInt(version.trim()) < currentVersion) {
@@ -146,7 +149,7 @@ public class MigrationHandlerFactory {
                             .entrySet()
                             .stream()
                             .collect(toMap(e -> prefix + '.' + e.getKey(), Map.Entry::getValue)));
-            result.put(versionPath, currentVersion.toString());
+            result.put(versionPath, Integer.toString(currentVersion));
         } else {
             log.debug("No version for {} so skipping any potential migration", p.getJavaType().toString());
         }
@@ -46,6 +46,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.json.bind.Jsonb;
+import javax.json.spi.JsonProvider;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -67,6 +68,7 @@ import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.manager.reflect.Constructors;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.MediaTypeComparator;
@@ -75,6 +77,7 @@ import org.talend.sdk.component.runtime.manager.service.http.codec.JAXBDecoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JAXBEncoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpDecoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpEncoder;
+import org.talend.sdk.component.runtime.manager.service.http.codec.RecordJsonDecoder;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -93,6 +96,8 @@ public class RequestParser {
 
     private final Decoder jsonpDecoder;
 
+    private volatile Decoder recordDecoder;
+
     private volatile Map<Class<?>, JAXBContext> jaxbContexts = new HashMap<>();
 
     private volatile CodecMatcher<Encoder> codecMatcher = new CodecMatcher<>();
@@ -101,8 +106,20 @@ public class RequestParser {
         this.reflections = reflections;
         this.services = services;
         this.jsonpEncoder = new JsonpEncoder(jsonb);
-        this.jsonpDecoder = new JsonpDecoder(jsonb);
+        this.jsonpDecoder = new JsonpDecoder(jsonb, this::getRecordDecoder);
+    }
 
+    private Decoder getRecordDecoder() {
+        if (recordDecoder == null) {
+            synchronized (this) {
+                if (recordDecoder == null) {
+                    recordDecoder = new RecordJsonDecoder(
+                            RecordBuilderFactory.class.cast(services.get(RecordBuilderFactory.class)),
+                            JsonProvider.class.cast(services.get(JsonProvider.class)));
+                }
+            }
+        }
+        return recordDecoder;
     }
 
     /**
@@ -17,6 +17,7 @@ package org.talend.sdk.component.runtime.manager.service.http.codec;
 
 import java.io.ByteArrayInputStream;
 import java.lang.reflect.Type;
+import java.util.function.Supplier;
 
 import javax.json.bind.Jsonb;
 
@@ -29,8 +30,18 @@ public class JsonpDecoder implements Decoder {
 
     private final Jsonb jsonb;
 
+    // records are streamed from the payload, lazy since the record factory is only needed for them
+    private final Supplier<Decoder> recordDecoder;
+
+    public JsonpDecoder(final Jsonb jsonb) {
+        this(jsonb, null);
+    }
+
     @Override
     public Object decode(final byte[] value, final Type expectedType) {
+        if (recordDecoder != null && RecordJsonDecoder.isRecordType(expectedType)) {
+            return recordDecoder.get().decode(value, expectedType);
+        }
         if (!Class.class.isInstance(expectedType)) {
             throw new IllegalArgumentException("Unsupported type: " + expectedType);
         }
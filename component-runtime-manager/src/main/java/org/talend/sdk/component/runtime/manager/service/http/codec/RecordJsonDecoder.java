@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.codec;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Optional.ofNullable;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.http.ContentType;
+import org.talend.sdk.component.api.service.http.Decoder;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.JsonRecordReader;
+
+/**
+ * Decodes a JSON response in a {@link Record}, an {@code Iterator<Record>} (lazily read)
+ * or a {@code Collection<Record>}/{@code List<Record>} without building any JSON object model.
+ * Subclasses can pass the expected schema to keep the numeric precision of the values, its entries are read as
+ * nullable and missing values are null. The records share the same schema instance only when the factory is the
+ * runtime one ({@code RecordBuilderFactoryImpl}), other factories only get the entries having a value.
+ */
+@ContentType("*/json")
+public class RecordJsonDecoder implements Decoder {
+
+    private final JsonParserFactory parserFactory;
+
+    private final JsonRecordReader reader;
+
+    public RecordJsonDecoder(final RecordBuilderFactory factory, final JsonProvider provider) {
+        this(factory, provider, null);
+    }
+
+    protected RecordJsonDecoder(final RecordBuilderFactory factory, final JsonProvider provider,
+            final Schema schema) {
+        this.parserFactory = ofNullable(provider).orElseGet(JsonProvider::provider).createParserFactory(emptyMap());
+        this.reader = new JsonRecordReader(factory, schema);
+    }
+
+    public static boolean isRecordType(final Type type) {
+        if (type == Record.class) {
+            return true;
+        }
+        if (!ParameterizedType.class.isInstance(type)) {
+            return false;
+        }
+        final ParameterizedType parameterizedType = ParameterizedType.class.cast(type);
+        final Type rawType = parameterizedType.getRawType();
+        return (rawType == Iterator.class || rawType == Collection.class || rawType == List.class)
+                && parameterizedType.getActualTypeArguments().length == 1
+                && parameterizedType.getActualTypeArguments()[0] == Record.class;
+    }
+
+    @Override
+    public Object decode(final byte[] value, final Type expectedType) {
+        if (!isRecordType(expectedType)) {
+            throw new IllegalArgumentException("Unsupported type: " + expectedType);
+        }
+        if (expectedType == Record.class) {
+            try (final JsonParser parser = parserFactory.createParser(new ByteArrayInputStream(value))) {
+                return reader.read(parser);
+            }
+        }
+        final Iterator<Record> iterator =
+                reader.iterate(parserFactory.createParser(new ByteArrayInputStream(value)));
+        if (ParameterizedType.class.cast(expectedType).getRawType() == Iterator.class) {
+            return iterator;
+        }
+        final List<Record> records = new ArrayList<>();
+        iterator.forEachRemaining(records::add);
+        return records;
+    }
+}
@@ -17,6 +17,7 @@ package org.talend.sdk.component.runtime.manager;
 
 import static java.util.Optional.ofNullable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -34,6 +35,8 @@ import org.talend.sdk.component.runtime.manager.serialization.DynamicContainerFi
 @WithTemporaryFolder
 class MaxBatchSizeParamTest {
 
+    private static final String BATCH_LAYOUT = "$maxBatchSize|$maxBatchLinger|$batchTargetLatency";
+
     private final PluginGenerator pluginGenerator = new PluginGenerator();
 
     @Test
@@ -66,7 +69,8 @@ class MaxBatchSizeParamTest {
                             assertTrue(parent
                                     .getNestedParameters()
                                     .stream()
-                                    .noneMatch(meta -> "$maxBatchSize".equals(meta.getName())));
+                                    .noneMatch(meta -> meta.getName().startsWith("$maxBatch")
+                                            || "$batchTargetLatency".equals(meta.getName())));
 
                         } else {
                             final ParameterMeta maxBatchSize = parent
@@ -80,11 +84,22 @@ class MaxBatchSizeParamTest {
                             assertEquals("1", maxBatchSize.getMetadata().get("tcomp::validation::min"));
                             assertEquals(ParameterMeta.Type.NUMBER, maxBatchSize.getType());
                             assertEquals(Integer.class, maxBatchSize.getJavaType());
+                            Stream.of("$maxBatchLinger", "$batchTargetLatency").forEach(name -> {
+                                final ParameterMeta option = parent
+                                        .getNestedParameters()
+                                        .stream()
+                                        .filter(meta -> name.equals(meta.getName()))
+                                        .findFirst()
+                                        .orElseGet(() -> fail("Missing " + name + " param"));
+                                assertEquals(parent.getPath() + "." + name, option.getPath());
+                                assertEquals(Long.class, option.getJavaType());
+                                assertNull(option.getMetadata().get("tcomp::ui::defaultvalue::value")); // optional
+                            });
                             switch (c.getName()) {
                             case "BulkProcessorWithNoConfig":
                                 assertEquals("$configuration", parent.getPath());
                                 assertEquals("$configuration.$maxBatchSize", maxBatchSize.getPath());
-                                assertEquals("$maxBatchSize",
+                                assertEquals(BATCH_LAYOUT,
                                         parent.getMetadata().get("tcomp::ui::gridlayout::Advanced::value"));
                                 break;
                             case "BulkProcessorWithAutoLayoutConfig":
@@ -105,18 +120,18 @@ class MaxBatchSizeParamTest {
                                 break;
                             case "BulkProcessorWithGridLayoutConfig":
                                 assertEquals(parent.getPath() + "." + maxBatchSize.getName(), maxBatchSize.getPath());
-                                assertEquals("$maxBatchSize",
+                                assertEquals(BATCH_LAYOUT,
                                         parent.getMetadata().get("tcomp::ui::gridlayout::Advanced::value"));
                                 break;
                             case "BulkProcessorWithAdvancedGridLayoutConfig":
                                 assertEquals(parent.getPath() + "." + maxBatchSize.getName(), maxBatchSize.getPath());
-                                assertEquals("$maxBatchSize|config",
+                                assertEquals(BATCH_LAYOUT + "|config",
                                         parent.getMetadata().get("tcomp::ui::gridlayout::Advanced::value"));
                                 break;
                             case "BulkProcessorWithoutLayout":
                                 assertEquals(parent.getPath() + "." + maxBatchSize.getName(), maxBatchSize.getPath());
                                 assertEquals("config", parent.getMetadata().get("tcomp::ui::gridlayout::Main::value"));
-                                assertEquals("$maxBatchSize",
+                                assertEquals(BATCH_LAYOUT,
                                         parent.getMetadata().get("tcomp::ui::gridlayout::Advanced::value"));
                                 break;
                             }
@@ -16,11 +16,13 @@
 package org.talend.sdk.component.runtime.manager.asm;
 
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -31,12 +33,15 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Retention;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.List;
+import java.util.function.BiFunction;
 
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.interceptor.InterceptorHandler;
 import org.talend.sdk.component.api.service.interceptor.Intercepts;
+import org.talend.sdk.component.runtime.manager.interceptor.InterceptorHandlerFacade;
 import org.talend.sdk.component.runtime.manager.serialization.DynamicContainerFinder;
 
 class ProxyGeneratorTest {
@@ -55,6 +60,22 @@ class ProxyGeneratorTest {
         assertEquals("intercepted", proxy.preempted(1, "2", "3", singletonList("4")));
     }
 
+    @Test
+    void compiledChain() throws Exception {
+        final ProxyGenerator generator = new ProxyGenerator();
+        final Class<?> proxyClass = generator
+                .generateProxy(Thread.currentThread().getContextClassLoader(), Chained.class, "test",
+                        Chained.class.getName());
+        // not intercepted so not overriden, the call goes directly to the service method
+        assertThrows(NoSuchMethodException.class, () -> proxyClass.getDeclaredMethod("direct", int.class));
+
+        final Chained proxy = Chained.class.cast(proxyClass.getConstructor().newInstance());
+        generator.initialize(proxy, new InterceptorHandlerFacade(new Chained(), emptyMap()));
+        assertEquals("<1>", proxy.wrapped(1));
+        assertEquals("<2>", proxy.wrapped(2));
+        assertEquals(3, proxy.direct(3));
+    }
+
     @Test
     void serialization() throws Exception {
         try {
@@ -125,4 +146,36 @@ class ProxyGeneratorTest {
     @Retention(RUNTIME)
     public @interface Preempted {
     }
+
+    @Service
+    public static class Chained {
+
+        public int direct(final int value) {
+            return value;
+        }
+
+        @Wrapped
+        public String wrapped(final int value) {
+            return String.valueOf(value);
+        }
+    }
+
+    @Intercepts(WrappingHandler.class)
+    @Retention(RUNTIME)
+    public @interface Wrapped {
+    }
+
+    public static class WrappingHandler implements InterceptorHandler {
+
+        private final BiFunction<Method, Object[], Object> invoker;
+
+        public WrappingHandler(final BiFunction<Method, Object[], Object> invoker) {
+            this.invoker = invoker;
+        }
+
+        @Override
+        public Object invoke(final Method method, final Object[] args) {
+            return "<" + invoker.apply(method, args) + ">";
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.builtinparams;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BatchPolicyTest {
+
+    @Test
+    void parse() {
+        final Map<String, String> config = new HashMap<>();
+        config.put("configuration.$maxBatchSize", "50.0");
+        config.put("configuration.$maxBatchBytes", "1024");
+        config.put("configuration.$maxBatchLinger", "");
+        config.put("configuration.$batchTargetLatency", "invalid");
+        assertEquals(new BatchPolicy(50, 1024, -1, -1), BatchPolicy.of(config));
+        assertEquals(new BatchPolicy(10, -1, -1, -1), BatchPolicy.of(new HashMap<>(), 10));
+    }
+
+    @Test
+    void records() {
+        final BatchPolicy.Tracker tracker = BatchPolicy.ofSize(2).newTracker();
+        assertFalse(tracker.onRecord(0));
+        assertTrue(tracker.onRecord(0));
+        tracker.onAfterGroup(0);
+        assertEquals(0, tracker.getRecords());
+        assertFalse(tracker.onRecord(0));
+    }
+
+    @Test
+    void bytes() {
+        final BatchPolicy.Tracker tracker = new BatchPolicy(100, 10, -1, -1).newTracker();
+        assertFalse(tracker.onRecord(4));
+        assertFalse(tracker.onRecord(4));
+        assertTrue(tracker.onRecord(4));
+    }
+
+    @Test
+    void linger() throws InterruptedException {
+        final BatchPolicy.Tracker tracker = new BatchPolicy(100, -1, 10, -1).newTracker();
+        assertFalse(tracker.isLingerExpired()); // no group
+        assertFalse(tracker.onRecord(0));
+        assertFalse(tracker.isLingerExpired());
+        Thread.sleep(20);
+        assertTrue(tracker.isLingerExpired()); // without waiting for the next record
+        assertTrue(tracker.onRecord(0));
+        tracker.onAfterGroup(0);
+        assertFalse(tracker.isLingerExpired());
+    }
+
+    @Test
+    void adaptive() {
+        final BatchPolicy.Tracker tracker = new BatchPolicy(100, -1, -1, 10).newTracker();
+        fill(tracker, 100);
+        tracker.onAfterGroup(TimeUnit.MILLISECONDS.toNanos(50)); // too slow
+        assertEquals(50, tracker.getCurrentMaxRecords());
+        fill(tracker, 50);
+        tracker.onAfterGroup(TimeUnit.MILLISECONDS.toNanos(1)); // fast
+        assertEquals(55, tracker.getCurrentMaxRecords());
+        fill(tracker, 20);
+        tracker.onAfterGroup(TimeUnit.MILLISECONDS.toNanos(1)); // partial group (flush), no change
+        assertEquals(55, tracker.getCurrentMaxRecords());
+        for (int i = 0; i < 50; i++) {
+            fill(tracker, tracker.getCurrentMaxRecords());
+            tracker.onAfterGroup(0);
+        }
+        assertEquals(100, tracker.getCurrentMaxRecords()); // capped
+    }
+
+    private void fill(final BatchPolicy.Tracker tracker, final int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.onRecord(0);
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.talend.sdk.component.junit.base.junit5.WithTemporaryFolder;
 import org.talend.sdk.component.runtime.input.LocalPartitionMapper;
 import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.runtime.manager.asm.PluginGenerator;
+import org.talend.sdk.component.runtime.manager.chain.internal.JobImpl;
 import org.talend.sdk.component.runtime.manager.serialization.DynamicContainerFinder;
 import org.talend.sdk.component.runtime.output.ProcessorImpl;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
@@ -247,6 +248,48 @@ class JobTest {
         }
     }
 
+    @Test
+    void spilledJoin(final TestInfo info, final TemporaryFolder temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.getRoot(), plugin);
+        final File out = new File(temporaryFolder.getRoot(), testName + "-out.txt");
+        final File spill = new File(temporaryFolder.getRoot(), testName + "-spill");
+        assertTrue(spill.mkdirs());
+
+        try (final ComponentManager manager = newTestManager(jar)) {
+
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("address", "db://input?__version=1&tableName=address")
+                    .component("salary", "db://input?__version=1&tableName=salary")
+                    .component("concat", "processor://concat?__version=1")
+                    .component("concat_2", "processor://concat?__version=1")
+                    .component("outFile", "file://out?__version=1&file=" + encode(out.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("concat", "str1")
+                    .from("address")
+                    .to("concat", "str2")
+                    .from("concat")
+                    .to("concat_2", "str1")
+                    .from("salary")
+                    .to("concat_2", "str2")
+                    .from("concat_2")
+                    .to("outFile")
+                    .build()
+                    .property(JobImpl.JobExecutor.JOIN_MAX_RECORDS_IN_MEMORY, 1)
+                    .property(JobImpl.JobExecutor.JOIN_SPILL_DIRECTORY, spill.getAbsolutePath())
+                    .run();
+
+            assertTrue(out.isFile());
+            assertEquals(asList("sophia paris 1900", "emma nantes 3055", "liam strasbourg 2600.30", "ava lyon 2000.5"),
+                    Files.readAllLines(out.toPath()));
+            assertEquals(0, spill.listFiles().length);
+        }
+    }
+
     @Test
     void contextualKeyProvider(final TestInfo info, final TemporaryFolder temporaryFolder) throws IOException {
         final String testName = info.getTestMethod().get().getName();
@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+
+class GroupKeysTest {
+
+    @Test
+    void sequences() {
+        final GroupKeys<?> keys = GroupKeys.of(asList("a", "b"), id -> null);
+        assertEquals(1L, keys.key("a", null, "__default__"));
+        assertEquals(2L, keys.key("a", null, "__default__"));
+        assertEquals(1L, keys.key("b", null, "__default__"));
+    }
+
+    @Test
+    void customProvider() {
+        final GroupKeyProvider provider = context -> context.getComponentId() + "/" + context.getBranchName();
+        final GroupKeys<?> keys = GroupKeys.of(asList("a", "b"), id -> "a".equals(id) ? provider : null);
+        assertEquals("a/main", keys.key("a", null, "main"));
+        assertEquals("0000000000000000001", keys.key("b", null, "__default__"));
+        assertEquals("0000000000000000002", keys.key("b", null, "__default__"));
+    }
+}
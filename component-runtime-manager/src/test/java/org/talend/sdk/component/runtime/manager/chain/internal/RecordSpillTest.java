@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class RecordSpillTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void roundTrip() {
+        final ZonedDateTime paris = ZonedDateTime.of(2018, 10, 1, 12, 30, 0, 0, ZoneId.of("Europe/Paris"));
+        final ZonedDateTime tokyo = ZonedDateTime.of(2018, 10, 2, 8, 0, 0, 0, ZoneId.of("Asia/Tokyo"));
+        final Record record = factory
+                .newRecordBuilder()
+                .withString("name", "spilled")
+                .withString("comment", null)
+                .withDateTime("date", paris)
+                .withRecord("nested", child(1, new Date(123456789L)))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("dates")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.DATETIME).build())
+                        .build(), asList(paris, tokyo))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("children")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(child(0, new Date()).getSchema())
+                        .build(), asList(child(2, new Date(2000)), child(3, new Date(3000))))
+                .build();
+
+        final Record read;
+        try (final RecordSpill spill = new RecordSpill(null)) {
+            final RecordSpill.Run run = spill.newRun();
+            final RecordSpill.Segment segment = run.write(singletonList(record));
+            final Collection<Record> records = segment.read();
+            assertEquals(1, records.size());
+            read = records.iterator().next();
+        }
+
+        assertEquals("spilled", read.getString("name"));
+        assertNull(read.getString("comment"));
+        assertEquals(paris.toInstant(), read.get(ZonedDateTime.class, "date").toInstant());
+
+        final Record nested = read.getRecord("nested");
+        assertEquals(1, nested.getInt("id"));
+        assertEquals(123456789L, nested.get(ZonedDateTime.class, "when").toInstant().toEpochMilli());
+
+        // the zones of the array items are kept
+        final List<ZonedDateTime> dates = new ArrayList<>(read.getArray(ZonedDateTime.class, "dates"));
+        assertEquals(asList(paris, tokyo), dates);
+
+        final Collection<Record> children = read.getArray(Record.class, "children");
+        assertEquals(asList(2, 3), children.stream().map(it -> it.getInt("id")).collect(toList()));
+        assertEquals(asList(2000L, 3000L),
+                children
+                        .stream()
+                        .map(it -> it.get(ZonedDateTime.class, "when").toInstant().toEpochMilli())
+                        .collect(toList()));
+    }
+
+    private Record child(final int id, final Date when) {
+        return factory.newRecordBuilder().withInt("id", id).withDateTime("when", when).build();
+    }
+}
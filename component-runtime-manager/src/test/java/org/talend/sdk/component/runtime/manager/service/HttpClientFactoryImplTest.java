@@ -19,8 +19,10 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -34,6 +36,8 @@ import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -46,6 +50,7 @@ import com.sun.net.httpserver.HttpServer;
 import org.apache.xbean.propertyeditor.PropertyEditorRegistry;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.internationalization.Internationalized;
+import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
@@ -63,10 +68,12 @@ import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.api.service.http.configurer.oauth1.OAuth1;
 import org.talend.sdk.component.runtime.manager.reflect.ParameterModelService;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.http.HttpClientFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -233,6 +240,53 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void requestWithRecords() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            final Headers headers = httpExchange.getResponseHeaders();
+            headers.set("content-type", "application/json;charset=UTF-8");
+            final byte[] bytes = (httpExchange.getRequestURI().getPath().endsWith("/record")
+                    ? "{\"name\":\"first\",\"age\":1,\"nested\":{\"ok\":true}}"
+                    : "[{\"name\":\"first\",\"age\":1},{\"name\":\"second\",\"age\":2}]")
+                            .getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+
+        try {
+            server.start();
+            final PropertyEditorRegistry propertyEditorRegistry = new PropertyEditorRegistry();
+            final RecordClient client = new HttpClientFactoryImpl("test",
+                    new ReflectionService(new ParameterModelService(propertyEditorRegistry), propertyEditorRegistry),
+                    JsonbBuilder.create(), new HashMap<Class<?>, Object>() {
+
+                        {
+                            put(RecordBuilderFactory.class, new RecordBuilderFactoryImpl("test"));
+                        }
+                    }).create(RecordClient.class, null);
+            client.base("http://localhost:" + server.getAddress().getPort());
+
+            final Record record = client.record();
+            assertEquals("first", record.getString("name"));
+            assertEquals(1L, record.getLong("age"));
+            assertTrue(record.getRecord("nested").getBoolean("ok"));
+
+            final Iterator<Record> iterator = client.iterator();
+            assertTrue(iterator.hasNext());
+            assertEquals("first", iterator.next().getString("name"));
+            assertEquals("second", iterator.next().getString("name"));
+            assertFalse(iterator.hasNext());
+
+            final List<Record> list = client.list();
+            assertEquals(asList("first", "second"), list.stream().map(it -> it.getString("name")).collect(toList()));
+            assertEquals(asList(1L, 2L), list.stream().map(it -> it.getLong("age")).collect(toList()));
+        } finally {
+            server.stop(0);
+        }
+    }
+
     @Test
     void decoderWithServices() throws IOException {
         final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
@@ -589,6 +643,18 @@ class HttpClientFactoryImplTest {
         Response<Sample> main(@Header("content-type") String contentType, Sample payload);
     }
 
+    public interface RecordClient extends HttpClient {
+
+        @Request(path = "/api/record")
+        Record record();
+
+        @Request(path = "/api/records")
+        Iterator<Record> iterator();
+
+        @Request(path = "/api/records")
+        List<Record> list();
+    }
+
     @Internationalized
     public interface MyI18nService {
 
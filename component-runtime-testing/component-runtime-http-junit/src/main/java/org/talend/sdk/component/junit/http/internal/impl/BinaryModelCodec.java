@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.junit.http.internal.impl;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact length-prefixed capture format, avoids the JSON escaping/parsing cost for big payloads.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BinaryModelCodec {
+
+    private static final int MAGIC = 0x54434B48; // TCKH
+
+    private static final int VERSION = 1;
+
+    public static void write(final Collection<DefaultResponseLocator.Model> models, final OutputStream stream)
+            throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(models.size());
+        for (final DefaultResponseLocator.Model model : models) {
+            final DefaultResponseLocator.RequestModel request = model.getRequest();
+            writeString(out, request.getUri());
+            writeString(out, request.getMethod());
+            writeString(out, request.getPayload());
+            writeHeaders(out, request.getHeaders());
+
+            final DefaultResponseLocator.ResponseModel response = model.getResponse();
+            out.writeInt(response.getStatus());
+            writeHeaders(out, response.getHeaders());
+            writeString(out, response.getPayload());
+        }
+        out.flush();
+    }
+
+    public static Collection<DefaultResponseLocator.Model> read(final InputStream stream) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a binary capture");
+        }
+        final int version = in.readInt();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported binary capture version: " + version);
+        }
+        final int size = in.readInt();
+        final Collection<DefaultResponseLocator.Model> models = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final DefaultResponseLocator.RequestModel request = new DefaultResponseLocator.RequestModel();
+            request.setUri(readString(in));
+            request.setMethod(readString(in));
+            request.setPayload(readString(in));
+            request.setHeaders(readHeaders(in));
+
+            final DefaultResponseLocator.ResponseModel response = new DefaultResponseLocator.ResponseModel();
+            response.setStatus(in.readInt());
+            response.setHeaders(readHeaders(in));
+            response.setPayload(readString(in));
+
+            final DefaultResponseLocator.Model model = new DefaultResponseLocator.Model();
+            model.setRequest(request);
+            model.setResponse(response);
+            models.add(model);
+        }
+        return models;
+    }
+
+    private static void writeHeaders(final DataOutputStream out, final Map<String, String> headers)
+            throws IOException {
+        if (headers == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(headers.size());
+        for (final Map.Entry<String, String> header : headers.entrySet()) {
+            writeString(out, header.getKey());
+            writeString(out, header.getValue());
+        }
+    }
+
+    private static Map<String, String> readHeaders(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        final Map<String, String> headers = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            headers.put(readString(in), readString(in));
+        }
+        return headers;
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -16,6 +16,8 @@
 package org.talend.sdk.component.junit.http.internal.impl;
 
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -30,9 +32,12 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -45,7 +50,11 @@ import org.talend.sdk.component.junit.http.api.Request;
 import org.talend.sdk.component.junit.http.api.Response;
 import org.talend.sdk.component.junit.http.api.ResponseLocator;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 @Data
@@ -64,6 +73,18 @@ public class DefaultResponseLocator implements ResponseLocator, AutoCloseable {
 
     private final Collection<DefaultResponseLocator.Model> capturingBuffer = new ArrayList<>();
 
+    /**
+     * Format used to flush the captures, "json" (default) or "binary" for big payloads.
+     * Both formats are supported when replaying.
+     */
+    private String captureFormat = System.getProperty("talend.junit.http.capture.format", "json");
+
+    // captures are immutable once on the classpath so load them once and index them
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final ConcurrentMap<String, Optional<ModelIndex>> indices = new ConcurrentHashMap<>();
+
     public DefaultResponseLocator(final String prefix, final String test) {
         this.prefix = prefix;
         this.test = test;
@@ -88,24 +109,32 @@ public class DefaultResponseLocator implements ResponseLocator, AutoCloseable {
     protected Optional<Response> doFind(final Request request, final String pref, final ClassLoader loader,
             final Predicate<String> headerFilter, final boolean exactMatching) {
         return Stream
-                .of(pref + test + ".json", pref + stripQuery(request.uri()) + ".json")
-                .map(loader::getResource)
-                .filter(Objects::nonNull)
-                .flatMap(url -> {
-                    final Collection<Model> models;
-                    try (final InputStream stream = url.openStream()) {
-                        models = Collection.class.cast(jsonb.fromJson(stream, MODEL_TYPE));
-                    } catch (final IOException e) {
-                        throw new IllegalStateException(e);
-                    }
-                    return models
-                            .stream()
-                            .filter(m -> m.request != null && matches(request, m.request, exactMatching, headerFilter));
-                })
+                .of(pref + test, pref + stripQuery(request.uri()))
+                .map(base -> indices.computeIfAbsent(base, k -> loadIndex(loader, k)))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .flatMap(index -> exactMatching ? index.findExactCandidates(request) : index.getModels().stream())
+                .filter(m -> matches(request, m.request, exactMatching, headerFilter))
                 .findFirst()
                 .map(model -> new ResponseImpl(model.response.headers, model.response.status, getPayload(model)));
     }
 
+    protected Optional<ModelIndex> loadIndex(final ClassLoader loader, final String base) {
+        final URL binary = loader.getResource(base + ".bin");
+        final URL url = binary != null ? binary : loader.getResource(base + ".json");
+        if (url == null) {
+            return Optional.empty();
+        }
+        final Collection<Model> models;
+        try (final InputStream stream = url.openStream()) {
+            models = binary != null ? BinaryModelCodec.read(stream)
+                    : Collection.class.cast(jsonb.fromJson(stream, MODEL_TYPE));
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Optional.of(new ModelIndex(models.stream().filter(m -> m.request != null).collect(toList())));
+    }
+
     protected byte[] getPayload(final Model model) {
         if (model.response.payload == null) {
             return null;
@@ -167,15 +196,22 @@ public class DefaultResponseLocator implements ResponseLocator, AutoCloseable {
     }
 
     public void flush(final String baseCapture) {
+        final boolean binary = "binary".equalsIgnoreCase(captureFormat);
+        final String extension = binary ? ".bin" : ".json";
         final File output = new File(baseCapture,
-                ofNullable(test).map(t -> prefix + t + ".json").orElseGet(() -> prefix + ".json"));
+                ofNullable(test).map(t -> prefix + t + extension).orElseGet(() -> prefix + extension));
         output.getParentFile().mkdirs();
         try (final OutputStream outputStream = new FileOutputStream(output)) {
-            jsonb.toJson(capturingBuffer, outputStream);
+            if (binary) {
+                BinaryModelCodec.write(capturingBuffer, outputStream);
+            } else {
+                jsonb.toJson(capturingBuffer, outputStream);
+            }
         } catch (final IOException e) {
             throw new IllegalStateException(e);
         } finally {
             capturingBuffer.clear();
+            indices.clear();
         }
     }
 
@@ -183,6 +219,31 @@ public class DefaultResponseLocator implements ResponseLocator, AutoCloseable {
         getCapturingBuffer().add(model);
     }
 
+    @Getter
+    protected static class ModelIndex {
+
+        private final List<Model> models;
+
+        // exact matching only needs the head line (method + uri) so it is the key to avoid a linear scan
+        private final Map<String, List<Model>> byHeadLine;
+
+        private ModelIndex(final List<Model> models) {
+            this.models = models;
+            this.byHeadLine = models
+                    .stream()
+                    .collect(groupingBy(m -> toKey(ofNullable(m.request.method).orElse("GET"), m.request.uri)));
+        }
+
+        private Stream<Model> findExactCandidates(final Request request) {
+            final List<Model> candidates = byHeadLine.get(toKey(request.method(), request.uri()));
+            return candidates == null ? Stream.empty() : candidates.stream();
+        }
+
+        private static String toKey(final String method, final String uri) {
+            return method.toUpperCase(Locale.ROOT) + ' ' + uri;
+        }
+    }
+
     @Data
     public static class Model {
 
@@ -33,12 +33,17 @@ import javax.net.ssl.SSLContext;
 import org.talend.sdk.component.junit.http.api.HttpApiHandler;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.GlobalEventExecutor;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -64,24 +69,30 @@ public class HandlerImpl<T extends HttpApiHandler<?>> implements AutoCloseable {
 
         final CountDownLatch startingPistol = new CountDownLatch(1);
         instance = new Thread(() -> {
-            // todo: config
-            final EventLoopGroup bossGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("talend-api-boss"));
-            final EventLoopGroup workerGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors(),
-                    new DefaultThreadFactory("talend-api-worker"));
+            // the event loops are shared so track the accepted connections to close them with this instance
+            final ChannelGroup connections = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
             try {
                 final ServerBootstrap b = new ServerBootstrap();
                 b
                         .option(ChannelOption.SO_REUSEADDR, true)
-                        .group(bossGroup, workerGroup)
+                        .group(SharedEventLoops.BOSS, SharedEventLoops.WORKER)
                         .channel(NioServerSocketChannel.class)
-                        .childHandler(new ProxyInitializer(handler))
+                        .childHandler(new ProxyInitializer(handler) {
+
+                            @Override
+                            protected void initChannel(final SocketChannel channel) {
+                                connections.add(channel);
+                                super.initChannel(channel);
+                            }
+                        })
                         .bind("localhost", handler.getPort())
                         .sync()
                         .addListener((ChannelFutureListener) f -> {
                             if (f.isSuccess()) {
+                                final Channel channel = f.channel();
                                 shutdown = () -> {
-                                    bossGroup.shutdownGracefully();
-                                    workerGroup.shutdownGracefully();
+                                    channel.close();
+                                    connections.close();
                                 };
                             } else {
                                 log.error("Can't start API server");
@@ -207,4 +218,18 @@ public class HandlerImpl<T extends HttpApiHandler<?>> implements AutoCloseable {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * Netty groups are shared between the handlers (one per test class) to avoid to recreate
+     * the boss/worker threads for each of them. Threads are daemons so they don't prevent the JVM to exit.
+     */
+    private static final class SharedEventLoops {
+
+        private static final EventLoopGroup BOSS =
+                new NioEventLoopGroup(1, new DefaultThreadFactory("talend-api-boss", true));
+
+        private static final EventLoopGroup WORKER = new NioEventLoopGroup(
+                Integer.getInteger("talend.junit.http.worker.threads", Runtime.getRuntime().availableProcessors()),
+                new DefaultThreadFactory("talend-api-worker", true));
+    }
 }
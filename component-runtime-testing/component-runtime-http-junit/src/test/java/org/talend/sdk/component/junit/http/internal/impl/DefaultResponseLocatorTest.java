@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.junit.http.internal.impl;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.junit.http.api.Response;
+
+class DefaultResponseLocatorTest {
+
+    @Test
+    void binaryCaptureReplay() throws Exception {
+        final File base = Files.createTempDirectory("http-junit-binary").toFile();
+        try (final DefaultResponseLocator capture =
+                new DefaultResponseLocator(DefaultResponseLocator.PREFIX, "binaryCaptureReplay")) {
+            capture.setCaptureFormat("binary");
+            capture.addModel(newModel("GET", "http://foo.bar/a", "first"));
+            capture.addModel(newModel("POST", "http://foo.bar/a", "second"));
+            capture.flush(base.getAbsolutePath());
+        }
+        assertTrue(new File(base, DefaultResponseLocator.PREFIX + "binaryCaptureReplay.bin").exists());
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { base.toURI().toURL() }, old);
+                final DefaultResponseLocator locator =
+                        new DefaultResponseLocator(DefaultResponseLocator.PREFIX, "binaryCaptureReplay")) {
+            thread.setContextClassLoader(loader);
+
+            assertPayload("first", locator.findMatching(newRequest("GET", "http://foo.bar/a"), h -> false));
+            assertPayload("second", locator.findMatching(newRequest("post", "http://foo.bar/a"), h -> false));
+            // query is stripped in the fallback matching
+            assertPayload("first", locator.findMatching(newRequest("GET", "http://foo.bar/a?q=1"), h -> false));
+            assertFalse(locator.findMatching(newRequest("PUT", "http://foo.bar/a"), h -> false).isPresent());
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    private void assertPayload(final String expected, final Optional<Response> response) {
+        assertTrue(response.isPresent());
+        assertEquals(200, response.get().status());
+        assertEquals(expected, new String(response.get().payload(), StandardCharsets.UTF_8));
+    }
+
+    private RequestImpl newRequest(final String method, final String uri) {
+        return new RequestImpl(uri, method, null, emptyMap());
+    }
+
+    private DefaultResponseLocator.Model newModel(final String method, final String uri, final String payload) {
+        final DefaultResponseLocator.RequestModel request = new DefaultResponseLocator.RequestModel();
+        request.setMethod(method);
+        request.setUri(uri);
+        request.setHeaders(emptyMap());
+
+        final DefaultResponseLocator.ResponseModel response = new DefaultResponseLocator.ResponseModel();
+        response.setStatus(200);
+        response.setHeaders(singletonMap("content-type", "text/plain"));
+        response.setPayload(payload);
+
+        final DefaultResponseLocator.Model model = new DefaultResponseLocator.Model();
+        model.setRequest(request);
+        model.setResponse(response);
+        return model;
+    }
+}
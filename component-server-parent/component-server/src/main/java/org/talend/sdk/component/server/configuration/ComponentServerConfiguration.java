@@ -93,4 +93,40 @@ public class ComponentServerConfiguration {
     @Documentation("Should the component extensions add required dependencies.")
     @ConfigProperty(name = "talend.component.server.component.extend.dependencies", defaultValue = "true")
     private Boolean addExtensionDependencies;
+
+    @Inject
+    @Documentation("Should the action results be cached (only for the action types configured in `talend.component.server.action.cache.ttl`).")
+    @ConfigProperty(name = "talend.component.server.action.cache.active", defaultValue = "false")
+    private Boolean actionCacheActive;
+
+    @Inject
+    @Documentation("The maximum number of action results cached per plugin, the least recently used ones are evicted first.")
+    @ConfigProperty(name = "talend.component.server.action.cache.maxSize", defaultValue = "1000")
+    private Integer actionCacheMaxSize;
+
+    @Inject
+    @Documentation("A comma separated list of `<action type>=<duration>` defining which action types are cached and for how long.")
+    @ConfigProperty(name = "talend.component.server.action.cache.ttl",
+            defaultValue = "suggestions=PT1M,dynamic_values=PT5M,schema=PT1M")
+    private String actionCacheTtl;
+
+    @Inject
+    @Documentation("Should the dependency download use Tomcat sendfile support when available instead of streaming the file.")
+    @ConfigProperty(name = "talend.component.server.dependency.sendfile.active", defaultValue = "false")
+    private Boolean dependencySendfile;
+
+    @Inject
+    @Documentation("The number of threads executing the websocket requests carrying a `requestId` header.")
+    @ConfigProperty(name = "talend.component.server.websocket.executor.threads", defaultValue = "16")
+    private Integer websocketExecutorThreads;
+
+    @Inject
+    @Documentation("The number of correlated websocket requests waiting for a thread, when full the requests are rejected with a 503 status.")
+    @ConfigProperty(name = "talend.component.server.websocket.executor.queue", defaultValue = "256")
+    private Integer websocketExecutorQueue;
+
+    @Inject
+    @Documentation("The number of threads migrating the configurations of the bulk migration endpoints.")
+    @ConfigProperty(name = "talend.component.server.migration.bulk.threads", defaultValue = "4")
+    private Integer migrationBulkThreads;
 }
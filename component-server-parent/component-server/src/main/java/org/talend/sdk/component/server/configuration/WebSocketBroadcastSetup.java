@@ -23,8 +23,11 @@ import static java.util.Collections.enumeration;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,6 +39,7 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.text.SimpleDateFormat;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -48,6 +52,11 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -132,12 +141,21 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
     private static final String EOM = "^@";
 
+    private static final int EOM_LENGTH = EOM.length();
+
+    private static final String REQUEST_ID = "requestId";
+
     @Inject
     private Bus bus;
 
     @Inject
     private Instance<Application> applications;
 
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private ThreadPoolExecutor executor;
+
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         final ServerContainer container =
@@ -175,6 +193,18 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         final ServletContext servletContext = sce.getServletContext();
 
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(configuration.getWebsocketExecutorThreads(),
+                configuration.getWebsocketExecutorThreads(), 1, MINUTES,
+                new ArrayBlockingQueue<>(configuration.getWebsocketExecutorQueue()), task -> {
+                    final Thread thread =
+                            new Thread(task, "talend-component-server-websocket-" + threadCounter.incrementAndGet());
+                    thread.setContextClassLoader(loader);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+
         final WebSocketRegistry webSocketRegistry = new WebSocketRegistry(registry);
         final ServletController controller = new ServletController(webSocketRegistry, new ServletConfig() {
 
@@ -231,7 +261,7 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                                                                 ori.getConsumeTypes().iterator().next().toString()));
                                             }
                                             return (T) new JAXRSEndpoint(appBase, controller, servletContext,
-                                                    ori.getHttpMethod(), uri, headers);
+                                                    ori.getHttpMethod(), uri, headers, executor);
                                         }
                                     })
                                     .build();
@@ -246,7 +276,7 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                                                     throws InstantiationException {
 
                                                 return (T) new JAXRSEndpoint(appBase, controller, servletContext, "GET",
-                                                        "/", emptyMap());
+                                                        "/", emptyMap(), executor);
                                             }
                                         })
                                         .build()))
@@ -261,6 +291,22 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 });
     }
 
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Duration.parse(configuration.getExecutionPoolShutdownTimeout()).toMillis(),
+                    MILLISECONDS)) {
+                log.warn("Some websocket requests are still running: {}", executor.shutdownNow());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Data
     @EqualsAndHashCode(callSuper = false)
     private static class JAXRSEndpoint extends Endpoint {
@@ -277,78 +323,32 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private final Map<String, List<String>> baseHeaders;
 
+        private final Executor executor;
+
         @Override
         public void onOpen(final Session session, final EndpointConfig endpointConfig) {
             log.debug("Opened session {}", session.getId());
             session.addMessageHandler(InputStream.class, message -> {
-                final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-                headers.putAll(baseHeaders);
-
-                final StringBuilder buffer = new StringBuilder(128);
-                try { // read headers from the message
-                    if (!"SEND".equalsIgnoreCase(readLine(buffer, message))) {
-                        throw new IllegalArgumentException("not a message");
-                    }
-
-                    String line;
-                    int del;
-                    while ((line = readLine(buffer, message)) != null) {
-                        final boolean done = line.endsWith(EOM);
-                        if (done) {
-                            line = line.substring(0, line.length() - EOM.length());
-                        }
-                        if (!line.isEmpty()) {
-                            del = line.indexOf(':');
-                            if (del < 0) {
-                                headers.put(line.trim(), emptyList());
-                            } else {
-                                headers
-                                        .put(line.substring(0, del).trim(),
-                                                singletonList(line.substring(del + 1).trim()));
-                            }
-                        }
-                        if (done) {
-                            break;
-                        }
-                    }
+                final byte[] frame;
+                try {
+                    frame = readFully(message);
                 } catch (final IOException ioe) {
                     throw new IllegalStateException(ioe);
                 }
 
-                final List<String> uris = headers.get("destination");
-                final String uri;
-                if (uris == null || uris.isEmpty()) {
-                    uri = defaultUri;
-                } else {
-                    uri = uris.iterator().next();
-                }
-
-                final List<String> methods = headers.get("destinationMethod");
-                final String method;
-                if (methods == null || methods.isEmpty()) {
-                    method = defaultMethod;
+                final int start = skipLineBreaks(frame, 0, frame.length);
+                final int commandEnd = endOfLine(frame, start, frame.length);
+                final String command = readLine(frame, start, commandEnd);
+                final int headersStart = Math.min(frame.length, commandEnd + 1);
+                if ("SEND".equalsIgnoreCase(command)) {
+                    final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                    headers.putAll(baseHeaders);
+                    final int bodyStart = readHeaders(frame, headersStart, frame.length, headers);
+                    dispatch(session, headers, frame, bodyStart, frame.length);
+                } else if ("BATCH".equalsIgnoreCase(command)) {
+                    onBatch(session, frame, headersStart);
                 } else {
-                    method = methods.iterator().next();
-                }
-
-                final String queryString;
-                final String path;
-                final int query = uri.indexOf('?');
-                if (query > 0) {
-                    queryString = uri.substring(query + 1);
-                    path = uri.substring(0, query);
-                } else {
-                    queryString = null;
-                    path = uri;
-                }
-
-                try {
-                    final WebSocketRequest request =
-                            new WebSocketRequest(method.toUpperCase(ENGLISH), headers, path, appBase + path, appBase,
-                                    queryString, 8080, context, new WebSocketInputStream(message), session);
-                    controller.invoke(request, new WebSocketResponse(session));
-                } catch (final ServletException e) {
-                    throw new IllegalArgumentException(e);
+                    throw new IllegalArgumentException("not a message");
                 }
             });
         }
@@ -363,22 +363,186 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
             log.warn("Error for session {}", session.getId(), throwable);
         }
 
-        private static String readLine(final StringBuilder buffer, final InputStream in) throws IOException {
-            int c;
-            while ((c = in.read()) != -1) {
-                if (c == '\n') {
-                    break;
-                } else if (c != '\r') {
-                    buffer.append((char) c);
+        // a batch is a set of SEND frames (each one ended by EOM) sharing the headers of the BATCH frame,
+        // each request is correlated so responses are sent as soon as they are ready
+        private void onBatch(final Session session, final byte[] frame, final int headersStart) {
+            final Map<String, List<String>> batchHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            batchHeaders.putAll(baseHeaders);
+            int position = readHeaders(frame, headersStart, frame.length, batchHeaders);
+            final List<String> batchIds = batchHeaders.remove(REQUEST_ID);
+            final String batchId = batchIds == null || batchIds.isEmpty() ? null : batchIds.iterator().next();
+
+            int index = 0;
+            while ((position = skipLineBreaks(frame, position, frame.length)) < frame.length) {
+                final int eom = indexOfEom(frame, position, frame.length);
+                final int end = eom < 0 ? frame.length : eom + EOM_LENGTH;
+                final int commandEnd = endOfLine(frame, position, end);
+                if (!"SEND".equalsIgnoreCase(readLine(frame, position, commandEnd))) {
+                    throw new IllegalArgumentException("not a message in batch " + batchId + " at index " + index);
+                }
+
+                final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                headers.putAll(batchHeaders);
+                final int bodyStart = readHeaders(frame, Math.min(end, commandEnd + 1), end, headers);
+                if (!headers.containsKey(REQUEST_ID)) {
+                    headers
+                            .put(REQUEST_ID, singletonList(
+                                    batchId == null ? Integer.toString(index) : batchId + '/' + index));
                 }
+                dispatch(session, headers, frame, bodyStart, end);
+
+                position = end;
+                index++;
             }
+        }
 
-            if (buffer.length() == 0) {
-                return null;
+        // correlated requests (with a requestId) are executed concurrently and can be answered out of order,
+        // others keep the historical synchronous behavior
+        private void dispatch(final Session session, final Map<String, List<String>> headers, final byte[] frame,
+                final int bodyStart, final int end) {
+            final List<String> requestIds = headers.get(REQUEST_ID);
+            if (requestIds == null || requestIds.isEmpty()) {
+                invoke(session, headers, frame, bodyStart, end, null);
+                return;
+            }
+
+            final String requestId = requestIds.iterator().next();
+            try {
+                executor.execute(() -> {
+                    try {
+                        invoke(session, headers, frame, bodyStart, end, requestId);
+                    } catch (final RuntimeException re) {
+                        log.warn("Error executing websocket request {} of session {}", requestId, session.getId(),
+                                re);
+                        sendStatus(session, requestId, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    }
+                });
+            } catch (final RejectedExecutionException ree) {
+                log.debug("Rejected websocket request {} of session {}", requestId, session.getId());
+                sendStatus(session, requestId, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
             }
-            final String string = buffer.toString();
-            buffer.setLength(0);
-            return string;
+        }
+
+        private void invoke(final Session session, final Map<String, List<String>> headers, final byte[] frame,
+                final int bodyStart, final int end, final String requestId) {
+            final List<String> uris = headers.get("destination");
+            final String uri;
+            if (uris == null || uris.isEmpty()) {
+                uri = defaultUri;
+            } else {
+                uri = uris.iterator().next();
+            }
+
+            final List<String> methods = headers.get("destinationMethod");
+            final String method;
+            if (methods == null || methods.isEmpty()) {
+                method = defaultMethod;
+            } else {
+                method = methods.iterator().next();
+            }
+
+            final String queryString;
+            final String path;
+            final int query = uri.indexOf('?');
+            if (query > 0) {
+                queryString = uri.substring(query + 1);
+                path = uri.substring(0, query);
+            } else {
+                queryString = null;
+                path = uri;
+            }
+
+            try {
+                final WebSocketRequest request = new WebSocketRequest(method.toUpperCase(ENGLISH), headers, path,
+                        appBase + path, appBase, queryString, 8080, context,
+                        new WebSocketInputStream(new ByteArrayInputStream(frame, bodyStart, end - bodyStart)),
+                        session);
+                controller.invoke(request, new WebSocketResponse(session, requestId));
+            } catch (final ServletException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private static void sendStatus(final Session session, final String requestId, final int status) {
+            final WebSocketResponse response = new WebSocketResponse(session, requestId);
+            response.setStatus(status);
+            try {
+                response.getOutputStream().close();
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Can't send status {} for websocket request {}", status, requestId, e);
+            }
+        }
+
+        private static byte[] readFully(final InputStream in) throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+
+        // reads the header lines and returns the index of the payload
+        private static int readHeaders(final byte[] frame, final int from, final int end,
+                final Map<String, List<String>> headers) {
+            int position = from;
+            while (position < end) {
+                final int lineEnd = endOfLine(frame, position, end);
+                String line = readLine(frame, position, lineEnd);
+                position = Math.min(end, lineEnd + 1);
+                if (line.isEmpty()) { // empty line, means the next bytes are the payload
+                    return position;
+                }
+
+                final boolean done = line.endsWith(EOM);
+                if (done) {
+                    line = line.substring(0, line.length() - EOM_LENGTH);
+                }
+                if (!line.isEmpty()) {
+                    final int del = line.indexOf(':');
+                    if (del < 0) {
+                        headers.put(line.trim(), emptyList());
+                    } else {
+                        headers.put(line.substring(0, del).trim(), singletonList(line.substring(del + 1).trim()));
+                    }
+                }
+                if (done) { // no payload
+                    return end;
+                }
+            }
+            return end;
+        }
+
+        private static String readLine(final byte[] frame, final int start, final int lineEnd) {
+            final int end = lineEnd > start && frame[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            return new String(frame, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        private static int endOfLine(final byte[] frame, final int from, final int end) {
+            for (int i = from; i < end; i++) {
+                if (frame[i] == '\n') {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        private static int skipLineBreaks(final byte[] frame, final int from, final int end) {
+            int position = from;
+            while (position < end && (frame[position] == '\r' || frame[position] == '\n')) {
+                position++;
+            }
+            return position;
+        }
+
+        private static int indexOfEom(final byte[] frame, final int from, final int end) {
+            for (int i = from; i < end - 1; i++) {
+                if (frame[i] == '^' && frame[i + 1] == '@') {
+                    return i;
+                }
+            }
+            return -1;
         }
     }
 
@@ -847,8 +1011,12 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 return -1;
             }
             if (previous != Integer.MAX_VALUE) {
+                final int value = previous;
                 previous = Integer.MAX_VALUE;
-                return previous;
+                if (value < 0) {
+                    finished = true;
+                }
+                return value;
             }
             final int read = delegate.read();
             if (read == '^') {
@@ -869,6 +1037,8 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private final Session session;
 
+        private final String requestId;
+
         private int code = HttpServletResponse.SC_OK;
 
         private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
@@ -883,8 +1053,9 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private Locale locale = Locale.getDefault();
 
-        private WebSocketResponse(final Session session) {
+        private WebSocketResponse(final Session session, final String requestId) {
             this.session = session;
+            this.requestId = requestId;
         }
 
         /**
@@ -1039,6 +1210,9 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
             return sosi = new ServletByteArrayOutputStream(session, () -> {
                 final StringBuilder top = new StringBuilder("MESSAGE\r\n");
                 top.append("status: ").append(getStatus()).append("\r\n");
+                if (requestId != null) {
+                    top.append(REQUEST_ID).append(": ").append(requestId).append("\r\n");
+                }
                 headers
                         .forEach((k, v) -> top
                                 .append(k)
@@ -1127,8 +1301,6 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private static final byte[] EOM_BYTES = EOM.getBytes(StandardCharsets.UTF_8);
 
-        private static final int BUFFER_SIZE = 1024 * 8;
-
         private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         private final Session session;
@@ -1137,8 +1309,6 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private boolean closed;
 
-        private boolean headerWritten;
-
         private ServletByteArrayOutputStream(final Session session, final Supplier<String> preWrite) {
             this.session = session;
             this.preWrite = preWrite;
@@ -1173,13 +1343,8 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
         }
 
         @Override
-        public void flush() throws IOException {
-            if (!session.isOpen()) {
-                return;
-            }
-            if (outputStream.size() >= BUFFER_SIZE) {
-                doFlush();
-            }
+        public void flush() {
+            // no-op, the response is sent in a single frame on close
         }
 
         @Override
@@ -1189,29 +1354,23 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
             }
 
             outputStream.write(EOM_BYTES);
-            doFlush();
             closed = true;
+            doSend();
         }
 
-        private void doFlush() throws IOException {
-            final RemoteEndpoint.Basic basicRemote = session.getBasicRemote();
-
-            final byte[] array = outputStream.toByteArray();
-            final boolean written = array.length > 0 || !headerWritten;
-
-            if (!headerWritten) {
-                final String headers = preWrite.get();
-                basicRemote.sendBinary(ByteBuffer.wrap(headers.getBytes(StandardCharsets.UTF_8)));
-                headerWritten = true;
-            }
-
-            if (array.length > 0) {
-                outputStream.reset();
-                basicRemote.sendBinary(ByteBuffer.wrap(array));
-            }
-
-            if (written && basicRemote.getBatchingAllowed()) {
-                basicRemote.flushBatch();
+        // responses can be concurrent on the same session (correlated requests) so each of them is sent
+        // in a single frame (headers, payload and EOM) to ensure they are never interleaved
+        private void doSend() throws IOException {
+            final byte[] headers = preWrite.get().getBytes(StandardCharsets.UTF_8);
+            final ByteBuffer message = ByteBuffer.allocate(headers.length + outputStream.size());
+            message.put(headers).put(outputStream.toByteArray()).flip();
+            outputStream.reset();
+            synchronized (session) { // the basic remote does not support concurrent sends
+                final RemoteEndpoint.Basic basicRemote = session.getBasicRemote();
+                basicRemote.sendBinary(message);
+                if (basicRemote.getBatchingAllowed()) {
+                    basicRemote.flushBatch();
+                }
             }
         }
     }
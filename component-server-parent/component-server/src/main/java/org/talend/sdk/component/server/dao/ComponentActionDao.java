@@ -28,9 +28,12 @@ public class ComponentActionDao {
 
     private Map<ActionKey, ServiceMeta.ActionMeta> data = new ConcurrentHashMap<>();
 
-    public ActionKey createOrUpdate(final ServiceMeta.ActionMeta meta) {
+    private Map<ActionKey, String> plugins = new ConcurrentHashMap<>();
+
+    public ActionKey createOrUpdate(final String plugin, final ServiceMeta.ActionMeta meta) {
         final ActionKey key = new ActionKey(meta.getFamily(), meta.getType(), meta.getAction());
         data.put(key, meta);
+        plugins.put(key, plugin);
         return key;
     }
 
@@ -38,8 +41,13 @@ public class ComponentActionDao {
         return data.get(new ActionKey(component, type, action));
     }
 
+    public String findPluginBy(final String component, final String type, final String action) {
+        return plugins.get(new ActionKey(component, type, action));
+    }
+
     public void removeById(final ActionKey key) {
         data.remove(key);
+        plugins.remove(key);
     }
 
     public static class ActionKey {
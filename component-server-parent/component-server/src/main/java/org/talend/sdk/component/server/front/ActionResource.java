@@ -51,6 +51,7 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
 import org.talend.sdk.component.runtime.manager.ServiceMeta;
@@ -59,6 +60,7 @@ import org.talend.sdk.component.server.front.model.ActionItem;
 import org.talend.sdk.component.server.front.model.ActionList;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.service.ActionCacheService;
 import org.talend.sdk.component.server.service.LocaleMapper;
 import org.talend.sdk.component.server.service.PropertiesService;
 import org.talend.sdk.component.server.service.httpurlconnection.IgnoreNetAuthenticator;
@@ -86,6 +88,9 @@ public class ActionResource {
     @Inject
     private LocaleMapper localeMapper;
 
+    @Inject
+    private ActionCacheService actionCache;
+
     @POST
     @Path("execute")
     @Operation(
@@ -132,7 +137,10 @@ public class ActionResource {
         try {
             final Map<String, String> runtimeParams = ofNullable(params).map(HashMap::new).orElseGet(HashMap::new);
             runtimeParams.put("$lang", localeMapper.mapLocale(lang).getLanguage());
-            final Object result = actionMeta.getInvoker().apply(runtimeParams);
+            final Container plugin =
+                    ofNullable(actionDao.findPluginBy(family, type, action)).flatMap(manager::findPlugin).orElse(null);
+            final Object result = actionCache
+                    .execute(plugin, actionMeta, runtimeParams, () -> actionMeta.getInvoker().apply(runtimeParams));
             return Response.ok(result).type(APPLICATION_JSON_TYPE).build();
         } catch (final RuntimeException re) {
             log.warn(re.getMessage(), re);
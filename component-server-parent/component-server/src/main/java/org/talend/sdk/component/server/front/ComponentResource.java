@@ -24,6 +24,8 @@ import static java.util.stream.Collectors.toMap;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
+import static org.eclipse.microprofile.openapi.annotations.enums.ParameterIn.HEADER;
 import static org.eclipse.microprofile.openapi.annotations.enums.ParameterIn.PATH;
 import static org.eclipse.microprofile.openapi.annotations.enums.ParameterIn.QUERY;
 import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.OBJECT;
@@ -32,12 +34,22 @@ import static org.talend.sdk.component.server.front.model.ErrorDictionary.COMPON
 import static org.talend.sdk.component.server.front.model.ErrorDictionary.DESIGN_MODEL_MISSING;
 import static org.talend.sdk.component.server.front.model.ErrorDictionary.PLUGIN_MISSING;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -45,21 +57,30 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
@@ -94,8 +115,10 @@ import org.talend.sdk.component.server.front.model.Link;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 import org.talend.sdk.component.server.service.ActionsService;
 import org.talend.sdk.component.server.service.ComponentManagerService;
+import org.talend.sdk.component.server.service.DependencyChecksums;
 import org.talend.sdk.component.server.service.IconResolver;
 import org.talend.sdk.component.server.service.LocaleMapper;
+import org.talend.sdk.component.server.service.MigrationService;
 import org.talend.sdk.component.server.service.PropertiesService;
 import org.talend.sdk.component.spi.component.ComponentExtension;
 
@@ -135,9 +158,15 @@ public class ComponentResource {
     @Inject
     private IconResolver iconResolver;
 
+    @Inject
+    private DependencyChecksums dependencyChecksums;
+
     @Inject
     private ComponentServerConfiguration configuration;
 
+    @Inject
+    private MigrationService migrationService;
+
     @PostConstruct
     private void setupRuntime() {
         log.info("Initializing " + getClass());
@@ -195,51 +224,92 @@ public class ComponentResource {
     @Path("dependency/{id}")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     @Operation(description = "Return a binary of the dependency represented by `id`. "
-            + "It can be maven coordinates for dependencies or a component id.")
+            + "It can be maven coordinates for dependencies or a component id. "
+            + "A single byte range (`Range: bytes=<start>-<end>`), `If-Range` and conditional requests are supported.")
     @APIResponse(responseCode = "200", description = "The dependency binary (jar).",
             content = @Content(mediaType = APPLICATION_OCTET_STREAM))
-    public StreamingOutput getDependency(@PathParam("id") @Parameter(name = "id",
-            description = "the dependency binary (jar).", in = PATH) final String id) {
-        final ComponentFamilyMeta.BaseMeta<?> component = componentDao.findById(id);
-        final File file;
-        if (component != null) { // local dep
-            file = componentManagerService
-                    .manager()
-                    .findPlugin(component.getParent().getPlugin())
-                    .orElseThrow(() -> new WebApplicationException(Response
-                            .status(Response.Status.NOT_FOUND)
-                            .type(APPLICATION_JSON_TYPE)
-                            .entity(new ErrorPayload(PLUGIN_MISSING, "No plugin matching the id: " + id))
-                            .build()))
-                    .getContainerFile()
-                    .orElseThrow(() -> new WebApplicationException(Response
-                            .status(Response.Status.NOT_FOUND)
-                            .type(APPLICATION_JSON_TYPE)
-                            .entity(new ErrorPayload(PLUGIN_MISSING, "No dependency matching the id: " + id))
-                            .build()));
-        } else { // just try to resolve it locally, note we would need to ensure some security here
-            // .map(Artifact::toPath).map(localDependencyRelativeResolver
-            final Artifact artifact = Artifact.from(id);
-            file = componentManagerService.manager().getContainer().resolve(artifact.toPath());
+    @APIResponse(responseCode = "206", description = "The requested range of the dependency binary (jar).",
+            content = @Content(mediaType = APPLICATION_OCTET_STREAM))
+    @APIResponse(responseCode = "304", description = "The dependency didn't change (`ETag` or `Last-Modified` match).")
+    @APIResponse(responseCode = "416", description = "The requested range can't be satisfied.")
+    public Response getDependency(
+            @PathParam("id") @Parameter(name = "id", description = "the dependency binary (jar).",
+                    in = PATH) final String id,
+            @HeaderParam("Range") @Parameter(name = "Range", description = "an optional byte range to download.",
+                    in = HEADER) final String range,
+            @HeaderParam("If-Range") @Parameter(name = "If-Range",
+                    description = "the range is only sent if the dependency still matches this `ETag` or date.",
+                    in = HEADER) final String ifRange,
+            @Context final Request request, @Context final HttpServletRequest servletRequest) {
+        final File file = findDependency(id);
+        final Date lastModified = new Date(file.lastModified());
+        final EntityTag etag = new EntityTag(dependencyChecksums.get(file));
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, etag);
+        if (notModified != null) {
+            return notModified.build();
         }
-        if (!file.exists()) {
-            throw new WebApplicationException(Response
-                    .status(Response.Status.NOT_FOUND)
-                    .type(APPLICATION_JSON_TYPE)
-                    .entity(new ErrorPayload(PLUGIN_MISSING, "No file found for: " + id))
-                    .build());
+
+        final long length = file.length();
+        final long[] bounds = parseRange(isRangeApplicable(ifRange, etag, lastModified) ? range : null, length);
+        if (bounds == null) {
+            return Response
+                    .status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + length)
+                    .build();
+        }
+        final long start = bounds[0];
+        final long count = bounds[1] - bounds[0] + 1;
+        final Response.ResponseBuilder builder = Response
+                .status(count == length ? Response.Status.OK : Response.Status.PARTIAL_CONTENT)
+                .type(APPLICATION_OCTET_STREAM_TYPE)
+                .tag(etag)
+                .lastModified(lastModified)
+                .header("Accept-Ranges", "bytes")
+                .header(HttpHeaders.CONTENT_LENGTH, count);
+        if (count != length) {
+            builder.header("Content-Range", "bytes " + start + "-" + bounds[1] + "/" + length);
         }
+
+        // let tomcat write the file itself (sendfile) when possible
+        if (configuration.getDependencySendfile() && servletRequest != null
+                && Boolean.TRUE.equals(servletRequest.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            servletRequest.setAttribute("org.apache.tomcat.sendfile.filename", file.getAbsolutePath());
+            servletRequest.setAttribute("org.apache.tomcat.sendfile.start", start);
+            servletRequest.setAttribute("org.apache.tomcat.sendfile.end", start + count);
+            return builder.build();
+        }
+        return builder.entity((StreamingOutput) output -> transfer(file, start, count, output)).build();
+    }
+
+    @GET
+    @Path("dependencies/download")
+    @Produces("application/zip")
+    @Operation(description = "Return a zip containing the binaries of the dependencies represented by `identifier`. "
+            + "Each identifier can be maven coordinates for dependencies or a component id. "
+            + "Dependencies are stored with their maven repository path and components with their plugin file name.")
+    @APIResponse(responseCode = "200", description = "The dependency binaries (zip).",
+            content = @Content(mediaType = "application/zip"))
+    public StreamingOutput getDependenciesArchive(@QueryParam("identifier") @Parameter(name = "identifier",
+            description = "the list of dependencies to include in the archive.", in = QUERY) final String[] ids) {
+        // resolve all files before writing anything to be able to fail with a 404
+        final Map<String, File> files = Stream
+                .of(ids)
+                .distinct()
+                .collect(toMap(this::toArchiveEntryName, this::findDependency, (a, b) -> a, LinkedHashMap::new));
         return output -> {
-            final byte[] buffer = new byte[40960]; // 5k
-            try (final InputStream stream = new BufferedInputStream(new FileInputStream(file), buffer.length)) {
-                int count;
-                while ((count = stream.read(buffer)) >= 0) {
-                    if (count == 0) {
-                        continue;
-                    }
-                    output.write(buffer, 0, count);
-                }
+            final ZipOutputStream zip = new ZipOutputStream(output);
+            for (final Map.Entry<String, File> file : files.entrySet()) {
+                final File dependency = file.getValue();
+                final ZipEntry entry = new ZipEntry(file.getKey());
+                entry.setMethod(ZipEntry.STORED); // jars are already compressed, crc is declared before content
+                entry.setSize(dependency.length());
+                entry.setCompressedSize(dependency.length());
+                entry.setCrc(dependencyChecksums.getCrc32(dependency));
+                zip.putNextEntry(entry);
+                Files.copy(dependency.toPath(), zip);
+                zip.closeEntry();
             }
+            zip.finish();
         };
     }
 
@@ -386,6 +456,28 @@ public class ComponentResource {
                 .migrate(version, config);
     }
 
+    @POST
+    @Path("migrate")
+    @Consumes(MigrationService.JSON_LINES)
+    @Produces(MigrationService.JSON_LINES)
+    @Operation(description = "Allows to migrate a set of component configurations without calling any component "
+            + "execution. Each line of the payload is a JSON object with the component `id`, the configuration "
+            + "`version` and the `configuration` in key/value form. The configurations are migrated concurrently "
+            + "and each line of the response is the result of the line of the request with the same index: "
+            + "a JSON object with the `id` and either the migrated `configuration` or an `error`.")
+    @APIResponse(responseCode = "200", description = "the migrated configurations or the errors, one per line.",
+            content = @Content(mediaType = MigrationService.JSON_LINES))
+    public StreamingOutput migrate(@RequestBody(
+            description = "the configurations to migrate, one JSON object per line.", required = true,
+            content = @Content(mediaType = MigrationService.JSON_LINES)) final InputStream configurations) {
+        return migrationService
+                .migrate(configurations,
+                        id -> ofNullable(componentDao.findById(id))
+                                .map(ComponentFamilyMeta.BaseMeta::getMigrationHandler)
+                                .orElse(null),
+                        COMPONENT_MISSING);
+    }
+
     @GET // TODO: max ids.length
     @Path("details") // bulk mode to avoid to fetch components one by one when reloading a pipeline/job
     @Operation(description = "Returns the set of metadata about a few components identified by their 'id'.")
@@ -517,4 +609,106 @@ public class ComponentResource {
         }
         return category;
     }
+
+    private File findDependency(final String id) {
+        final ComponentFamilyMeta.BaseMeta<?> component = componentDao.findById(id);
+        final File file;
+        if (component != null) { // local dep
+            file = componentManagerService
+                    .manager()
+                    .findPlugin(component.getParent().getPlugin())
+                    .orElseThrow(() -> new WebApplicationException(Response
+                            .status(Response.Status.NOT_FOUND)
+                            .type(APPLICATION_JSON_TYPE)
+                            .entity(new ErrorPayload(PLUGIN_MISSING, "No plugin matching the id: " + id))
+                            .build()))
+                    .getContainerFile()
+                    .orElseThrow(() -> new WebApplicationException(Response
+                            .status(Response.Status.NOT_FOUND)
+                            .type(APPLICATION_JSON_TYPE)
+                            .entity(new ErrorPayload(PLUGIN_MISSING, "No dependency matching the id: " + id))
+                            .build()));
+        } else { // just try to resolve it locally, note we would need to ensure some security here
+            // .map(Artifact::toPath).map(localDependencyRelativeResolver
+            final Artifact artifact = Artifact.from(id);
+            file = componentManagerService.manager().getContainer().resolve(artifact.toPath());
+        }
+        if (!file.exists()) {
+            throw new WebApplicationException(Response
+                    .status(Response.Status.NOT_FOUND)
+                    .type(APPLICATION_JSON_TYPE)
+                    .entity(new ErrorPayload(PLUGIN_MISSING, "No file found for: " + id))
+                    .build());
+        }
+        return file;
+    }
+
+    private String toArchiveEntryName(final String id) {
+        if (componentDao.findById(id) != null) { // plugin, use its file name
+            return findDependency(id).getName();
+        }
+        return Artifact.from(id).toPath();
+    }
+
+    // a range only applies to the representation the client already has (RFC 7233 3.2), else the whole content
+    // is sent, If-Range requires a strong entity tag or an exact date
+    private boolean isRangeApplicable(final String ifRange, final EntityTag etag, final Date lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals('"' + etag.getValue() + '"');
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().getEpochSecond()
+                    == TimeUnit.MILLISECONDS.toSeconds(lastModified.getTime());
+        } catch (final DateTimeParseException dtpe) {
+            return false;
+        }
+    }
+
+    // returns [start, end] (inclusive) or null if the range is not satisfiable,
+    // multiple ranges are not supported and lead to the full content as allowed by the RFC 7233
+    private long[] parseRange(final String range, final long length) {
+        if (range == null || !range.startsWith("bytes=") || range.indexOf(',') > 0) {
+            return new long[] { 0, length - 1 };
+        }
+        final String value = range.substring("bytes=".length()).trim();
+        final int sep = value.indexOf('-');
+        if (sep < 0) {
+            return new long[] { 0, length - 1 };
+        }
+        try {
+            final String startValue = value.substring(0, sep).trim();
+            final String endValue = value.substring(sep + 1).trim();
+            final long start;
+            final long end;
+            if (startValue.isEmpty()) { // suffix: last N bytes
+                start = Math.max(0, length - Long.parseLong(endValue));
+                end = length - 1;
+            } else {
+                start = Long.parseLong(startValue);
+                end = endValue.isEmpty() ? length - 1 : Math.min(length - 1, Long.parseLong(endValue));
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (final NumberFormatException nfe) {
+            return new long[] { 0, length - 1 };
+        }
+    }
+
+    private void transfer(final File file, final long start, final long count, final OutputStream output)
+            throws IOException {
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = start;
+            final long end = start + count;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        }
+    }
 }
@@ -28,6 +28,7 @@ import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.BOOL
 import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.OBJECT;
 import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.STRING;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Locale;
@@ -47,6 +48,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -55,6 +57,7 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.talend.sdk.component.api.component.MigrationHandler;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.design.extension.RepositoryModel;
 import org.talend.sdk.component.design.extension.repository.Config;
@@ -68,6 +71,7 @@ import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 import org.talend.sdk.component.server.service.ActionsService;
 import org.talend.sdk.component.server.service.LocaleMapper;
+import org.talend.sdk.component.server.service.MigrationService;
 import org.talend.sdk.component.server.service.PropertiesService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -96,6 +100,9 @@ public class ConfigurationTypeResource {
     @Inject
     private ConfigurationDao configurations;
 
+    @Inject
+    private MigrationService migrationService;
+
     @GET
     @Path("index")
     @Operation(description = "Returns all available configuration type - storable models. "
@@ -164,6 +171,34 @@ public class ConfigurationTypeResource {
                         .entity(new ErrorPayload(ErrorDictionary.CONFIGURATION_MISSING,
                                 "Didn't find configuration " + id))
                         .build()));
+        return doMigrate(configuration, version, config);
+    }
+
+    @POST
+    @Path("migrate")
+    @Consumes(MigrationService.JSON_LINES)
+    @Produces(MigrationService.JSON_LINES)
+    @Operation(description = "Allows to migrate a set of configurations without calling any component execution. "
+            + "Each line of the payload is a JSON object with the configuration type `id`, the configuration "
+            + "`version` and the `configuration` in key/value form. The configurations are migrated concurrently "
+            + "and each line of the response is the result of the line of the request with the same index: "
+            + "a JSON object with the `id` and either the migrated `configuration` or an `error`.")
+    @APIResponse(responseCode = "200", description = "the migrated configurations or the errors, one per line.",
+            content = @Content(mediaType = MigrationService.JSON_LINES))
+    public StreamingOutput migrate(@RequestBody(
+            description = "the configurations to migrate, one JSON object per line.", required = true,
+            content = @Content(mediaType = MigrationService.JSON_LINES)) final InputStream configs) {
+        return migrationService
+                .migrate(configs,
+                        id -> ofNullable(configurations.findById(id))
+                                .map(configuration -> (MigrationHandler) (version,
+                                        config) -> doMigrate(configuration, version, config))
+                                .orElse(null),
+                        ErrorDictionary.CONFIGURATION_MISSING);
+    }
+
+    private Map<String, String> doMigrate(final Config configuration, final int version,
+            final Map<String, String> config) {
         final Map<String, String> configToMigrate = new HashMap<>(config);
         final String versionKey = configuration.getMeta().getPath() + ".__version";
         final boolean addedVersion = configToMigrate.putIfAbsent(versionKey, Integer.toString(version)) == null;
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toMap;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.manager.ServiceMeta;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in cache of the action results, the cache is stored per plugin (container) so it is dropped with it.
+ * Concurrent identical requests share the same execution.
+ */
+@Slf4j
+@ApplicationScoped
+public class ActionCacheService {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private Map<String, Long> ttls;
+
+    private int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    @PostConstruct
+    private void init() {
+        maxSize = configuration.getActionCacheMaxSize();
+        ttls = configuration.getActionCacheActive()
+                ? Stream
+                        .of(configuration.getActionCacheTtl().split(","))
+                        .map(String::trim)
+                        .filter(it -> !it.isEmpty())
+                        .map(it -> it.split("="))
+                        .collect(toMap(it -> it[0].trim(), it -> Duration.parse(it[1].trim()).toMillis()))
+                : emptyMap();
+        if (!ttls.isEmpty()) {
+            log.info("Activating action cache for types {}", ttls.keySet());
+        }
+    }
+
+    public Object execute(final Container container, final ServiceMeta.ActionMeta meta,
+            final Map<String, String> params, final Supplier<Object> invoker) {
+        final Long ttl = ttls.get(meta.getType());
+        if (ttl == null || container == null) {
+            return invoker.get();
+        }
+
+        final ActionCache cache = getOrCreateCache(container);
+        final ActionKey key = new ActionKey(meta.getFamily(), meta.getType(), meta.getAction(), new TreeMap<>(params));
+        final Object cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        final CompletableFuture<Object> execution = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = cache.inflight.putIfAbsent(key, execution);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.join();
+            } catch (final CompletionException ce) {
+                if (RuntimeException.class.isInstance(ce.getCause())) {
+                    throw RuntimeException.class.cast(ce.getCause());
+                }
+                if (Error.class.isInstance(ce.getCause())) {
+                    throw Error.class.cast(ce.getCause());
+                }
+                throw ce;
+            }
+        }
+        try {
+            final Object result = invoker.get();
+            if (result != null) {
+                cache.put(key, result, System.currentTimeMillis() + ttl);
+            }
+            execution.complete(result);
+            return result;
+        } catch (final Throwable t) { // includes errors and sneaky thrown checked exceptions
+            execution.completeExceptionally(t);
+            throw t;
+        } finally {
+            cache.inflight.remove(key, execution);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private ActionCache getOrCreateCache(final Container container) {
+        ActionCache cache = container.get(ActionCache.class);
+        if (cache == null) {
+            synchronized (container) {
+                cache = container.get(ActionCache.class);
+                if (cache == null) {
+                    cache = new ActionCache(maxSize, evictions);
+                    container.set(ActionCache.class, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static class ActionCache {
+
+        private final ConcurrentMap<ActionKey, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+
+        private final Map<ActionKey, CachedResult> results;
+
+        private ActionCache(final int maxSize, final LongAdder evictions) {
+            this.results = new LinkedHashMap<ActionKey, CachedResult>(16, .75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<ActionKey, CachedResult> eldest) {
+                    final boolean evict = size() > maxSize;
+                    if (evict) {
+                        evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        private synchronized Object get(final ActionKey key) {
+            final CachedResult result = results.get(key);
+            if (result == null) {
+                return null;
+            }
+            if (result.expiresAt < System.currentTimeMillis()) {
+                results.remove(key);
+                return null;
+            }
+            return result.value;
+        }
+
+        private synchronized void put(final ActionKey key, final Object value, final long expiresAt) {
+            results.put(key, new CachedResult(value, expiresAt));
+        }
+    }
+
+    @Data
+    private static class CachedResult {
+
+        private final Object value;
+
+        private final long expiresAt;
+    }
+
+    @Data
+    private static class ActionKey {
+
+        private final String family;
+
+        private final String type;
+
+        private final String action;
+
+        // sorted and includes the $lang entry
+        private final Map<String, String> params;
+    }
+}
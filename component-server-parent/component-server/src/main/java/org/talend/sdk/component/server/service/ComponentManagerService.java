@@ -201,7 +201,7 @@ public class ComponentManagerService {
                     .getServices()
                     .stream()
                     .flatMap(c -> c.getActions().stream())
-                    .map(actionDao::createOrUpdate)
+                    .map(action -> actionDao.createOrUpdate(plugin.getId(), action))
                     .collect(toList());
 
             final Collection<String> families = plugin
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import lombok.Data;
+
+/**
+ * Provides the SHA-1 of the dependencies (used as ETag), it reuses the maven .sha1 file when present
+ * and computes it only once per file version otherwise. The CRC-32 of the stored archive entries is cached the same
+ * way.
+ */
+@ApplicationScoped
+public class DependencyChecksums {
+
+    private final ConcurrentMap<File, Checksum<String>> checksums = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<File, Checksum<Long>> crcs = new ConcurrentHashMap<>();
+
+    public String get(final File file) {
+        return get(checksums, file, this::compute);
+    }
+
+    public long getCrc32(final File file) {
+        return get(crcs, file, this::computeCrc32);
+    }
+
+    private <T> T get(final ConcurrentMap<File, Checksum<T>> cache, final File file,
+            final Function<File, T> computer) {
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        final Checksum<T> existing = cache.get(file);
+        if (existing != null && existing.lastModified == lastModified && existing.length == length) {
+            return existing.value;
+        }
+        final Checksum<T> checksum = new Checksum<>(lastModified, length, computer.apply(file));
+        cache.put(file, checksum);
+        return checksum.value;
+    }
+
+    private long computeCrc32(final File file) {
+        final CRC32 crc = new CRC32();
+        try (final InputStream stream = Files.newInputStream(file.toPath())) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return crc.getValue();
+    }
+
+    private String compute(final File file) {
+        final File sha1 = new File(file.getParentFile(), file.getName() + ".sha1");
+        if (sha1.isFile() && sha1.lastModified() >= file.lastModified()) {
+            try {
+                final String value = new String(Files.readAllBytes(sha1.toPath()), StandardCharsets.UTF_8).trim();
+                final int space = value.indexOf(' '); // some tools append the file name
+                return space > 0 ? value.substring(0, space) : value;
+            } catch (final IOException e) {
+                // no-op: compute it
+            }
+        }
+        try (final DigestInputStream stream =
+                new DigestInputStream(Files.newInputStream(file.toPath()), MessageDigest.getInstance("SHA-1"))) {
+            final byte[] buffer = new byte[8192];
+            while (stream.read(buffer) >= 0) {
+                // no-op
+            }
+            final byte[] digest = stream.getMessageDigest().digest();
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Data
+    private static class Checksum<T> {
+
+        private final long lastModified;
+
+        private final long length;
+
+        private final T value;
+    }
+}
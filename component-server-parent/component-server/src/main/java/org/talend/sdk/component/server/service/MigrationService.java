@@ -0,0 +1,241 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toMap;
+import static org.talend.sdk.component.server.front.model.ErrorDictionary.BAD_FORMAT;
+import static org.talend.sdk.component.server.front.model.ErrorDictionary.UNEXPECTED;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.talend.sdk.component.api.component.MigrationHandler;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.front.model.ErrorDictionary;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk migration of configurations. Items are JSON lines ({@code {"id":...,"version":...,"configuration":{...}}}),
+ * they are migrated concurrently but the results are written in the order of the items so each output line
+ * matches the input line with the same index. A failing item is reported on its line and does not stop the stream.
+ */
+@Slf4j
+@ApplicationScoped
+public class MigrationService {
+
+    public static final String JSON_LINES = "application/x-ndjson";
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private final JsonReaderFactory readerFactory = Json.createReaderFactory(emptyMap());
+
+    private final JsonGeneratorFactory generatorFactory = Json.createGeneratorFactory(emptyMap());
+
+    private ExecutorService executor;
+
+    private int maxPendingItems;
+
+    @PostConstruct
+    private void init() {
+        final int threads = configuration.getMigrationBulkThreads();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, task -> {
+            final Thread thread =
+                    new Thread(task, "talend-component-server-migration-" + threadCounter.incrementAndGet());
+            thread.setContextClassLoader(loader);
+            return thread;
+        });
+        // bounds the memory used by a bulk request while keeping all threads busy
+        maxPendingItems = threads * 4;
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdown();
+        try {
+            if (!executor
+                    .awaitTermination(Duration.parse(configuration.getExecutionPoolShutdownTimeout()).toMillis(),
+                            TimeUnit.MILLISECONDS)) {
+                log.warn("Some migrations are still running: {}", executor.shutdownNow());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param items the JSON lines to migrate.
+     * @param handlers the migration handler of an identifier or null if it does not exist.
+     * @param missing the error code to use when the identifier does not exist.
+     * @return the JSON lines of the migrated configurations or errors.
+     */
+    public StreamingOutput migrate(final InputStream items, final Function<String, MigrationHandler> handlers,
+            final ErrorDictionary missing) {
+        // most bulk requests migrate a lot of configurations for a few identifiers
+        final ConcurrentMap<String, Optional<MigrationHandler>> resolved = new ConcurrentHashMap<>();
+        final Function<String, Optional<MigrationHandler>> lookup =
+                id -> resolved.computeIfAbsent(id, key -> Optional.ofNullable(handlers.apply(key)));
+        return output -> {
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(items, UTF_8));
+                    final Writer writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8))) {
+                final Deque<Future<String>> pending = new ArrayDeque<>(maxPendingItems);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    final String item = line;
+                    pending.add(executor.submit(() -> migrate(item, lookup, missing)));
+                    if (pending.size() >= maxPendingItems) {
+                        write(writer, pending.poll());
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    write(writer, pending.poll());
+                }
+            }
+        };
+    }
+
+    private void write(final Writer writer, final Future<String> result) throws IOException {
+        if (!result.isDone()) { // send what is ready before waiting
+            writer.flush();
+        }
+        try {
+            writer.write(result.get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) { // migrate() handles the errors, don't stop the stream if it missed one
+            log.debug(e.getMessage(), e);
+            writer.write(error(null, UNEXPECTED, e.getCause().getMessage()));
+        }
+        writer.write('\n');
+    }
+
+    private String migrate(final String item, final Function<String, Optional<MigrationHandler>> handlers,
+            final ErrorDictionary missing) {
+        String id = null;
+        try {
+            final JsonObject json;
+            try (final JsonReader reader = readerFactory.createReader(new StringReader(item))) {
+                json = reader.readObject();
+            }
+            id = json.getString("id", null);
+            if (id == null || !json.containsKey("version") || !json.containsKey("configuration")) {
+                return error(id, BAD_FORMAT, "An item must have an id, a version and a configuration");
+            }
+            final Optional<MigrationHandler> handler = handlers.apply(id);
+            if (!handler.isPresent()) {
+                return error(id, missing, "Didn't find " + id);
+            }
+            final Map<String, String> config = json
+                    .getJsonObject("configuration")
+                    .entrySet()
+                    .stream()
+                    .collect(toMap(Map.Entry::getKey, e -> toString(e.getValue())));
+            return success(id, handler.get().migrate(json.getInt("version"), config));
+        } catch (final JsonException | ClassCastException e) {
+            return error(id, BAD_FORMAT, e.getMessage());
+        } catch (final Throwable t) { // handlers can also fail with errors (linkage...), it must not stop the stream
+            log.debug(t.getMessage(), t);
+            return error(id, UNEXPECTED, t.getMessage());
+        }
+    }
+
+    private String toString(final JsonValue value) {
+        return value.getValueType() == JsonValue.ValueType.STRING ? JsonString.class.cast(value).getString()
+                : value.toString();
+    }
+
+    private String success(final String id, final Map<String, String> migrated) {
+        final StringWriter out = new StringWriter();
+        try (final JsonGenerator generator = generatorFactory.createGenerator(out)) {
+            generator.writeStartObject().write("id", id).writeStartObject("configuration");
+            if (migrated != null) {
+                migrated.forEach((key, value) -> {
+                    if (value == null) {
+                        generator.writeNull(key);
+                    } else {
+                        generator.write(key, value);
+                    }
+                });
+            }
+            generator.writeEnd().writeEnd();
+        }
+        return out.toString();
+    }
+
+    private String error(final String id, final ErrorDictionary code, final String description) {
+        final StringWriter out = new StringWriter();
+        try (final JsonGenerator generator = generatorFactory.createGenerator(out)) {
+            generator.writeStartObject();
+            if (id == null) {
+                generator.writeNull("id");
+            } else {
+                generator.write("id", id);
+            }
+            generator
+                    .writeStartObject("error")
+                    .write("code", code.name())
+                    .write("description", String.valueOf(description))
+                    .writeEnd()
+                    .writeEnd();
+        }
+        return out.toString();
+    }
+}
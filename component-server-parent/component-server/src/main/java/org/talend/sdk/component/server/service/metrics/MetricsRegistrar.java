@@ -15,11 +15,17 @@
  */
 package org.talend.sdk.component.server.service.metrics;
 
+import static java.util.Optional.ofNullable;
+
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
@@ -46,6 +52,11 @@ import org.hyperic.sigar.SigarException;
 import org.hyperic.sigar.SigarLoader;
 import org.hyperic.sigar.SigarProxy;
 import org.hyperic.sigar.SigarProxyCache;
+import org.talend.sdk.component.runtime.metrics.ComponentMetrics;
+import org.talend.sdk.component.runtime.metrics.Instrumentation;
+import org.talend.sdk.component.runtime.metrics.InstrumentationListener;
+import org.talend.sdk.component.runtime.metrics.LatencyHistogram;
+import org.talend.sdk.component.server.service.ActionCacheService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -63,11 +74,15 @@ public class MetricsRegistrar {
 
     private Meecrowave meecrowave;
 
+    private InstrumentationListener componentMetricsListener;
+
     public void start() {
         registry = CDI.current().select(MetricRegistry.class, new BaseRegistryLiteral()).get();
         meecrowave = CDI.current().select(Meecrowave.class).get();
 
         registerServerMetrics();
+        registerActionCacheMetrics();
+        registerComponentMetrics();
 
         if (!ensureSigarIsLoaded()) {
             return;
@@ -151,6 +166,61 @@ public class MetricsRegistrar {
                 });
     }
 
+    private void registerActionCacheMetrics() {
+        final ActionCacheService cache = CDI.current().select(ActionCacheService.class).get();
+        addGauge("server.actions.cache.hits", "Action Cache Hits", cache::getHits);
+        addGauge("server.actions.cache.misses", "Action Cache Misses", cache::getMisses);
+        addGauge("server.actions.cache.evictions", "Action Cache Evictions", cache::getEvictions);
+        addGauge("server.actions.cache.coalesced", "Action Cache Coalesced Executions", cache::getCoalesced);
+    }
+
+    // only populated when the component instrumentation is active, see Instrumentation
+    private void registerComponentMetrics() {
+        componentMetricsListener = new InstrumentationListener() {
+
+            private final Map<Long, Collection<String>> keys = new ConcurrentHashMap<>();
+
+            @Override
+            public void onCreate(final ComponentMetrics metrics) {
+                final Collection<String> registered = new CopyOnWriteArrayList<>();
+                final String prefix = "component." + metrics.getPlugin() + "." + metrics.getFamily() + "."
+                        + metrics.getName() + "." + metrics.getId() + ".";
+                final String label = metrics.getFamily() + "#" + metrics.getName() + " ";
+                registered.add(addGauge(prefix + "records.in", label + "Records In", MetricUnits.NONE,
+                        () -> metrics.getRecordsIn().sum()));
+                registered.add(addGauge(prefix + "records.out", label + "Records Out", MetricUnits.NONE,
+                        () -> metrics.getRecordsOut().sum()));
+                registered.addAll(addLatency(prefix + "element.", label + "Element", metrics.getElementLatency()));
+                registered
+                        .addAll(addLatency(prefix + "afterGroup.", label + "After Group",
+                                metrics.getAfterGroupLatency()));
+                registered
+                        .addAll(addLatency(prefix + "conversion.", label + "Conversion",
+                                metrics.getConversionLatency()));
+                keys.put(metrics.getId(), registered);
+            }
+
+            @Override
+            public void onRelease(final ComponentMetrics metrics) {
+                ofNullable(keys.remove(metrics.getId())).ifPresent(names -> names.forEach(registry::remove));
+            }
+        };
+        Instrumentation.addListener(componentMetricsListener);
+    }
+
+    private Collection<String> addLatency(final String prefix, final String name, final LatencyHistogram histogram) {
+        final Collection<String> registered = new CopyOnWriteArrayList<>();
+        registered.add(addGauge(prefix + "count", name + " Count", MetricUnits.NONE, histogram::getCount));
+        registered.add(addGauge(prefix + "mean", name + " Mean", MetricUnits.NANOSECONDS, histogram::getMean));
+        registered.add(addGauge(prefix + "max", name + " Max", MetricUnits.NANOSECONDS, histogram::getMax));
+        Stream
+                .of(50, 95, 99)
+                .forEach(percentile -> registered
+                        .add(addGauge(prefix + "p" + percentile, name + " " + percentile + "th Percentile",
+                                MetricUnits.NANOSECONDS, () -> histogram.getValueAtPercentile(percentile))));
+        return registered;
+    }
+
     private void registerMachineMetrics() {
         addGauge("machine.cpu.idle", "CPU idle", () -> sigar.getCpu().getIdle());
         addGauge("machine.cpu.total", "CPU total", () -> sigar.getCpu().getTotal());
@@ -188,8 +258,13 @@ public class MetricsRegistrar {
     }
 
     private void addGauge(final String key, final String name, final ThrowingDoubleSupplier supplier) {
+        addGauge(key, name, MetricUnits.MILLISECONDS, supplier);
+    }
+
+    private String addGauge(final String key, final String name, final String unit,
+            final ThrowingDoubleSupplier supplier) {
         registry
-                .register(new Metadata(key, name, name, MetricType.GAUGE, MetricUnits.MILLISECONDS),
+                .register(new Metadata(key, name, name, MetricType.GAUGE, unit),
                         new Gauge<Double>() {
 
                             @Override
@@ -202,10 +277,12 @@ public class MetricsRegistrar {
                                 }
                             }
                         });
+        return key;
     }
 
     public void stop() {
-        sigarImpl.close();
+        ofNullable(componentMetricsListener).ifPresent(Instrumentation::removeListener);
+        ofNullable(sigarImpl).ifPresent(Sigar::close);
     }
 
     private interface ThrowingDoubleSupplier {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.configuration;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.inject.Inject;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.server.test.websocket.WebsocketClient;
+
+@MonoMeecrowaveConfig
+class WebSocketBroadcastSetupTest {
+
+    @Inject
+    private WebsocketClient ws;
+
+    @Test
+    void correlatedRequest() {
+        final List<String> messages = ws
+                .exchange("SEND\r\ndestination:/environment\r\ndestinationMethod:GET\r\nrequestId: env-1\r\n"
+                        + "Accept: application/json\r\n\r\n^@", 1);
+        assertEquals(1, messages.size());
+        final String message = messages.iterator().next();
+        assertTrue(message.startsWith("MESSAGE\r\nstatus: 200\r\nrequestId: env-1\r\n"), message);
+        assertTrue(message.contains("latestApiVersion"), message);
+    }
+
+    @Test
+    void batch() {
+        final List<String> messages = ws
+                .exchange("BATCH\r\nrequestId: b\r\nAccept: application/json\r\n\r\n"
+                        + "SEND\r\ndestination:/environment\r\ndestinationMethod:GET\r\n\r\n^@"
+                        + "SEND\r\ndestination:/component/index\r\ndestinationMethod:GET\r\n\r\n^@"
+                        + "SEND\r\ndestination:/environment\r\nrequestId: custom\r\n\r\n^@", 3);
+        assertEquals(3, messages.size());
+        messages.forEach(message -> assertTrue(message.startsWith("MESSAGE\r\nstatus: 200\r\n"), message));
+        assertEquals(new HashSet<>(asList("b/0", "b/1", "custom")), messages
+                .stream()
+                .map(message -> message.substring(message.indexOf("requestId: ") + "requestId: ".length()))
+                .map(id -> id.substring(0, id.indexOf('\r')))
+                .collect(toSet()));
+    }
+
+    @Test
+    void concurrentResponses() {
+        final StringBuilder batch = new StringBuilder("BATCH\r\nrequestId: c\r\nAccept: application/json\r\n\r\n");
+        for (int i = 0; i < 10; i++) {
+            batch.append("SEND\r\ndestination:/environment\r\ndestinationMethod:GET\r\n\r\n^@");
+        }
+        // the uncorrelated request is executed while the correlated ones are answered
+        final List<String> messages = ws
+                .exchange(asList(batch.toString(),
+                        "SEND\r\ndestination:/component/index?includeIconContent=true\r\ndestinationMethod:GET\r\n"
+                                + "Accept: application/json\r\n\r\n^@"),
+                        11);
+        assertEquals(11, messages.size());
+        messages.forEach(message -> {
+            assertTrue(message.startsWith("MESSAGE\r\nstatus: 200\r\n"), message);
+            assertEquals(message.length() - 2, message.indexOf("^@"), message);
+            assertEquals(message.indexOf("MESSAGE\r\n"), message.lastIndexOf("MESSAGE\r\n"), message);
+        });
+
+        final List<String> correlated =
+                messages.stream().filter(message -> message.contains("requestId: ")).collect(toList());
+        assertEquals(10, correlated.size());
+        correlated.forEach(message -> assertTrue(message.contains("latestApiVersion"), message));
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "c/" + i).collect(toSet()), correlated
+                .stream()
+                .map(message -> message.substring(message.indexOf("requestId: ") + "requestId: ".length()))
+                .map(id -> id.substring(0, id.indexOf('\r')))
+                .collect(toSet()));
+
+        final String index = messages
+                .stream()
+                .filter(message -> !message.contains("requestId: "))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertTrue(index.contains("\"components\""), index);
+        assertFalse(index.contains("latestApiVersion"), index);
+    }
+}
@@ -19,6 +19,7 @@ import static java.util.Collections.singletonList;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -32,6 +33,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Comparator;
@@ -43,11 +45,15 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import javax.inject.Inject;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.apache.ziplock.IO;
@@ -134,6 +140,83 @@ class ComponentResourceTest {
         jarValidator.accept(component);
     }
 
+    @Test
+    void getDependencyRangeAndEtag() {
+        final WebTarget target =
+                base.path("component/dependency/{id}").resolveTemplate("id", "org.apache.tomee:ziplock:jar:7.0.5");
+        final Response full = target.request(APPLICATION_OCTET_STREAM_TYPE).get();
+        assertEquals(200, full.getStatus());
+        final String etag = full.getHeaderString("ETag");
+        assertNotNull(etag);
+        final byte[] bytes = full.readEntity(byte[].class);
+
+        final Response range =
+                target.request(APPLICATION_OCTET_STREAM_TYPE).header("Range", "bytes=10-19").get();
+        assertEquals(206, range.getStatus());
+        assertEquals("bytes 10-19/" + bytes.length, range.getHeaderString("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(bytes, 10, 20), range.readEntity(byte[].class));
+
+        final Response currentRange = target
+                .request(APPLICATION_OCTET_STREAM_TYPE)
+                .header("Range", "bytes=10-19")
+                .header("If-Range", etag)
+                .get();
+        assertEquals(206, currentRange.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(bytes, 10, 20), currentRange.readEntity(byte[].class));
+
+        final Response outdatedRange = target
+                .request(APPLICATION_OCTET_STREAM_TYPE)
+                .header("Range", "bytes=10-19")
+                .header("If-Range", "\"outdated\"")
+                .get();
+        assertEquals(200, outdatedRange.getStatus());
+        assertNull(outdatedRange.getHeaderString("Content-Range"));
+        assertArrayEquals(bytes, outdatedRange.readEntity(byte[].class));
+
+        final Response notModified =
+                target.request(APPLICATION_OCTET_STREAM_TYPE).header("If-None-Match", etag).get();
+        assertEquals(304, notModified.getStatus());
+    }
+
+    @Test
+    void getDependenciesArchive() throws IOException {
+        final Map<String, Long> crcs = readDependenciesArchive();
+        assertEquals(2, crcs.size());
+        assertTrue(crcs.containsKey("org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar"));
+        // second call uses the cached crc
+        assertEquals(crcs, readDependenciesArchive());
+    }
+
+    // reading the content of a stored entry validates its declared size and crc
+    private Map<String, Long> readDependenciesArchive() throws IOException {
+        final InputStream stream = base
+                .path("component/dependencies/download")
+                .queryParam("identifier", "org.apache.tomee:ziplock:jar:7.0.5")
+                .queryParam("identifier", client.getJdbcId())
+                .request("application/zip")
+                .get(InputStream.class);
+        final Map<String, Long> crcs = new HashMap<>();
+        try (final ZipInputStream zip = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertEquals(ZipEntry.STORED, entry.getMethod());
+                final CRC32 crc = new CRC32();
+                final byte[] buffer = new byte[8192];
+                long size = 0;
+                int read;
+                while ((read = zip.read(buffer)) >= 0) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                }
+                assertTrue(size > 0);
+                assertEquals(entry.getSize(), size);
+                assertEquals(entry.getCrc(), crc.getValue());
+                crcs.put(entry.getName(), crc.getValue());
+            }
+        }
+        return crcs;
+    }
+
     @Test
     void getIndex() {
         assertIndex(client.fetchIndex());
@@ -156,6 +239,25 @@ class ComponentResourceTest {
         assertEquals("true", migrated.get("migrated"));
     }
 
+    @Test
+    void migrateBulk() {
+        final String jdbcId = client.getJdbcId();
+        final String[] results = base
+                .path("component/migrate")
+                .request("application/x-ndjson")
+                .post(entity("{\"id\":\"" + jdbcId + "\",\"version\":1,\"configuration\":{}}\n"
+                        + "{\"id\":\"missing\",\"version\":1,\"configuration\":{}}\n" + "not json\n"
+                        + "{\"id\":\"" + jdbcId + "\",\"version\":1,\"configuration\":{\"a\":\"b\"}}\n",
+                        "application/x-ndjson"), String.class)
+                .split("\n");
+        assertEquals(4, results.length);
+        assertEquals("{\"id\":\"" + jdbcId + "\",\"configuration\":{\"migrated\":\"true\"}}", results[0]);
+        assertTrue(results[1].startsWith("{\"id\":\"missing\",\"error\":{\"code\":\"COMPONENT_MISSING\""),
+                results[1]);
+        assertTrue(results[2].startsWith("{\"id\":null,\"error\":{\"code\":\"BAD_FORMAT\""), results[2]);
+        assertTrue(results[3].contains("\"a\":\"b\"") && results[3].contains("\"migrated\":\"true\""), results[3]);
+    }
+
     @Test
     void getDetails() {
         final ComponentDetailList details = base
@@ -16,19 +16,28 @@
 package org.talend.sdk.component.server.front;
 
 import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.server.front.model.ConfigTypeNode;
 import org.talend.sdk.component.server.front.model.ConfigTypeNodes;
+import org.talend.sdk.component.server.service.MigrationService;
 import org.talend.sdk.component.server.test.websocket.WebsocketClient;
 
 @MonoMeecrowaveConfig
@@ -37,6 +46,9 @@ class ConfigurationTypeResourceTest {
     @Inject
     private WebsocketClient ws;
 
+    @Inject
+    private WebTarget base;
+
     @Test
     void webSocketGetIndex() {
         final ConfigTypeNodes index = ws.read(ConfigTypeNodes.class, "get", "/configurationtype/index", "");
@@ -79,6 +91,34 @@ class ConfigurationTypeResourceTest {
         assertEquals("1", config.get("configuration.size"));
     }
 
+    @Test
+    void bulkMigrate() {
+        final String id = "amRiYy1jb21wb25lbnQjamRiYyNkYXRhc2V0I2pkYmM";
+        final String valid = "{\"id\":\"" + id + "\",\"version\":-2,\"configuration\":{}}\n";
+        final String failing =
+                "{\"id\":\"" + id + "\",\"version\":-2,\"configuration\":{\"configuration.fail\":\"true\"}}\n";
+        final String missing = "{\"id\":\"missing\",\"version\":1,\"configuration\":{}}\n";
+        final String lines = base
+                .path("configurationtype/migrate")
+                .request(MigrationService.JSON_LINES)
+                .post(Entity.entity(valid + missing + "not json\n" + failing + valid, MigrationService.JSON_LINES),
+                        String.class);
+        final List<JsonObject> results = new BufferedReader(new StringReader(lines))
+                .lines()
+                .map(line -> Json.createReader(new StringReader(line)).readObject())
+                .collect(toList());
+        assertEquals(5, results.size());
+
+        assertEquals(id, results.get(0).getString("id"));
+        assertEquals("true", results.get(0).getJsonObject("configuration").getString("configuration.migrated"));
+        assertEquals("CONFIGURATION_MISSING", results.get(1).getJsonObject("error").getString("code"));
+        assertEquals("BAD_FORMAT", results.get(2).getJsonObject("error").getString("code"));
+        // a handler failing with an error only fails its own line
+        assertEquals(id, results.get(3).getString("id"));
+        assertEquals("UNEXPECTED", results.get(3).getJsonObject("error").getString("code"));
+        assertEquals("true", results.get(4).getJsonObject("configuration").getString("configuration.migrated"));
+    }
+
     private void assertIndex(final ConfigTypeNodes index) {
         assertEquals(5, index.getNodes().size());
         index.getNodes().keySet().forEach(Assertions::assertNotNull); // assert no null ids
@@ -0,0 +1,199 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.container.ContainerManager;
+import org.talend.sdk.component.dependencies.maven.Artifact;
+import org.talend.sdk.component.runtime.manager.ServiceMeta;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+class ActionCacheServiceTest {
+
+    private final ServiceMeta.ActionMeta meta =
+            new ServiceMeta.ActionMeta("test", "suggestions", "values", null, emptyList(), null);
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private Container container;
+
+    @BeforeEach
+    void createContainer() {
+        container = new Container("test", "test.jar", new Artifact[0],
+                ContainerManager.ClassLoaderConfiguration.builder().create(), File::new, null);
+    }
+
+    @Test
+    void ttl() throws Exception {
+        final ActionCacheService service = newService(10, "suggestions=PT0.1S");
+        assertEquals(1, execute(service, "a"));
+        assertEquals(1, execute(service, "a"));
+        assertEquals(1, invocations.get());
+        assertEquals(1, service.getHits());
+
+        Thread.sleep(150);
+        assertEquals(2, execute(service, "a"));
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    void lru() throws Exception {
+        final ActionCacheService service = newService(2, "suggestions=PT1M");
+        execute(service, "a");
+        execute(service, "b");
+        execute(service, "a"); // a is now the most recently used entry
+        execute(service, "c"); // evicts b
+        assertEquals(3, invocations.get());
+        assertEquals(1, service.getEvictions());
+
+        execute(service, "a");
+        assertEquals(3, invocations.get());
+        execute(service, "b");
+        assertEquals(4, invocations.get());
+    }
+
+    @Test
+    void coalescing() throws Exception {
+        final ActionCacheService service = newService(10, "suggestions=PT1M");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final Collection<Future<Object>> results = new ArrayList<>();
+            results.add(pool.submit(() -> service.execute(container, meta, singletonMap("q", "a"), () -> {
+                invocations.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(1, TimeUnit.MINUTES);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "value";
+            })));
+            assertTrue(started.await(1, TimeUnit.MINUTES));
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> service.execute(container, meta, singletonMap("q", "a"), () -> {
+                    invocations.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (service.getCoalesced() < 3) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (final Future<Object> result : results) {
+                assertEquals("value", result.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, invocations.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failuresAreNotCached() throws Exception {
+        final ActionCacheService service = newService(10, "suggestions=PT1M");
+        assertThrows(IllegalStateException.class,
+                () -> service.execute(container, meta, singletonMap("q", "a"), () -> {
+                    throw new IllegalStateException("failed");
+                }));
+        assertThrows(AssertionError.class, () -> service.execute(container, meta, singletonMap("q", "a"), () -> {
+            throw new AssertionError("failed");
+        }));
+        assertEquals(1, execute(service, "a"));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void coalescedCallersSeeErrors() throws Exception {
+        final ActionCacheService service = newService(10, "suggestions=PT1M");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Object> first =
+                    pool.submit(() -> service.execute(container, meta, singletonMap("q", "a"), () -> {
+                        started.countDown();
+                        try {
+                            release.await(1, TimeUnit.MINUTES);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        throw new AssertionError("failed");
+                    }));
+            assertTrue(started.await(1, TimeUnit.MINUTES));
+            final Future<Object> second = pool.submit(() -> {
+                try {
+                    return service.execute(container, meta, singletonMap("q", "a"), () -> "other");
+                } catch (final AssertionError ae) {
+                    return ae.getMessage();
+                }
+            });
+            while (service.getCoalesced() < 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            assertEquals("failed", second.get(1, TimeUnit.MINUTES));
+            assertThrows(Exception.class, () -> first.get(1, TimeUnit.MINUTES));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Object execute(final ActionCacheService service, final String query) {
+        return service.execute(container, meta, singletonMap("q", query), () -> invocations.incrementAndGet());
+    }
+
+    private ActionCacheService newService(final int maxSize, final String ttl) throws Exception {
+        final ComponentServerConfiguration configuration = new ComponentServerConfiguration();
+        set(configuration, "actionCacheActive", true);
+        set(configuration, "actionCacheMaxSize", maxSize);
+        set(configuration, "actionCacheTtl", ttl);
+
+        final ActionCacheService service = new ActionCacheService();
+        set(service, "configuration", configuration);
+        final Method init = ActionCacheService.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(service);
+        return service;
+    }
+
+    private static void set(final Object instance, final String name, final Object value) throws Exception {
+        final Field field = instance.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+}
@@ -54,6 +54,9 @@ public class JdbcDataSet implements Serializable {
 
         @Override
         public Map<String, String> migrate(final int incomingVersion, final Map<String, String> incomingData) {
+            if (Boolean.parseBoolean(incomingData.get("fail"))) { // simulates a broken handler
+                throw new NoClassDefFoundError("org/test/Missing");
+            }
             incomingData.put("migrated", "true");
             incomingData.put("size", Integer.toString(incomingData.size()));
             return incomingData;
@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.server.test.websocket;
 
+import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -24,6 +25,8 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -152,4 +155,85 @@ public class WebsocketClient {
             }
         }
     }
+
+    /**
+     * Sends a raw frame on the bus and collects the expected number of messages.
+     *
+     * @param payload the frame to send.
+     * @param expectedMessages how many response messages to wait for.
+     * @return the raw response messages in their reception order.
+     */
+    public List<String> exchange(final String payload, final int expectedMessages) {
+        return exchange(singletonList(payload), expectedMessages);
+    }
+
+    /**
+     * Sends raw frames on the same session, without waiting for the responses between them,
+     * and collects the expected number of messages.
+     *
+     * @param payloads the frames to send.
+     * @param expectedMessages how many response messages to wait for.
+     * @return the raw response messages in their reception order.
+     */
+    public List<String> exchange(final List<String> payloads, final int expectedMessages) {
+        final WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        final CountDownLatch latch = new CountDownLatch(expectedMessages);
+        final List<String> messages = new ArrayList<>();
+        final ClientEndpointConfig clientEndpointConfig = ClientEndpointConfig.Builder.create().build();
+        clientEndpointConfig.getUserProperties().put("org.apache.tomcat.websocket.IO_TIMEOUT_MS", "60000");
+
+        final Session session;
+        try {
+            session = container.connectToServer(new Endpoint() {
+
+                @Override
+                public void onOpen(final Session session, final EndpointConfig endpointConfig) {
+                    final StringBuilder builder = new StringBuilder();
+                    session.addMessageHandler(ByteBuffer.class, new MessageHandler.Partial<ByteBuffer>() {
+
+                        @Override
+                        public synchronized void onMessage(final ByteBuffer part, final boolean last) {
+                            builder.append(StandardCharsets.UTF_8.decode(part));
+                            if (builder.toString().endsWith("^@")) {
+                                synchronized (messages) {
+                                    messages.add(builder.toString());
+                                }
+                                builder.setLength(0);
+                                latch.countDown();
+                            }
+                        }
+                    });
+                }
+
+                @Override
+                public void onError(final Session session, final Throwable throwable) {
+                    fail(throwable.getMessage());
+                }
+            }, clientEndpointConfig, URI.create("ws://localhost:" + config.getHttpPort() + "/websocket/v1/bus"));
+        } catch (final DeploymentException | IOException e) {
+            fail(e.getMessage());
+            throw new IllegalStateException(e);
+        }
+
+        try {
+            for (final String payload : payloads) {
+                session.getBasicRemote().sendBinary(ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8)));
+            }
+            assertTrue(latch.await(1, MINUTES));
+        } catch (final InterruptedException e) {
+            Thread.interrupted();
+            fail(e.getMessage());
+        } catch (final IOException e) {
+            fail(e.getMessage());
+        } finally {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "bye bye"));
+            } catch (final IOException e) {
+                fail(e.getMessage());
+            }
+        }
+        synchronized (messages) {
+            return new ArrayList<>(messages);
+        }
+    }
 }
@@ -16,40 +16,64 @@
 package org.talend.sdk.component.runtime.di;
 
 import org.talend.sdk.component.runtime.base.Lifecycle;
+import org.talend.sdk.component.runtime.manager.builtinparams.BatchPolicy;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
+import org.talend.sdk.component.runtime.output.ProcessorImpl;
 
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
 public class AutoChunkProcessor implements Lifecycle {
 
-    private final int chunkSize;
-
     private final Processor processor;
 
-    private int processedItemCount = 0;
+    private final BatchPolicy.Tracker batch;
+
+    /**
+     * @param chunkSize the group size if the processor configuration does not define any.
+     * @param processor the processor to call, its batch policy configuration is used if it is a {@link ProcessorImpl}.
+     */
+    public AutoChunkProcessor(final int chunkSize, final Processor processor) {
+        this(ProcessorImpl.class.isInstance(processor)
+                ? BatchPolicy.of(ProcessorImpl.class.cast(processor).getInternalConfiguration(), chunkSize)
+                : BatchPolicy.ofSize(chunkSize), processor);
+    }
+
+    /**
+     * @param policy the group policy, the estimated bytes bound is ignored since records are not encoded there.
+     * @param processor the processor to call.
+     */
+    public AutoChunkProcessor(final BatchPolicy policy, final Processor processor) {
+        this.processor = processor;
+        this.batch = policy.newTracker();
+    }
 
     public void onElement(final InputFactory ins, final OutputFactory outs) {
-        if (processedItemCount == 0) {
+        if (batch.getRecords() == 0) {
             processor.beforeGroup();
         }
+        boolean complete = false;
         try {
             processor.onNext(ins, outs);
-            processedItemCount++;
+            complete = batch.onRecord(0);
         } finally {
-            if (processedItemCount == chunkSize) {
-                processor.afterGroup(outs);
-                processedItemCount = 0;
+            if (complete) {
+                afterGroup(outs);
             }
         }
     }
 
     public void flush(final OutputFactory outs) {
-        if (processedItemCount > 0) {
+        if (batch.getRecords() > 0) {
+            afterGroup(outs);
+        }
+    }
+
+    private void afterGroup(final OutputFactory outs) {
+        final long start = System.nanoTime();
+        try {
             processor.afterGroup(outs);
-            processedItemCount = 0;
+        } finally {
+            batch.onAfterGroup(System.nanoTime() - start);
         }
     }
 
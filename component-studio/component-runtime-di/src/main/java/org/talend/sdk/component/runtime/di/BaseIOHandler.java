@@ -65,7 +65,7 @@ public abstract class BaseIOHandler {
     }
 
     public void addConnection(final String connectorName, final Class<?> type) {
-        connections.put(connectorName, new IO<>(type));
+        connections.put(connectorName, new IO<>(type, RowStructBinder.of(type, recordBuilderMapper)));
     }
 
     public void reset() {
@@ -91,6 +91,9 @@ public abstract class BaseIOHandler {
 
         private final Class<T> type;
 
+        // null when the row struct can't be bound directly, the JSON mapping is used then
+        private final RowStructBinder binder;
+
         private void reset() {
             values.clear();
         }
@@ -114,6 +117,10 @@ public abstract class BaseIOHandler {
         Class<T> getType() {
             return type;
         }
+
+        RowStructBinder getBinder() {
+            return binder;
+        }
     }
 
 }
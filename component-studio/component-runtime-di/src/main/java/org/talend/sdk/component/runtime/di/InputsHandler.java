@@ -40,6 +40,9 @@ public class InputsHandler extends BaseIOHandler {
             if (value instanceof Record) {
                 return value;
             }
+            if (ref.getBinder() != null && ref.getType().isInstance(value)) {
+                return ref.getBinder().toRecord(value);
+            }
             final String jsonMapper;
             if (value instanceof javax.json.JsonValue) {
                 if (JsonValue.NULL == value) { // JsonObject cant take a JsonValue so pass null
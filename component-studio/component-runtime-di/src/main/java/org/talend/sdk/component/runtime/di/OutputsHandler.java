@@ -41,6 +41,10 @@ public class OutputsHandler extends BaseIOHandler {
         return name -> value -> {
             final BaseIOHandler.IO ref = connections.get(getActualName(name));
             if (ref != null && value != null) {
+                if (value instanceof Record && ref.getBinder() != null) {
+                    ref.add(ref.getBinder().toRow(Record.class.cast(value)));
+                    return;
+                }
                 final String jsonValueMapper;
                 if (value instanceof javax.json.JsonValue) {
                     jsonValueMapper = value.toString();
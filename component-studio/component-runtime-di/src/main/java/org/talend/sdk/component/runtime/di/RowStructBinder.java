@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di;
+
+import static java.util.stream.Collectors.toList;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.di.schema.JavaType;
+import org.talend.sdk.component.runtime.di.schema.JavaTypesManager;
+import org.talend.sdk.component.runtime.jsonb.MultipleFormatDateAdapter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds directly a Studio row struct (public fields) to a {@link Record} and the opposite,
+ * the accessors are resolved once per connection so there is no intermediate JSON per row.
+ */
+@RequiredArgsConstructor
+class RowStructBinder {
+
+    private static final JavaTypesManager JAVA_TYPES = new JavaTypesManager();
+
+    private static final MultipleFormatDateAdapter DATE_ADAPTER = new MultipleFormatDateAdapter();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final RecordBuilderFactory factory;
+
+    private final MethodHandle constructor;
+
+    private final Collection<FieldBinder> fields;
+
+    /**
+     * @param type the row struct type.
+     * @param factory the factory to create the records.
+     * @return the binder or null if a field type is not supported (objects, lists, ...).
+     */
+    static RowStructBinder of(final Class<?> type, final RecordBuilderFactory factory) {
+        if (factory == null || type.isPrimitive() || type.isArray() || type.getName().startsWith("java")) {
+            return null;
+        }
+        try {
+            final Collection<FieldBinder> fields = Stream
+                    .of(type.getFields())
+                    .filter(f -> !Modifier.isStatic(f.getModifiers()) && !Modifier.isFinal(f.getModifiers()))
+                    .map(f -> toFieldBinder(factory, f))
+                    .collect(toList());
+            if (fields.isEmpty() || fields.contains(null)) {
+                return null;
+            }
+            final MethodHandle constructor = LOOKUP
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return new RowStructBinder(factory, constructor, fields);
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    Record toRecord(final Object row) {
+        final Record.Builder builder = factory.newRecordBuilder();
+        for (final FieldBinder field : fields) {
+            final Object value;
+            try {
+                value = field.getter.invokeExact(row);
+            } catch (final Throwable throwable) {
+                throw toRuntimeException(throwable);
+            }
+            if (value != null) {
+                field.writer.write(builder, field.entry, value);
+            }
+        }
+        return builder.build();
+    }
+
+    Object toRow(final Record record) {
+        final Object row;
+        try {
+            row = constructor.invokeExact();
+        } catch (final Throwable throwable) {
+            throw toRuntimeException(throwable);
+        }
+        for (final FieldBinder field : fields) {
+            final Object value = field.reader.apply(record);
+            if (value == null && field.primitive) { // keep the default value
+                continue;
+            }
+            try {
+                field.setter.invokeExact(row, value);
+            } catch (final Throwable throwable) {
+                throw toRuntimeException(throwable);
+            }
+        }
+        return row;
+    }
+
+    private static FieldBinder toFieldBinder(final RecordBuilderFactory factory, final Field field) {
+        final JavaType javaType = JAVA_TYPES.getJavaTypeFromCanonicalName(field.getType().getCanonicalName());
+        if (javaType == null) {
+            return null;
+        }
+        final String name = field.getName();
+        final Schema.Type schemaType;
+        final EntryWriter writer;
+        final Function<Record, Object> reader;
+        if (javaType == JAVA_TYPES.STRING) {
+            schemaType = Schema.Type.STRING;
+            writer = (builder, entry, value) -> builder.withString(entry, String.class.cast(value));
+            reader = record -> {
+                final Object value = record.get(Object.class, name);
+                return value == null ? null : String.valueOf(value);
+            };
+        } else if (javaType == JAVA_TYPES.CHARACTER) {
+            schemaType = Schema.Type.STRING;
+            writer = (builder, entry, value) -> builder.withString(entry, String.valueOf(value));
+            reader = record -> {
+                final Object value = record.get(Object.class, name);
+                return value == null || String.valueOf(value).isEmpty() ? null : String.valueOf(value).charAt(0);
+            };
+        } else if (javaType == JAVA_TYPES.BOOLEAN) {
+            schemaType = Schema.Type.BOOLEAN;
+            writer = (builder, entry, value) -> builder.withBoolean(entry, Boolean.class.cast(value));
+            reader = record -> {
+                final Object value = record.get(Object.class, name);
+                return value == null || Boolean.class.isInstance(value) ? value
+                        : Boolean.valueOf(String.valueOf(value));
+            };
+        } else if (javaType == JAVA_TYPES.INTEGER || javaType == JAVA_TYPES.SHORT || javaType == JAVA_TYPES.BYTE) {
+            schemaType = Schema.Type.INT;
+            writer = (builder, entry, value) -> builder.withInt(entry, Number.class.cast(value).intValue());
+            reader = numberReader(name, javaType);
+        } else if (javaType == JAVA_TYPES.LONG) {
+            schemaType = Schema.Type.LONG;
+            writer = (builder, entry, value) -> builder.withLong(entry, Number.class.cast(value).longValue());
+            reader = numberReader(name, javaType);
+        } else if (javaType == JAVA_TYPES.FLOAT) {
+            schemaType = Schema.Type.FLOAT;
+            writer = (builder, entry, value) -> builder.withFloat(entry, Number.class.cast(value).floatValue());
+            reader = numberReader(name, javaType);
+        } else if (javaType == JAVA_TYPES.DOUBLE || javaType == JAVA_TYPES.BIGDECIMAL) {
+            // big decimals were already converted to double by the JSON mapping
+            schemaType = Schema.Type.DOUBLE;
+            writer = (builder, entry, value) -> builder.withDouble(entry, Number.class.cast(value).doubleValue());
+            reader = numberReader(name, javaType);
+        } else if (javaType == JAVA_TYPES.DATE) {
+            schemaType = Schema.Type.DATETIME;
+            writer = (builder, entry, value) -> builder.withDateTime(entry, Date.class.cast(value));
+            reader = dateReader(name);
+        } else if (javaType == JAVA_TYPES.BYTE_ARRAY) {
+            schemaType = Schema.Type.BYTES;
+            writer = (builder, entry, value) -> builder.withBytes(entry, byte[].class.cast(value));
+            reader = record -> record.get(byte[].class, name);
+        } else { // objects, lists and dynamic columns keep the JSON mapping
+            return null;
+        }
+        try {
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+            return new FieldBinder(
+                    factory.newEntryBuilder().withName(name).withType(schemaType).withNullable(true).build(),
+                    field.getType().isPrimitive(),
+                    LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class)),
+                    LOOKUP
+                            .unreflectSetter(field)
+                            .asType(MethodType.methodType(void.class, Object.class, Object.class)),
+                    writer, reader);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    // same formats as the JSON-B mapping: dates, epoch millis and the local/zoned ISO strings
+    private static Function<Record, Object> dateReader(final String name) {
+        return record -> {
+            final Object value = record.get(Object.class, name);
+            if (value == null || Date.class.isInstance(value)) {
+                return value;
+            }
+            if (ZonedDateTime.class.isInstance(value)) {
+                return Date.from(ZonedDateTime.class.cast(value).toInstant());
+            }
+            if (Number.class.isInstance(value)) {
+                return new Date(Number.class.cast(value).longValue());
+            }
+            return DATE_ADAPTER.adaptFromJson(String.valueOf(value));
+        };
+    }
+
+    private static Function<Record, Object> numberReader(final String name, final JavaType javaType) {
+        return record -> {
+            final Object value = record.get(Object.class, name);
+            if (value == null) {
+                return null;
+            }
+            final Number number =
+                    Number.class.isInstance(value) ? Number.class.cast(value) : new BigDecimal(String.valueOf(value));
+            if (javaType == JAVA_TYPES.INTEGER) {
+                return number.intValue();
+            }
+            if (javaType == JAVA_TYPES.SHORT) {
+                return number.shortValue();
+            }
+            if (javaType == JAVA_TYPES.BYTE) {
+                return number.byteValue();
+            }
+            if (javaType == JAVA_TYPES.LONG) {
+                return number.longValue();
+            }
+            if (javaType == JAVA_TYPES.FLOAT) {
+                return number.floatValue();
+            }
+            if (javaType == JAVA_TYPES.DOUBLE) {
+                return number.doubleValue();
+            }
+            return BigDecimal.class.isInstance(number) ? number : new BigDecimal(String.valueOf(number));
+        };
+    }
+
+    private static RuntimeException toRuntimeException(final Throwable throwable) {
+        if (RuntimeException.class.isInstance(throwable)) {
+            return RuntimeException.class.cast(throwable);
+        }
+        if (Error.class.isInstance(throwable)) {
+            throw Error.class.cast(throwable);
+        }
+        return new IllegalStateException(throwable);
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+
+        void write(Record.Builder builder, Schema.Entry entry, Object value);
+    }
+
+    @RequiredArgsConstructor
+    private static class FieldBinder {
+
+        private final Schema.Entry entry;
+
+        private final boolean primitive;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private final EntryWriter writer;
+
+        private final Function<Record, Object> reader;
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di.schema;
+
+import static java.util.Arrays.asList;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Merges the talend types observed on sampled rows. Numbers are widened (int, long, float, double, BigDecimal),
+ * other incompatible types fallback on Object and a column is nullable once it was missing or null in a row.
+ * The sampling is complete when the row budget is consumed or when the schema did not change for
+ * {@code stableRows} consecutive rows and all the columns have a type.
+ */
+class SchemaSampler {
+
+    private final JavaTypesManager javaTypesManager;
+
+    // ordered from the narrowest to the widest
+    private final List<String> numbers;
+
+    private final int maxRows;
+
+    private final int stableRows;
+
+    private final Map<String, ObservedColumn> observed = new LinkedHashMap<>();
+
+    private int rows;
+
+    private int unchangedRows;
+
+    private volatile boolean complete;
+
+    SchemaSampler(final JavaTypesManager javaTypesManager, final int maxRows, final int stableRows) {
+        this.javaTypesManager = javaTypesManager;
+        this.numbers = asList(javaTypesManager.BYTE.getId(), javaTypesManager.SHORT.getId(),
+                javaTypesManager.INTEGER.getId(), javaTypesManager.LONG.getId(), javaTypesManager.FLOAT.getId(),
+                javaTypesManager.DOUBLE.getId(), javaTypesManager.BIGDECIMAL.getId());
+        this.maxRows = maxRows;
+        this.stableRows = stableRows;
+    }
+
+    /**
+     * @param types the talend type of each column of a row, null or empty for a null value.
+     * @return true if the sampling is complete.
+     */
+    synchronized boolean observe(final Map<String, String> types) {
+        if (complete) {
+            return true;
+        }
+        rows++;
+        boolean changed = false;
+        for (final Map.Entry<String, String> entry : types.entrySet()) {
+            ObservedColumn column = observed.get(entry.getKey());
+            if (column == null) {
+                column = new ObservedColumn();
+                column.nullable = rows > 1; // missing in the previous rows
+                observed.put(entry.getKey(), column);
+                changed = true;
+            }
+            final String type = entry.getValue();
+            if (type == null || type.isEmpty()) {
+                changed |= !column.nullable;
+                column.nullable = true;
+                continue;
+            }
+            final String widened = column.type == null ? type : widen(column.type, type);
+            if (!widened.equals(column.type)) {
+                column.type = widened;
+                changed = true;
+            }
+        }
+        for (final Map.Entry<String, ObservedColumn> column : observed.entrySet()) {
+            if (!column.getValue().nullable && !types.containsKey(column.getKey())) {
+                column.getValue().nullable = true;
+                changed = true;
+            }
+        }
+        unchangedRows = changed ? 0 : unchangedRows + 1;
+        complete = rows >= maxRows
+                || (unchangedRows >= stableRows && observed.values().stream().allMatch(c -> c.type != null));
+        return complete;
+    }
+
+    void complete() {
+        complete = true;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    synchronized int getRows() {
+        return rows;
+    }
+
+    synchronized Collection<Column> getColumns() {
+        return observed.entrySet().stream().map(e -> {
+            final Column column = new Column();
+            column.setLabel(e.getKey());
+            column
+                    .setTalendType(e.getValue().type == null ? javaTypesManager.OBJECT.getId() : e.getValue().type);
+            column.setNullable(e.getValue().nullable);
+            return column;
+        }).collect(Collectors.toList());
+    }
+
+    String widen(final String current, final String type) {
+        if (current.equals(type)) {
+            return current;
+        }
+        final int currentIndex = numbers.indexOf(current);
+        final int typeIndex = numbers.indexOf(type);
+        if (currentIndex < 0 || typeIndex < 0) {
+            return javaTypesManager.OBJECT.getId();
+        }
+        final String widest = numbers.get(Math.max(currentIndex, typeIndex));
+        // a float can't hold an int or a long without losing precision
+        if (widest.equals(javaTypesManager.FLOAT.getId())
+                && numbers.indexOf(javaTypesManager.INTEGER.getId()) <= Math.min(currentIndex, typeIndex)) {
+            return javaTypesManager.DOUBLE.getId();
+        }
+        return widest;
+    }
+
+    private static class ObservedColumn {
+
+        private String type;
+
+        private boolean nullable;
+    }
+}
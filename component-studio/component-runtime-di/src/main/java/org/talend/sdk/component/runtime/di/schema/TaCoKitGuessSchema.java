@@ -17,6 +17,7 @@ package org.talend.sdk.component.runtime.di.schema;
 
 import static java.lang.reflect.Modifier.isStatic;
 import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
@@ -29,10 +30,17 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -94,6 +102,15 @@ public class TaCoKitGuessSchema {
 
     private static final String EMPTY = ""; //$NON-NLS-1$
 
+    // number of consecutive sampled rows without any schema change after which the schema is considered stable
+    private static final int STABLE_ROWS = 10;
+
+    private int sampleRows = Integer.getInteger("talend.component.guess.schema.sample.rows", 0);
+
+    private long sampleTimeout = Long.getLong("talend.component.guess.schema.sample.timeout", 0);
+
+    private int sampleParallelism = Integer.getInteger("talend.component.guess.schema.sample.parallelism", 1);
+
     public TaCoKitGuessSchema(final PrintStream out, final Map<String, String> configuration, final String plugin,
             final String family, final String componentName, final String action) {
         this.out = out;
@@ -126,6 +143,24 @@ public class TaCoKitGuessSchema {
         }
     }
 
+    /**
+     * Activates the sampling mode for the input schema guess: rows are read from several splits in parallel
+     * until the row budget or the time budget is consumed or the schema is stable. It can also be activated with
+     * the {@code talend.component.guess.schema.sample.rows}, {@code talend.component.guess.schema.sample.timeout}
+     * and {@code talend.component.guess.schema.sample.parallelism} system properties.
+     *
+     * @param rows the maximum number of rows to read, 0 for no limit.
+     * @param timeout the maximum duration of the sampling in milliseconds, 0 for no limit.
+     * @param parallelism how many splits are read concurrently.
+     * @return this instance.
+     */
+    public TaCoKitGuessSchema withSampling(final int rows, final long timeout, final int parallelism) {
+        this.sampleRows = rows;
+        this.sampleTimeout = timeout;
+        this.sampleParallelism = parallelism;
+        return this;
+    }
+
     public void fromOutputEmitterPojo(final Processor processor, final String outBranchName) {
         Object o = processor;
         while (Delegated.class.isInstance(o)) {
@@ -168,7 +203,8 @@ public class TaCoKitGuessSchema {
         } catch (Exception e) {
             log.error("Can't guess schema through action.", e);
         }
-        if (guessInputComponentSchemaThroughResult()) {
+        if (sampleRows > 0 || sampleTimeout > 0 ? guessInputComponentSchemaThroughSampling()
+                : guessInputComponentSchemaThroughResult()) {
             return;
         }
         throw new Exception("There is no available schema found.");
@@ -296,47 +332,9 @@ public class TaCoKitGuessSchema {
 
         for (Schema.Entry entry : entries) {
             String name = entry.getName();
-            Schema.Type entryType = entry.getType();
-            if (entryType == null) {
-                entryType = Schema.Type.STRING;
-            }
-            String typeName;
-            switch (entryType) {
-            case BOOLEAN:
-                typeName = javaTypesManager.BOOLEAN.getId();
-                break;
-            case DOUBLE:
-                typeName = javaTypesManager.DOUBLE.getId();
-                break;
-            case INT:
-                typeName = javaTypesManager.INTEGER.getId();
-                break;
-            case LONG:
-                typeName = javaTypesManager.LONG.getId();
-                break;
-            case FLOAT:
-                typeName = javaTypesManager.FLOAT.getId();
-                break;
-            case BYTES:
-                typeName = javaTypesManager.BYTE_ARRAY.getId();
-                break;
-            case DATETIME:
-                typeName = javaTypesManager.DATE.getId();
-                break;
-            case RECORD:
-                typeName = javaTypesManager.OBJECT.getId();
-                break;
-            case ARRAY:
-                typeName = javaTypesManager.LIST.getId();
-                break;
-            default:
-                typeName = javaTypesManager.STRING.getId();
-                break;
-            }
-
             final Column column = new Column();
             column.setLabel(name);
-            column.setTalendType(typeName);
+            column.setTalendType(getTalendType(entry.getType()));
             column.setNullable(entry.isNullable());
             column.setComment(entry.getComment());
             columns.put(name, column);
@@ -388,6 +386,132 @@ public class TaCoKitGuessSchema {
         }
     }
 
+    private boolean guessInputComponentSchemaThroughSampling() throws Exception {
+        final Mapper mapper = componentManager
+                .findMapper(family, componentName, 1, configuration)
+                .orElseThrow(() -> new IllegalArgumentException("Can't find " + family + "#" + componentName));
+        if (JobStateAware.class.isInstance(mapper)) {
+            JobStateAware.class.cast(mapper).setState(new JobStateAware.State());
+        }
+
+        final SchemaSampler sampler =
+                new SchemaSampler(javaTypesManager, sampleRows > 0 ? sampleRows : Integer.MAX_VALUE, STABLE_ROWS);
+        final AtomicReference<Class<?>> pojoType = new AtomicReference<>();
+        final int parallelism = Math.max(1, sampleParallelism);
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger threadCounter = new AtomicInteger();
+        // daemon threads: a split blocked on a slow source must not prevent the guess to end
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, task -> {
+            final Thread thread = new Thread(task, "talend-guess-schema-" + threadCounter.incrementAndGet());
+            thread.setContextClassLoader(loader);
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long start = System.currentTimeMillis();
+        try {
+            mapper.start();
+            final Iterator<Mapper> splits = mapper.split(mapper.assess()).iterator();
+            final List<Future<?>> workers = IntStream
+                    .range(0, parallelism)
+                    .mapToObj(i -> executor.submit(() -> sample(splits, sampler, pojoType)))
+                    .collect(toList());
+            executor.shutdown();
+            if (!executor.awaitTermination(sampleTimeout > 0 ? sampleTimeout : Long.MAX_VALUE, MILLISECONDS)) {
+                sampler.complete();
+                executor.shutdownNow();
+            }
+            log
+                    .debug("Sampled {} rows in {}ms to guess the schema of {}#{}", sampler.getRows(),
+                            System.currentTimeMillis() - start, family, componentName);
+
+            if (pojoType.get() != null) {
+                return guessSchemaThroughResultClass(pojoType.get());
+            }
+            if (sampler.getRows() == 0) { // only fail if nothing was read
+                for (final Future<?> worker : workers) {
+                    if (worker.isDone()) {
+                        try {
+                            worker.get();
+                        } catch (final ExecutionException ee) {
+                            throw Exception.class.isInstance(ee.getCause()) ? Exception.class.cast(ee.getCause())
+                                    : ee;
+                        }
+                    }
+                }
+                return false;
+            }
+            final int originalSize = columns.size();
+            sampler.getColumns().forEach(column -> columns.put(column.getLabel(), column));
+            return originalSize != columns.size();
+        } finally {
+            executor.shutdownNow();
+            try {
+                mapper.stop();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private Void sample(final Iterator<Mapper> splits, final SchemaSampler sampler,
+            final AtomicReference<Class<?>> pojoType) throws Exception {
+        while (!sampler.isComplete()) {
+            final Mapper split;
+            synchronized (splits) {
+                if (!splits.hasNext()) {
+                    return null;
+                }
+                split = splits.next();
+            }
+            final Input input = split.create();
+            input.start();
+            try {
+                Object row;
+                while (!sampler.isComplete() && !Thread.currentThread().isInterrupted()
+                        && (row = input.next()) != null) {
+                    final Map<String, String> types;
+                    if (Record.class.isInstance(row)) {
+                        final Record record = Record.class.cast(row);
+                        types = new LinkedHashMap<>();
+                        for (final Schema.Entry entry : record.getSchema().getEntries()) {
+                            types
+                                    .put(entry.getName(), record.get(Object.class, entry.getName()) == null ? EMPTY
+                                            : getTalendType(entry.getType()));
+                        }
+                    } else if (JsonObject.class.isInstance(row)) {
+                        types = JsonObject.class
+                                .cast(row)
+                                .entrySet()
+                                .stream()
+                                .collect(toMap(Map.Entry::getKey, e -> getTalendType(e.getValue()), (a, b) -> a,
+                                        LinkedHashMap::new));
+                    } else if (Map.class.isInstance(row)) {
+                        types = new LinkedHashMap<>();
+                        for (final Map.Entry<?, ?> entry : Map.class.cast(row).entrySet()) {
+                            types
+                                    .put(String.valueOf(entry.getKey()), entry.getValue() == null ? EMPTY
+                                            : getTalendType(entry.getValue().getClass()));
+                        }
+                    } else if (Collection.class.isInstance(row)) {
+                        throw new Exception("Can't guess schema from a Collection");
+                    } else { // the type is enough, no need to sample
+                        pojoType.compareAndSet(null, row.getClass());
+                        sampler.complete();
+                        return null;
+                    }
+                    sampler.observe(types);
+                }
+            } finally {
+                try {
+                    input.stop();
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Guess schema through result row
      *
@@ -538,6 +662,34 @@ public class TaCoKitGuessSchema {
         }
     }
 
+    private String getTalendType(final Schema.Type type) {
+        if (type == null) {
+            return javaTypesManager.STRING.getId();
+        }
+        switch (type) {
+        case BOOLEAN:
+            return javaTypesManager.BOOLEAN.getId();
+        case DOUBLE:
+            return javaTypesManager.DOUBLE.getId();
+        case INT:
+            return javaTypesManager.INTEGER.getId();
+        case LONG:
+            return javaTypesManager.LONG.getId();
+        case FLOAT:
+            return javaTypesManager.FLOAT.getId();
+        case BYTES:
+            return javaTypesManager.BYTE_ARRAY.getId();
+        case DATETIME:
+            return javaTypesManager.DATE.getId();
+        case RECORD:
+            return javaTypesManager.OBJECT.getId();
+        case ARRAY:
+            return javaTypesManager.LIST.getId();
+        default:
+            return javaTypesManager.STRING.getId();
+        }
+    }
+
     private String getTalendType(final Class type) {
         if (type == null) {
             return javaTypesManager.OBJECT.getId();
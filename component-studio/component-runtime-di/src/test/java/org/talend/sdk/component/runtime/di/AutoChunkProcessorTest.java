@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.manager.builtinparams.BatchPolicy;
+import org.talend.sdk.component.runtime.output.InputFactory;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+import org.talend.sdk.component.runtime.output.ProcessorImpl;
+
+class AutoChunkProcessorTest {
+
+    @Test
+    void chunkSize() {
+        final GroupProcessor processor = new GroupProcessor(new HashMap<>(), 0, 0);
+        final AutoChunkProcessor chunkProcessor = new AutoChunkProcessor(3, processor);
+        for (int i = 0; i < 7; i++) {
+            chunkProcessor.onElement(null, null);
+        }
+        chunkProcessor.flush(null);
+        assertEquals(asList(3, 3, 1), processor.groups);
+    }
+
+    @Test
+    void linger() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("configuration." + BatchPolicy.MAX_BATCH_LINGER, "50");
+        final GroupProcessor processor = new GroupProcessor(configuration, 20, 0);
+        final AutoChunkProcessor chunkProcessor = new AutoChunkProcessor(1000, processor);
+        for (int i = 0; i < 12; i++) {
+            chunkProcessor.onElement(null, null);
+        }
+        chunkProcessor.flush(null);
+        assertEquals(12, processor.groups.stream().mapToInt(Integer::intValue).sum());
+        // 20ms per record so a group can't get more than 4 records before lingering 50ms
+        assertTrue(processor.groups.size() >= 3, processor.groups::toString);
+        assertTrue(processor.groups.stream().allMatch(size -> size <= 4), processor.groups::toString);
+    }
+
+    @Test
+    void targetLatency() {
+        final Map<String, String> configuration = new HashMap<>();
+        configuration.put("configuration." + BatchPolicy.MAX_BATCH_SIZE, "8");
+        configuration.put("configuration." + BatchPolicy.BATCH_TARGET_LATENCY, "5");
+        final GroupProcessor processor = new GroupProcessor(configuration, 0, 20);
+        final AutoChunkProcessor chunkProcessor = new AutoChunkProcessor(1000, processor);
+        for (int i = 0; i < 15; i++) {
+            chunkProcessor.onElement(null, null);
+        }
+        chunkProcessor.flush(null);
+        // @AfterGroup is slower than the target so the group size is halved each time
+        assertEquals(asList(8, 4, 2, 1), processor.groups);
+    }
+
+    private static class GroupProcessor extends ProcessorImpl {
+
+        private final List<Integer> groups = new ArrayList<>();
+
+        private final long onNextPause;
+
+        private final long afterGroupPause;
+
+        private int records;
+
+        private GroupProcessor(final Map<String, String> configuration, final long onNextPause,
+                final long afterGroupPause) {
+            super("test", "test", "test", configuration, "group");
+            this.onNextPause = onNextPause;
+            this.afterGroupPause = afterGroupPause;
+        }
+
+        @Override
+        public void beforeGroup() {
+            records = 0;
+        }
+
+        @Override
+        public void onNext(final InputFactory input, final OutputFactory factory) {
+            pause(onNextPause);
+            records++;
+        }
+
+        @Override
+        public void afterGroup(final OutputFactory output) {
+            pause(afterGroupPause);
+            groups.add(records);
+        }
+
+        private void pause(final long duration) {
+            if (duration <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(duration);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class RowStructBinderTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void roundTrip() {
+        final RowStructBinder binder = RowStructBinder.of(RowStruct.class, factory);
+        assertNotNull(binder);
+
+        final RowStruct row = new RowStruct();
+        row.name = "tck";
+        row.age = 7;
+        row.count = 12L;
+        row.amount = new BigDecimal("1.5");
+        row.active = true;
+        row.initial = 't';
+        row.date = new Date(123456789L);
+        row.bytes = new byte[] { 1, 2 };
+
+        final Record record = binder.toRecord(row);
+        assertEquals("tck", record.getString("name"));
+        assertEquals(7, record.getInt("age"));
+        assertEquals(12L, record.getLong("count"));
+        assertEquals(1.5, record.getDouble("amount"));
+        assertEquals("t", record.getString("initial"));
+        assertNull(record.get(Object.class, "comment"));
+
+        final RowStruct copy = RowStruct.class.cast(binder.toRow(record));
+        assertEquals("tck", copy.name);
+        assertEquals(7, copy.age);
+        assertEquals(12L, copy.count.longValue());
+        assertEquals(new BigDecimal("1.5"), copy.amount);
+        assertEquals(true, copy.active);
+        assertEquals('t', copy.initial);
+        assertEquals(123456789L, copy.date.getTime());
+        assertArrayEquals(new byte[] { 1, 2 }, copy.bytes);
+        assertNull(copy.comment);
+    }
+
+    @Test
+    void numbersAreCoerced() {
+        final RowStructBinder binder = RowStructBinder.of(RowStruct.class, factory);
+        final Record record = factory.newRecordBuilder().withDouble("age", 3.).withInt("count", 4).build();
+        final RowStruct row = RowStruct.class.cast(binder.toRow(record));
+        assertEquals(3, row.age);
+        assertEquals(4L, row.count.longValue());
+    }
+
+    @Test
+    void datesAreParsed() {
+        final RowStructBinder binder = RowStructBinder.of(RowStruct.class, factory);
+        final Record local = factory.newRecordBuilder().withString("date", "1970-01-02T10:17:36.789").build();
+        assertEquals(123456789L, RowStruct.class.cast(binder.toRow(local)).date.getTime());
+
+        final Record zoned = factory.newRecordBuilder().withString("date", "1970-01-02T11:17:36.789+01:00").build();
+        assertEquals(123456789L, RowStruct.class.cast(binder.toRow(zoned)).date.getTime());
+
+        final Record typed = factory
+                .newRecordBuilder()
+                .withDateTime("date", ZonedDateTime.of(1970, 1, 2, 10, 17, 36, 789000000, ZoneId.of("UTC")))
+                .build();
+        assertEquals(123456789L, RowStruct.class.cast(binder.toRow(typed)).date.getTime());
+    }
+
+    @Test
+    void unsupported() {
+        assertNull(RowStructBinder.of(WithList.class, factory));
+        assertNull(RowStructBinder.of(String.class, factory));
+    }
+
+    public static class RowStruct {
+
+        public String name;
+
+        public int age;
+
+        public Long count;
+
+        public BigDecimal amount;
+
+        public boolean active;
+
+        public char initial;
+
+        public Date date;
+
+        public byte[] bytes;
+
+        public String comment;
+    }
+
+    public static class WithList {
+
+        public List<String> values;
+    }
+}
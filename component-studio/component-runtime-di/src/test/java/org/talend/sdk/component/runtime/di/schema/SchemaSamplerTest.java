@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaSamplerTest {
+
+    private final JavaTypesManager types = new JavaTypesManager();
+
+    @Test
+    void widen() {
+        final SchemaSampler sampler = new SchemaSampler(types, 10, 10);
+        assertEquals(types.LONG.getId(), sampler.widen(types.INTEGER.getId(), types.LONG.getId()));
+        assertEquals(types.DOUBLE.getId(), sampler.widen(types.LONG.getId(), types.DOUBLE.getId()));
+        assertEquals(types.DOUBLE.getId(), sampler.widen(types.INTEGER.getId(), types.FLOAT.getId()));
+        assertEquals(types.FLOAT.getId(), sampler.widen(types.SHORT.getId(), types.FLOAT.getId()));
+        assertEquals(types.BIGDECIMAL.getId(), sampler.widen(types.BIGDECIMAL.getId(), types.INTEGER.getId()));
+        assertEquals(types.OBJECT.getId(), sampler.widen(types.STRING.getId(), types.INTEGER.getId()));
+        assertEquals(types.STRING.getId(), sampler.widen(types.STRING.getId(), types.STRING.getId()));
+    }
+
+    @Test
+    void mergeRows() {
+        final SchemaSampler sampler = new SchemaSampler(types, 10, 10);
+        assertFalse(sampler.observe(row("id", types.INTEGER.getId(), "name", types.STRING.getId())));
+        assertFalse(sampler.observe(row("id", types.LONG.getId(), "name", "", "age", types.INTEGER.getId())));
+        assertFalse(sampler.observe(row("id", types.INTEGER.getId(), "name", types.STRING.getId())));
+
+        final Iterator<Column> columns = sampler.getColumns().iterator();
+        assertColumn(columns.next(), "id", types.LONG.getId(), false);
+        assertColumn(columns.next(), "name", types.STRING.getId(), true);
+        assertColumn(columns.next(), "age", types.INTEGER.getId(), true);
+        assertFalse(columns.hasNext());
+        assertEquals(3, sampler.getRows());
+    }
+
+    @Test
+    void stopWhenStable() {
+        final SchemaSampler sampler = new SchemaSampler(types, 100, 2);
+        assertFalse(sampler.observe(row("id", types.INTEGER.getId())));
+        assertFalse(sampler.observe(row("id", types.INTEGER.getId())));
+        assertTrue(sampler.observe(row("id", types.INTEGER.getId())));
+        assertTrue(sampler.isComplete());
+    }
+
+    @Test
+    void waitForATypeUntilTheRowBudget() {
+        final SchemaSampler sampler = new SchemaSampler(types, 4, 1);
+        assertFalse(sampler.observe(row("id", "")));
+        assertFalse(sampler.observe(row("id", "")));
+        assertFalse(sampler.observe(row("id", "")));
+        assertTrue(sampler.observe(row("id", "")));
+        assertColumn(sampler.getColumns().iterator().next(), "id", types.OBJECT.getId(), true);
+    }
+
+    private void assertColumn(final Column column, final String name, final String type, final boolean nullable) {
+        assertEquals(name, column.getLabel());
+        assertEquals(type, column.getTalendType());
+        assertEquals(nullable, column.getNullable());
+    }
+
+    private Map<String, String> row(final String... keyValues) {
+        final Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            row.put(keyValues[i], keyValues[i + 1]);
+        }
+        return row;
+    }
+}
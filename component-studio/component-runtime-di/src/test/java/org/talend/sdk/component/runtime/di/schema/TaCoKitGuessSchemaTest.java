@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.di.schema;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+
+class TaCoKitGuessSchemaTest {
+
+    private final JavaTypesManager types = new JavaTypesManager();
+
+    @BeforeAll
+    static void forceManagerInit() {
+        final ComponentManager manager = ComponentManager.instance();
+        if (manager.find(Stream::of).count() == 0) {
+            manager.addPlugin(new File("target/test-classes").getAbsolutePath());
+        }
+    }
+
+    @Test
+    void samplingWidensAcrossSplits() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final PrintStream stream = new PrintStream(out, true, "UTF-8")) {
+            final TaCoKitGuessSchema guessSchema = new TaCoKitGuessSchema(stream, emptyMap(), "test-classes",
+                    "TaCoKitGuessSchemaTest", "widening", null).withSampling(100, 0, 2);
+            guessSchema.guessInputComponentSchema();
+            guessSchema.close();
+        }
+
+        final JsonArray columns;
+        try (final JsonReader reader = Json.createReader(new StringReader(new String(out.toByteArray(), UTF_8)))) {
+            columns = reader.readArray();
+        }
+        assertEquals(2, columns.size());
+
+        // the first split only has ints and no name, the second one longs and names
+        final JsonObject id = columns.getJsonObject(0);
+        assertEquals("id", id.getString("label"));
+        assertEquals(types.LONG.getId(), id.getString("talendType"));
+        assertFalse(id.getBoolean("nullable"));
+
+        final JsonObject name = columns.getJsonObject(1);
+        assertEquals("name", name.getString("label"));
+        assertEquals(types.STRING.getId(), name.getString("talendType"));
+        assertTrue(name.getBoolean("nullable"));
+    }
+
+    @PartitionMapper(name = "widening", family = "TaCoKitGuessSchemaTest")
+    public static class WideningMapper implements Serializable {
+
+        private final int partition;
+
+        private final RecordBuilderFactory factory;
+
+        public WideningMapper(@Option("partition") final int partition, final RecordBuilderFactory factory) {
+            this.partition = partition;
+            this.factory = factory;
+        }
+
+        @Assessor
+        public long estimateSize() {
+            return 2;
+        }
+
+        @Split
+        public List<WideningMapper> split() {
+            return partition > 0 ? singletonList(this)
+                    : asList(new WideningMapper(1, factory), new WideningMapper(2, factory));
+        }
+
+        @Emitter
+        public WideningInput create() {
+            return new WideningInput(partition, factory);
+        }
+    }
+
+    public static class WideningInput implements Serializable {
+
+        private final int partition;
+
+        private final RecordBuilderFactory factory;
+
+        private int remaining = 5;
+
+        public WideningInput(final int partition, final RecordBuilderFactory factory) {
+            this.partition = partition;
+            this.factory = factory;
+        }
+
+        @Producer
+        public Record next() {
+            if (remaining-- <= 0) {
+                return null;
+            }
+            if (partition == 1) {
+                return factory.newRecordBuilder().withInt("id", remaining).build();
+            }
+            return factory.newRecordBuilder().withLong("id", remaining).withString("name", "n" + remaining).build();
+        }
+    }
+}
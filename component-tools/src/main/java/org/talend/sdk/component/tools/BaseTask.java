@@ -15,13 +15,16 @@
  */
 package org.talend.sdk.component.tools;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.ofNullable;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -29,9 +32,12 @@ import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.Parameter;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.CompositeArchive;
 import org.apache.xbean.finder.archive.FileArchive;
@@ -66,18 +72,47 @@ abstract class BaseTask implements Runnable {
                 .map(c -> new FileArchive(Thread.currentThread().getContextClassLoader(), c))
                 .toArray(Archive[]::new))) {
 
-            private final Map<Class<?>, List<Field>> fieldCache = new HashMap<>();
+            // queries are memoized and serialized since the finder is not thread safe and the validator shares it
+            private final Map<Class<?>, List<Field>> fieldCache = new ConcurrentHashMap<>();
 
-            private final Map<Class<?>, List<Class<?>>> classCache = new HashMap<>();
+            private final Map<Class<?>, List<Class<?>>> classCache = new ConcurrentHashMap<>();
+
+            private final Map<Class<?>, List<Method>> methodCache = new ConcurrentHashMap<>();
+
+            private final Map<Class<?>, List<Parameter<Constructor<?>>>> constructorParameterCache =
+                    new ConcurrentHashMap<>();
 
             @Override
             public List<Field> findAnnotatedFields(final Class<? extends Annotation> annotation) {
-                return fieldCache.computeIfAbsent(annotation, a -> super.findAnnotatedFields(annotation));
+                return cached(fieldCache, annotation, () -> super.findAnnotatedFields(annotation));
             }
 
             @Override
             public List<Class<?>> findAnnotatedClasses(final Class<? extends Annotation> annotation) {
-                return classCache.computeIfAbsent(annotation, a -> super.findAnnotatedClasses(annotation));
+                return cached(classCache, annotation, () -> super.findAnnotatedClasses(annotation));
+            }
+
+            @Override
+            public List<Method> findAnnotatedMethods(final Class<? extends Annotation> annotation) {
+                return cached(methodCache, annotation, () -> super.findAnnotatedMethods(annotation));
+            }
+
+            @Override
+            public List<Parameter<Constructor<?>>>
+                    findAnnotatedConstructorParameters(final Class<? extends Annotation> annotation) {
+                return cached(constructorParameterCache, annotation,
+                        () -> super.findAnnotatedConstructorParameters(annotation));
+            }
+
+            private <T> List<T> cached(final Map<Class<?>, List<T>> cache, final Class<? extends Annotation> key,
+                    final Supplier<List<T>> loader) {
+                final List<T> existing = cache.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+                synchronized (this) {
+                    return cache.computeIfAbsent(key, k -> unmodifiableList(new ArrayList<>(loader.get())));
+                }
             }
         };
     }
@@ -45,6 +45,14 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -58,6 +66,11 @@ import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 
@@ -120,79 +133,89 @@ public class ComponentValidator extends BaseTask {
 
     @Override
     public void run() {
+        final String fingerprint = configuration.getCacheFile() != null ? fingerprint() : null;
+        if (fingerprint != null && isUpToDate(fingerprint)) {
+            log.info("Classes didn't change since the last successful validation, skipping it");
+            return;
+        }
+
+        // the finder and the component list are the shared model of all the checks
         final AnnotationFinder finder = newFinder();
         final List<Class<?>> components =
                 componentMarkers().flatMap(a -> finder.findAnnotatedClasses(a).stream()).collect(toList());
         components.forEach(c -> log.debug("Found component: " + c));
 
-        final Set<String> errors = new LinkedHashSet<>();
+        final List<Check> checks = new ArrayList<>();
 
         if (configuration.isValidateFamily()) {
             // todo: better fix is to get the package with @Components then check it has an icon
             // but it should be enough for now
-            components.forEach(c -> {
+            checks.add(errors -> components.forEach(c -> {
                 try {
                     findPackageOrFail(c, Icon.class);
                 } catch (final IllegalArgumentException iae) {
                     errors.add(iae.getMessage());
                 }
-            });
+            }));
         }
 
         if (configuration.isValidateSerializable()) {
-            final Collection<Class<?>> copy = new ArrayList<>(components);
-            copy.removeIf(this::isSerializable);
-            errors.addAll(copy.stream().map(c -> c + " is not Serializable").sorted().collect(toSet()));
+            checks.add(errors -> {
+                final Collection<Class<?>> copy = new ArrayList<>(components);
+                copy.removeIf(this::isSerializable);
+                errors.addAll(copy.stream().map(c -> c + " is not Serializable").sorted().collect(toSet()));
+            });
         }
 
         if (configuration.isValidateInternationalization()) {
-            validateInternationalization(finder, components, errors);
+            checks.add(errors -> validateInternationalization(finder, components, errors));
         }
 
         if (configuration.isValidateHttpClient()) {
-            validateHttpClient(finder, errors);
+            checks.add(errors -> validateHttpClient(finder, errors));
         }
 
         if (configuration.isValidateModel()) {
-            validateModel(finder, components, errors);
+            checks.add(errors -> validateModel(finder, components, errors));
         }
 
         if (configuration.isValidateMetadata()) {
-            validateMetadata(components, errors);
+            checks.add(errors -> validateMetadata(components, errors));
         }
 
         if (configuration.isValidateDataStore()) {
-            validateDataStore(finder, errors);
+            checks.add(errors -> validateDataStore(finder, errors));
         }
 
         if (configuration.isValidateDataSet()) {
-            validateDataSet(finder, components, errors);
+            checks.add(errors -> validateDataSet(finder, components, errors));
         }
 
         if (configuration.isValidateActions()) {
-            validateActions(finder, errors);
+            checks.add(errors -> validateActions(finder, errors));
         }
 
         if (configuration.isValidateDocumentation()) {
-            validateDocumentation(finder, components, errors);
+            checks.add(errors -> validateDocumentation(finder, components, errors));
         }
 
         if (configuration.isValidateLayout()) {
-            validateLayout(components, errors);
+            checks.add(errors -> validateLayout(components, errors));
         }
 
         if (configuration.isValidateOptionNames()) {
-            validateOptionNames(finder, errors);
+            checks.add(errors -> validateOptionNames(finder, errors));
         }
 
         if (configuration.isValidateLocalConfiguration()) {
-            validateLocalConfiguration(components, finder, errors);
+            checks.add(errors -> validateLocalConfiguration(components, finder, errors));
         }
 
         if (configuration.isValidateOutputConnection()) {
-            validateOutputConnection(components, errors);
+            checks.add(errors -> validateOutputConnection(components, errors));
         }
 
+        final Set<String> errors = execute(checks);
         if (!errors.isEmpty()) {
             final List<String> preparedErrors =
                     errors.stream().map(it -> it.replace("java.lang.", "").replace("java.util.", "")).collect(toList());
@@ -200,6 +223,133 @@ public class ComponentValidator extends BaseTask {
             throw new IllegalStateException(
                     "Some error were detected:" + preparedErrors.stream().collect(joining("\n- ", "\n- ", "")));
         }
+
+        if (fingerprint != null) {
+            storeFingerprint(fingerprint);
+        }
+    }
+
+    // the checks are independent so they run concurrently but errors are merged in the checks order
+    private Set<String> execute(final List<Check> checks) {
+        final Set<String> errors = new LinkedHashSet<>();
+        final int parallelism = Math.min(checks.size(), configuration.getParallelism());
+        if (parallelism <= 1) {
+            checks.forEach(check -> check.validate(errors));
+            return errors;
+        }
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread thread = new Thread(r, "talend-component-validator-" + counter.incrementAndGet());
+            thread.setContextClassLoader(loader); // the checks load the resources from the TCCL
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Set<String>>> results = checks.stream().map(check -> executor.submit(() -> {
+                final Set<String> checkErrors = new LinkedHashSet<>();
+                check.validate(checkErrors);
+                return checkErrors;
+            })).collect(toList());
+            for (final Future<Set<String>> result : results) {
+                try {
+                    errors.addAll(result.get());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (RuntimeException.class.isInstance(cause)) {
+                        throw RuntimeException.class.cast(cause);
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return errors;
+    }
+
+    // hash of the classes and resources (bundles, local configuration) plus the configuration,
+    // checks are cross classes (family, datastore/dataset pairs, bundles) so any change revalidates everything
+    private String fingerprint() {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(configuration.toString().getBytes(StandardCharsets.UTF_8));
+        // the validator itself since a new version can add or fix checks, the jar name holds the version
+        ofNullable(ComponentValidator.class.getProtectionDomain().getCodeSource())
+                .map(CodeSource::getLocation)
+                .ifPresent(url -> fingerprint(digest, url));
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (URLClassLoader.class.isInstance(loader)) { // dependencies can host configuration classes
+            Stream.of(URLClassLoader.class.cast(loader).getURLs()).forEach(url -> fingerprint(digest, url));
+        }
+        for (final File root : classes) {
+            final Path base = root.toPath();
+            if (!Files.isDirectory(base)) {
+                continue;
+            }
+            try (final Stream<Path> files = Files.walk(base)) {
+                final Path cache = configuration.getCacheFile().toPath().toAbsolutePath();
+                for (final Path file : files
+                        .filter(Files::isRegularFile)
+                        .filter(it -> !it.toAbsolutePath().equals(cache))
+                        .sorted()
+                        .collect(toList())) {
+                    digest.update(base.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            } catch (final IOException e) {
+                log.debug("Can't fingerprint " + root + ", validating it: " + e.getMessage());
+                return null;
+            }
+        }
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private void fingerprint(final MessageDigest digest, final URL url) {
+        digest.update(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+        if ("file".equals(url.getProtocol())) {
+            final File file = new File(url.getFile());
+            if (file.isFile()) { // snapshots keep the same name
+                digest.update((file.length() + ":" + file.lastModified()).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private boolean isUpToDate(final String fingerprint) {
+        final File cache = configuration.getCacheFile();
+        if (!cache.isFile()) {
+            return false;
+        }
+        try {
+            return fingerprint.equals(new String(Files.readAllBytes(cache.toPath()), StandardCharsets.UTF_8).trim());
+        } catch (final IOException e) {
+            log.debug("Can't read " + cache + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void storeFingerprint(final String fingerprint) {
+        final File cache = configuration.getCacheFile();
+        try {
+            if (cache.getParentFile() != null) {
+                Files.createDirectories(cache.getParentFile().toPath());
+            }
+            Files.write(cache.toPath(), fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            log.debug("Can't write " + cache + ": " + e.getMessage());
+        }
     }
 
     private void validateOutputConnection(final List<Class<?>> components, final Set<String> errors) {
@@ -964,5 +1114,17 @@ public class ComponentValidator extends BaseTask {
         private boolean validateLocalConfiguration;
 
         private boolean validateOutputConnection;
+
+        // number of checks executed concurrently, 1 executes them sequentially
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        // if set the validation is skipped when the classes didn't change since the last successful validation
+        private File cacheFile;
+    }
+
+    @FunctionalInterface
+    private interface Check {
+
+        void validate(Set<String> errors);
     }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.junit.base.junit5.TemporaryFolder;
+
+class ComponentValidatorCacheTest {
+
+    @Test
+    void skipUnchangedClasses() throws IOException {
+        final TemporaryFolder temporaryFolder = new TemporaryFolder();
+        temporaryFolder.create();
+        try {
+            final File pluginDir = new File(temporaryFolder.getRoot(), "plugin");
+            final String pck = "org/talend/test/valid/datastore";
+            ComponentValidatorTest.listPackageClasses(pluginDir, pck);
+
+            final ComponentValidator.Configuration configuration = new ComponentValidator.Configuration();
+            configuration.setValidateDataStore(true);
+            configuration.setValidateSerializable(true);
+            configuration.setCacheFile(new File(temporaryFolder.getRoot(), "validation.cache"));
+
+            final CapturingLog log = new CapturingLog();
+            final ComponentValidator validator = new ComponentValidator(configuration, new File[] { pluginDir }, log);
+            validator.run();
+            assertTrue(configuration.getCacheFile().isFile());
+            assertEquals(0, log.infos.size());
+
+            validator.run();
+            assertEquals(1, log.infos.size());
+
+            Files.write(new File(pluginDir, pck + "/Added.properties").toPath(), "a=b".getBytes("UTF-8"));
+            validator.run();
+            assertEquals(1, log.infos.size());
+        } finally {
+            temporaryFolder.delete();
+        }
+    }
+
+    private static class CapturingLog implements Log {
+
+        private final Collection<String> infos = new ArrayList<>();
+
+        @Override
+        public void debug(final String s) {
+            // no-op
+        }
+
+        @Override
+        public void error(final String s) {
+            // no-op
+        }
+
+        @Override
+        public void info(final String s) {
+            infos.add(s);
+        }
+    }
+}
@@ -459,7 +459,7 @@ class ComponentValidatorTest {
     }
 
     // .properties are ok from the classpath, no need to copy them
-    private static void listPackageClasses(final File pluginDir, final String sourcePackage) {
+    static void listPackageClasses(final File pluginDir, final String sourcePackage) {
         final File root = new File(jarLocation(ComponentValidatorTest.class), sourcePackage);
         final File classDir = new File(pluginDir, sourcePackage);
         classDir.mkdirs();
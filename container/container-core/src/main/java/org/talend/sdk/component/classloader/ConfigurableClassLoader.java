@@ -17,6 +17,7 @@ package org.talend.sdk.component.classloader;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.enumeration;
 import static java.util.Collections.list;
 import static java.util.Optional.ofNullable;
@@ -43,7 +44,9 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -82,6 +85,16 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private final Collection<ClassFileTransformer> transformers = new ArrayList<>();
 
+    private final LongAdder loadedClasses = new LongAdder();
+
+    // the layer of the dependencies shared with other loaders and the locations this loader can see in it
+    private final ConfigurableClassLoader sharedLayer;
+
+    private final Set<String> sharedLocations;
+
+    // released on close, the temporary copies don't own it
+    private SharedDependencyLayer.Lease sharedLease;
+
     private final WeakHashMap<Closeable, Void> closeables = new WeakHashMap<>();
 
     private volatile URLClassLoader temporaryCopy;
@@ -89,7 +102,20 @@ public class ConfigurableClassLoader extends URLClassLoader {
     public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
             final String[] nestedDependencies) {
-        this(id, urls, parent, parentFilter, childFirstFilter, emptyMap());
+        this(id, urls, parent, parentFilter, childFirstFilter, nestedDependencies, null);
+    }
+
+    /**
+     * @param sharedLease the dependencies this loader shares through the shared dependency layer (not in urls),
+     * used for the classes and resources not found in this loader and released when this loader is closed.
+     */
+    public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
+            final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
+            final String[] nestedDependencies, final SharedDependencyLayer.Lease sharedLease) {
+        this(id, urls, parent, parentFilter, childFirstFilter, emptyMap(),
+                sharedLease == null ? null : sharedLease.getLoader(),
+                sharedLease == null ? emptySet() : sharedLease.getLocations());
+        this.sharedLease = sharedLease;
         if (nestedDependencies != null) { // load all in memory to avoid perf issues - should we try offheap?
             final byte[] buffer = new byte[8192]; // should be good for most cases
             final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.length);
@@ -123,23 +149,39 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
-            final Map<String, Collection<Resource>> resources) {
+            final Map<String, Collection<Resource>> resources, final ConfigurableClassLoader sharedLayer,
+            final Set<String> sharedLocations) {
         super(urls, parent);
         this.id = id;
         this.creationUrls = urls;
         this.parentFilter = parentFilter;
         this.childFirstFilter = childFirstFilter;
         this.resources.putAll(resources);
+        this.sharedLayer = sharedLocations.isEmpty() ? null : sharedLayer;
+        this.sharedLocations = sharedLocations;
     }
 
     public void registerTransformer(final ClassFileTransformer transformer) {
         transformers.add(transformer);
     }
 
+    // only used on a shared layer, dependencies are appended as plugins share them
+    void addSharedUrl(final URL url) {
+        addURL(url);
+    }
+
+    /**
+     * @return the number of classes defined by this loader (not the ones delegated to the parent or the shared layer).
+     */
+    public long getLoadedClasses() {
+        return loadedClasses.sum();
+    }
+
     public synchronized URLClassLoader createTemporaryCopy() {
         final ConfigurableClassLoader self = this;
         return temporaryCopy == null ? temporaryCopy =
-                new ConfigurableClassLoader(id, creationUrls, getParent(), parentFilter, childFirstFilter, resources) {
+                new ConfigurableClassLoader(id, creationUrls, getParent(), parentFilter, childFirstFilter, resources,
+                        sharedLayer, sharedLocations) {
 
                     @Override
                     public synchronized void close() throws IOException {
@@ -172,6 +214,9 @@ public class ConfigurableClassLoader extends URLClassLoader {
             closeables.clear();
         }
         super.close();
+        if (sharedLease != null) {
+            sharedLease.close();
+        }
     }
 
     @Override
@@ -200,7 +245,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
             // look for it in this classloader
             final boolean childFirst = childFirstFilter.test(name);
             if (childFirst) {
-                clazz = loadInternal(name, resolve);
+                clazz = loadLocally(name, resolve);
                 if (clazz != null) {
                     return clazz;
                 }
@@ -217,7 +262,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
             // if this class was a parent first then try to load it now parent loading
             // failed
             if (!childFirst) {
-                clazz = loadInternal(name, resolve);
+                clazz = loadLocally(name, resolve);
                 if (clazz != null) {
                     return clazz;
                 }
@@ -236,13 +281,14 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     @Override
     public URL findResource(final String name) {
-        return resources.isEmpty() ? super.findResource(name)
+        final URL url = resources.isEmpty() ? super.findResource(name)
                 : ofNullable(super.findResource(name))
                         .orElseGet(() -> ofNullable(resources.get(name))
                                 .filter(s -> !s.isEmpty())
                                 .map(s -> s.iterator().next())
                                 .map(r -> nestedResourceToURL(name, r))
                                 .orElse(null));
+        return url != null || sharedLayer == null ? url : sharedLayer.findSharedResource(name, sharedLocations);
     }
 
     @Override
@@ -284,7 +330,11 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     @Override
     public Enumeration<URL> findResources(final String name) throws IOException {
-        final Enumeration<URL> delegates = super.findResources(name);
+        final Enumeration<URL> delegates = sharedLayer == null ? super.findResources(name)
+                : enumeration(Stream
+                        .concat(list(super.findResources(name)).stream(),
+                                sharedLayer.findSharedResources(name, sharedLocations))
+                        .collect(toList()));
         if (resources.isEmpty()) {
             return delegates;
         }
@@ -566,6 +616,42 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return null;
     }
 
+    private Class<?> loadLocally(final String name, final boolean resolve) {
+        final Class<?> clazz = loadInternal(name, resolve);
+        if (clazz != null || sharedLayer == null) {
+            return clazz;
+        }
+        final Class<?> shared = sharedLayer.loadSharedClass(name, sharedLocations);
+        return postLoad(resolve, shared) ? shared : null;
+    }
+
+    // when this loader is a shared layer, only serves what comes from the locations visible to the caller
+    private Class<?> loadSharedClass(final String name, final Set<String> locations) {
+        final URL url = super.findResource(name.replace('.', '/').concat(".class"));
+        if (url == null || !locations.contains(toLocation(url))) {
+            return null;
+        }
+        synchronized (getClassLoadingLock(name)) {
+            final Class<?> loaded = findLoadedClass(name);
+            return loaded != null ? loaded : loadInternal(name, false);
+        }
+    }
+
+    private URL findSharedResource(final String name, final Set<String> locations) {
+        final URL url = super.findResource(name);
+        return url != null && locations.contains(toLocation(url)) ? url : null;
+    }
+
+    private Stream<URL> findSharedResources(final String name, final Set<String> locations) throws IOException {
+        return list(super.findResources(name)).stream().filter(url -> locations.contains(toLocation(url)));
+    }
+
+    private static String toLocation(final URL resource) {
+        final String file = resource.getFile();
+        final int separator = file.indexOf("!/");
+        return separator > 0 ? file.substring(0, separator) : file;
+    }
+
     private Class<?> loadInternal(final String name, final boolean resolve) {
         Class<?> clazz = null;
         final String resourceName = name.replace('.', '/');
@@ -622,6 +708,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     }
                 }
                 clazz = super.defineClass(name, bytes, 0, bytes.length, new CodeSource(url, certificates));
+                loadedClasses.increment();
             } catch (final IOException e) {
                 log.warn(e.getMessage(), e);
                 return null;
@@ -631,6 +718,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
             if (resources != null && !resources.isEmpty()) {
                 final Resource resource = resources.iterator().next();
                 clazz = defineClass(name, resource.resource, 0, resource.resource.length);
+                loadedClasses.increment();
             }
         }
         if (postLoad(resolve, clazz)) {
@@ -0,0 +1,442 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static org.talend.sdk.component.classloader.ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the jars of a nested maven repository ({@link ConfigurableClassLoader#NESTED_MAVEN_REPOSITORY}) without
+ * loading them in memory. When the enclosing jar is a file and the nested jar is stored (not compressed), the central
+ * directories are used to jump to the requested entry, otherwise the nested jar is streamed up to this entry.
+ * The location of the nested jars in their enclosing file is indexed once per file.
+ */
+@Slf4j
+public class NestedJarReader {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    private static final int CENTRAL_DIRECTORY_ENTRY_SIZE = 46;
+
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final long ZIP64_MARKER = 0xFFFFFFFFL;
+
+    private final ConcurrentMap<File, Index> indices = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader the loader owning the nested repository.
+     * @param artifact the artifact path in the nested repository.
+     * @return the URL of the nested jar or null if the artifact is not nested.
+     */
+    public URL find(final ClassLoader loader, final String artifact) {
+        return loader.getResource(NESTED_MAVEN_REPOSITORY + artifact);
+    }
+
+    /**
+     * @param loader the loader owning the nested repository.
+     * @param artifact the artifact path in the nested repository.
+     * @param name the entry to read in the nested jar.
+     * @return the entry content or null if the artifact is not nested or does not contain this entry.
+     * @throws IOException if the jars can't be read.
+     */
+    public InputStream read(final ClassLoader loader, final String artifact, final String name) throws IOException {
+        final URL nestedJar = find(loader, artifact);
+        return nestedJar == null ? null : read(nestedJar, name);
+    }
+
+    /**
+     * @param nestedJar the nested jar URL, see {@link #find(ClassLoader, String)}.
+     * @param name the entry to read in the nested jar.
+     * @return the entry content or null if the nested jar does not contain this entry.
+     * @throws IOException if the jars can't be read.
+     */
+    public InputStream read(final URL nestedJar, final String name) throws IOException {
+        if ("file".equals(nestedJar.getProtocol())) { // exploded enclosing jar, the nested one is a plain jar
+            final JarFile jar = new JarFile(toFile(nestedJar));
+            final ZipEntry entry = jar.getEntry(name);
+            if (entry == null) {
+                jar.close();
+                return null;
+            }
+            return new FilterInputStream(jar.getInputStream(entry)) {
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        jar.close();
+                    }
+                }
+            };
+        }
+
+        final Region region = locate(nestedJar);
+        if (region != null) {
+            final FileChannel channel = FileChannel.open(region.file.toPath(), StandardOpenOption.READ);
+            try {
+                final Located located = findEntry(channel, region, name);
+                if (located != null) {
+                    return located.found ? located.open(channel) : closeAndReturnNull(channel);
+                }
+            } catch (final IOException | RuntimeException e) {
+                log.debug("Can't use the central directory of " + nestedJar + ", will stream it", e);
+            }
+            channel.close();
+        }
+
+        final ZipInputStream stream = new ZipInputStream(nestedJar.openStream());
+        try {
+            ZipEntry entry;
+            while ((entry = stream.getNextEntry()) != null) {
+                if (name.equals(entry.getName())) {
+                    return stream;
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+        stream.close();
+        return null;
+    }
+
+    /**
+     * @param nestedJar the nested jar URL, see {@link #find(ClassLoader, String)}.
+     * @return a stream over the whole nested jar, read from the enclosing file when possible.
+     * @throws IOException if the jar can't be opened.
+     */
+    public JarInputStream open(final URL nestedJar) throws IOException {
+        final Region region = locate(nestedJar);
+        if (region == null) {
+            return new JarInputStream(nestedJar.openStream());
+        }
+        final FileChannel channel = FileChannel.open(region.file.toPath(), StandardOpenOption.READ);
+        try {
+            return new JarInputStream(new RegionInputStream(channel, region.start, region.length));
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private InputStream closeAndReturnNull(final FileChannel channel) throws IOException {
+        channel.close();
+        return null;
+    }
+
+    // the nested jar must be stored in a file jar to be read in place
+    private Region locate(final URL nestedJar) throws IOException {
+        if (!"jar".equals(nestedJar.getProtocol())) {
+            return null;
+        }
+        final String spec = nestedJar.getFile();
+        final int separator = spec.indexOf("!/");
+        if (separator < 0 || !spec.startsWith("file:")) {
+            return null;
+        }
+        final File file;
+        try {
+            file = toFile(new URL(spec.substring(0, separator)));
+        } catch (final MalformedURLException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!file.isFile()) {
+            return null;
+        }
+
+        final Index index;
+        try {
+            index = getIndex(file);
+        } catch (final IOException e) {
+            log.debug("Can't index " + file + ", nested jars will be streamed", e);
+            return null;
+        }
+        final long[] location = index.nestedJars.get(spec.substring(separator + 2));
+        if (location == null) {
+            return null;
+        }
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long start = dataStart(channel, 0, location[0]);
+            return start < 0 ? null : new Region(file, start, location[1]);
+        }
+    }
+
+    private Index getIndex(final File file) throws IOException {
+        final Index existing = indices.get(file);
+        if (existing != null && existing.lastModified == file.lastModified() && existing.length == file.length()) {
+            return existing;
+        }
+        final Index index = new Index(file.lastModified(), file.length(), new HashMap<>());
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            visit(channel, 0, channel.size(), (name, method, compressedSize, localHeaderOffset) -> {
+                if (method == ZipEntry.STORED && name.startsWith(NESTED_MAVEN_REPOSITORY) && !name.endsWith("/")) {
+                    index.nestedJars.put(name, new long[] { localHeaderOffset, compressedSize });
+                }
+                return true;
+            });
+        }
+        indices.put(file, index);
+        return index;
+    }
+
+    private Located findEntry(final FileChannel channel, final Region region, final String name) throws IOException {
+        final Located located = new Located();
+        visit(channel, region.start, region.length, (entry, method, size, offset) -> {
+            if (!name.equals(entry)) {
+                return true;
+            }
+            located.found = true;
+            located.method = method;
+            located.size = size;
+            located.start = dataStart(channel, region.start, offset);
+            return false;
+        });
+        if (located.found && (located.start < 0
+                || (located.method != ZipEntry.STORED && located.method != ZipEntry.DEFLATED))) {
+            return null; // unsupported layout, let the caller stream the jar
+        }
+        return located;
+    }
+
+    private long dataStart(final FileChannel channel, final long base, final long localHeaderOffset)
+            throws IOException {
+        final ByteBuffer header = read(channel, base + localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_FILE_HEADER) {
+            return -1;
+        }
+        return base + localHeaderOffset + LOCAL_FILE_HEADER_SIZE + (header.getShort(26) & 0xFFFF)
+                + (header.getShort(28) & 0xFFFF);
+    }
+
+    /**
+     * Iterates over the central directory of the zip stored in [start, start + length[.
+     *
+     * @return true if all the entries were visited, false if the visitor stopped the iteration.
+     */
+    private boolean visit(final FileChannel channel, final long start, final long length,
+            final EntryVisitor visitor) throws IOException {
+        final int tailSize = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        final ByteBuffer tail = read(channel, start + length - tailSize, tailSize);
+        int end = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE;
+        while (end >= 0 && tail.getInt(end) != END_OF_CENTRAL_DIRECTORY) {
+            end--;
+        }
+        if (end < 0) {
+            throw new IOException("No central directory found");
+        }
+        final long directorySize = tail.getInt(end + 12) & ZIP64_MARKER;
+        final long directoryOffset = tail.getInt(end + 16) & ZIP64_MARKER;
+        if (directoryOffset == ZIP64_MARKER || directorySize == ZIP64_MARKER) {
+            throw new IOException("Zip64 is not supported");
+        }
+
+        final ByteBuffer directory = read(channel, start + directoryOffset, (int) directorySize);
+        int position = 0;
+        while (position + CENTRAL_DIRECTORY_ENTRY_SIZE <= directorySize
+                && directory.getInt(position) == CENTRAL_DIRECTORY_ENTRY) {
+            final int method = directory.getShort(position + 10) & 0xFFFF;
+            final long compressedSize = directory.getInt(position + 20) & ZIP64_MARKER;
+            final int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            final int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            final int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            final long localHeaderOffset = directory.getInt(position + 42) & ZIP64_MARKER;
+            final String name = new String(directory.array(), position + CENTRAL_DIRECTORY_ENTRY_SIZE, nameLength,
+                    StandardCharsets.UTF_8);
+            if (compressedSize == ZIP64_MARKER || localHeaderOffset == ZIP64_MARKER) {
+                throw new IOException("Zip64 is not supported");
+            }
+            if (!visitor.visit(name, method, compressedSize, localHeaderOffset)) {
+                return false;
+            }
+            position += CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength + extraLength + commentLength;
+        }
+        return true;
+    }
+
+    private static ByteBuffer read(final FileChannel channel, final long position, final int size)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+        }
+        return buffer;
+    }
+
+    private static File toFile(final URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (final URISyntaxException e) {
+            return new File(url.getFile());
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryVisitor {
+
+        boolean visit(String name, int method, long compressedSize, long localHeaderOffset) throws IOException;
+    }
+
+    @AllArgsConstructor
+    private static class Index {
+
+        private final long lastModified;
+
+        private final long length;
+
+        // nested jar name -> {local header offset, size}
+        private final Map<String, long[]> nestedJars;
+    }
+
+    @AllArgsConstructor
+    private static class Region {
+
+        private final File file;
+
+        private final long start;
+
+        private final long length;
+    }
+
+    private static class Located {
+
+        private boolean found;
+
+        private int method;
+
+        private long start;
+
+        private long size;
+
+        private InputStream open(final FileChannel channel) {
+            final InputStream raw = new RegionInputStream(channel, start, size);
+            if (method == ZipEntry.STORED) {
+                return raw;
+            }
+            // the inflater can need an additional byte after the compressed data
+            final Inflater inflater = new Inflater(true);
+            return new InflaterInputStream(new SequenceInputStream(raw, new ByteArrayInputStream(new byte[1])),
+                    inflater) {
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+    }
+
+    // reads a range of a file channel and owns it
+    private static class RegionInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private long remaining;
+
+        private RegionInputStream(final FileChannel channel, final long start, final long length) {
+            this.channel = channel;
+            this.position = start;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            final int read =
+                    channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, remaining)), position);
+            if (read < 0) {
+                return -1;
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, remaining));
+            position += skipped;
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
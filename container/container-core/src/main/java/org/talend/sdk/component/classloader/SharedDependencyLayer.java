@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.talend.sdk.component.dependencies.maven.Artifact;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A classloader layer between the container parent and the plugin loaders holding the dependencies several plugins
+ * can share. A dependency is shared only if it is accepted by the allow-list, is a jar file and is byte identical
+ * (same coordinates and checksum) to the one already shared for the same group and artifact, otherwise the plugin
+ * keeps its own copy. Plugins only see the shared dependencies they declare, the layer applies the same parent and
+ * child first filters as the plugins.
+ * <p>
+ * The shared dependencies are reference counted through the {@link Lease} of each plugin loader. Once a dependency
+ * is no more used another version can be shared: since a loader can't drop a jar, it goes into a new generation
+ * of the layer and the previous generation is closed when its last plugin loader is.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SharedDependencyLayer implements AutoCloseable {
+
+    private final ClassLoader parent;
+
+    private final Predicate<String> parentFilter;
+
+    private final Predicate<String> childFirstFilter;
+
+    private final Predicate<Artifact> allowList;
+
+    private final Collection<Generation> generations = new ArrayList<>();
+
+    private Generation current;
+
+    /**
+     * @param dependencies the resolved dependencies of a plugin.
+     * @return the lease of the dependencies served by this layer (they must not be in the plugin loader),
+     * it must be closed with the plugin loader.
+     */
+    public synchronized Lease share(final Map<Artifact, File> dependencies) {
+        final Map<String, SharedArtifact> candidates = new LinkedHashMap<>();
+        dependencies.forEach((artifact, file) -> {
+            if (!allowList.test(artifact) || !file.isFile() || !file.getName().endsWith(".jar")) {
+                return;
+            }
+            final String checksum = checksum(file);
+            if (checksum != null) {
+                candidates
+                        .putIfAbsent(toKey(artifact),
+                                new SharedArtifact(artifact.toCoordinate(), artifact.getVersion(), checksum, file));
+            }
+        });
+        if (candidates.isEmpty()) {
+            return new Lease(this, null, emptyList());
+        }
+
+        // a released dependency stays in the loader and would hide any other version so start a new generation
+        if (current == null
+                || candidates.entrySet().stream().anyMatch(e -> current.isStale(e.getKey(), e.getValue()))) {
+            current = new Generation(new ConfigurableClassLoader("shared-dependencies", new URL[0], parent,
+                    parentFilter, childFirstFilter, null));
+            generations.add(current);
+        }
+
+        final Collection<SharedArtifact> acquired = new ArrayList<>();
+        candidates.forEach((key, candidate) -> {
+            final SharedArtifact existing = current.artifacts.get(key);
+            if (existing == null) {
+                try {
+                    current.loader.addSharedUrl(candidate.file.toURI().toURL());
+                } catch (final MalformedURLException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                current.artifacts.put(key, candidate);
+                log.debug("Sharing {}", candidate.coordinate);
+            } else if (!existing.isSameAs(candidate)) { // another plugin uses another version
+                return;
+            }
+            final SharedArtifact shared = current.artifacts.get(key);
+            shared.references++;
+            acquired.add(shared);
+        });
+        if (acquired.isEmpty()) {
+            return new Lease(this, null, emptyList());
+        }
+        current.references++;
+        return new Lease(this, current, acquired);
+    }
+
+    /**
+     * @return the number of classes defined by the shared layer.
+     */
+    public synchronized long getLoadedClasses() {
+        return generations.stream().mapToLong(g -> g.loader.getLoadedClasses()).sum();
+    }
+
+    /**
+     * @return the coordinates of the shared dependencies in use.
+     */
+    public synchronized Set<String> getSharedArtifacts() {
+        return unmodifiableSet(generations
+                .stream()
+                .flatMap(g -> g.artifacts.values().stream())
+                .filter(a -> a.references > 0)
+                .map(a -> a.coordinate)
+                .collect(toSet()));
+    }
+
+    @Override
+    public synchronized void close() {
+        generations.forEach(Generation::close);
+        generations.clear();
+        current = null;
+    }
+
+    private synchronized void release(final Lease lease) {
+        lease.artifacts.forEach(a -> a.references--);
+        final Generation generation = lease.generation;
+        if (--generation.references == 0) {
+            generation.close();
+            generations.remove(generation);
+            if (generation == current) {
+                current = null;
+            }
+        }
+    }
+
+    private static String toKey(final Artifact artifact) {
+        return artifact.getGroup() + ':' + artifact.getArtifact() + ':' + artifact.getType() + ':'
+                + artifact.getClassifier();
+    }
+
+    private String checksum(final File file) {
+        try (final InputStream stream = Files.newInputStream(file.toPath())) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            log.debug("Can't compute the checksum of " + file + ", it will not be shared", e);
+            return null;
+        }
+    }
+
+    /**
+     * The dependencies a plugin loader shares through the layer, closing it releases them.
+     */
+    @RequiredArgsConstructor
+    public static class Lease implements AutoCloseable {
+
+        private final SharedDependencyLayer layer;
+
+        private final Generation generation;
+
+        private final Collection<SharedArtifact> artifacts;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * @return the shared files, they must not be in the plugin loader.
+         */
+        public Collection<File> getFiles() {
+            final Collection<File> files = new ArrayList<>(artifacts.size());
+            artifacts.forEach(a -> files.add(a.file));
+            return unmodifiableCollection(files);
+        }
+
+        ConfigurableClassLoader getLoader() {
+            return generation == null ? null : generation.loader;
+        }
+
+        Set<String> getLocations() {
+            final Set<String> locations = new TreeSet<>();
+            for (final SharedArtifact artifact : artifacts) {
+                try {
+                    locations.add(artifact.file.toURI().toURL().toExternalForm());
+                } catch (final MalformedURLException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+            return locations;
+        }
+
+        @Override
+        public void close() {
+            if (generation != null && released.compareAndSet(false, true)) {
+                layer.release(this);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Generation {
+
+        private final ConfigurableClassLoader loader;
+
+        // group:artifact:type:classifier -> shared version
+        private final Map<String, SharedArtifact> artifacts = new HashMap<>();
+
+        private int references;
+
+        private boolean isStale(final String key, final SharedArtifact candidate) {
+            final SharedArtifact existing = artifacts.get(key);
+            return existing != null && existing.references == 0 && !existing.isSameAs(candidate);
+        }
+
+        private void close() {
+            try {
+                loader.close();
+            } catch (final IOException e) {
+                log.warn(e.getMessage(), e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class SharedArtifact {
+
+        private final String coordinate;
+
+        private final String version;
+
+        private final String checksum;
+
+        private final File file;
+
+        private int references;
+
+        private boolean isSameAs(final SharedArtifact other) {
+            return version.equals(other.version) && checksum.equals(other.checksum);
+        }
+    }
+}
@@ -16,9 +16,12 @@
 package org.talend.sdk.component.container;
 
 import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.list;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static org.talend.sdk.component.container.Container.State.CREATED;
 
@@ -33,6 +36,8 @@ import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -47,6 +52,7 @@ import java.util.jar.JarFile;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.SharedDependencyLayer;
 import org.talend.sdk.component.dependencies.maven.Artifact;
 import org.talend.sdk.component.lang.UnsafeSupplier;
 import org.talend.sdk.component.lifecycle.Lifecycle;
@@ -98,14 +104,6 @@ public class Container implements Lifecycle {
         ofNullable(initializer).ifPresent(i -> i.accept(this));
 
         this.classloaderProvider = () -> {
-            final URL[] urls = findExistingClasspathFiles().peek(this::visitLastModified).map(f -> {
-                try {
-                    return f.toURI().toURL();
-                } catch (final MalformedURLException e) {
-                    throw new IllegalStateException(e);
-                }
-            }).toArray(URL[]::new);
-
             final ContainerManager.ClassLoaderConfiguration overrideClassLoaderConfig =
                     ofNullable(get(ContainerManager.ClassLoaderConfiguration.class)).orElse(configuration);
 
@@ -124,11 +122,48 @@ public class Container implements Lifecycle {
             final String[] rawNestedDependencies = overrideClassLoaderConfig.isSupportsResourceDependencies()
                     ? Stream.of(dependencies).map(Artifact::toPath).filter(resourceExists).toArray(String[]::new)
                     : null;
-            final ConfigurableClassLoader loader = new ConfigurableClassLoader(id, urls,
-                    overrideClassLoaderConfig.getParent(), overrideClassLoaderConfig.getParentClassesFilter(),
-                    overrideClassLoaderConfig.getClassesFilter(), rawNestedDependencies);
-            transformers.forEach(loader::registerTransformer);
-            return loader;
+
+            // the shared layer uses the manager filters so a custom configuration disables it,
+            // a plugin with transformers keeps its own jars since the shared classes are not transformed
+            final SharedDependencyLayer sharedLayer =
+                    overrideClassLoaderConfig == configuration && transformers.isEmpty()
+                            ? get(SharedDependencyLayer.class)
+                            : null;
+            final SharedDependencyLayer.Lease sharedLease = sharedLayer == null ? null
+                    : sharedLayer
+                            .share(Stream
+                                    .of(dependencies)
+                                    .filter(artifact -> rawNestedDependencies == null
+                                            || !resourceExists.test(artifact.toPath()))
+                                    .collect(toMap(identity(),
+                                            artifact -> localDependencyRelativeResolver.apply(artifact.toPath()),
+                                            (a, b) -> a, LinkedHashMap::new)));
+            final Collection<File> sharedDependencies =
+                    sharedLease == null ? emptySet() : new HashSet<>(sharedLease.getFiles());
+
+            try {
+                final URL[] urls = findExistingClasspathFiles()
+                        .peek(this::visitLastModified)
+                        .filter(f -> !sharedDependencies.contains(f))
+                        .map(f -> {
+                            try {
+                                return f.toURI().toURL();
+                            } catch (final MalformedURLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        })
+                        .toArray(URL[]::new);
+                final ConfigurableClassLoader loader = new ConfigurableClassLoader(id, urls,
+                        overrideClassLoaderConfig.getParent(), overrideClassLoaderConfig.getParentClassesFilter(),
+                        overrideClassLoaderConfig.getClassesFilter(), rawNestedDependencies, sharedLease);
+                transformers.forEach(loader::registerTransformer);
+                return loader;
+            } catch (final RuntimeException re) {
+                if (sharedLease != null) {
+                    sharedLease.close();
+                }
+                throw re;
+            }
         };
         reload();
     }
@@ -41,6 +41,7 @@ import java.util.logging.Level;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.SharedDependencyLayer;
 import org.talend.sdk.component.dependencies.Resolver;
 import org.talend.sdk.component.dependencies.maven.Artifact;
 import org.talend.sdk.component.lifecycle.Lifecycle;
@@ -79,6 +80,8 @@ public class ContainerManager implements Lifecycle {
 
     private final Level logInfoLevelMapping;
 
+    private final SharedDependencyLayer sharedDependencyLayer;
+
     public ContainerManager(final DependenciesResolutionConfiguration dependenciesResolutionConfiguration,
             final ClassLoaderConfiguration classLoaderConfiguration, final Consumer<Container> containerInitializer,
             final Level logInfoLevelMapping) {
@@ -99,7 +102,13 @@ public class ContainerManager implements Lifecycle {
                 ofNullable(classLoaderConfiguration.getParent()).orElseGet(ContainerManager.class::getClassLoader),
                 ofNullable(classLoaderConfiguration.getClassesFilter()).orElseGet(() -> name -> true),
                 ofNullable(classLoaderConfiguration.getParentClassesFilter()).orElseGet(() -> name -> true),
-                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource);
+                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource,
+                classLoaderConfiguration.getSharedDependencies());
+        this.sharedDependencyLayer = ofNullable(this.classLoaderConfiguration.getSharedDependencies())
+                .map(filter -> new SharedDependencyLayer(this.classLoaderConfiguration.getParent(),
+                        this.classLoaderConfiguration.getParentClassesFilter(),
+                        this.classLoaderConfiguration.getClassesFilter(), filter))
+                .orElse(null);
         if (classLoaderConfiguration.isSupportsResourceDependencies()) {
             try (final InputStream mappingStream =
                     classLoaderConfiguration.getParent().getResourceAsStream(nestedPluginMappingResource)) {
@@ -153,6 +162,13 @@ public class ContainerManager implements Lifecycle {
         return null;
     }
 
+    /**
+     * @return the layer holding the dependencies shared between the plugins if enabled.
+     */
+    public Optional<SharedDependencyLayer> getSharedDependencyLayer() {
+        return ofNullable(sharedDependencyLayer);
+    }
+
     public Set<String> getDefinedNestedPlugin() {
         return nestedContainerMapping.keySet();
     }
@@ -282,6 +298,7 @@ public class ContainerManager implements Lifecycle {
         lifecycle.closeIfNeeded(() -> {
             containers.values().forEach(Container::close);
             containers.clear();
+            ofNullable(sharedDependencyLayer).ifPresent(SharedDependencyLayer::close);
         });
     }
 
@@ -314,6 +331,9 @@ public class ContainerManager implements Lifecycle {
 
         private final String nestedPluginMappingResource;
 
+        // allow-list of the dependencies the plugins can share if byte identical, null disables the sharing
+        private final Predicate<Artifact> sharedDependencies;
+
         // note: we can add if needed resource filters too (to filter META-INF/services
         // for instance)
     }
@@ -358,8 +378,10 @@ public class ContainerManager implements Lifecycle {
 
             final Container container = new Container(id, location, classpath.toArray(Artifact[]::new),
                     classLoaderConfiguration, ContainerManager.this::resolve,
-                    ofNullable(containerInitializer)
+                    ofNullable(sharedDependencyLayer)
+                            .<Consumer<Container>> map(layer -> c -> c.set(SharedDependencyLayer.class, layer))
                             .orElse(NOOP_CUSTOMIZER)
+                            .andThen(ofNullable(containerInitializer).orElse(NOOP_CUSTOMIZER))
                             .andThen(ofNullable(customizer).orElse(NOOP_CUSTOMIZER))) {
 
                 @Override
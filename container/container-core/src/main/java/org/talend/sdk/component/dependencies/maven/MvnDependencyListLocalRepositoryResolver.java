@@ -17,7 +17,6 @@ package org.talend.sdk.component.dependencies.maven;
 
 import static java.util.Arrays.asList;
 import static java.util.Optional.of;
-import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
 
 import java.io.BufferedReader;
@@ -26,7 +25,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -37,7 +35,7 @@ import java.util.jar.JarFile;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 
-import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.NestedJarReader;
 import org.talend.sdk.component.dependencies.Resolver;
 
 import lombok.Data;
@@ -55,43 +53,31 @@ public class MvnDependencyListLocalRepositoryResolver implements Resolver {
 
     private final String dependenciesListFile;
 
+    private final NestedJarReader nestedJarReader;
+
+    public MvnDependencyListLocalRepositoryResolver(final String dependenciesListFile) {
+        this(dependenciesListFile, new NestedJarReader());
+    }
+
+    public MvnDependencyListLocalRepositoryResolver(final String dependenciesListFile,
+            final NestedJarReader nestedJarReader) {
+        this.dependenciesListFile = dependenciesListFile;
+        this.nestedJarReader = nestedJarReader;
+    }
+
     @Override
     public Stream<Artifact> resolve(final ClassLoader rootLoader, final String artifact) {
         return Stream
                 .of(readDependencies(
                         of(new File(artifact)).filter(File::exists).map(this::findDependenciesFile).orElseGet(() -> {
-                            final boolean isNested;
-                            try (final InputStream stream = rootLoader
-                                    .getResourceAsStream(ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY + artifact)) {
-                                isNested = stream != null;
+                            // only read the descriptor entry, the nested jar is not loaded
+                            try (final InputStream deps =
+                                    nestedJarReader.read(rootLoader, artifact, dependenciesListFile)) {
+                                return deps == null ? "" : slurp(deps);
                             } catch (final IOException e) {
                                 log.debug(e.getMessage(), e);
                                 return "";
                             }
-
-                            if (isNested) { // we reuse ConfigurableClassLoader just to not
-                                            // rewrite the logic but it is NOT a plugin!
-                                try (final ConfigurableClassLoader configurableClassLoader =
-                                        new ConfigurableClassLoader("", new URL[0], rootLoader, name -> true,
-                                                name -> true, new String[] { artifact })) {
-                                    try (final InputStream deps =
-                                            configurableClassLoader.getResourceAsStream(dependenciesListFile)) {
-                                        return ofNullable(deps).map(s -> {
-                                            try {
-                                                return slurp(s);
-                                            } catch (final IOException e) {
-                                                log.debug(e.getMessage(), e);
-                                                return "";
-                                            }
-                                        }).orElse("");
-                                    }
-                                } catch (final IOException e) {
-                                    log.debug(e.getMessage(), e);
-                                    return "";
-                                }
-                            }
-
-                            return "";
                         })));
     }
 
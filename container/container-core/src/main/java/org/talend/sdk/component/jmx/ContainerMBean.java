@@ -32,6 +32,7 @@ import javax.management.MBeanOperationInfo;
 import javax.management.MBeanParameterInfo;
 import javax.management.ReflectionException;
 
+import org.talend.sdk.component.classloader.SharedDependencyLayer;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerManager;
 
@@ -57,6 +58,16 @@ public class ContainerMBean implements DynamicMBean {
             return delegate.isClosed();
         case "created":
             return delegate.getCreated();
+        case "loadedClasses":
+            return delegate.isClosed() ? 0L : delegate.getLoader().getLoadedClasses();
+        case "sharedLoadedClasses":
+            return manager.getSharedDependencyLayer().map(SharedDependencyLayer::getLoadedClasses).orElse(0L);
+        case "sharedDependencies":
+            return manager
+                    .getSharedDependencyLayer()
+                    .map(SharedDependencyLayer::getSharedArtifacts)
+                    .map(artifacts -> artifacts.toArray(new String[0]))
+                    .orElseGet(() -> new String[0]);
         default:
             throw new AttributeNotFoundException(attribute);
         }
@@ -112,7 +123,14 @@ public class ContainerMBean implements DynamicMBean {
                         new MBeanAttributeInfo("closed", boolean.class.getName(), "Is the container already closed",
                                 true, false, false),
                         new MBeanAttributeInfo("created", Date.class.getName(), "When was the container created", true,
-                                false, false) },
+                                false, false),
+                        new MBeanAttributeInfo("loadedClasses", long.class.getName(),
+                                "Number of classes loaded by the container classloader", true, false, false),
+                        new MBeanAttributeInfo("sharedLoadedClasses", long.class.getName(),
+                                "Number of classes loaded by the layer shared by all the containers", true, false,
+                                false),
+                        new MBeanAttributeInfo("sharedDependencies", String[].class.getName(),
+                                "Dependencies shared by the containers", true, false, false) },
                 new MBeanConstructorInfo[0],
                 new MBeanOperationInfo[] { new MBeanOperationInfo("reload",
                         "Reloads the container (ie stops it, recreates the classloader from the same files and starts it. Allows to kind of hot reload a plugin.",
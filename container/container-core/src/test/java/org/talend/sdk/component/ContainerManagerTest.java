@@ -16,9 +16,11 @@
 package org.talend.sdk.component;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -30,6 +32,7 @@ import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.talend.sdk.component.classloader.SharedDependencyLayer;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerListener;
 import org.talend.sdk.component.container.ContainerManager;
@@ -128,6 +131,36 @@ class ContainerManagerTest {
         });
     }
 
+    @Test
+    void sharedDependencies(final TempJars jars) throws ClassNotFoundException {
+        try (final ContainerManager manager = new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
+                .builder()
+                .resolver(new MvnDependencyListLocalRepositoryResolver(Constants.DEPENDENCIES_LIST_RESOURCE_PATH))
+                .rootRepositoryLocation(new File(Constants.DEPENDENCIES_LOCATION))
+                .create(),
+                ContainerManager.ClassLoaderConfiguration
+                        .builder()
+                        .sharedDependencies(artifact -> "org.apache.tomee".equals(artifact.getGroup()))
+                        .create(),
+                null, Level.INFO)) {
+            final Container first = manager.builder("first", createZiplockJar(jars).getAbsolutePath()).create();
+            final Container second = manager.builder("second", createZiplockJar(jars).getAbsolutePath()).create();
+            final Class<?> jarLocation = first.getLoader().loadClass("org.apache.ziplock.JarLocation");
+            assertSame(jarLocation, second.getLoader().loadClass("org.apache.ziplock.JarLocation"));
+
+            final SharedDependencyLayer layer = manager.getSharedDependencyLayer().get();
+            assertEquals(singleton("org.apache.tomee:ziplock:jar:7.0.5"), layer.getSharedArtifacts());
+            assertTrue(layer.getLoadedClasses() > 0);
+            assertEquals(0, first.getLoader().getLoadedClasses());
+
+            // the shared dependencies are released with the containers
+            first.close();
+            assertEquals(singleton("org.apache.tomee:ziplock:jar:7.0.5"), layer.getSharedArtifacts());
+            second.close();
+            assertTrue(layer.getSharedArtifacts().isEmpty());
+        }
+    }
+
     private File createZiplockJar(final TempJars jars) {
         return jars.create("org.apache.tomee:ziplock:jar:7.0.5");
     }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.lang.ClassLoader.getSystemClassLoader;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.junit.base.junit5.TemporaryFolder;
+import org.talend.sdk.component.junit.base.junit5.WithTemporaryFolder;
+
+@WithTemporaryFolder
+class NestedJarReaderTest {
+
+    private static final String ARTIFACT = "foo/bar/dummy/1.0.0/dummy-1.0.0.jar";
+
+    private final NestedJarReader reader = new NestedJarReader();
+
+    @Test
+    void storedNestedJar(final TemporaryFolder temporaryFolder) throws IOException {
+        assertEntries(createPlugin(temporaryFolder, ZipEntry.STORED));
+    }
+
+    @Test
+    void deflatedNestedJar(final TemporaryFolder temporaryFolder) throws IOException {
+        assertEntries(createPlugin(temporaryFolder, ZipEntry.DEFLATED));
+    }
+
+    private void assertEntries(final File plugin) throws IOException {
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { plugin.toURI().toURL() },
+                getSystemClassLoader())) {
+            assertEquals("deflated content", read(loader, "TALEND-INF/deflated.txt"));
+            assertEquals("stored content", read(loader, "TALEND-INF/stored.txt"));
+            assertNull(reader.read(loader, ARTIFACT, "TALEND-INF/missing.txt"));
+            assertNull(reader.read(loader, "foo/bar/missing/1.0.0/missing-1.0.0.jar", "TALEND-INF/stored.txt"));
+
+            final Collection<String> names = new ArrayList<>();
+            try (final JarInputStream jar = reader.open(reader.find(loader, ARTIFACT))) {
+                ZipEntry entry;
+                while ((entry = jar.getNextEntry()) != null) {
+                    names.add(entry.getName());
+                }
+            }
+            assertEquals(2, names.size());
+        }
+    }
+
+    private String read(final ClassLoader loader, final String name) throws IOException {
+        try (final InputStream stream = reader.read(loader, ARTIFACT, name)) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private File createPlugin(final TemporaryFolder temporaryFolder, final int nestedMethod) throws IOException {
+        final ByteArrayOutputStream nestedBytes = new ByteArrayOutputStream();
+        try (final JarOutputStream nested = new JarOutputStream(nestedBytes)) {
+            nested.putNextEntry(new ZipEntry("TALEND-INF/deflated.txt"));
+            nested.write("deflated content".getBytes(StandardCharsets.UTF_8));
+            nested.putNextEntry(stored("TALEND-INF/stored.txt", "stored content".getBytes(StandardCharsets.UTF_8)));
+            nested.write("stored content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        final File file = temporaryFolder.newFile(UUID.randomUUID().toString() + ".jar");
+        try (final JarOutputStream enclosing = new JarOutputStream(new FileOutputStream(file))) {
+            enclosing.putNextEntry(new ZipEntry("META-INF/some.txt"));
+            enclosing.write("padding".getBytes(StandardCharsets.UTF_8));
+            final String name = ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY + ARTIFACT;
+            enclosing
+                    .putNextEntry(nestedMethod == ZipEntry.STORED ? stored(name, nestedBytes.toByteArray())
+                            : new ZipEntry(name));
+            enclosing.write(nestedBytes.toByteArray());
+        }
+        return file;
+    }
+
+    private ZipEntry stored(final String name, final byte[] content) {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.dependencies.maven.Artifact;
+import org.talend.sdk.component.junit.base.junit5.TemporaryFolder;
+import org.talend.sdk.component.junit.base.junit5.WithTemporaryFolder;
+
+@WithTemporaryFolder
+class SharedDependencyLayerTest {
+
+    private static final String RESOURCE = "shared-layer/version.txt";
+
+    @Test
+    void releaseAndRedeployNewerVersion(final TemporaryFolder temporaryFolder) throws IOException {
+        final Artifact v1 = new Artifact("org.talend.test", "shared", "jar", null, "1", "compile");
+        final Artifact v2 = new Artifact("org.talend.test", "shared", "jar", null, "2", "compile");
+        final File jar1 = createJar(temporaryFolder.newFile("shared-1.jar"), "1");
+        final File jar2 = createJar(temporaryFolder.newFile("shared-2.jar"), "2");
+        final Artifact other = new Artifact("org.talend.test", "other", "jar", null, "1", "compile");
+        final File otherJar = createJar(temporaryFolder.newFile("other-1.jar"), "other");
+        final ClassLoader parent = SharedDependencyLayerTest.class.getClassLoader();
+        try (final SharedDependencyLayer layer =
+                new SharedDependencyLayer(parent, name -> true, name -> true, artifact -> true)) {
+            final ConfigurableClassLoader first = newLoader(parent, layer.share(singletonMap(v1, jar1)));
+            assertEquals(singleton("org.talend.test:shared:jar:1"), layer.getSharedArtifacts());
+            assertEquals("1", read(first));
+            // keeps the first generation of the layer (and jar1 in it) alive
+            final ConfigurableClassLoader keeper = newLoader(parent, layer.share(singletonMap(other, otherJar)));
+
+            // v1 is still used so v2 is not shared
+            final SharedDependencyLayer.Lease busy = layer.share(singletonMap(v2, jar2));
+            assertTrue(busy.getFiles().isEmpty());
+            busy.close();
+
+            first.close();
+            assertEquals(singleton("org.talend.test:other:jar:1"), layer.getSharedArtifacts());
+
+            try (final ConfigurableClassLoader redeployed = newLoader(parent, layer.share(singletonMap(v2, jar2)))) {
+                assertEquals(new HashSet<>(asList("org.talend.test:shared:jar:2", "org.talend.test:other:jar:1")),
+                        layer.getSharedArtifacts());
+                assertEquals("2", read(redeployed));
+            }
+            keeper.close();
+            assertEquals(emptySet(), layer.getSharedArtifacts());
+        }
+    }
+
+    private ConfigurableClassLoader newLoader(final ClassLoader parent, final SharedDependencyLayer.Lease lease) {
+        assertEquals(1, lease.getFiles().size());
+        return new ConfigurableClassLoader("test", new URL[0], parent, name -> true, name -> true, null, lease);
+    }
+
+    private String read(final ClassLoader loader) throws IOException {
+        try (final InputStream stream = loader.getResourceAsStream(RESOURCE);
+                final BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.readLine();
+        }
+    }
+
+    private File createJar(final File file, final String version) throws IOException {
+        try (final JarOutputStream jar = new JarOutputStream(new FileOutputStream(file))) {
+            jar.putNextEntry(new ZipEntry(RESOURCE));
+            jar.write(version.getBytes(StandardCharsets.UTF_8));
+            jar.closeEntry();
+        }
+        return file;
+    }
+}
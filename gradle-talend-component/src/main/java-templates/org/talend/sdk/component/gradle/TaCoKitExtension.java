@@ -110,6 +110,10 @@ public class TaCoKitExtension {
 
     private boolean validateOutputConnection = true;
 
+    private Integer validationParallelism;
+
+    private boolean validationIncremental = true;
+
     //
     // web
     //
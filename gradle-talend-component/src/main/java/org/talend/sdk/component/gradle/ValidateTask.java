@@ -55,6 +55,14 @@ public class ValidateTask extends TaCoKitTask {
         set(configuration, "setValidateOptionNames", extension.isValidateOptionNames());
         set(configuration, "setValidateLocalConfiguration", extension.isValidateLocalConfiguration());
         set(configuration, "setValidateOutputConnection", extension.isValidateOutputConnection());
+        if (extension.getValidationParallelism() != null) {
+            config.getMethod("setParallelism", int.class).invoke(configuration, extension.getValidationParallelism());
+        }
+        if (extension.isValidationIncremental()) {
+            config
+                    .getMethod("setCacheFile", File.class)
+                    .invoke(configuration, new File(getProject().getBuildDir(), "talend-component/validation.cache"));
+        }
 
         final Class<?> validator = tccl.loadClass("org.talend.sdk.component.tools.ComponentValidator");
         final Runnable runnable = Runnable.class
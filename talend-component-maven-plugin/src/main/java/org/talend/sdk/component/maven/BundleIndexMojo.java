@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.maven;
+
+import static java.util.stream.Collectors.joining;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_CLASSES;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Creates the index of the Messages resource bundles of the module to avoid to probe the classpath at runtime.
+ */
+@Mojo(name = "i18n-index", defaultPhase = PROCESS_CLASSES, threadSafe = true)
+public class BundleIndexMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}")
+    private File classes;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}/TALEND-INF/i18n.index",
+            property = "talend.i18n.index.output")
+    private File output;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!classes.isDirectory()) {
+            getLog().info("No classes, skipping");
+            return;
+        }
+        final Path root = classes.toPath();
+        final String content;
+        try (final Stream<Path> files = Files.walk(root)) {
+            content = files
+                    .filter(Files::isRegularFile)
+                    .map(root::relativize)
+                    .map(path -> path.toString().replace(File.separatorChar, '/'))
+                    .filter(path -> {
+                        final String name = path.substring(path.lastIndexOf('/') + 1);
+                        return name.endsWith(".properties")
+                                && (name.equals("Messages.properties") || name.startsWith("Messages_"));
+                    })
+                    .sorted()
+                    .collect(joining("\n"));
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        output.getParentFile().mkdirs();
+        try (final Writer writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(content);
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+}
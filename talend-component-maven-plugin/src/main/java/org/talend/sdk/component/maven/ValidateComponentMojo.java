@@ -123,6 +123,26 @@ public class ValidateComponentMojo extends ClasspathMojoBase {
     @Parameter(defaultValue = "true", property = "talend.validation.localConfiguration")
     private boolean validateLocalConfiguration;
 
+    /**
+     * How many validations can run concurrently (default to the number of processors), 1 runs them sequentially.
+     */
+    @Parameter(property = "talend.validation.parallelism")
+    private Integer parallelism;
+
+    /**
+     * Should the validation be skipped when the classes and the configuration didn't change since the last
+     * successful validation.
+     */
+    @Parameter(defaultValue = "true", property = "talend.validation.incremental")
+    private boolean incremental;
+
+    /**
+     * Where the fingerprint of the last successful validation is stored when incremental mode is active.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/talend-component/validation.cache",
+            property = "talend.validation.cache")
+    private File cacheFile;
+
     @Override
     public void doExecute() throws MojoExecutionException, MojoFailureException {
         final ComponentValidator.Configuration configuration = new ComponentValidator.Configuration();
@@ -140,6 +160,12 @@ public class ValidateComponentMojo extends ClasspathMojoBase {
         configuration.setValidateOptionNames(validateOptionNames);
         configuration.setValidateLocalConfiguration(validateLocalConfiguration);
         configuration.setValidateOutputConnection(validateOutputConnection);
+        if (parallelism != null) {
+            configuration.setParallelism(parallelism);
+        }
+        if (incremental) {
+            configuration.setCacheFile(cacheFile);
+        }
         new ComponentValidator(configuration, new File[] { classes }, getLog()).run();
     }
 }